@@ -32,7 +32,12 @@ import com.here.android.mpa.routing.Route
 import com.here.android.mpa.routing.RouteOptions
 import com.here.android.mpa.routing.RoutePlan
 import com.here.android.mpa.routing.RouteWaypoint
+import com.here.android.mpa.search.ErrorCode
+import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
 import com.here.android.mpa.search.ReverseGeocodeRequest
+import com.here.msdkuiapp.common.geocoding.ReverseGeocodeCache
+import com.here.msdkuiapp.common.geocoding.ReverseGeocoder
 import java.util.Locale
 
 /**
@@ -40,6 +45,24 @@ import java.util.Locale
  */
 class Provider {
 
+    companion object {
+
+        /**
+         * Shared by all screens, so resolved locations outlive the screen that requested them.
+         */
+        private val reverseGeocoder: ReverseGeocoder by lazy {
+            ReverseGeocodeCache(object : ReverseGeocoder {
+                override fun reverseGeocode(cord: GeoCoordinate, listener: ResultListener<Location>) {
+                    val errorCode = Provider().providesReverseGeocodeRequest(cord).execute(listener)
+                    if (errorCode != ErrorCode.NONE) {
+                        // The request was not started, so the listener would never be called.
+                        listener.onCompleted(null, errorCode)
+                    }
+                }
+            })
+        }
+    }
+
     /**
      * Provides [RouteWaypoint].
      *
@@ -74,6 +97,15 @@ class Provider {
         return RouteOptions()
     }
 
+    /**
+     * Provides a copy of [RouteOptions].
+     * @param routeOptions [RouteOptions] to copy.
+     * @return created [RouteOptions].
+     */
+    fun providesRouteOptions(routeOptions: RouteOptions): RouteOptions {
+        return RouteOptions(routeOptions)
+    }
+
     /**
      * Provides [ReverseGeocodeRequest].
      * @return created [ReverseGeocodeRequest]
@@ -84,6 +116,13 @@ class Provider {
         return ret
     }
 
+    /**
+     * Provides [ReverseGeocoder], which caches resolved locations and joins concurrent requests for
+     * the same spot.
+     * @return shared [ReverseGeocoder]
+     */
+    fun providesReverseGeocoder(): ReverseGeocoder = reverseGeocoder
+
     /**
      * Provides [MapContainer].
      * @return created [MapContainer]
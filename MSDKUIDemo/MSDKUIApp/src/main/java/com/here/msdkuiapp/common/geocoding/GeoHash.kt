@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.common.geocoding
+
+/**
+ * Encodes coordinates as geohash, a string where adjacent coordinates share a common prefix.
+ * The longer the hash, the smaller the cell it describes: 7 characters describe a cell of about
+ * 150 x 150 m, 8 characters a cell of about 40 x 20 m.
+ */
+object GeoHash {
+
+    private const val BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz"
+    private const val BITS_PER_CHAR = 5
+
+    /**
+     * Maximum supported precision, finer cells don't fit into the bits of a double.
+     */
+    const val MAX_PRECISION = 12
+
+    /**
+     * Encodes a coordinate.
+     *
+     * @param latitude latitude in degrees.
+     * @param longitude longitude in degrees.
+     * @param precision number of characters of the hash, between 1 and [MAX_PRECISION].
+     * @return the geohash of the cell containing the coordinate.
+     */
+    fun encode(latitude: Double, longitude: Double, precision: Int): String {
+        require(precision in 1..MAX_PRECISION) { "Precision must be between 1 and $MAX_PRECISION" }
+        var minLatitude = -90.0
+        var maxLatitude = 90.0
+        var minLongitude = -180.0
+        var maxLongitude = 180.0
+        val hash = CharArray(precision)
+        var isLongitude = true
+        for (index in 0 until precision) {
+            var char = 0
+            for (bit in 0 until BITS_PER_CHAR) {
+                char = char shl 1
+                if (isLongitude) {
+                    val middle = (minLongitude + maxLongitude) / 2
+                    if (longitude >= middle) {
+                        char = char or 1
+                        minLongitude = middle
+                    } else {
+                        maxLongitude = middle
+                    }
+                } else {
+                    val middle = (minLatitude + maxLatitude) / 2
+                    if (latitude >= middle) {
+                        char = char or 1
+                        minLatitude = middle
+                    } else {
+                        maxLatitude = middle
+                    }
+                }
+                isLongitude = isLongitude.not()
+            }
+            hash[index] = BASE32[char]
+        }
+        return String(hash)
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.common.geocoding
+
+import android.os.SystemClock
+import com.here.android.mpa.common.GeoCoordinate
+import com.here.android.mpa.search.ErrorCode
+import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
+
+/**
+ * [ReverseGeocoder] keeping resolved locations per geohash cell.
+ *
+ * Coordinates falling into the same cell of the given precision share one result, so tapping the same or an
+ * adjacent spot again doesn't issue a new request. Results expire after [ttlMillis] and only the
+ * [maxEntries] most recently used cells are kept. While a cell is being resolved, further requests for it
+ * wait for the pending result instead of issuing their own request. Failed requests are not cached.
+ *
+ * Must be used from the main thread only, which is also where the wrapped geocoder reports its results.
+ *
+ * @param geocoder [ReverseGeocoder] used to resolve cells not in the cache.
+ * @param precision geohash precision, see [GeoHash].
+ * @param ttlMillis time in milliseconds a resolved location stays valid.
+ * @param maxEntries maximum number of cached cells.
+ * @param clock returns the current time in milliseconds.
+ */
+class ReverseGeocodeCache(private val geocoder: ReverseGeocoder,
+                          val precision: Int = DEFAULT_PRECISION,
+                          val ttlMillis: Long = DEFAULT_TTL_MILLIS,
+                          private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+                          private val clock: () -> Long = { SystemClock.elapsedRealtime() }) : ReverseGeocoder {
+
+    companion object {
+        const val DEFAULT_PRECISION = 8
+        const val DEFAULT_TTL_MILLIS = 10 * 60 * 1000L
+        const val DEFAULT_MAX_ENTRIES = 64
+    }
+
+    private val entries = object : LinkedHashMap<String, Entry>(maxEntries, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>?): Boolean {
+            return size > maxEntries
+        }
+    }
+
+    private val pendingListeners = HashMap<String, MutableList<ResultListener<Location>>>()
+
+    /**
+     * Number of requests answered from the cache or by joining a pending request.
+     */
+    var hitCount = 0
+        private set
+
+    /**
+     * Number of requests passed to the wrapped geocoder.
+     */
+    var missCount = 0
+        private set
+
+    init {
+        require(precision in 1..GeoHash.MAX_PRECISION) { "Precision must be between 1 and ${GeoHash.MAX_PRECISION}" }
+        require(maxEntries > 0) { "Cache must keep at least one entry" }
+    }
+
+    override fun reverseGeocode(cord: GeoCoordinate, listener: ResultListener<Location>) {
+        val key = GeoHash.encode(cord.latitude, cord.longitude, precision)
+        entries[key]?.let {
+            if (clock() - it.timestamp < ttlMillis) {
+                hitCount++
+                listener.onCompleted(it.location, ErrorCode.NONE)
+                return
+            }
+            entries.remove(key)
+        }
+        pendingListeners[key]?.let {
+            hitCount++
+            it.add(listener)
+            return
+        }
+        missCount++
+        // Registered before the request, the geocoder may complete a request it can't start right away.
+        pendingListeners[key] = mutableListOf(listener)
+        geocoder.reverseGeocode(cord, ResultListener { location, errorCode ->
+            if (errorCode == ErrorCode.NONE && location != null) {
+                entries[key] = Entry(location, clock())
+            }
+            pendingListeners.remove(key)?.forEach { it.onCompleted(location, errorCode) }
+        })
+    }
+
+    /**
+     * Drops all cached locations. Pending requests are still completed.
+     */
+    fun clear() {
+        entries.clear()
+    }
+
+    private class Entry(val location: Location, val timestamp: Long)
+}
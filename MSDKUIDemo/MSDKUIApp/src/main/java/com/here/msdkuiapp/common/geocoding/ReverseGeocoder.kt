@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.common.geocoding
+
+import com.here.android.mpa.common.GeoCoordinate
+import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
+
+/**
+ * Resolves a [GeoCoordinate] to a [Location], e.g. to show the address of a tapped waypoint.
+ */
+interface ReverseGeocoder {
+
+    /**
+     * Resolves the given coordinate.
+     *
+     * @param cord [GeoCoordinate] to resolve.
+     * @param listener [ResultListener] notified on the main thread once the location is resolved. It is also
+     * notified if the request can't be started, possibly before this method returns.
+     */
+    fun reverseGeocode(cord: GeoCoordinate, listener: ResultListener<Location>)
+}
@@ -19,6 +19,7 @@ package com.here.msdkuiapp.common.mapselection
 import com.here.android.mpa.common.GeoCoordinate
 import com.here.android.mpa.search.ErrorCode
 import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
 import com.here.msdkui.routing.WaypointEntry
 import com.here.msdkuiapp.CommonContracts
 import com.here.msdkuiapp.R
@@ -118,9 +119,7 @@ class WaypointSelectionPresenter() : BasePresenter<CommonContracts.WaypointSelec
         if (!coordinate.isValid) return
         state.entry = WaypointEntry(provider.providesRouteWaypoint(coordinate))
         contract?.onProgress(true)
-        provider.providesReverseGeocodeRequest(coordinate).execute { location: Location?, errorCode: ErrorCode? ->
-            this.onGeoRequestComplete(location, errorCode)
-        }
+        provider.providesReverseGeocoder().reverseGeocode(coordinate, ResultListener(this::onGeoRequestComplete))
     }
 
     private fun onGeoRequestComplete(location: Location?, errorCode: ErrorCode?) {
@@ -22,6 +22,7 @@ import android.util.Log
 import com.here.android.mpa.routing.*
 import com.here.android.mpa.search.ErrorCode
 import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
 import com.here.msdkui.routing.WaypointEntry
 import com.here.msdkuiapp.GuidanceContracts
 import com.here.msdkuiapp.R
@@ -31,6 +32,7 @@ import com.here.msdkuiapp.common.Constant.GUIDANCE_IS_SIMULATION_KEY
 import com.here.msdkuiapp.common.Constant.GUIDANCE_SIMULATION_SPEED
 import com.here.msdkuiapp.common.Provider
 import com.here.msdkuiapp.guidance.GuidanceActivity
+import com.here.msdkuiapp.guidance.SingletonHelper
 import com.here.msdkuiapp.guidance.SingletonHelper.appPositioningManager
 import com.here.msdkuiapp.msdkuiApplication
 import java.util.Date
@@ -89,7 +91,7 @@ class RoutePreviewFragmentPresenter() : BasePresenter<GuidanceContracts.RoutePre
         contract?.onProgress(true)
         state.route?.run {
             destination?.let {
-                provider.providesReverseGeocodeRequest(it).execute { location: Location?, errorCode: ErrorCode? ->
+                val listener = ResultListener { location: Location?, errorCode: ErrorCode? ->
                     if (errorCode == ErrorCode.NONE) {
                         state.destination = WaypointEntry(provider.providesRouteWaypoint(it), location?.address?.text
                                 ?: "")
@@ -102,6 +104,7 @@ class RoutePreviewFragmentPresenter() : BasePresenter<GuidanceContracts.RoutePre
                         }
                     }
                 }
+                provider.providesReverseGeocoder().reverseGeocode(it, listener)
             }
             return
         }
@@ -149,6 +152,8 @@ class RoutePreviewFragmentPresenter() : BasePresenter<GuidanceContracts.RoutePre
     fun populateUI() {
         state.route?.run {
             contract?.populateUI(state.destination!!, this, state.listVisible, state.isTrafficEnabled)
+            // Guidance is likely to be started now, prepare its panels while the user looks at the route.
+            context?.let { SingletonHelper.preloadGuidanceViews(it) }
         } ?: run {
             if (state.errorMessage.isNotBlank()) {
                 contract?.routingFailed(state.errorMessage)
@@ -16,8 +16,10 @@
 
 package com.here.msdkuiapp.guidance
 
+import android.app.AlertDialog
 import android.content.Intent
 import android.os.Bundle
+import android.os.SystemClock
 import com.google.android.material.bottomsheet.BottomSheetBehavior
 import android.util.Log
 import android.view.View
@@ -46,6 +48,7 @@ class GuidanceActivity : BasePermissionActivity() {
     internal var bottomSheetBehavior: BottomSheetBehavior<View>? = null
 
     override fun onCreate(savedInstanceState: Bundle?) {
+        SingletonHelper.guidanceStartNanos = SystemClock.elapsedRealtimeNanos()
         super.onCreate(savedInstanceState)
         setUpActionBar()
         setContentView(R.layout.activity_guidance)
@@ -83,8 +86,9 @@ class GuidanceActivity : BasePermissionActivity() {
         }
 
         override fun onItemClicked(itemIndex: Int) {
-            if (itemIndex == 1) {
-                startAboutActivity()
+            when (itemIndex) {
+                1 -> startAboutActivity()
+                2 -> showGuidanceMetrics()
             }
         }
 
@@ -101,9 +105,19 @@ class GuidanceActivity : BasePermissionActivity() {
         }
     }
 
+    override fun onStop() {
+        super.onStop()
+        // The process may be killed in the background, keep the latest progress.
+        guidanceCoordinator?.saveProgress()
+    }
+
     override fun onDestroy() {
         super.onDestroy()
         guidanceCoordinator?.destroy()
+        if (isChangingConfigurations.not()) {
+            SingletonHelper.guidanceViewPreloader?.clear()
+            SingletonHelper.guidanceViewPreloader = null
+        }
     }
 
     override fun onSaveInstanceState(outState: Bundle) {
@@ -174,6 +188,21 @@ class GuidanceActivity : BasePermissionActivity() {
         startActivity(Intent(this, AboutActivity::class.java))
     }
 
+    /**
+     * Shows runtime metrics collected from guidance presenters.
+     */
+    private fun showGuidanceMetrics() {
+        val dump = SingletonHelper.guidanceMetrics.dump()
+        Log.i(GuidanceActivity::class.java.name, dump)
+        AlertDialog.Builder(this)
+                .setTitle(R.string.msdkui_app_guidance_metrics)
+                .setMessage(dump)
+                .setCancelable(true)
+                .setPositiveButton(R.string.msdkui_app_ok, null)
+                .create()
+                .show()
+    }
+
     /**
      * Finish guidance activity.
      */
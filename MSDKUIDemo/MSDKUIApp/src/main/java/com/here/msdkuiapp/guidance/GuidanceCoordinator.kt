@@ -16,14 +16,21 @@
 
 package com.here.msdkuiapp.guidance
 
+import androidx.fragment.app.FragmentActivity
 import androidx.fragment.app.FragmentManager
 import android.content.Context
 import android.content.Intent
+import android.util.Log
+import com.here.android.mpa.common.GeoPosition
 import com.here.android.mpa.guidance.NavigationManager
 import com.here.android.mpa.mapping.Map
+import com.here.android.mpa.routing.CoreRouter
+import com.here.android.mpa.routing.Maneuver
 import com.here.android.mpa.routing.Route
 import com.here.android.mpa.routing.RouteResult
+import com.here.android.mpa.routing.RouteWaypoint
 import com.here.android.mpa.routing.RoutingError
+import com.here.msdkui.guidance.GuidanceManeuverUtil
 import com.here.msdkuiapp.R
 import com.here.msdkuiapp.base.BaseFragmentCoordinator
 import com.here.msdkuiapp.msdkuiApplication
@@ -62,10 +69,34 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
             object : NavigationManager.NavigationManagerEventListener() {
                 override fun onEnded(navigationMode : NavigationManager.NavigationMode?) {
                     didGuidanceFinished = true
+                    sessionStore?.clear()
+                }
+            }
+
+    internal val positionListener: NavigationManager.PositionListener =
+            object : NavigationManager.PositionListener() {
+                override fun onPositionUpdated(position: GeoPosition?) {
+                    saveProgress(false)
+                }
+            }
+
+    internal val newInstructionEventListener: NavigationManager.NewInstructionEventListener =
+            object : NavigationManager.NewInstructionEventListener() {
+                override fun onNewInstructionEvent() {
+                    saveProgress(true)
                 }
             }
 
     internal var route: Route? = null
+        set(value) {
+            field = value
+            routeManeuvers = value?.maneuvers ?: emptyList()
+        }
+
+    /**
+     * Maneuvers of [route], to find the index of the next maneuver when saving the progress.
+     */
+    private var routeManeuvers: List<Maneuver> = emptyList()
 
     internal var mapFragment: MapFragmentWrapper? = null
         get() = field ?: fragmentManager.findFragmentById(R.id.mapfragment_wrapper) as? MapFragmentWrapper
@@ -77,6 +108,19 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
     var provider: Provider? = null
         get() = field ?: Provider()
 
+    /**
+     * Stores the guidance session, so guidance can be resumed after the app process was killed.
+     */
+    internal var sessionStore: GuidanceSessionStore? = null
+        get() = field ?: GuidanceSessionStore(context).also { field = it }
+
+    /**
+     * Host of the presenters of all guidance panels, retained across configuration changes.
+     */
+    internal val presenterHost: GuidancePresenterHost? by lazy {
+        (context as? FragmentActivity)?.let { GuidancePresenterHost.of(it) }
+    }
+
     companion object {
         /**
          * Speed of simulation - meters per second.
@@ -98,6 +142,8 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
      * Init the map engine.
      */
     fun start() {
+        // Creates the host early, so it follows the activity lifecycle before the panels are added.
+        presenterHost
         mapFragment?.start(this::onEngineInit)
     }
 
@@ -109,6 +155,8 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
             removeRerouteListener(rerouteListener)
             removeTrafficRerouteListener(trafficRerouteListener)
             removeNavigationManagerEventListener(navigationManagerEventListener)
+            removePositionListener(positionListener)
+            removeNewInstructionEventListener(newInstructionEventListener)
         }
     }
 
@@ -118,6 +166,13 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
     private fun onEngineInit() {
         doMapSettings(mapFragment!!.map!!)
         route = context.msdkuiApplication.route
+        if (route == null && !didGuidanceFinished && context.isLocationOk) {
+            // The app process was killed during guidance.
+            sessionStore?.load()?.let {
+                resume(it)
+                return
+            }
+        }
         init()
     }
 
@@ -130,8 +185,11 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
             addRerouteListener(WeakReference(rerouteListener))
             addTrafficRerouteListener(WeakReference(trafficRerouteListener))
             addNavigationManagerEventListener(WeakReference(navigationManagerEventListener))
+            addPositionListener(WeakReference(positionListener))
+            addNewInstructionEventListener(WeakReference(newInstructionEventListener))
         }
 
+        saveSession()
         renderRoute()
         addManeuverPanel()
         addNextManeuverPanel()
@@ -145,9 +203,104 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
     private fun updateRoute(updatedRoute: Route) {
         context.msdkuiApplication.route = updatedRoute
         route = updatedRoute
+        presenterHost?.setRoute(updatedRoute)
+        saveSession()
         renderRoute()
     }
 
+    /**
+     * Shows the panels of a session stored before the app process was killed and calculates its route again.
+     * Guidance continues as usual once the route is ready.
+     */
+    private fun resume(session: GuidanceSessionStore.Session) {
+        if (session.waypoints.size < 2) {
+            sessionStore?.clear()
+            context.startActivity(Intent(context, LandingActivity::class.java))
+            return
+        }
+        isSimulation = session.isSimulation
+        simulationSpeed = session.simulationSpeed
+        addManeuverPanel().restoredData = session.maneuverData()
+        addEstimatedArrivalTimeView().restoredData = session.estimatedArrivalData()
+        calculateRoute(session)
+    }
+
+    private fun calculateRoute(session: GuidanceSessionStore.Session) {
+        val provider = provider!!
+        // Continues from the current position, a simulation starts over.
+        val position = if (session.isSimulation) null
+        else SingletonHelper.appPositioningManager?.sdkPositioningManager?.position?.takeIf { it.isValid }?.coordinate
+        val routePlan = provider.provideRoutePlan()
+        session.waypoints.forEachIndexed { index, waypoint ->
+            val coordinate = if (index == 0 && position != null) position
+            else provider.providesGeoCoordinate(waypoint.latitude, waypoint.longitude)
+            routePlan.addWaypoint(provider.providesRouteWaypoint(coordinate).apply {
+                waypointType = if (index == 0 || index == session.waypoints.size - 1)
+                    RouteWaypoint.Type.STOP_WAYPOINT else RouteWaypoint.Type.VIA_WAYPOINT
+            })
+        }
+        routePlan.routeOptions = provider.providesRouteOptions().apply {
+            transportMode = session.snapshot.transportMode
+            session.routeType?.let { routeType = it }
+            routeCount = 1
+        }
+        provider.providesCoreRouter().calculateRoute(routePlan, object : CoreRouter.Listener {
+            override fun onCalculateRouteFinished(results: List<RouteResult>, error: RoutingError) {
+                onRouteRecalculated(results.firstOrNull()?.route, error)
+            }
+
+            override fun onProgress(percent: Int) {}
+        })
+    }
+
+    private fun onRouteRecalculated(calculatedRoute: Route?, error: RoutingError) {
+        if (calculatedRoute == null) {
+            Log.e(GuidanceCoordinator::class.java.name, "Resuming guidance failed: ${error.name}")
+            sessionStore?.clear()
+            context.startActivity(Intent(context, LandingActivity::class.java))
+            return
+        }
+        context.msdkuiApplication.route = calculatedRoute
+        route = calculatedRoute
+        presenterHost?.setRoute(calculatedRoute)
+        init()
+    }
+
+    private fun saveSession() {
+        val currentRoute = route ?: return
+        val appContext = context.applicationContext
+        val simulation = isSimulation
+        val speed = simulationSpeed
+        sessionStore?.saveSession {
+            GuidanceSessionStore.createSession(appContext, currentRoute, simulation, speed)
+        }
+    }
+
+    /**
+     * Stores the progress along the route, see [GuidanceSessionStore.saveProgress].
+     *
+     * @param force true to store the progress in any case, false to store it at most every few seconds.
+     */
+    internal fun saveProgress(force: Boolean = true) {
+        val manager = navigationManager ?: return
+        if (route == null || didGuidanceFinished) {
+            return
+        }
+        val store = sessionStore ?: return
+        val now = System.currentTimeMillis()
+        // Check the throttle first, the maneuver lookup and the TTA are not for free on every position.
+        if (!force && !store.isProgressDue(now)) {
+            return
+        }
+        // The SDK returns new maneuver instances, so compare them like the guidance panels do.
+        val index = manager.nextManeuver?.let { next ->
+            routeManeuvers.indexOfFirst { GuidanceManeuverUtil.maneuversEqual(it, next) }
+        } ?: -1
+        val tta = manager.getTta(Route.TrafficPenaltyMode.OPTIMAL, false)
+        store.saveProgress(GuidanceSessionStore.Progress(index, manager.nextManeuverDistance,
+                manager.destinationDistance, tta?.duration?.toLong() ?: 0L, now), force)
+    }
+
     private fun doNavigationSettings(map: Map) {
         navigationManager?.apply {
             setMap(map)
@@ -180,9 +333,10 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
     /**
      * Adds Maneuver panel to guidance view screen.
      */
-    private fun addManeuverPanel() {
+    private fun addManeuverPanel(): GuidanceManeuverFragment {
         val fragment = addFragment(R.id.maneuver_panel_container, GuidanceManeuverFragment::class.java, false)
         fragment.route = route
+        return fragment
     }
 
     private fun addNextManeuverPanel() {
@@ -190,8 +344,10 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
         fragment.route = route
     }
 
-    private fun addEstimatedArrivalTimeView() {
-        addFragment(R.id.eta_view_container, GuidanceEstimatedArrivalFragment::class.java, false)
+    private fun addEstimatedArrivalTimeView(): GuidanceEstimatedArrivalFragment {
+        val fragment = addFragment(R.id.eta_view_container, GuidanceEstimatedArrivalFragment::class.java, false)
+        fragment.route = route
+        return fragment
     }
 
     private fun addStreetNameView() {
@@ -200,11 +356,13 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
     }
 
     private fun addSpeedPanel() {
-        addFragment(R.id.current_speed_panel_container, GuidanceSpeedFragment::class.java, false)
+        val fragment = addFragment(R.id.current_speed_panel_container, GuidanceSpeedFragment::class.java, false)
+        fragment.route = route
     }
 
     private fun addSpeedLimitPanel() {
-        addFragment(R.id.speed_limit_container, GuidanceSpeedLimitFragment::class.java, false)
+        val fragment = addFragment(R.id.speed_limit_container, GuidanceSpeedLimitFragment::class.java, false)
+        fragment.route = route
     }
 
     /**
@@ -223,6 +381,7 @@ class GuidanceCoordinator(private val context: Context, fragmentManager: Fragmen
     override fun onBackPressed(): Boolean {
         // stop navigation
         navigationManager?.stop()
+        sessionStore?.clear()
         return super.onBackPressed()
     }
 }
\ No newline at end of file
@@ -86,7 +86,8 @@ class GuidanceDashBoardView : LinearLayout {
                 GuidanceDashBoardListItem(R.drawable.ic_settings_route_24,
                         context.getString(R.string.msdkui_app_settings)),
                 GuidanceDashBoardListItem(R.drawable.ic_info_outline_black_24dp,
-                        context.getString(R.string.msdkui_app_about))
+                        context.getString(R.string.msdkui_app_about)),
+                GuidanceDashBoardListItem(0, context.getString(R.string.msdkui_app_guidance_metrics))
         )
         val adapter = GuidanceDashBoardListAdapter(list, context)
         adapter.itemListener = itemClickListener
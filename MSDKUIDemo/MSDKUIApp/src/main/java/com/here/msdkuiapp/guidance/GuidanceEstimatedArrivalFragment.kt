@@ -25,14 +25,18 @@ import android.view.View.TEXT_ALIGNMENT_CENTER
 import android.view.View.TEXT_ALIGNMENT_VIEW_START
 import android.view.ViewGroup
 import android.widget.TextView
+import com.here.android.mpa.routing.Route
+import com.here.msdkui.guidance.GuidanceDataStream
 import com.here.msdkui.guidance.GuidanceEstimatedArrivalViewData
 import com.here.msdkui.guidance.GuidanceEstimatedArrivalViewPresenter
 import com.here.msdkui.guidance.GuidanceEstimatedArrivalView
 import com.here.msdkui.guidance.GuidanceEstimatedArrivalViewListener
+import com.here.msdkui.guidance.GuidanceRefreshScheduler
 import com.here.msdkuiapp.R
 import com.here.msdkuiapp.common.Util
 import kotlinx.android.extensions.CacheImplementation
 import kotlinx.android.extensions.ContainerOptions
+import java.util.concurrent.Executor
 
 /**
  * Fragment class for GuidanceEstimatedArrivalView.
@@ -41,6 +45,23 @@ import kotlinx.android.extensions.ContainerOptions
 class GuidanceEstimatedArrivalFragment : Fragment(), GuidanceEstimatedArrivalViewListener {
 
     internal var viewPresenter : GuidanceEstimatedArrivalViewPresenter? = null
+    internal var route: Route? = null
+    private var stream: GuidanceDataStream<GuidanceEstimatedArrivalViewData>? = null
+    private var subscription: GuidanceDataStream.Subscription? = null
+
+    /**
+     * Data of a resumed guidance session, shown until the presenter delivers its first data.
+     * Applied right away if the view already exists, e.g. when the activity restored this fragment.
+     */
+    internal var restoredData: GuidanceEstimatedArrivalViewData? = null
+        set(value) {
+            field = if (value != null && view != null) {
+                showRestoredData(value)
+                null
+            } else {
+                value
+            }
+        }
 
     init {
         retainInstance = true
@@ -54,35 +75,50 @@ class GuidanceEstimatedArrivalFragment : Fragment(), GuidanceEstimatedArrivalVie
      * Creates view.
      */
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?, savedInstanceState: Bundle?): View {
-        return GuidanceEstimatedArrivalView(activity).apply {
+        val preloadedView = SingletonHelper.guidanceViewPreloader?.acquireView(inflater.context,
+                GuidanceEstimatedArrivalView::class.java)
+        return (preloadedView ?: GuidanceEstimatedArrivalView(activity)).apply {
             id = R.id.guidanceEstimatedArrivalViewId
             unitSystem = Util.getLocaleUnit()
         }
     }
 
     /**
-     * Creates Presenter for this [GuidanceEstimatedArrivalFragment].
+     * Gets the Presenter for this [GuidanceEstimatedArrivalFragment] from the [GuidancePresenterHost].
      */
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         view.findViewById<TextView>(R.id.eta).textAlignment =
                 if (resources.configuration.orientation == Configuration.ORIENTATION_PORTRAIT) TEXT_ALIGNMENT_CENTER
                 else TEXT_ALIGNMENT_VIEW_START
-        if (viewPresenter == null) {
-            viewPresenter = GuidanceEstimatedArrivalViewPresenter(SingletonHelper.navigationManager).apply {
-                addListener(this@GuidanceEstimatedArrivalFragment)
-                resume()
+        val entry = GuidancePresenterHost.of(requireActivity()).get(
+                GuidanceEstimatedArrivalViewPresenter::class.java, {
+            viewPresenter ?: GuidanceEstimatedArrivalViewPresenter(SingletonHelper.navigationManager, route).apply {
+                setMetrics(SingletonHelper.guidanceMetrics)
+                refreshScheduler = GuidanceRefreshScheduler(Util.getLocaleUnit())
             }
-        }
+        }, { GuidanceDataStream.of(it) })
+        stream = entry?.stream
+        restoredData?.let(::showRestoredData)
+        restoredData = null
+        entry ?: return
+        viewPresenter = entry.presenter
+        subscription = entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber(::onDataChanged))
     }
 
-    override fun onPause() {
-        super.onPause()
-        viewPresenter?.pause()
+    override fun onDestroyView() {
+        super.onDestroyView()
+        subscription?.cancel()
+        subscription = null
+        stream = null
     }
 
-    override fun onResume() {
-        super.onResume()
-        viewPresenter?.resume()
+    /**
+     * Shows restored data unless the presenter has delivered data already.
+     */
+    private fun showRestoredData(data: GuidanceEstimatedArrivalViewData) {
+        if (stream?.hasValue() != true) {
+            (view as? GuidanceEstimatedArrivalView)?.estimatedArrivalData = data
+        }
     }
 
     override fun onDataChanged(viewData: GuidanceEstimatedArrivalViewData?) {
@@ -18,19 +18,25 @@ package com.here.msdkuiapp.guidance
 
 import androidx.fragment.app.Fragment
 import android.os.Bundle
+import android.os.SystemClock
+import android.util.Log
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import com.here.android.mpa.routing.Route
 import com.here.msdkui.common.ThemeUtil
+import com.here.msdkui.guidance.GuidanceDataStream
+import com.here.msdkui.guidance.GuidanceManeuverCountdown
 import com.here.msdkui.guidance.GuidanceManeuverData
 import com.here.msdkui.guidance.GuidanceManeuverView
+import com.here.msdkui.guidance.ManeuverDistanceInterpolator
 import com.here.msdkui.guidance.GuidanceManeuverListener
 import com.here.msdkui.guidance.GuidanceManeuverPresenter
 import com.here.msdkuiapp.R
 import com.here.msdkuiapp.common.Util
 import kotlinx.android.extensions.CacheImplementation
 import kotlinx.android.extensions.ContainerOptions
+import java.util.concurrent.Executor
 
 /**
  * Fragment class for ManeuverPanel View.
@@ -40,6 +46,9 @@ class GuidanceManeuverFragment : Fragment(), GuidanceManeuverListener {
 
     private var _route: Route? = null
     internal var presenter: GuidanceManeuverPresenter? = null
+    private var countdown: GuidanceManeuverCountdown? = null
+    private var stream: GuidanceDataStream<GuidanceManeuverData>? = null
+    private var subscription: GuidanceDataStream.Subscription? = null
 
     /**
      * Setter getter for [Route].
@@ -50,6 +59,20 @@ class GuidanceManeuverFragment : Fragment(), GuidanceManeuverListener {
             _route = value
         }
 
+    /**
+     * Data of a resumed guidance session, shown until the presenter delivers its first data.
+     * Applied right away if the view already exists, e.g. when the activity restored this fragment.
+     */
+    internal var restoredData: GuidanceManeuverData? = null
+        set(value) {
+            field = if (value != null && view != null) {
+                showRestoredData(value)
+                null
+            } else {
+                value
+            }
+        }
+
     init {
         retainInstance = true
     }
@@ -63,41 +86,97 @@ class GuidanceManeuverFragment : Fragment(), GuidanceManeuverListener {
      */
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
-        val view =  inflater.inflate(R.layout.guidance_maneuver_fragment, container, false) as GuidanceManeuverView
+        val view =  (SingletonHelper.guidanceViewPreloader?.acquireLayout(inflater.context, R.layout.guidance_maneuver_fragment)
+                ?: inflater.inflate(R.layout.guidance_maneuver_fragment, container, false)) as GuidanceManeuverView
         view.unitSystem =  Util.getLocaleUnit()
         return view
     }
 
     /**
-     * Creates Presenter for this GuidanceManeuverFragment.
+     * Gets the Presenter for this GuidanceManeuverFragment from the [GuidancePresenterHost].
      */
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
-        if (presenter == null) {
-            presenter = GuidanceManeuverPresenter(view.context, SingletonHelper.navigationManager, route).apply {
-                addListener(this@GuidanceManeuverFragment)
-                resume()
+        val entry = GuidancePresenterHost.of(requireActivity()).get(GuidanceManeuverPresenter::class.java, {
+            presenter ?: GuidanceManeuverPresenter(view.context, SingletonHelper.navigationManager, route).apply {
+                setMetrics(SingletonHelper.guidanceMetrics)
+                setDistanceInterpolator(ManeuverDistanceInterpolator())
             }
+        }, { GuidanceDataStream.of(it) })
+        stream = entry?.stream
+        restoredData?.let(::showRestoredData)
+        restoredData = null
+        entry ?: return
+        presenter = entry.presenter.apply { addListener(destinationListener) }
+        entry.presenter.distanceInterpolator?.let {
+            countdown = GuidanceManeuverCountdown(view as GuidanceManeuverView, it)
         }
+        subscription = entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber(::onDataChanged))
     }
 
     override fun onPause() {
         super.onPause()
-        presenter?.pause()
+        countdown?.stop()
     }
 
     override fun onResume() {
         super.onResume()
-        presenter?.resume()
+        countdown?.start()
+    }
+
+    override fun onDestroyView() {
+        super.onDestroyView()
+        countdown?.stop()
+        countdown = null
+        subscription?.cancel()
+        subscription = null
+        stream = null
+        presenter?.removeListener(destinationListener)
+    }
+
+    /**
+     * Listens to the destination only, the data comes from the stream of the presenter.
+     */
+    private val destinationListener = object : GuidanceManeuverListener {
+        override fun onDataChanged(data: GuidanceManeuverData?) {
+        }
+
+        override fun onDestinationReached() {
+            this@GuidanceManeuverFragment.onDestinationReached()
+        }
+    }
+
+    /**
+     * Shows restored data unless the presenter has delivered data already.
+     */
+    private fun showRestoredData(data: GuidanceManeuverData) {
+        if (stream?.hasValue() != true) {
+            (view as? GuidanceManeuverView)?.setViewState(GuidanceManeuverView.State(data))
+        }
     }
 
     override fun onDataChanged(data: GuidanceManeuverData?) {
         val notifiedView = view as? GuidanceManeuverView
         data?.run {
             notifiedView?.setViewState(GuidanceManeuverView.State(data))
+            logTimeToFirstInstruction()
         } ?: notifiedView?.setViewState(GuidanceManeuverView.State.UPDATING)
 
     }
 
+    /**
+     * Logs once per guidance screen how long it took from creating the screen to showing the first instruction.
+     */
+    private fun logTimeToFirstInstruction() {
+        val startNanos = SingletonHelper.guidanceStartNanos
+        if (startNanos == 0L) {
+            return
+        }
+        SingletonHelper.guidanceStartNanos = 0L
+        val millis = (SystemClock.elapsedRealtimeNanos() - startNanos) / 1_000_000
+        Log.i(GuidanceManeuverFragment::class.java.simpleName, "First instruction shown after $millis ms\n" +
+                (SingletonHelper.guidanceViewPreloader?.dump() ?: "no views preloaded"))
+    }
+
     override fun onDestinationReached() {
         (view as? GuidanceManeuverView)?.highLightManeuver(ThemeUtil.getColor(activity,
                 com.here.msdkui.R.attr.colorAccentLight))
@@ -24,6 +24,7 @@ import android.view.View.GONE
 import android.view.View.VISIBLE
 import android.view.ViewGroup
 import com.here.android.mpa.routing.Route
+import com.here.msdkui.guidance.GuidanceDataStream
 import com.here.msdkui.guidance.GuidanceManeuverView
 import com.here.msdkui.guidance.GuidanceNextManeuverData
 import com.here.msdkui.guidance.GuidanceNextManeuverView
@@ -33,6 +34,7 @@ import com.here.msdkuiapp.R
 import com.here.msdkuiapp.common.Util
 import kotlinx.android.extensions.CacheImplementation
 import kotlinx.android.extensions.ContainerOptions
+import java.util.concurrent.Executor
 
 /**
  * Fragment class for NextManeuverPanel View.
@@ -42,6 +44,7 @@ class GuidanceNextManeuverFragment : Fragment(), GuidanceNextManeuverListener {
 
     internal var route: Route? = null
     internal var presenter: GuidanceNextManeuverPresenter? = null
+    private var subscription: GuidanceDataStream.Subscription? = null
 
     init {
         retainInstance = true
@@ -55,31 +58,29 @@ class GuidanceNextManeuverFragment : Fragment(), GuidanceNextManeuverListener {
      * Creates Panel View.
      */
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?, savedInstanceState: Bundle?): View {
-        val view =  inflater.inflate(R.layout.guidance_next_maneuver_fragment, container, false) as GuidanceNextManeuverView
+        val view =  (SingletonHelper.guidanceViewPreloader?.acquireLayout(inflater.context, R.layout.guidance_next_maneuver_fragment)
+                ?: inflater.inflate(R.layout.guidance_next_maneuver_fragment, container, false)) as GuidanceNextManeuverView
         view.unitSystem =  Util.getLocaleUnit()
         return view
     }
 
     /**
-     * Creates Presenter for this [GuidanceNextManeuverFragment].
+     * Gets the Presenter for this [GuidanceNextManeuverFragment] from the [GuidancePresenterHost].
      */
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
-        if (presenter == null) {
-            presenter = GuidanceNextManeuverPresenter(view.context, SingletonHelper.navigationManager, route).apply {
-                addListener(this@GuidanceNextManeuverFragment)
-                resume()
+        val entry = GuidancePresenterHost.of(requireActivity()).get(GuidanceNextManeuverPresenter::class.java, {
+            presenter ?: GuidanceNextManeuverPresenter(view.context, SingletonHelper.navigationManager, route).apply {
+                setMetrics(SingletonHelper.guidanceMetrics)
             }
-        }
-    }
-
-    override fun onPause() {
-        super.onPause()
-        presenter?.pause()
+        }, { GuidanceDataStream.of(it) }) ?: return
+        presenter = entry.presenter
+        subscription = entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber(::onDataChanged))
     }
 
-    override fun onResume() {
-        super.onResume()
-        presenter?.resume()
+    override fun onDestroyView() {
+        super.onDestroyView()
+        subscription?.cancel()
+        subscription = null
     }
 
     override fun onDataChanged(data: GuidanceNextManeuverData?) {
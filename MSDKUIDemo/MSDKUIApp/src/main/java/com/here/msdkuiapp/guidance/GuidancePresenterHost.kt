@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.guidance
+
+import androidx.fragment.app.FragmentActivity
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.LifecycleEventObserver
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.ViewModelProvider
+import com.here.android.mpa.routing.Route
+import com.here.msdkui.guidance.GuidanceDataStream
+import com.here.msdkui.guidance.base.BaseGuidancePresenter
+import java.util.concurrent.Executor
+
+/**
+ * Keeps the guidance presenters and their latest data alive across configuration changes.
+ *
+ * Each presenter type is created once per guidance session and shared by all panels using it. The presenters
+ * listen to navigation events while the guidance screen is started. Rotating the device doesn't pause them, so
+ * no listeners are re-registered and a panel attaching again gets the latest data right away from the
+ * [GuidanceDataStream] of its presenter. The presenters are paused for good when the guidance screen finishes.
+ */
+class GuidancePresenterHost : ViewModel() {
+
+    private val entries = LinkedHashMap<Class<*>, Entry<*, *>>()
+    private var activity: FragmentActivity? = null
+
+    /**
+     * True while the presenters listen to navigation events.
+     */
+    internal var isStarted = false
+        private set
+
+    private val lifecycleObserver = LifecycleEventObserver { _, event ->
+        when (event) {
+            Lifecycle.Event.ON_START -> start()
+            Lifecycle.Event.ON_STOP -> if (activity?.isChangingConfigurations != true) stop()
+            Lifecycle.Event.ON_DESTROY -> detach()
+            else -> Unit
+        }
+    }
+
+    companion object {
+
+        /**
+         * Gets the host of the given guidance screen and follows its lifecycle.
+         */
+        fun of(activity: FragmentActivity): GuidancePresenterHost {
+            return ViewModelProvider(activity, ViewModelProvider.NewInstanceFactory())
+                    .get(GuidancePresenterHost::class.java).apply { attach(activity) }
+        }
+    }
+
+    /**
+     * Gets the presenter of the given type together with its data stream, creating both on first use.
+     *
+     * @param type type of the presenter, used as key.
+     * @param createPresenter creates the presenter, may return null if it can't be created yet.
+     * @param createStream creates the data stream of the presenter.
+     * @return the entry or null if the presenter couldn't be created.
+     */
+    @Suppress("UNCHECKED_CAST")
+    fun <P : BaseGuidancePresenter, T> get(type: Class<P>, createPresenter: () -> P?,
+                                           createStream: (P) -> GuidanceDataStream<T>): Entry<P, T>? {
+        entries[type]?.let { return it as Entry<P, T> }
+        val presenter = createPresenter() ?: return null
+        val stream = createStream(presenter)
+        // Keeps the stream listening, so its latest data is up to date when a panel attaches again.
+        val subscription = stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber {})
+        val entry = Entry(presenter, stream, subscription)
+        entries[type] = entry
+        if (isStarted) {
+            presenter.resume()
+        }
+        return entry
+    }
+
+    /**
+     * Gets the number of hosted presenters.
+     */
+    internal val presenterCount
+        get() = entries.size
+
+    /**
+     * Sets a new route to all presenters, e.g. after a traffic reroute.
+     */
+    fun setRoute(route: Route?) {
+        entries.values.forEach { it.presenter.route = route }
+    }
+
+    /**
+     * Starts listening to navigation events. Called when the guidance screen starts.
+     */
+    internal fun start() {
+        if (!isStarted) {
+            isStarted = true
+            entries.values.forEach { it.presenter.resume() }
+        }
+    }
+
+    /**
+     * Stops listening to navigation events. Called when the guidance screen stops, but not when it is
+     * recreated for a configuration change.
+     */
+    internal fun stop() {
+        if (isStarted) {
+            isStarted = false
+            entries.values.forEach {
+                it.presenter.pause()
+                it.presenter.releaseResources()
+            }
+        }
+    }
+
+    private fun attach(activity: FragmentActivity) {
+        if (this.activity === activity) {
+            return
+        }
+        detach()
+        this.activity = activity
+        activity.lifecycle.addObserver(lifecycleObserver)
+    }
+
+    private fun detach() {
+        activity?.lifecycle?.removeObserver(lifecycleObserver)
+        activity = null
+    }
+
+    override fun onCleared() {
+        detach()
+        stop()
+        entries.values.forEach { it.subscription.cancel() }
+        entries.clear()
+    }
+
+    /**
+     * A hosted presenter and its data stream.
+     */
+    class Entry<P : BaseGuidancePresenter, T> internal constructor(
+            val presenter: P,
+            val stream: GuidanceDataStream<T>,
+            internal val subscription: GuidanceDataStream.Subscription)
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.guidance
+
+import android.content.Context
+import android.util.Log
+import com.here.android.mpa.routing.Route
+import com.here.android.mpa.routing.RouteOptions
+import com.here.msdkui.guidance.GuidanceEstimatedArrivalViewData
+import com.here.msdkui.guidance.GuidanceManeuverData
+import com.here.msdkui.routing.RouteSnapshot
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.util.Date
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.zip.CRC32
+
+/**
+ * Stores the guidance session in a compact binary file, so the guidance screen can show its panels right away
+ * when it is recreated after the app process was killed.
+ *
+ * The file starts with the session, which is written once per route: the waypoints, the route type, the
+ * simulation settings and the [RouteSnapshot] of the route. It is followed by two slots for the progress along
+ * the route. Saving the progress only overwrites the older slot, so it is a small write and a write cut short
+ * by the process being killed leaves the other slot intact. Both parts are checked with a CRC32 when loading.
+ *
+ * All writes run one after another on a background executor. The file is only read back by the same
+ * installation of the app, because [RouteSnapshot] stores resource ids.
+ */
+class GuidanceSessionStore internal constructor(
+        private val file: File,
+        private val buildStamp: Long,
+        private val executor: Executor) {
+
+    /**
+     * Creates a store in the files directory of the app.
+     */
+    constructor(context: Context) : this(File(context.filesDir, FILE_NAME), getBuildStamp(context), IO_EXECUTOR)
+
+    /**
+     * A stored guidance session.
+     */
+    class Session(
+            val snapshot: RouteSnapshot,
+            val waypoints: List<Waypoint>,
+            val routeType: RouteOptions.Type?,
+            val isSimulation: Boolean,
+            val simulationSpeed: Long,
+            val progress: Progress? = null) {
+
+        /**
+         * Gets the data of the maneuver panel at the stored progress.
+         */
+        fun maneuverData(): GuidanceManeuverData? {
+            val index = progress?.maneuverIndex ?: return null
+            if (index !in 0 until snapshot.maneuverCount) {
+                return null
+            }
+            return GuidanceManeuverData(snapshot.getManeuverIconId(index), progress.distanceToManeuver, null,
+                    snapshot.getRoadToDisplay(index))
+        }
+
+        /**
+         * Gets the data of the estimated arrival panel at the stored progress. The arrival time is kept, the
+         * remaining duration counts down from the time the progress was saved.
+         */
+        fun estimatedArrivalData(now: Long = System.currentTimeMillis()): GuidanceEstimatedArrivalViewData? {
+            val progress = progress ?: return null
+            val eta = progress.savedAt + progress.remainingSeconds * 1000
+            return GuidanceEstimatedArrivalViewData(Date(eta), progress.destinationDistance,
+                    ((eta - now) / 1000).coerceAtLeast(0).toInt())
+        }
+    }
+
+    /**
+     * A waypoint of a stored session.
+     */
+    data class Waypoint(val latitude: Double, val longitude: Double)
+
+    /**
+     * The progress along the route of a stored session.
+     */
+    data class Progress(
+            val maneuverIndex: Int,
+            val distanceToManeuver: Long,
+            val destinationDistance: Long,
+            val remainingSeconds: Long,
+            val savedAt: Long = System.currentTimeMillis())
+
+    private val lock = Any()
+    private var progressOffset = -1L
+    private var progressSequence = 0L
+    private var lastProgressSave = 0L
+
+    companion object {
+
+        private val LOG_TAG = GuidanceSessionStore::class.java.simpleName
+
+        /**
+         * Name of the file in the files directory of the app.
+         */
+        const val FILE_NAME = "guidance_session.bin"
+
+        /**
+         * Minimal time between two progress writes which are not forced, in milliseconds.
+         */
+        const val PROGRESS_INTERVAL_MILLIS = 5_000L
+
+        private const val MAGIC = 0x4D53474E // "MSGN"
+        private const val FORMAT_VERSION = 1
+        private const val HEADER_SIZE = 4 + 4 + 8 + 4 + 4
+        private const val SLOT_SIZE = 8 + 4 + 8 + 8 + 8 + 8 + 4
+
+        private val IO_EXECUTOR: Executor = Executors.newSingleThreadExecutor { runnable ->
+            Thread(runnable, "MSDKUI-GuidanceSession").apply { isDaemon = true }
+        }
+
+        /**
+         * Creates the session of a route. Reads all maneuvers of the route, so better not called on the main
+         * thread.
+         */
+        fun createSession(context: Context, route: Route, isSimulation: Boolean, simulationSpeed: Long): Session {
+            val plan = route.routePlan
+            val waypoints = (0 until plan.waypointCount).mapNotNull { index ->
+                plan.getWaypoint(index)?.originalPosition?.let { Waypoint(it.latitude, it.longitude) }
+            }
+            return Session(RouteSnapshot.from(context, route, null), waypoints, plan.routeOptions.routeType,
+                    isSimulation, simulationSpeed)
+        }
+
+        private fun getBuildStamp(context: Context): Long {
+            return try {
+                // Changes with every installation, unlike the version code of development builds.
+                context.packageManager.getPackageInfo(context.packageName, 0).lastUpdateTime
+            } catch (e: Exception) {
+                0L
+            }
+        }
+    }
+
+    /**
+     * Stores the session of a route, replacing any stored session and its progress.
+     *
+     * @param createSession creates the session, called on the background executor.
+     */
+    fun saveSession(createSession: () -> Session) {
+        executor.execute {
+            try {
+                writeSession(createSession())
+            } catch (e: Exception) {
+                // The SDK or the disk failed, resuming just won't be possible.
+                Log.w(LOG_TAG, "Saving the guidance session failed", e)
+                delete()
+            }
+        }
+    }
+
+    /**
+     * Checks if a progress which is not forced would be written, so callers can skip collecting it.
+     *
+     * @param now the current time in milliseconds.
+     * @return true if at least [PROGRESS_INTERVAL_MILLIS] passed since the last progress write.
+     */
+    fun isProgressDue(now: Long = System.currentTimeMillis()): Boolean {
+        synchronized(lock) {
+            return now - lastProgressSave >= PROGRESS_INTERVAL_MILLIS
+        }
+    }
+
+    /**
+     * Stores the progress along the route of the stored session. Unless forced, the progress is written at
+     * most every [PROGRESS_INTERVAL_MILLIS].
+     *
+     * @param progress the progress to store.
+     * @param force true to write the progress in any case, e.g. when the screen is left.
+     */
+    fun saveProgress(progress: Progress, force: Boolean = false) {
+        synchronized(lock) {
+            if (!force && progress.savedAt - lastProgressSave < PROGRESS_INTERVAL_MILLIS) {
+                return
+            }
+            lastProgressSave = progress.savedAt
+        }
+        executor.execute {
+            try {
+                writeProgress(progress)
+            } catch (e: IOException) {
+                Log.w(LOG_TAG, "Saving the guidance progress failed", e)
+            }
+        }
+    }
+
+    /**
+     * Deletes the stored session, e.g. when guidance is stopped.
+     */
+    fun clear() {
+        executor.execute { delete() }
+    }
+
+    /**
+     * Loads the stored session. The file is small, so this can be called on the main thread.
+     *
+     * @return the session with its latest progress or null if there is none or it can't be read.
+     */
+    fun load(): Session? {
+        if (!file.exists()) {
+            return null
+        }
+        return try {
+            val bytes = file.readBytes()
+            val header = ByteBuffer.wrap(bytes)
+            if (bytes.size < HEADER_SIZE || header.int != MAGIC || header.int != FORMAT_VERSION ||
+                    header.long != buildStamp) {
+                throw IOException("Not a session of this installation")
+            }
+            val sessionSize = header.int
+            val sessionCrc = header.int
+            if (sessionSize < 0 || HEADER_SIZE + sessionSize > bytes.size ||
+                    crc(bytes, HEADER_SIZE, sessionSize) != sessionCrc) {
+                throw IOException("Corrupted session")
+            }
+            val session = readSession(DataInputStream(ByteArrayInputStream(bytes, HEADER_SIZE, sessionSize)))
+            val offset = (HEADER_SIZE + sessionSize).toLong()
+            val (sequence, progress) = readProgress(bytes, offset.toInt())
+            synchronized(lock) {
+                progressOffset = offset
+                progressSequence = sequence
+            }
+            Session(session.snapshot, session.waypoints, session.routeType, session.isSimulation,
+                    session.simulationSpeed, progress)
+        } catch (e: IOException) {
+            Log.w(LOG_TAG, "Dropping the stored guidance session", e)
+            clear()
+            null
+        }
+    }
+
+    private fun writeSession(session: Session) {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).run {
+            writeBoolean(session.isSimulation)
+            writeLong(session.simulationSpeed)
+            writeUTF(session.routeType?.name ?: "")
+            writeInt(session.waypoints.size)
+            session.waypoints.forEach {
+                writeDouble(it.latitude)
+                writeDouble(it.longitude)
+            }
+            session.snapshot.writeTo(this)
+            flush()
+        }
+        val payload = bytes.toByteArray()
+        val header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(buildStamp)
+                .putInt(payload.size)
+                .putInt(crc(payload, 0, payload.size))
+        // Writes a new file and renames it, so a killed process never leaves half a session behind.
+        val tempFile = File(file.path + ".tmp")
+        FileOutputStream(tempFile).use {
+            it.write(header.array())
+            it.write(payload)
+            // Two empty progress slots.
+            it.write(ByteArray(2 * SLOT_SIZE))
+            it.fd.sync()
+        }
+        if (!tempFile.renameTo(file)) {
+            throw IOException("Renaming $tempFile failed")
+        }
+        synchronized(lock) {
+            progressOffset = (HEADER_SIZE + payload.size).toLong()
+            progressSequence = 0L
+            lastProgressSave = 0L
+        }
+        session.progress?.let { writeProgress(it) }
+    }
+
+    private fun writeProgress(progress: Progress) {
+        val offset: Long
+        val sequence: Long
+        synchronized(lock) {
+            if (progressOffset < 0) {
+                // No session stored yet.
+                return
+            }
+            offset = progressOffset
+            sequence = ++progressSequence
+        }
+        val slot = ByteBuffer.allocate(SLOT_SIZE)
+                .putLong(sequence)
+                .putInt(progress.maneuverIndex)
+                .putLong(progress.distanceToManeuver)
+                .putLong(progress.destinationDistance)
+                .putLong(progress.remainingSeconds)
+                .putLong(progress.savedAt)
+        slot.putInt(crc(slot.array(), 0, SLOT_SIZE - 4))
+        RandomAccessFile(file, "rw").use {
+            it.seek(offset + (sequence % 2) * SLOT_SIZE)
+            it.write(slot.array())
+        }
+    }
+
+    private fun readSession(input: DataInputStream): Session {
+        val isSimulation = input.readBoolean()
+        val simulationSpeed = input.readLong()
+        val routeTypeName = input.readUTF()
+        val routeType = RouteOptions.Type.values().firstOrNull { it.name == routeTypeName }
+        val waypointCount = input.readInt()
+        if (waypointCount < 0) {
+            throw IOException("Invalid waypoint count $waypointCount")
+        }
+        val waypoints = (0 until waypointCount).map { Waypoint(input.readDouble(), input.readDouble()) }
+        return Session(RouteSnapshot.readFrom(input), waypoints, routeType, isSimulation, simulationSpeed)
+    }
+
+    /**
+     * Reads the newer valid progress slot.
+     */
+    private fun readProgress(bytes: ByteArray, offset: Int): Pair<Long, Progress?> {
+        var sequence = 0L
+        var progress: Progress? = null
+        for (slotIndex in 0 until 2) {
+            val slotOffset = offset + slotIndex * SLOT_SIZE
+            if (slotOffset + SLOT_SIZE > bytes.size) {
+                break
+            }
+            val slot = ByteBuffer.wrap(bytes, slotOffset, SLOT_SIZE)
+            val slotSequence = slot.long
+            val slotProgress = Progress(slot.int, slot.long, slot.long, slot.long, slot.long)
+            if (slotSequence > sequence && slot.int == crc(bytes, slotOffset, SLOT_SIZE - 4)) {
+                sequence = slotSequence
+                progress = slotProgress
+            }
+        }
+        return Pair(sequence, progress)
+    }
+
+    private fun delete() {
+        synchronized(lock) {
+            progressOffset = -1L
+            progressSequence = 0L
+        }
+        file.delete()
+    }
+
+    private fun crc(bytes: ByteArray, offset: Int, length: Int): Int {
+        return CRC32().run {
+            update(bytes, offset, length)
+            value.toInt()
+        }
+    }
+}
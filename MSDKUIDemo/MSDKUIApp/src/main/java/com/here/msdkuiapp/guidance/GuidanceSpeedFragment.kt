@@ -24,6 +24,8 @@ import androidx.core.content.ContextCompat
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import com.here.android.mpa.routing.Route
+import com.here.msdkui.guidance.GuidanceDataStream
 import com.here.msdkui.common.ThemeUtil
 import com.here.msdkui.guidance.GuidanceSpeedView
 import com.here.msdkui.guidance.GuidanceSpeedData
@@ -36,6 +38,7 @@ import kotlinx.android.extensions.CacheImplementation
 import kotlinx.android.extensions.ContainerOptions
 import kotlinx.android.synthetic.main.guidance_speed_fragment.*
 import kotlinx.android.synthetic.main.guidance_speed_fragment.view.guidance_current_speed
+import java.util.concurrent.Executor
 
 /**
  * Fragment class for [GuidanceSpeedView] view.
@@ -44,6 +47,8 @@ import kotlinx.android.synthetic.main.guidance_speed_fragment.view.guidance_curr
 class GuidanceSpeedFragment : Fragment(), GuidanceSpeedListener {
 
     internal var presenter: GuidanceSpeedPresenter? = null
+    internal var route: Route? = null
+    private var subscription: GuidanceDataStream.Subscription? = null
 
     init {
         retainInstance = true
@@ -58,7 +63,9 @@ class GuidanceSpeedFragment : Fragment(), GuidanceSpeedListener {
      */
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
-        val view = inflater.inflate(R.layout.guidance_speed_fragment, container, false)
+        val view = SingletonHelper.guidanceViewPreloader?.acquireLayout(inflater.context,
+                R.layout.guidance_speed_fragment)
+                ?: inflater.inflate(R.layout.guidance_speed_fragment, container, false)
         if (isLandscapeOrientation) { // apply rounded background in landscape mode, which will
             // change according to speed.
             with(view.guidance_current_speed) {
@@ -72,27 +79,25 @@ class GuidanceSpeedFragment : Fragment(), GuidanceSpeedListener {
     }
 
     /**
-     * Creates Presenter for this GuidanceStreetLabelFragment.
+     * Gets the Presenter for this GuidanceSpeedFragment from the [GuidancePresenterHost].
+     * The Presenter is shared with the [GuidanceSpeedLimitFragment].
      */
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         guidance_current_speed.unitSystem = Util.getLocaleUnit()
-        if (presenter == null) {
-            presenter = GuidanceSpeedPresenter(SingletonHelper.navigationManager ?: return,
-                    appPositioningManager?.sdkPositioningManager ?: return).apply {
-                addListener(this@GuidanceSpeedFragment)
-                resume()
+        val entry = GuidancePresenterHost.of(requireActivity()).get(GuidanceSpeedPresenter::class.java, {
+            presenter ?: GuidanceSpeedPresenter(SingletonHelper.navigationManager ?: return@get null,
+                    appPositioningManager?.sdkPositioningManager ?: return@get null, route).apply {
+                setMetrics(SingletonHelper.guidanceMetrics)
             }
-        }
-    }
-
-    override fun onPause() {
-        super.onPause()
-        presenter?.pause()
+        }, { GuidanceDataStream.of(it) }) ?: return
+        presenter = entry.presenter
+        subscription = entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber(::onDataChanged))
     }
 
-    override fun onResume() {
-        super.onResume()
-        presenter?.resume()
+    override fun onDestroyView() {
+        super.onDestroyView()
+        subscription?.cancel()
+        subscription = null
     }
 
     /**
@@ -21,6 +21,8 @@ import android.os.Bundle
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import com.here.android.mpa.routing.Route
+import com.here.msdkui.guidance.GuidanceDataStream
 import com.here.msdkui.guidance.GuidanceManeuverView
 import com.here.msdkui.guidance.GuidanceSpeedData
 import com.here.msdkui.guidance.GuidanceSpeedLimitView
@@ -32,6 +34,7 @@ import com.here.msdkuiapp.guidance.SingletonHelper.appPositioningManager
 import com.here.msdkuiapp.position.AppPositioningManager
 import kotlinx.android.extensions.CacheImplementation
 import kotlinx.android.extensions.ContainerOptions
+import java.util.concurrent.Executor
 
 /**
  * Fragment class for [GuidanceSpeedLimitView] view.
@@ -40,6 +43,8 @@ import kotlinx.android.extensions.ContainerOptions
 class GuidanceSpeedLimitFragment : Fragment(), GuidanceSpeedListener  {
 
     internal var mPresenter: GuidanceSpeedPresenter? = null
+    internal var route: Route? = null
+    private var subscription: GuidanceDataStream.Subscription? = null
 
     init {
         retainInstance = true
@@ -54,32 +59,31 @@ class GuidanceSpeedLimitFragment : Fragment(), GuidanceSpeedListener  {
      */
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
-        val view =  inflater.inflate(R.layout.guidance_speed_limit_fragment, container, false) as GuidanceSpeedLimitView
+        val view =  (SingletonHelper.guidanceViewPreloader?.acquireLayout(inflater.context, R.layout.guidance_speed_limit_fragment)
+                ?: inflater.inflate(R.layout.guidance_speed_limit_fragment, container, false)) as GuidanceSpeedLimitView
         view.unitSystem =  Util.getLocaleUnit()
         return view
     }
 
     /**
-     * Creates Presenter for this GuidanceStreetLabelFragment.
+     * Gets the Presenter for this GuidanceSpeedLimitFragment from the [GuidancePresenterHost].
+     * The Presenter is shared with the [GuidanceSpeedFragment].
      */
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
-        if (mPresenter == null) {
-            mPresenter = GuidanceSpeedPresenter(SingletonHelper.navigationManager ?: return,
-                    appPositioningManager?.sdkPositioningManager ?: return).apply {
-                addListener(this@GuidanceSpeedLimitFragment)
-                resume()
+        val entry = GuidancePresenterHost.of(requireActivity()).get(GuidanceSpeedPresenter::class.java, {
+            mPresenter ?: GuidanceSpeedPresenter(SingletonHelper.navigationManager ?: return@get null,
+                    appPositioningManager?.sdkPositioningManager ?: return@get null, route).apply {
+                setMetrics(SingletonHelper.guidanceMetrics)
             }
-        }
+        }, { GuidanceDataStream.of(it) }) ?: return
+        mPresenter = entry.presenter
+        subscription = entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber(::onDataChanged))
     }
 
-    override fun onPause() {
-        super.onPause()
-        mPresenter?.pause()
-    }
-
-    override fun onResume() {
-        super.onResume()
-        mPresenter?.resume()
+    override fun onDestroyView() {
+        super.onDestroyView()
+        subscription?.cancel()
+        subscription = null
     }
 
     override fun onDataChanged(data: GuidanceSpeedData?) {
@@ -22,6 +22,7 @@ import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import com.here.android.mpa.routing.Route
+import com.here.msdkui.guidance.GuidanceDataStream
 import com.here.msdkui.guidance.GuidanceNextManeuverView
 import com.here.msdkui.guidance.GuidanceStreetLabelView
 import com.here.msdkui.guidance.GuidanceStreetLabelData
@@ -30,6 +31,7 @@ import com.here.msdkui.guidance.GuidanceStreetLabelPresenter
 import com.here.msdkuiapp.R
 import kotlinx.android.extensions.CacheImplementation
 import kotlinx.android.extensions.ContainerOptions
+import java.util.concurrent.Executor
 
 /**
  * Fragment class for [GuidanceStreetLabelView] view.
@@ -39,6 +41,7 @@ class GuidanceStreetLabelFragment : Fragment(), GuidanceStreetLabelListener {
 
     internal var route: Route? = null
     internal var presenter: GuidanceStreetLabelPresenter? = null
+    private var subscription: GuidanceDataStream.Subscription? = null
 
     init {
         retainInstance = true
@@ -53,29 +56,30 @@ class GuidanceStreetLabelFragment : Fragment(), GuidanceStreetLabelListener {
      */
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
-        return inflater.inflate(R.layout.guidance_street_label_fragment, container, false)
+        return SingletonHelper.guidanceViewPreloader?.acquireLayout(inflater.context,
+                R.layout.guidance_street_label_fragment)
+                ?: inflater.inflate(R.layout.guidance_street_label_fragment, container, false)
     }
 
     /**
-     * Creates Presenter for this GuidanceStreetLabelFragment.
+     * Gets the Presenter for this GuidanceStreetLabelFragment from the [GuidancePresenterHost].
      */
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
-        if (presenter == null) {
-            presenter = GuidanceStreetLabelPresenter(view.context, SingletonHelper.navigationManager, route).apply {
-                addListener(this@GuidanceStreetLabelFragment)
-                resume()
+        val entry = GuidancePresenterHost.of(requireActivity()).get(GuidanceStreetLabelPresenter::class.java, {
+            presenter ?: GuidanceStreetLabelPresenter(view.context, SingletonHelper.navigationManager, route).apply {
+                setMetrics(SingletonHelper.guidanceMetrics)
             }
-        }
+        }, { GuidanceDataStream.of(it) }) ?: return
+        presenter = entry.presenter
+        subscription = entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber {
+            it?.let(::onDataChanged)
+        })
     }
 
-    override fun onPause() {
-        super.onPause()
-        presenter?.pause()
-    }
-
-    override fun onResume() {
-        super.onResume()
-        presenter?.resume()
+    override fun onDestroyView() {
+        super.onDestroyView()
+        subscription?.cancel()
+        subscription = null
     }
 
     override fun onDataChanged(labelData: GuidanceStreetLabelData) {
@@ -21,6 +21,7 @@ import com.here.android.mpa.common.GeoCoordinate
 import com.here.android.mpa.common.MapEngine
 import com.here.android.mpa.search.ErrorCode
 import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
 import com.here.msdkui.routing.WaypointEntry
 import com.here.msdkuiapp.GuidanceContracts
 import com.here.msdkuiapp.R
@@ -109,9 +110,7 @@ class GuidanceWaypointSelectionPresenter : BasePresenter<GuidanceContracts.Guida
         if (!cord.isValid) return
         state.entry = WaypointEntry(provider.providesRouteWaypoint(cord))
         contract?.onProgress(true)
-        provider.providesReverseGeocodeRequest(cord).execute { location: Location?, errorCode: ErrorCode? ->
-            this.onGeoRequestComplete(location, errorCode)
-        }
+        provider.providesReverseGeocoder().reverseGeocode(cord, ResultListener(this::onGeoRequestComplete))
     }
 
     private fun onGeoRequestComplete(location: Location?, errorCode: ErrorCode?) {
@@ -16,9 +16,14 @@
 
 package com.here.msdkuiapp.guidance
 
+import android.content.Context
 import com.here.android.mpa.common.MapEngine
 import com.here.android.mpa.common.PositioningManager
 import com.here.android.mpa.guidance.NavigationManager
+import com.here.msdkui.guidance.GuidanceEstimatedArrivalView
+import com.here.msdkui.guidance.GuidanceViewPreloader
+import com.here.msdkui.guidance.base.InMemoryGuidanceMetrics
+import com.here.msdkuiapp.R
 import com.here.msdkuiapp.position.AppPositioningManager
 
 object SingletonHelper {
@@ -40,4 +45,41 @@ object SingletonHelper {
      */
     internal var appPositioningManager: AppPositioningManager? = null
         get() = field ?: AppPositioningManager.getInstance()
-}
\ No newline at end of file
+
+    /**
+     * Single place to collect runtime metrics of all guidance presenters.
+     * The collected metrics can be dumped from the guidance dashboard.
+     */
+    internal val guidanceMetrics = InMemoryGuidanceMetrics()
+
+    /**
+     * Guidance panels created ahead of time while the route preview is shown.
+     * Taken by the guidance fragments, falls back to inflating when empty.
+     */
+    internal var guidanceViewPreloader: GuidanceViewPreloader? = null
+
+    /**
+     * Time when the guidance screen was created, used to measure the time to the first instruction.
+     */
+    internal var guidanceStartNanos = 0L
+
+    /**
+     * Starts creating the guidance panels in the background.
+     *
+     * @param context any [Context], only its application context is kept.
+     */
+    internal fun preloadGuidanceViews(context: Context) {
+        if (guidanceViewPreloader != null) {
+            return
+        }
+        guidanceViewPreloader = GuidanceViewPreloader(context, R.style.GuidanceAppTheme).apply {
+            preloadLayout(R.layout.guidance_maneuver_fragment)
+            preloadLayout(R.layout.guidance_next_maneuver_fragment)
+            preloadLayout(R.layout.guidance_speed_fragment)
+            preloadLayout(R.layout.guidance_speed_limit_fragment)
+            preloadLayout(R.layout.guidance_street_label_fragment)
+            preloadView(GuidanceEstimatedArrivalView::class.java,
+                    GuidanceViewPreloader.ViewFactory { GuidanceEstimatedArrivalView(it) })
+        }
+    }
+}
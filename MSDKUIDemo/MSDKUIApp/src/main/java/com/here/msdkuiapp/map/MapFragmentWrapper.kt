@@ -19,6 +19,7 @@ package com.here.msdkuiapp.map
 import android.graphics.PointF
 import android.os.Bundle
 import android.os.Handler
+import android.os.SystemClock
 import androidx.fragment.app.Fragment
 import android.util.Log
 import android.view.LayoutInflater
@@ -28,6 +29,7 @@ import android.widget.Toast
 import com.here.android.mpa.common.ApplicationContext
 import com.here.android.mpa.common.GeoBoundingBox
 import com.here.android.mpa.common.GeoCoordinate
+import com.here.android.mpa.common.Image
 import com.here.android.mpa.common.MapEngine
 import com.here.android.mpa.common.OnEngineInitListener
 import com.here.android.mpa.mapping.*
@@ -207,23 +209,93 @@ class MapFragmentWrapper : RetainFragment() {
     /**
      * Renders Route on Map.
      *
+     * Map objects of a previously rendered route are reused: the route geometry is only replaced if it
+     * changed and the start and end markers are only moved, so re-routing doesn't rebuild the whole scene.
+     *
      * @param route Route to be added on map.
      * @param withStartFlag true if start marker should be added.
      */
     fun renderRoute(route: Route, withStartFlag: Boolean = true) {
         map?.run {
-            clearMap()
-            val routeFromProvider = provider.providesMapRoutes(route);
-            state.mapRoute = routeFromProvider
+            val startTime = SystemClock.elapsedRealtimeNanos()
+            val pendingMapObjects = ArrayList<MapObject>(1)
+            val mapRoute = state.mapRoute
+            if (mapRoute == null) {
+                val routeFromProvider = provider.providesMapRoutes(route)
+                state.mapRoute = routeFromProvider
+                state.renderedRoute = route
+                pendingMapObjects.add(routeFromProvider)
+            } else {
+                val renderedRoute = state.renderedRoute
+                if (renderedRoute !== route) {
+                    if (hasSameGeometry(renderedRoute, route).not()) {
+                        mapRoute.route = route
+                    }
+                    // Compare the next route with this one, the previous route is not needed anymore.
+                    state.renderedRoute = route
+                }
+                if (state.mapRouteAdded.not()) {
+                    pendingMapObjects.add(mapRoute)
+                }
+            }
             state.routeBoundingBox = route.boundingBox
-            addMapObject(routeFromProvider)
+
+            val startMarker = state.startMarker
             if (withStartFlag) {
-                state.mapContainer?.addMapObject(getMapMarker(R.drawable.ic_route_start, route.start))
+                state.startMarker = placeMarker(startMarker, state.startMarkerAdded, R.drawable.ic_route_start,
+                        route.start)
+                state.startMarkerAdded = true
+            } else if (startMarker != null && state.startMarkerAdded) {
+                state.mapContainer?.removeMapObject(startMarker)
+                state.startMarkerAdded = false
+            }
+            state.endMarker = placeMarker(state.endMarker, state.endMarkerAdded, R.drawable.ic_route_end,
+                    route.destination)
+            state.endMarkerAdded = true
+
+            if (pendingMapObjects.isNotEmpty()) {
+                addMapObjects(pendingMapObjects)
+                state.mapRouteAdded = true
             }
-            state.mapContainer?.addMapObject(getMapMarker(R.drawable.ic_route_end, route.destination))
+            Log.v(TAG, "Route rendered in ${(SystemClock.elapsedRealtimeNanos() - startTime) / 1000} us")
+        }
+    }
+
+    /**
+     * Moves a marker to the given coordinate, creating and adding it to the map container if needed.
+     *
+     * @return the marker, to be kept for the next route.
+     */
+    private fun placeMarker(marker: MapMarker?, added: Boolean, imageId: Int, cord: GeoCoordinate?): MapMarker {
+        val placedMarker = marker ?: getMapMarker(imageId)
+        if (cord != null && cord != placedMarker.coordinate) {
+            placedMarker.coordinate = cord
+        }
+        if (added.not()) {
+            state.mapContainer?.addMapObject(placedMarker)
         }
+        return placedMarker
     }
 
+    /**
+     * Checks if both routes have the same geometry, so a rendered route doesn't need to be replaced.
+     *
+     * Getting the geometry copies the whole polyline, so routes differing in length, duration or number of
+     * waypoints are ruled out before.
+     */
+    private fun hasSameGeometry(first: Route?, second: Route): Boolean {
+        first ?: return false
+        if (first.length != second.length || first.baseDuration() != second.baseDuration() ||
+                first.routePlan?.waypointCount != second.routePlan?.waypointCount) {
+            return false
+        }
+        val firstGeometry = first.routeGeometry ?: return false
+        val secondGeometry = second.routeGeometry ?: return false
+        return firstGeometry == secondGeometry
+    }
+
+    private fun Route.baseDuration() = getTtaExcludingTraffic(Route.WHOLE_ROUTE)?.duration
+
     /**
      * Zooms the map to given bounding box (additionally it adds margins, to be sure that markers
      * are fully visible).
@@ -262,8 +334,7 @@ class MapFragmentWrapper : RetainFragment() {
 
     private fun getMapMarker(imageId: Int, cord: GeoCoordinate? = null): MapMarker {
         val marker = provider.providesMapMarker()
-        val image = provider.providesImage()
-        image.setImageResource(imageId)
+        val image = getMarkerImage(imageId)
         marker.icon = image
         cord?.let {
             marker.coordinate = it
@@ -274,17 +345,33 @@ class MapFragmentWrapper : RetainFragment() {
         return marker
     }
 
+    /**
+     * Gets the image of a marker. Images are decoded only once and shared by all markers.
+     */
+    private fun getMarkerImage(imageId: Int): Image {
+        return state.markerImages.getOrPut(imageId) {
+            provider.providesImage().apply {
+                setImageResource(imageId)
+            }
+        }
+    }
+
     /**
      * Clears the map object.
      */
     fun clearMap(): Boolean {
         var ret = false
         state.mapRoute?.let {
-            map?.removeMapObject(it)
+            if (state.mapRouteAdded) {
+                map?.removeMapObject(it)
+                state.mapRouteAdded = false
+            }
             ret = true
         }
         state.mapContainer?.let {
             it.removeAllMapObjects()
+            state.startMarkerAdded = false
+            state.endMarkerAdded = false
             ret = true
         }
         return ret
@@ -299,8 +386,7 @@ class MapFragmentWrapper : RetainFragment() {
      * for one marker will be proper for both markers.
      */
     private fun prepareZoomMarginsAccordingToMarkers() {
-        val image = provider.providesImage()
-        image.setImageResource(R.drawable.ic_route_start)
+        val image = getMarkerImage(R.drawable.ic_route_start)
 
         state.zoomLeftMargin = (image.width.toFloat() * ADDITIONAL_MARGIN_IN_PERCENTAGE_OF_MARKER +
                 image.width.toFloat() * MARKER_ANCHOR_POINT_FACTOR_X).toInt()
@@ -367,6 +453,13 @@ class MapFragmentWrapper : RetainFragment() {
     private class State {
         var mapMarker: MapMarker? = null
         var mapRoute: MapRoute? = null
+        var renderedRoute: Route? = null
+        var mapRouteAdded = false
+        var startMarker: MapMarker? = null
+        var startMarkerAdded = false
+        var endMarker: MapMarker? = null
+        var endMarkerAdded = false
+        val markerImages = HashMap<Int, Image>()
         var routeBoundingBox: GeoBoundingBox? = null
         var mapContainer: MapContainer? = null
         var gestureEnable = false
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.routing
+
+import com.here.android.mpa.common.GeoCoordinate
+import com.here.android.mpa.routing.CoreRouter
+import com.here.android.mpa.routing.Maneuver
+import com.here.android.mpa.routing.Route
+import com.here.android.mpa.routing.RouteOptions
+import com.here.android.mpa.routing.RouteResult
+import com.here.android.mpa.routing.RouteWaypoint
+import com.here.android.mpa.routing.RoutingError
+import com.here.msdkuiapp.common.Provider
+import java.util.ArrayDeque
+
+/**
+ * Calculates a route through several waypoints leg by leg, where a leg is the route between two consecutive
+ * waypoints. The legs are calculated at the same time and kept in a cache keyed by their start and end
+ * coordinates, so after editing a waypoint only the legs starting or ending at it are calculated again.
+ *
+ * At most [maxParallelCalculations] legs are calculated at the same time, the other legs wait in the order of
+ * the waypoints. The cache holds at most [maxCachedLegs] legs. It is dropped when [start] is called with other
+ * route options or another traffic mode than before, other changes like the travel time must clear it with
+ * [invalidate]. Must be used from the main thread.
+ *
+ * The route planner screen does not use it yet: the SDK can't build one [Route] from the legs, while the route
+ * preview, the map and guidance all need one.
+ *
+ * @param provider [Provider] creating the routers.
+ * @param maxParallelCalculations maximum number of legs calculated at the same time.
+ * @param maxCachedLegs maximum number of legs kept in the cache.
+ */
+class LegRoutePlanner(private val provider: Provider,
+                      private val maxParallelCalculations: Int = DEFAULT_MAX_PARALLEL_CALCULATIONS,
+                      private val maxCachedLegs: Int = DEFAULT_MAX_CACHED_LEGS) {
+
+    companion object {
+        const val DEFAULT_MIN_WAYPOINTS = 5
+        const val DEFAULT_MAX_PARALLEL_CALCULATIONS = 4
+        const val DEFAULT_MAX_CACHED_LEGS = 64
+    }
+
+    private val cache = object : LinkedHashMap<LegKey, Route>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<LegKey, Route>): Boolean {
+            return size > maxCachedLegs
+        }
+    }
+    private val plannedRoutes = HashMap<LegKey, Route>()
+    private val pendingLegs = ArrayDeque<LegKey>()
+    private val runningRouters = HashMap<LegKey, CoreRouter>()
+    private var legs: List<LegKey> = emptyList()
+    private var routeOptions: RouteOptions? = null
+    private var trafficPenaltyMode = Route.TrafficPenaltyMode.OPTIMAL
+    private var optionsKey: List<Any?>? = null
+    private var listener: Listener? = null
+    private var generation = 0
+
+    init {
+        require(maxParallelCalculations > 0) { "At least one calculation must be allowed" }
+    }
+
+    /**
+     * Number of legs calculated by the router since this planner was created.
+     */
+    var calculatedLegCount = 0
+        private set
+
+    /**
+     * Starts calculating the legs between the given waypoints. Legs in the cache are reused, legs which are
+     * being calculated for a previous call and are still needed keep running, all other calculations are
+     * cancelled.
+     *
+     * @param waypoints waypoints of the route, at least two.
+     * @param routeOptions [RouteOptions] used for all legs.
+     * @param trafficPenaltyMode [Route.TrafficPenaltyMode] used for all legs.
+     * @param listener [Listener] to be notified when all legs are calculated.
+     */
+    fun start(waypoints: List<RouteWaypoint>, routeOptions: RouteOptions, trafficPenaltyMode: Route.TrafficPenaltyMode,
+              listener: Listener) {
+        require(waypoints.size >= 2) { "At least two waypoints are needed" }
+        val newOptionsKey = optionsKeyOf(routeOptions, trafficPenaltyMode)
+        if (newOptionsKey != optionsKey) {
+            // legs calculated or being calculated with other options can't be reused.
+            invalidate()
+            optionsKey = newOptionsKey
+        }
+        generation++
+        this.legs = waypoints.zipWithNext { from, to -> LegKey(from.originalPosition, to.originalPosition) }
+        this.routeOptions = provider.providesRouteOptions(routeOptions).apply { routeCount = 1 }
+        this.trafficPenaltyMode = trafficPenaltyMode
+        this.listener = listener
+
+        val neededLegs = legs.toSet()
+        runningRouters.entries.removeAll { (leg, router) ->
+            (leg !in neededLegs).also { if (it) router.cancel() }
+        }
+        pendingLegs.clear()
+        plannedRoutes.clear()
+        legs.forEach { leg -> cache[leg]?.let { plannedRoutes[leg] = it } }
+        legs.distinct().filter { !plannedRoutes.containsKey(it) && !runningRouters.containsKey(it) }
+                .forEach { pendingLegs.add(it) }
+        if (!deliverIfComplete()) {
+            startPendingCalculations()
+        }
+    }
+
+    /**
+     * Cancels all calculations. The cached legs are kept.
+     */
+    fun cancel() {
+        generation++
+        runningRouters.values.forEach { it.cancel() }
+        runningRouters.clear()
+        pendingLegs.clear()
+        plannedRoutes.clear()
+        listener = null
+    }
+
+    /**
+     * Cancels all calculations and drops all cached legs, e.g. because the route options changed.
+     */
+    fun invalidate() {
+        cancel()
+        cache.clear()
+    }
+
+    /**
+     * Checks if a leg is in the cache.
+     *
+     * @param from start of the leg.
+     * @param to end of the leg.
+     * @return true if the leg does not need to be calculated again, false otherwise.
+     */
+    fun isCached(from: GeoCoordinate, to: GeoCoordinate) = cache.containsKey(LegKey(from, to))
+
+    /**
+     * Gets the route options which affect the calculated legs, the options may be changed in place by the
+     * option panels.
+     */
+    private fun optionsKeyOf(options: RouteOptions, trafficPenaltyMode: Route.TrafficPenaltyMode): List<Any?> {
+        return with(options) {
+            listOf(transportMode, routeType, areHighwaysAllowed(), areTollRoadsAllowed(), areFerriesAllowed(),
+                    areTunnelsAllowed(), areDirtRoadsAllowed(), areCarShuttleTrainsAllowed(), areParksAllowed(),
+                    isCarpoolAllowed, truckType, truckTrailersCount, truckHeight, truckWidth, truckLength,
+                    truckLimitedWeight, truckWeightPerAxle, truckTunnelCategory, truckShippedHazardousGoods,
+                    truckRestrictionsMode, trafficPenaltyMode)
+        }
+    }
+
+    private fun startPendingCalculations() {
+        while (runningRouters.size < maxParallelCalculations && pendingLegs.isNotEmpty()) {
+            calculate(pendingLegs.poll())
+        }
+    }
+
+    private fun calculate(leg: LegKey) {
+        val routePlan = provider.provideRoutePlan()
+        routePlan.addWaypoint(provider.providesRouteWaypoint(leg.from).apply {
+            waypointType = RouteWaypoint.Type.STOP_WAYPOINT
+        })
+        routePlan.addWaypoint(provider.providesRouteWaypoint(leg.to).apply {
+            waypointType = RouteWaypoint.Type.STOP_WAYPOINT
+        })
+        routePlan.routeOptions = provider.providesRouteOptions(routeOptions!!)
+        val router = provider.providesCoreRouter()
+        val penalty = provider.providesDynamicPenalty()  // passing direct object get modified by sdk.
+        penalty.trafficPenaltyMode = trafficPenaltyMode
+        router.setDynamicPenalty(penalty)
+        runningRouters[leg] = router
+        calculatedLegCount++
+
+        router.calculateRoute(routePlan, object : CoreRouter.Listener {
+            override fun onCalculateRouteFinished(inputList: List<RouteResult>, routingError: RoutingError) {
+                if (runningRouters[leg] !== router) {
+                    // cancelled, the leg is not needed anymore or the options changed.
+                    return
+                }
+                runningRouters.remove(leg)
+                val route = inputList.firstOrNull()?.route
+                if (route == null) {
+                    fail(routingError)
+                    return
+                }
+                cache[leg] = route
+                plannedRoutes[leg] = route
+                if (!deliverIfComplete()) {
+                    startPendingCalculations()
+                }
+            }
+
+            override fun onProgress(i: Int) {}
+        })
+    }
+
+    private fun deliverIfComplete(): Boolean {
+        val routes = legs.map { plannedRoutes[it] ?: return false }
+        val startGeneration = generation
+        listener?.onPlanCalculated(Plan(routes), RoutingError.NONE)
+        if (startGeneration == generation) {
+            listener = null
+        }
+        return true
+    }
+
+    private fun fail(routingError: RoutingError) {
+        val currentListener = listener
+        cancel()
+        currentListener?.onPlanCalculated(null, routingError)
+    }
+
+    /**
+     * Key of a leg in the cache.
+     */
+    private data class LegKey(val from: GeoCoordinate, val to: GeoCoordinate)
+
+    /**
+     * A route made of the legs between consecutive waypoints.
+     *
+     * @param legs the route of each leg, in the order of the waypoints.
+     */
+    class Plan(val legs: List<Route>) {
+
+        /**
+         * Length of all legs in meters.
+         */
+        val length: Int = legs.sumBy { it.length }
+
+        /**
+         * Travel time of all legs in seconds, including traffic delays if the legs were calculated with traffic.
+         */
+        val durationSeconds: Int = legs.sumBy { it.getTtaIncludingTraffic(Route.WHOLE_ROUTE)?.duration ?: 0 }
+
+        /**
+         * Maneuvers of all legs, in driving order. Each intermediate waypoint is marked by the arrival
+         * maneuver of the leg ending there.
+         */
+        val maneuvers: List<Maneuver> by lazy { legs.flatMap { it.maneuvers.orEmpty() } }
+    }
+
+    /**
+     * Listener to be notified when all legs are calculated.
+     */
+    interface Listener {
+
+        /**
+         * Called when all legs are calculated or the calculation of a leg failed.
+         *
+         * @param plan the calculated [Plan] or null if a leg could not be calculated.
+         * @param routingError [RoutingError] reported by the router of the failed leg or [RoutingError.NONE].
+         */
+        fun onPlanCalculated(plan: Plan?, routingError: RoutingError)
+    }
+}
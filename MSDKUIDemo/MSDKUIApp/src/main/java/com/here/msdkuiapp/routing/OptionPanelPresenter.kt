@@ -32,8 +32,15 @@ class OptionPanelPresenter : BasePresenter<RoutingContracts.OptionPanel>() {
     private var state: State = State()
     internal var panels = LinkedHashMap<Panels, View>()
 
+    companion object {
+        /**
+         * Time to wait for further option changes before calculating the route again, in milliseconds.
+         */
+        internal const val OPTION_COMMIT_DELAY_MILLIS = 500L
+    }
+
     /**
-     * Traffic change listener.
+     * Traffic change listener, notified once the user stopped changing the traffic option.
      */
     private val trafficChangeListener = object : OptionsPanel.Listener {
         override fun onOptionChanged(item: OptionItem?) {
@@ -84,6 +91,7 @@ class OptionPanelPresenter : BasePresenter<RoutingContracts.OptionPanel>() {
 
         val trafficPanel = TrafficOptionsPanel(context)
         trafficPanel.dynamicPenalty = dynamicPenalty
+        trafficPanel.commitDelay = OPTION_COMMIT_DELAY_MILLIS
         panels[Panels.TRAFFIC] = trafficPanel
         trafficPanel.setListener(trafficChangeListener)
 
@@ -137,6 +145,8 @@ class OptionPanelPresenter : BasePresenter<RoutingContracts.OptionPanel>() {
      */
     fun updateOptions() {
         for ((panel, panelView) in panels) {
+            // Changes still waiting for the commit delay must not be lost when the screen is left.
+            (panelView as? OptionsPanel)?.flushChanges()
             when (panel) {
                 Panels.ROUTE_TYPE -> state.routeOptions = (panelView as RouteTypeOptionsPanel).routeOptions
                 Panels.TRAFFIC -> state.dynamicPenalty = (panelView as TrafficOptionsPanel).dynamicPenalty
@@ -24,6 +24,7 @@ import android.view.ViewGroup
 import com.here.android.mpa.routing.DynamicPenalty
 import com.here.android.mpa.routing.Route
 import com.here.android.mpa.routing.RouteOptions
+import com.here.msdkui.common.TimeFormatterUtil
 import com.here.msdkui.routing.WaypointEntry
 import com.here.msdkui.routing.WaypointList
 import com.here.msdkuiapp.R
@@ -136,6 +137,15 @@ class RoutePlannerFragment() : RetainFragment(), RoutingContracts.RoutePlanner {
         activity?.showProgressBar(visible)
     }
 
+    override fun onTransportModeSummary(transportMode: RouteOptions.TransportMode, durationMillis: Long?) {
+        val context = context ?: return
+        transport_panel?.setBadge(transportMode, durationMillis?.let { TimeFormatterUtil.format(context, it) })
+    }
+
+    override fun onTransportModeSummariesCleared() {
+        transport_panel?.clearBadges()
+    }
+
     private fun makeWaypointAddReady() {
         waypoint_add?.setOnClickListener { _ ->
             waypointList?.let {
@@ -147,6 +157,7 @@ class RoutePlannerFragment() : RetainFragment(), RoutingContracts.RoutePlanner {
 
     private fun makeTransportModeReady() {
         transport_panel.run {
+            presenter.precalculatedTransportModes = transportModes
             setOnSelectedListener { _, _ -> presenter.transportModeSelected(selectedTransportMode) }
         }
     }
@@ -43,6 +43,12 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
     internal var provider = Provider()
     var coordinatorListener: RoutePlannerFragment.Listener? = null
 
+    /**
+     * Transport modes to calculate routes for as soon as all waypoints are set, so selecting another
+     * transport mode shows its routes right away. Null calculates only the routes of the selected transport mode.
+     */
+    var precalculatedTransportModes: List<RouteOptions.TransportMode>? = null
+
     /**
      * Sets Gets traffic mode.
      */
@@ -62,6 +68,7 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
 
         override fun onEntryAdded(index: Int, entry: WaypointEntry) {
             state.entryList.add(index, entry)
+            cancelPrecalculation()
         }
 
         override fun onEntryUpdated(index: Int, entry: WaypointEntry) {}
@@ -132,19 +139,44 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
     fun calculateRoute(entries: List<WaypointEntry>) {
         RoutingIdlingResourceWrapper.increment()
         if (entries.isEmpty() || !entries.all { it.isValid }) {
+            cancelPrecalculation()
             RoutingIdlingResourceWrapper.decrement()
             return
         }
         val waypoints = entries.map { it.routeWaypoint }
         contract?.onProgress(true)
+        setWaypointTypes(waypoints)
+        prepareRouteOptions()
+        precalculatedTransportModes?.let {
+            // the precalculation keeps track of the pending routes on its own.
+            RoutingIdlingResourceWrapper.decrement()
+            precalculateRoutes(waypoints, it)
+            return
+        }
         val routePlan = provider.provideRoutePlan()
+        waypoints.forEach { routePlan.addWaypoint(it) }
+        routePlan.routeOptions = state.routeOptions
+        val router = provider.providesCoreRouter()
+        val penalty = provider.providesDynamicPenalty()  // passing direct object get modified by sdk.
+        penalty.trafficPenaltyMode = state.dynamicPenalty.trafficPenaltyMode
+        router.setDynamicPenalty(penalty)
+        router.calculateRoute(routePlan, object : CoreRouter.Listener {
+            override fun onCalculateRouteFinished(inputList: List<RouteResult>, routingError: RoutingError) {
+                onRoutesReady(inputList, routingError)
+            }
+
+            override fun onProgress(i: Int) {}
+        })
+    }
+
+    private fun setWaypointTypes(waypoints: List<RouteWaypoint>) {
         for (i in 0 until waypoints.size) {
-            val waypoint = waypoints[i]
-            waypoint.waypointType = if (i == 0 || i == waypoints.size - 1)
+            waypoints[i].waypointType = if (i == 0 || i == waypoints.size - 1)
                 RouteWaypoint.Type.STOP_WAYPOINT else RouteWaypoint.Type.VIA_WAYPOINT
-            routePlan.addWaypoint(waypoint)
         }
-        val router = provider.providesCoreRouter()
+    }
+
+    private fun prepareRouteOptions() {
         with(state.routeOptions) {
             setTime(state.travelDate, state.travelType)
             routeCount = 5
@@ -152,33 +184,78 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
                 // for truck and scooter route type, only fastest route are supported.
                 routeType = RouteOptions.Type.FASTEST
             }
-            routePlan.routeOptions = this
         }
-        val penalty = provider.providesDynamicPenalty()  // passing direct object get modified by sdk.
-        penalty.trafficPenaltyMode = state.dynamicPenalty.trafficPenaltyMode
-        router.setDynamicPenalty(penalty)
-        router.calculateRoute(routePlan, object : CoreRouter.Listener {
-            override fun onCalculateRouteFinished(inputList: List<RouteResult>, routingError: RoutingError) {
-                contract?.onProgress(false)
-                if (state.entryList.isEmpty() || !state.entryList.all { it.isValid }) {
-                    // If entryList is empty or invalid when route calculation ends then it means
-                    // that source waypoints has been cleared so result of this calculation
-                    // should be abandoned.
-                    return
-                }
-                if (inputList.isEmpty()) {
-                    Log.e(RoutePlannerPresenter::class.java.name, "Routing failed  ${routingError.name}")
-                    coordinatorListener?.onRoutingFailed(getString(R.string.msdkui_app_routeresults_error))
-                    RoutingIdlingResourceWrapper.decrement()
-                    return
-                }
-                notifyListTitleChanges(listVisible = false, isTitleChange = true)
-                coordinatorListener?.onRouteCalculated(inputList.map { it.route })
-                RoutingIdlingResourceWrapper.decrement()
-            }
+    }
 
-            override fun onProgress(i: Int) {}
-        })
+    private fun onRoutesReady(inputList: List<RouteResult>, routingError: RoutingError) {
+        contract?.onProgress(false)
+        if (state.entryList.isEmpty() || !state.entryList.all { it.isValid }) {
+            // If entryList is empty or invalid when route calculation ends then it means
+            // that source waypoints has been cleared so result of this calculation
+            // should be abandoned.
+            return
+        }
+        if (inputList.isEmpty()) {
+            Log.e(RoutePlannerPresenter::class.java.name, "Routing failed  ${routingError.name}")
+            coordinatorListener?.onRoutingFailed(getString(R.string.msdkui_app_routeresults_error))
+            RoutingIdlingResourceWrapper.decrement()
+            return
+        }
+        notifyListTitleChanges(listVisible = false, isTitleChange = true)
+        coordinatorListener?.onRouteCalculated(inputList.map { it.route })
+        RoutingIdlingResourceWrapper.decrement()
+    }
+
+    /**
+     * Calculates the routes of all transport modes, starting with the selected one.
+     */
+    private fun precalculateRoutes(waypoints: List<RouteWaypoint>, transportModes: List<RouteOptions.TransportMode>) {
+        cancelPrecalculation()
+        awaitPrecalculatedRoutes()
+        val selectedMode = state.routeOptions.transportMode
+        val orderedModes = transportModes.sortedBy { if (it == selectedMode) 0 else 1 }
+        val precalculator = state.precalculator ?: TransportModeRoutePrecalculator(provider).also {
+            state.precalculator = it
+        }
+        precalculator.start(waypoints, state.routeOptions, state.dynamicPenalty.trafficPenaltyMode, orderedModes,
+                object : TransportModeRoutePrecalculator.Listener {
+                    override fun onRoutesCalculated(transportMode: RouteOptions.TransportMode,
+                                                    routeResults: List<RouteResult>, routingError: RoutingError) {
+                        contract?.onTransportModeSummary(transportMode, routeResults.firstOrNull()?.route
+                                ?.getTtaIncludingTraffic(Route.WHOLE_ROUTE)?.duration?.let { it * 1000L })
+                        if (transportMode == state.routeOptions.transportMode) {
+                            deliverPrecalculatedRoutes(routeResults, routingError)
+                        }
+                    }
+                })
+    }
+
+    private fun awaitPrecalculatedRoutes() {
+        contract?.onProgress(true)
+        if (!state.awaitingPrecalculatedRoutes) {
+            state.awaitingPrecalculatedRoutes = true
+            RoutingIdlingResourceWrapper.increment()
+        }
+    }
+
+    private fun deliverPrecalculatedRoutes(routeResults: List<RouteResult>, routingError: RoutingError) {
+        if (state.awaitingPrecalculatedRoutes) {
+            state.awaitingPrecalculatedRoutes = false
+            onRoutesReady(routeResults, routingError)
+        }
+    }
+
+    /**
+     * Cancels the calculation of routes for all transport modes, e.g. because the waypoints changed.
+     */
+    private fun cancelPrecalculation() {
+        state.precalculator?.cancel() ?: return
+        contract?.onTransportModeSummariesCleared()
+        if (state.awaitingPrecalculatedRoutes) {
+            state.awaitingPrecalculatedRoutes = false
+            contract?.onProgress(false)
+            RoutingIdlingResourceWrapper.decrement()
+        }
     }
 
     /**
@@ -248,7 +325,18 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
     fun transportModeSelected(selectedTransportMode: RouteOptions.TransportMode?) {
         if (state.routeOptions.transportMode != selectedTransportMode) {
             state.routeOptions.transportMode = selectedTransportMode
-            calculateRoute(state.entryList)
+            val precalculator = state.precalculator
+            val result = selectedTransportMode?.let { precalculator?.getResult(it) }
+            when {
+                precalculatedTransportModes == null || precalculator == null -> calculateRoute(state.entryList)
+                result != null -> {
+                    awaitPrecalculatedRoutes()
+                    deliverPrecalculatedRoutes(result.routeResults, result.routingError)
+                }
+                selectedTransportMode != null && precalculator.isPending(selectedTransportMode) ->
+                    awaitPrecalculatedRoutes()
+                else -> calculateRoute(state.entryList)
+            }
         }
     }
 
@@ -287,6 +375,7 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
      * @param entries list of entries.
      */
     fun updateWaypoint(index: Int, entry: WaypointEntry, entries: List<WaypointEntry>?) {
+        cancelPrecalculation()
         if (state.entryList.size > index) {
             state.entryList[index] = entry
         } else {
@@ -322,5 +411,7 @@ class RoutePlannerPresenter : BasePresenter<RoutingContracts.RoutePlanner>() {
             }
         }
         var isExpanded = true
+        var precalculator: TransportModeRoutePrecalculator? = null
+        var awaitingPrecalculatedRoutes = false
     }
 }
\ No newline at end of file
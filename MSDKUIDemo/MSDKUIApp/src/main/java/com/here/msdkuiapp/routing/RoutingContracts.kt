@@ -63,6 +63,19 @@ class RoutingContracts {
          * @param listVisible true if list is visible, false otherwise.
          */
         fun updateList(listVisible: Boolean)
+
+        /**
+         * Notifies the routes of a transport mode were calculated ahead of its selection.
+         *
+         * @param transportMode transport mode of the routes.
+         * @param durationMillis duration of the first route in milliseconds, null if no route was found.
+         */
+        fun onTransportModeSummary(transportMode: RouteOptions.TransportMode, durationMillis: Long?)
+
+        /**
+         * Notifies the routes calculated ahead for all transport modes are outdated.
+         */
+        fun onTransportModeSummariesCleared()
     }
 
     /**
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.routing
+
+import com.here.android.mpa.routing.CoreRouter
+import com.here.android.mpa.routing.Route
+import com.here.android.mpa.routing.RouteOptions
+import com.here.android.mpa.routing.RouteResult
+import com.here.android.mpa.routing.RouteWaypoint
+import com.here.android.mpa.routing.RoutingError
+import com.here.msdkuiapp.common.Provider
+import java.util.ArrayDeque
+import java.util.EnumMap
+
+/**
+ * Calculates routes for several transport modes at once, so selecting another transport mode can show its
+ * routes without waiting for the router.
+ *
+ * At most [maxParallelCalculations] routes are calculated at the same time, the other transport modes wait
+ * in the order they were given. Starting a new calculation or calling [cancel] cancels all running
+ * calculations and drops all results. Must be used from the main thread.
+ *
+ * @param provider [Provider] creating the routers.
+ * @param maxParallelCalculations maximum number of routes calculated at the same time.
+ */
+class TransportModeRoutePrecalculator(private val provider: Provider,
+                                      private val maxParallelCalculations: Int = DEFAULT_MAX_PARALLEL_CALCULATIONS) {
+
+    companion object {
+        const val DEFAULT_MAX_PARALLEL_CALCULATIONS = 2
+    }
+
+    private val pendingModes = ArrayDeque<RouteOptions.TransportMode>()
+    private val runningRouters = EnumMap<RouteOptions.TransportMode, CoreRouter>(RouteOptions.TransportMode::class.java)
+    private val results = EnumMap<RouteOptions.TransportMode, Result>(RouteOptions.TransportMode::class.java)
+    private var generation = 0
+    private var waypoints: List<RouteWaypoint> = emptyList()
+    private var routeOptions: RouteOptions? = null
+    private var trafficPenaltyMode = Route.TrafficPenaltyMode.OPTIMAL
+    private var listener: Listener? = null
+
+    init {
+        require(maxParallelCalculations > 0) { "At least one calculation must be allowed" }
+    }
+
+    /**
+     * Starts calculating routes. Running calculations are cancelled.
+     *
+     * @param waypoints waypoints of the routes, with their types already set.
+     * @param routeOptions [RouteOptions] used for all transport modes, except for the transport mode itself.
+     * @param trafficPenaltyMode [Route.TrafficPenaltyMode] used for all routes.
+     * @param transportModes transport modes to calculate routes for, in the order they should be calculated.
+     * @param listener [Listener] to be notified for each transport mode.
+     */
+    fun start(waypoints: List<RouteWaypoint>, routeOptions: RouteOptions, trafficPenaltyMode: Route.TrafficPenaltyMode,
+              transportModes: List<RouteOptions.TransportMode>, listener: Listener) {
+        cancel()
+        this.waypoints = ArrayList(waypoints)
+        this.routeOptions = provider.providesRouteOptions(routeOptions)
+        this.trafficPenaltyMode = trafficPenaltyMode
+        this.listener = listener
+        transportModes.distinct().forEach { pendingModes.add(it) }
+        startPendingCalculations()
+    }
+
+    /**
+     * Cancels all calculations and drops their results.
+     */
+    fun cancel() {
+        generation++
+        runningRouters.values.forEach { it.cancel() }
+        runningRouters.clear()
+        pendingModes.clear()
+        results.clear()
+        listener = null
+    }
+
+    /**
+     * Gets the result of a transport mode.
+     *
+     * @param transportMode transport mode to get the result for.
+     * @return the [Result] or null if the routes for this transport mode were not calculated yet.
+     */
+    fun getResult(transportMode: RouteOptions.TransportMode): Result? = results[transportMode]
+
+    /**
+     * Checks if the routes of a transport mode are being calculated or wait to be calculated.
+     *
+     * @param transportMode transport mode to check.
+     * @return true if a result is going to be delivered for this transport mode, false otherwise.
+     */
+    fun isPending(transportMode: RouteOptions.TransportMode): Boolean {
+        return runningRouters.containsKey(transportMode) || pendingModes.contains(transportMode)
+    }
+
+    private fun startPendingCalculations() {
+        while (runningRouters.size < maxParallelCalculations && pendingModes.isNotEmpty()) {
+            calculate(pendingModes.poll())
+        }
+    }
+
+    private fun calculate(transportMode: RouteOptions.TransportMode) {
+        val routePlan = provider.provideRoutePlan()
+        waypoints.forEach { routePlan.addWaypoint(it) }
+        routePlan.routeOptions = provider.providesRouteOptions(routeOptions!!).apply {
+            this.transportMode = transportMode
+            if (transportMode == RouteOptions.TransportMode.TRUCK ||
+                    transportMode == RouteOptions.TransportMode.SCOOTER) {
+                // for truck and scooter route type, only fastest route are supported.
+                routeType = RouteOptions.Type.FASTEST
+            }
+        }
+        val router = provider.providesCoreRouter()
+        val penalty = provider.providesDynamicPenalty()  // passing direct object get modified by sdk.
+        penalty.trafficPenaltyMode = trafficPenaltyMode
+        router.setDynamicPenalty(penalty)
+        runningRouters[transportMode] = router
+
+        val startGeneration = generation
+        router.calculateRoute(routePlan, object : CoreRouter.Listener {
+            override fun onCalculateRouteFinished(inputList: List<RouteResult>, routingError: RoutingError) {
+                if (startGeneration != generation) {
+                    // cancelled, the result belongs to outdated waypoints or options.
+                    return
+                }
+                runningRouters.remove(transportMode)
+                results[transportMode] = Result(inputList, routingError)
+                listener?.onRoutesCalculated(transportMode, inputList, routingError)
+                if (startGeneration == generation) {
+                    startPendingCalculations()
+                }
+            }
+
+            override fun onProgress(i: Int) {}
+        })
+    }
+
+    /**
+     * Routes calculated for a transport mode.
+     *
+     * @param routeResults the calculated routes, empty if the calculation failed.
+     * @param routingError [RoutingError] reported by the router.
+     */
+    class Result(val routeResults: List<RouteResult>, val routingError: RoutingError)
+
+    /**
+     * Listener to be notified when the routes of a transport mode are calculated.
+     */
+    interface Listener {
+
+        /**
+         * Called when the routes of a transport mode are calculated.
+         *
+         * @param transportMode transport mode of the routes.
+         * @param routeResults the calculated routes, empty if the calculation failed.
+         * @param routingError [RoutingError] reported by the router.
+         */
+        fun onRoutesCalculated(transportMode: RouteOptions.TransportMode, routeResults: List<RouteResult>,
+                               routingError: RoutingError)
+    }
+}
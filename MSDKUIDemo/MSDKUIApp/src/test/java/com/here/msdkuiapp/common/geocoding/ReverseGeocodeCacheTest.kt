@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.common.geocoding
+
+import com.here.android.mpa.common.GeoCoordinate
+import com.here.android.mpa.search.ErrorCode
+import com.here.android.mpa.search.Location
+import com.here.android.mpa.search.ResultListener
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+
+/**
+ * Tests for [ReverseGeocodeCache].
+ */
+class ReverseGeocodeCacheTest {
+
+    private val geocoder = FakeReverseGeocoder()
+    private var time = 0L
+    private lateinit var cache: ReverseGeocodeCache
+
+    @Before
+    fun setUp() {
+        cache = ReverseGeocodeCache(geocoder, precision = 7, ttlMillis = 1000, maxEntries = 2, clock = { time })
+    }
+
+    @Test
+    fun testAdjacentCoordinatesShareResult() {
+        val results = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        val location = mock(Location::class.java)
+        geocoder.complete(location, ErrorCode.NONE)
+
+        // about 10 m away, same geohash cell
+        cache.reverseGeocode(coordinate(52.53085, 13.38475), results)
+        assertEquals(1, geocoder.requestCount)
+        assertEquals(listOf(location, location), results.locations)
+        assertEquals(1, cache.hitCount)
+        assertEquals(1, cache.missCount)
+
+        // a few kilometers away
+        cache.reverseGeocode(coordinate(52.5, 13.4), results)
+        assertEquals(2, geocoder.requestCount)
+    }
+
+    @Test
+    fun testConcurrentRequestsAreCoalesced() {
+        val first = Results()
+        val second = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), first)
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), second)
+        assertEquals(1, geocoder.requestCount)
+        assertEquals(0, first.locations.size)
+
+        val location = mock(Location::class.java)
+        geocoder.complete(location, ErrorCode.NONE)
+        assertEquals(listOf(location), first.locations)
+        assertEquals(listOf(location), second.locations)
+    }
+
+    @Test
+    fun testFailuresAreNotCached() {
+        val results = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        geocoder.complete(null, ErrorCode.NETWORK_COMMUNICATION)
+        assertEquals(listOf(ErrorCode.NETWORK_COMMUNICATION), results.errors)
+
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        assertEquals(2, geocoder.requestCount)
+    }
+
+    @Test
+    fun testRequestsNotStartedDoNotBlockTheCell() {
+        geocoder.startError = ErrorCode.NETWORK_COMMUNICATION
+        val first = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), first)
+        assertEquals(listOf(ErrorCode.NETWORK_COMMUNICATION), first.errors)
+
+        geocoder.startError = ErrorCode.NONE
+        val second = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), second)
+        assertEquals(2, geocoder.requestCount)
+        val location = mock(Location::class.java)
+        geocoder.complete(location, ErrorCode.NONE)
+        assertEquals(listOf(location), second.locations)
+    }
+
+    @Test
+    fun testEntriesExpire() {
+        val results = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        geocoder.complete(mock(Location::class.java), ErrorCode.NONE)
+
+        time = 999
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        assertEquals(1, geocoder.requestCount)
+        time = 1000
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        assertEquals(2, geocoder.requestCount)
+    }
+
+    @Test
+    fun testLeastRecentlyUsedEntryIsEvicted() {
+        val results = Results()
+        val berlin = coordinate(52.5308, 13.3847)
+        val paris = coordinate(48.8566, 2.3522)
+        val rome = coordinate(41.9028, 12.4964)
+        listOf(berlin, paris).forEach {
+            cache.reverseGeocode(it, results)
+            geocoder.complete(mock(Location::class.java), ErrorCode.NONE)
+        }
+        // touch berlin, so paris is the eldest entry
+        cache.reverseGeocode(berlin, results)
+        cache.reverseGeocode(rome, results)
+        geocoder.complete(mock(Location::class.java), ErrorCode.NONE)
+        assertEquals(3, geocoder.requestCount)
+
+        cache.reverseGeocode(berlin, results)
+        assertEquals(3, geocoder.requestCount)
+        cache.reverseGeocode(paris, results)
+        assertEquals(4, geocoder.requestCount)
+    }
+
+    @Test
+    fun testClear() {
+        val results = Results()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        geocoder.complete(mock(Location::class.java), ErrorCode.NONE)
+        cache.clear()
+        cache.reverseGeocode(coordinate(52.5308, 13.3847), results)
+        assertEquals(2, geocoder.requestCount)
+    }
+
+    @Test
+    fun testGeoHash() {
+        assertEquals("u33dbd", GeoHash.encode(52.5308, 13.3847, 6))
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5))
+        assertEquals(GeoHash.MAX_PRECISION, GeoHash.encode(0.0, 0.0, GeoHash.MAX_PRECISION).length)
+    }
+
+    private fun coordinate(latitude: Double, longitude: Double): GeoCoordinate {
+        val coordinate = mock(GeoCoordinate::class.java)
+        `when`(coordinate.latitude).thenReturn(latitude)
+        `when`(coordinate.longitude).thenReturn(longitude)
+        return coordinate
+    }
+
+    /**
+     * Geocoder completing requests on demand, in the order they were issued. Like [Provider], requests that
+     * can't be started are completed right away.
+     */
+    private class FakeReverseGeocoder : ReverseGeocoder {
+
+        private val pending = ArrayList<ResultListener<Location>>()
+        var requestCount = 0
+        var startError = ErrorCode.NONE
+
+        override fun reverseGeocode(cord: GeoCoordinate, listener: ResultListener<Location>) {
+            requestCount++
+            if (startError != ErrorCode.NONE) {
+                listener.onCompleted(null, startError)
+                return
+            }
+            pending.add(listener)
+        }
+
+        fun complete(location: Location?, errorCode: ErrorCode) {
+            pending.removeAt(0).onCompleted(location, errorCode)
+        }
+    }
+
+    private class Results : ResultListener<Location> {
+        val locations = ArrayList<Location?>()
+        val errors = ArrayList<ErrorCode?>()
+
+        override fun onCompleted(location: Location?, errorCode: ErrorCode?) {
+            locations.takeIf { errorCode == ErrorCode.NONE }?.add(location)
+            errors.add(errorCode)
+        }
+    }
+}
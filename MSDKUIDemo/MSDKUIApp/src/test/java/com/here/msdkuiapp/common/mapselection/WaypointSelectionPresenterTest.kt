@@ -26,6 +26,7 @@ import com.here.msdkuiapp.R
 import com.here.msdkuiapp.base.BaseContract
 import com.here.msdkuiapp.common.AppActionBar
 import com.here.msdkuiapp.common.Provider
+import com.here.msdkuiapp.common.geocoding.ReverseGeocoder
 import com.here.testutils.BaseTest
 import com.here.testutils.anySafe
 import com.here.testutils.argumentCaptor
@@ -123,15 +124,15 @@ class WaypointSelectionPresenterTest : BaseTest() {
 
         val mockRouteWaypoint = mock(RouteWaypoint::class.java)
         `when`(mockProvider.providesRouteWaypoint(anySafe())).thenReturn(mockRouteWaypoint)
-        val request = mock(ReverseGeocodeRequest::class.java)
-        `when`(mockProvider.providesReverseGeocodeRequest(anySafe())).thenReturn(request)
+        val geocoder = mock(ReverseGeocoder::class.java)
+        `when`(mockProvider.providesReverseGeocoder()).thenReturn(geocoder)
 
         val cord = mock(GeoCoordinate::class.java)
         `when`(cord.isValid).thenReturn(true)
         presenter.setGeoCoordinateForWaypoint(cord)
         verify(mockContract).onProgress(eq(true))
         val captor = argumentCaptor<ResultListener<Location>>()
-        verify(request).execute(captor.capture())
+        verify(geocoder).reverseGeocode(eq(cord), captor.capture())
 
         captor.value.onCompleted(mock(Location::class.java, RETURNS_DEEP_STUBS), ErrorCode.NONE)
         verify(mockContract).onProgress(eq(false))
@@ -21,7 +21,6 @@ import com.here.android.mpa.routing.*
 import com.here.android.mpa.search.ErrorCode
 import com.here.android.mpa.search.Location
 import com.here.android.mpa.search.ResultListener
-import com.here.android.mpa.search.ReverseGeocodeRequest
 import com.here.msdkui.routing.WaypointEntry
 import com.here.msdkuiapp.GuidanceContracts
 import com.here.msdkuiapp.MSDKUIApplication
@@ -29,6 +28,7 @@ import com.here.msdkuiapp.base.BaseActivity
 import com.here.msdkuiapp.base.BaseContract
 import com.here.msdkuiapp.common.AppActionBar
 import com.here.msdkuiapp.common.Provider
+import com.here.msdkuiapp.common.geocoding.ReverseGeocoder
 import com.here.msdkuiapp.guidance.SingletonHelper
 import com.here.msdkuiapp.position.AppPositioningManager
 import com.here.testutils.BaseTest
@@ -197,8 +197,8 @@ class RoutePreviewFragmentPresenterTest : BaseTest() {
     @Test
     fun testGeocodingCodingWhenSettingRoute() {
 
-        val mockReq = mock(ReverseGeocodeRequest::class.java)
-        `when`(mockProvider.providesReverseGeocodeRequest(anySafe())).thenReturn(mockReq)
+        val mockGeocoder = mock(ReverseGeocoder::class.java)
+        `when`(mockProvider.providesReverseGeocoder()).thenReturn(mockGeocoder)
         val captor = argumentCaptor<ResultListener<Location>>()
         with(presenter) {
             val mockRoute = mock(Route::class.java)
@@ -207,8 +207,8 @@ class RoutePreviewFragmentPresenterTest : BaseTest() {
             doSetup()
         }
         verify(mockRoutePreview).onProgress(visible = true)
-        verify(mockProvider).providesReverseGeocodeRequest(anySafe())
-        verify(mockReq).execute(captor.capture())
+        verify(mockProvider).providesReverseGeocoder()
+        verify(mockGeocoder).reverseGeocode(anySafe(), captor.capture())
         `when`(mockRoutePreview.rootViewExist()).thenReturn(true)
         captor.value.onCompleted(mock(Location::class.java, RETURNS_DEEP_STUBS), ErrorCode.NONE)
         verify(mockRoutePreview).onProgress(eq(false))
@@ -20,11 +20,18 @@ import MockUtils.mockRoute
 import androidx.fragment.app.Fragment
 import androidx.fragment.app.FragmentManager
 import androidx.fragment.app.FragmentTransaction
+import com.here.android.mpa.common.GeoCoordinate
 import com.here.android.mpa.common.PositioningManager
 import com.here.android.mpa.guidance.NavigationManager
 import com.here.android.mpa.mapping.Map
+import com.here.android.mpa.routing.CoreRouter
+import com.here.android.mpa.routing.Maneuver
+import com.here.android.mpa.routing.RouteOptions
+import com.here.android.mpa.routing.RoutePlan
 import com.here.android.mpa.routing.RouteResult
+import com.here.android.mpa.routing.RouteWaypoint
 import com.here.android.mpa.routing.RoutingError
+import com.here.msdkui.routing.RouteSnapshot
 import com.here.msdkuiapp.MSDKUIApplication
 import com.here.msdkuiapp.base.BasePermissionActivity
 import com.here.msdkuiapp.common.Provider
@@ -35,6 +42,7 @@ import com.here.msdkuiapp.position.AppPositioningManager
 import com.here.testutils.BaseTest
 import com.here.testutils.anySafe
 import com.here.testutils.argumentCaptor
+import com.here.testutils.captureSafe
 import junit.framework.Assert.*
 import org.junit.Before
 import org.junit.Test
@@ -76,6 +84,9 @@ class GuidanceCoordinatorTest : BaseTest() {
     @Mock
     private lateinit var mockMSDKUIApplication: MSDKUIApplication
 
+    @Mock
+    private lateinit var mockSessionStore: GuidanceSessionStore
+
     @Before
     fun setup() {
         MockitoAnnotations.initMocks(this)
@@ -90,6 +101,7 @@ class GuidanceCoordinatorTest : BaseTest() {
             `when`(mockMSDKUIApplication.route).thenReturn(mockRoute)
             isSimulation = false
             provider = mockProvider
+            sessionStore = mockSessionStore
         }
     }
 
@@ -133,6 +145,7 @@ class GuidanceCoordinatorTest : BaseTest() {
         assertFalse(guidanceCoordinator.didGuidanceFinished)
         guidanceCoordinator.navigationManagerEventListener.onEnded(NavigationManager.NavigationMode.NAVIGATION)
         assertTrue(guidanceCoordinator.didGuidanceFinished)
+        verify(mockSessionStore).clear()
     }
 
     @Test
@@ -166,6 +179,96 @@ class GuidanceCoordinatorTest : BaseTest() {
         guidanceCoordinator.onBackPressed()
         // verify it stop navigation manager
         verify(navigationManager!!).stop()
+        verify(mockSessionStore).clear()
+    }
+
+    @Test
+    fun testSessionIsSaved() {
+        startCoordinator()
+        verify(mockSessionStore).saveSession(anySafe())
+
+        `when`(mockNavigationManager.nextManeuverDistance).thenReturn(120L)
+        `when`(mockNavigationManager.destinationDistance).thenReturn(3000L)
+        guidanceCoordinator.newInstructionEventListener.onNewInstructionEvent()
+        val captor = argumentCaptor<GuidanceSessionStore.Progress>()
+        verify(mockSessionStore).saveProgress(captureSafe(captor), eq(true))
+        assertEquals(120L, captor.value.distanceToManeuver)
+        assertEquals(3000L, captor.value.destinationDistance)
+
+        `when`(mockSessionStore.isProgressDue(anyLong())).thenReturn(true)
+        guidanceCoordinator.positionListener.onPositionUpdated(null)
+        verify(mockSessionStore).saveProgress(anySafe(), eq(false))
+    }
+
+    @Test
+    fun testThrottledProgressSkipsLookup() {
+        startCoordinator()
+        `when`(mockSessionStore.isProgressDue(anyLong())).thenReturn(false)
+        guidanceCoordinator.positionListener.onPositionUpdated(null)
+
+        verify(mockNavigationManager, never()).nextManeuver
+        verify(mockNavigationManager, never()).getTta(anySafe(), ArgumentMatchers.anyBoolean())
+        verify(mockSessionStore, never()).saveProgress(anySafe(), ArgumentMatchers.anyBoolean())
+    }
+
+    @Test
+    fun testNextManeuverIsMatchedByPositionAndAction() {
+        val coordinates = List(3) { mock(GeoCoordinate::class.java) }
+        val maneuvers = coordinates.map { mockManeuver(it, Maneuver.Action.JUNCTION) }
+        guidanceCoordinator.route = mockRoute(mockManeuvers = maneuvers)
+
+        // The SDK hands out a new instance for the same maneuver.
+        `when`(mockNavigationManager.nextManeuver).thenReturn(mockManeuver(coordinates[2], Maneuver.Action.JUNCTION))
+        guidanceCoordinator.saveProgress()
+        val captor = argumentCaptor<GuidanceSessionStore.Progress>()
+        verify(mockSessionStore).saveProgress(captureSafe(captor), eq(true))
+        assertEquals(2, captor.value.maneuverIndex)
+    }
+
+    private fun mockManeuver(coordinate: GeoCoordinate, action: Maneuver.Action): Maneuver {
+        return mock(Maneuver::class.java).apply {
+            `when`(this.coordinate).thenReturn(coordinate)
+            `when`(this.action).thenReturn(action)
+        }
+    }
+
+    @Test
+    fun testResumeStoredSession() {
+        `when`(mockMSDKUIApplication.route).thenReturn(null)
+        val snapshot = mock(RouteSnapshot::class.java)
+        `when`(snapshot.transportMode).thenReturn(RouteOptions.TransportMode.CAR)
+        `when`(mockSessionStore.load()).thenReturn(GuidanceSessionStore.Session(snapshot,
+                listOf(GuidanceSessionStore.Waypoint(52.5, 13.4), GuidanceSessionStore.Waypoint(52.6, 13.5)),
+                RouteOptions.Type.FASTEST, true, 10L))
+        val mockRouter = mock(CoreRouter::class.java)
+        val mockRoutePlan = mock(RoutePlan::class.java)
+        `when`(mockProvider.providesCoreRouter()).thenReturn(mockRouter)
+        `when`(mockProvider.provideRoutePlan()).thenReturn(mockRoutePlan)
+        `when`(mockProvider.providesRouteOptions()).thenReturn(mock(RouteOptions::class.java))
+        `when`(mockProvider.providesRouteWaypoint(anySafe())).thenReturn(mock(RouteWaypoint::class.java))
+        startCoordinator()
+        assertTrue(guidanceCoordinator.isSimulation)
+        verify(mockRoutePlan, times(2)).addWaypoint(anySafe())
+
+        val listenerCaptor = argumentCaptor<CoreRouter.Listener>()
+        verify(mockRouter).calculateRoute(anySafe(), listenerCaptor.capture())
+        val mockRoute = mockRoute()
+        val result = mock(RouteResult::class.java)
+        `when`(result.route).thenReturn(mockRoute)
+        listenerCaptor.value.onCalculateRouteFinished(listOf(result), RoutingError.NONE)
+        verify(mockMSDKUIApplication).route = mockRoute
+        assertEquals(mockRoute, guidanceCoordinator.route)
+        verify(mockNavigationManager).simulate(anySafe(), anyLong())
+    }
+
+    @Test
+    fun testResumeFailsWhenRouteCanNotBeCalculated() {
+        `when`(mockMSDKUIApplication.route).thenReturn(null)
+        `when`(mockSessionStore.load()).thenReturn(GuidanceSessionStore.Session(mock(RouteSnapshot::class.java),
+                listOf(GuidanceSessionStore.Waypoint(52.5, 13.4)), null, false, 0L))
+        startCoordinator()
+        verify(mockSessionStore).clear()
+        verify(mockContext).startActivity(anySafe())
     }
 
     @Test
@@ -182,6 +285,8 @@ class GuidanceCoordinatorTest : BaseTest() {
         verify(mockNavigationManager).removeRerouteListener(anySafe())
         verify(mockNavigationManager).removeTrafficRerouteListener(anySafe())
         verify(mockNavigationManager).removeNavigationManagerEventListener(anySafe())
+        verify(mockNavigationManager).removePositionListener(anySafe())
+        verify(mockNavigationManager).removeNewInstructionEventListener(anySafe())
     }
 
     private fun startCoordinator(isLocationOk: Boolean = true) {
@@ -25,10 +25,13 @@ import com.here.msdkuiapp.guidance.SingletonHelper.navigationManager
 import com.here.testutils.BaseTest
 import junit.framework.Assert
 import junit.framework.TestCase.assertEquals
+import junit.framework.TestCase.assertNull
+import junit.framework.TestCase.assertSame
 import org.junit.Assert.assertNotNull
 import org.junit.Before
 import org.junit.Test
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
 import org.mockito.Mockito.verify
 import org.mockito.Mockito.`when`
 import java.util.*
@@ -59,10 +62,13 @@ class GuidanceEstimatedArrivalFragmentTest :BaseTest() {
     }
 
     @Test
-    fun testOnPause() {
-        guidanceEstimatedArrivalFragment.viewPresenter = mock(GuidanceEstimatedArrivalViewPresenter::class.java)
+    fun testPresenterIsHosted() {
+        val presenter = mock(GuidanceEstimatedArrivalViewPresenter::class.java)
+        guidanceEstimatedArrivalFragment.viewPresenter = presenter
+        addFrag(guidanceEstimatedArrivalFragment, GuidanceEstimatedArrivalFragment::class.java.name)
+        verify(presenter).resume()
         guidanceEstimatedArrivalFragment.onPause()
-        verify(guidanceEstimatedArrivalFragment.viewPresenter!!).pause()
+        verify(presenter, never()).pause()
     }
 
     @Test
@@ -75,4 +81,14 @@ class GuidanceEstimatedArrivalFragmentTest :BaseTest() {
         guidanceEstimatedArrivalFragment.onDataChanged(data)
         Assert.assertNotNull((guidanceEstimatedArrivalFragment.view as GuidanceEstimatedArrivalView).estimatedArrivalData)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun testRestoredDataShownOnExistingView() {
+        // the activity restores the fragment before the session is resumed
+        addFrag(guidanceEstimatedArrivalFragment, GuidanceEstimatedArrivalFragment::class.java.name)
+        val data = mock(GuidanceEstimatedArrivalViewData::class.java)
+        guidanceEstimatedArrivalFragment.restoredData = data
+        assertSame(data, (guidanceEstimatedArrivalFragment.view as GuidanceEstimatedArrivalView).estimatedArrivalData)
+        assertNull(guidanceEstimatedArrivalFragment.restoredData)
+    }
+}
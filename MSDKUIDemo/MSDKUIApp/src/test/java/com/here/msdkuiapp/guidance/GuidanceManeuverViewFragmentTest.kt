@@ -25,11 +25,14 @@ import com.here.msdkuiapp.common.Util
 import com.here.msdkuiapp.guidance.SingletonHelper.navigationManager
 import com.here.testutils.BaseTest
 import junit.framework.Assert.assertNotNull
+import junit.framework.Assert.assertNull
 import junit.framework.TestCase.assertEquals
+import junit.framework.TestCase.assertSame
 import org.junit.Before
 import org.junit.Test
 import org.mockito.Mock
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
 import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 
@@ -80,12 +83,22 @@ class GuidanceManeuverViewFragmentTest : BaseTest() {
     }
 
     @Test
-    fun testPauseResume() {
+    fun testPresenterIsHosted() {
         guidanceManeuverFragment.presenter = mockPresenter
-        assertNotNull(guidanceManeuverFragment.presenter)
-        guidanceManeuverFragment.onResume()
+        addFrag(guidanceManeuverFragment, GuidanceManeuverFragment::class.java.name)
         verify(mockPresenter).resume()
         guidanceManeuverFragment.onPause()
-        verify(mockPresenter).pause()
+        verify(mockPresenter, never()).pause()
+    }
+
+    @Test
+    fun testRestoredDataShownOnExistingView() {
+        // the activity restores the fragment before the session is resumed
+        guidanceManeuverFragment.route = mock(Route::class.java)
+        addFrag(guidanceManeuverFragment, GuidanceManeuverFragment::class.java.name)
+        val data = mock(GuidanceManeuverData::class.java)
+        guidanceManeuverFragment.restoredData = data
+        assertSame(data, (guidanceManeuverFragment.view as GuidanceManeuverView).viewState.data)
+        assertNull(guidanceManeuverFragment.restoredData)
     }
-}
\ No newline at end of file
+}
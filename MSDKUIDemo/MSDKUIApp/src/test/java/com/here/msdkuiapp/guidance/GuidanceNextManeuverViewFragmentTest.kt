@@ -33,6 +33,7 @@ import org.junit.Before
 import org.junit.Test
 import org.mockito.Mock
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
 import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 
@@ -88,15 +89,11 @@ class GuidanceNextManeuverViewFragmentTest : BaseTest() {
     }
 
     @Test
-    fun testOnPause() {
-        guidanceNextManeuverFragment.onPause()
-        verify(mockPresenter).pause()
-    }
-
-    @Test
-    fun testOnResume() {
-        guidanceNextManeuverFragment.onResume()
+    fun testPresenterIsHosted() {
+        addFrag(guidanceNextManeuverFragment, GuidanceNextManeuverFragment::class.java.name)
         verify(mockPresenter).resume()
+        guidanceNextManeuverFragment.onPause()
+        verify(mockPresenter, never()).pause()
     }
 
     @Test
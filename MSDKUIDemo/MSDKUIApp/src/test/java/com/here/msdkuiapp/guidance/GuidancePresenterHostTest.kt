@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.guidance
+
+import androidx.fragment.app.FragmentActivity
+import com.here.msdkui.guidance.GuidanceDataStream
+import com.here.msdkui.guidance.GuidanceNextManeuverData
+import com.here.msdkui.guidance.GuidanceNextManeuverListener
+import com.here.msdkui.guidance.GuidanceNextManeuverPresenter
+import com.here.testutils.BaseTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.robolectric.Robolectric
+import org.robolectric.android.controller.ActivityController
+import org.robolectric.util.ReflectionHelpers
+import java.util.concurrent.Executor
+
+/**
+ * Tests for [GuidancePresenterHost].
+ */
+class GuidancePresenterHostTest : BaseTest() {
+
+    private lateinit var controller: ActivityController<FragmentActivity>
+    private lateinit var presenter: GuidanceNextManeuverPresenter
+
+    @Before
+    override fun setUp() {
+        controller = Robolectric.buildActivity(FragmentActivity::class.java).setup()
+        presenter = mock(GuidanceNextManeuverPresenter::class.java)
+    }
+
+    @Test
+    fun testPresenterIsCreatedOnce() {
+        val host = GuidancePresenterHost.of(controller.get())
+        // A presenter which can't be created yet isn't kept.
+        assertNull(host.get(GuidanceNextManeuverPresenter::class.java, { null }, { GuidanceDataStream.of(it) }))
+        assertEquals(0, host.presenterCount)
+
+        var created = 0
+        val create = { created++; presenter }
+        val entry = host.get(GuidanceNextManeuverPresenter::class.java, create, { GuidanceDataStream.of(it) })
+        assertSame(entry, host.get(GuidanceNextManeuverPresenter::class.java, create, { GuidanceDataStream.of(it) }))
+        assertSame(host, GuidancePresenterHost.of(controller.get()))
+        assertEquals(1, created)
+        assertEquals(1, host.presenterCount)
+        verify(presenter).resume()
+    }
+
+    @Test
+    fun testLatestDataIsDeliveredOnAttach() {
+        val host = GuidancePresenterHost.of(controller.get())
+        val entry = host.get(GuidanceNextManeuverPresenter::class.java, { presenter }, { GuidanceDataStream.of(it) })!!
+        val captor = ArgumentCaptor.forClass(GuidanceNextManeuverListener::class.java)
+        verify(presenter).addListener(captor.capture())
+        val data = GuidanceNextManeuverData(1, 100L, "Invalidenstr.")
+        // No panel is attached, e.g. while the screen rotates.
+        captor.value.onDataChanged(data)
+
+        val received = ArrayList<GuidanceNextManeuverData?>()
+        entry.stream.subscribe(Executor { it.run() }, GuidanceDataStream.Subscriber { received.add(it) })
+        assertEquals(listOf(data), received)
+    }
+
+    @Test
+    fun testPresentersSurviveConfigurationChange() {
+        val activity = controller.get()
+        val host = GuidancePresenterHost.of(activity)
+        host.get(GuidanceNextManeuverPresenter::class.java, { presenter }, { GuidanceDataStream.of(it) })
+        assertTrue(host.isStarted)
+
+        ReflectionHelpers.setField(activity, "mChangingConfigurations", true)
+        controller.pause().stop()
+        verify(presenter, never()).pause()
+        assertTrue(host.isStarted)
+
+        ReflectionHelpers.setField(activity, "mChangingConfigurations", false)
+        controller.start()
+        controller.stop()
+        verify(presenter).pause()
+        verify(presenter).releaseResources()
+        assertFalse(host.isStarted)
+        controller.start()
+        verify(presenter, times(2)).resume()
+    }
+
+    @Test
+    fun testPresentersArePausedWhenScreenFinishes() {
+        val host = GuidancePresenterHost.of(controller.get())
+        host.get(GuidanceNextManeuverPresenter::class.java, { presenter }, { GuidanceDataStream.of(it) })
+        controller.pause().stop().destroy()
+        verify(presenter).pause()
+        verify(presenter).removeListener(any(GuidanceNextManeuverListener::class.java))
+        assertEquals(0, host.presenterCount)
+    }
+}
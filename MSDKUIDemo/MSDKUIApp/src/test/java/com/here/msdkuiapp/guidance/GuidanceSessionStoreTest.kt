@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.guidance
+
+import MockUtils.mockRoute
+import com.here.android.mpa.routing.RouteOptions
+import com.here.msdkui.routing.RouteSnapshot
+import com.here.testutils.BaseTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import java.io.RandomAccessFile
+import java.util.concurrent.Executor
+
+/**
+ * Tests for [GuidanceSessionStore].
+ */
+class GuidanceSessionStoreTest : BaseTest() {
+
+    private lateinit var file: File
+    private lateinit var store: GuidanceSessionStore
+    private lateinit var snapshot: RouteSnapshot
+
+    @Before
+    override fun setUp() {
+        file = File.createTempFile("guidance_session", ".bin")
+        file.delete()
+        store = GuidanceSessionStore(file, BUILD_STAMP, Executor { it.run() })
+        snapshot = RouteSnapshot.from(applicationContext, mockRoute(), null)
+    }
+
+    @Test
+    fun testSessionAndProgressAreRestored() {
+        store.saveSession { createSession() }
+        assertNull(store.load()!!.progress)
+
+        store.saveProgress(GuidanceSessionStore.Progress(0, 150, 2500, 300, 1000L), true)
+        val session = GuidanceSessionStore(file, BUILD_STAMP, Executor { it.run() }).load()
+        assertNotNull(session)
+        assertEquals(listOf(GuidanceSessionStore.Waypoint(52.5, 13.4), GuidanceSessionStore.Waypoint(52.6, 13.5)),
+                session!!.waypoints)
+        assertEquals(RouteOptions.Type.SHORTEST, session.routeType)
+        assertEquals(true, session.isSimulation)
+        assertEquals(20L, session.simulationSpeed)
+        assertEquals(snapshot.maneuverCount, session.snapshot.maneuverCount)
+        assertEquals(snapshot.length, session.snapshot.length)
+        assertEquals(GuidanceSessionStore.Progress(0, 150, 2500, 300, 1000L), session.progress)
+
+        val maneuverData = session.maneuverData()!!
+        assertEquals(150L, maneuverData.distance)
+        val arrivalData = session.estimatedArrivalData(61_000L)!!
+        assertEquals(301_000L, arrivalData.eta!!.time)
+        assertEquals(240, arrivalData.duration)
+    }
+
+    @Test
+    fun testNewestProgressIsRestored() {
+        store.saveSession { createSession() }
+        store.saveProgress(GuidanceSessionStore.Progress(0, 300, 3000, 400, 1000L), true)
+        store.saveProgress(GuidanceSessionStore.Progress(0, 200, 2000, 300, 2000L), true)
+        store.saveProgress(GuidanceSessionStore.Progress(0, 100, 1000, 200, 3000L), true)
+        assertEquals(100L, store.load()!!.progress!!.distanceToManeuver)
+    }
+
+    @Test
+    fun testProgressIsThrottled() {
+        store.saveSession { createSession() }
+        store.saveProgress(GuidanceSessionStore.Progress(0, 300, 3000, 400, 10_000L))
+        store.saveProgress(GuidanceSessionStore.Progress(0, 200, 2000, 300, 11_000L))
+        assertEquals(300L, store.load()!!.progress!!.distanceToManeuver)
+
+        store.saveProgress(GuidanceSessionStore.Progress(0, 100, 1000, 200,
+                10_000L + GuidanceSessionStore.PROGRESS_INTERVAL_MILLIS))
+        assertEquals(100L, store.load()!!.progress!!.distanceToManeuver)
+    }
+
+    @Test
+    fun testCorruptedProgressFallsBackToOlderSlot() {
+        store.saveSession { createSession() }
+        store.saveProgress(GuidanceSessionStore.Progress(0, 300, 3000, 400, 1000L), true)
+        store.saveProgress(GuidanceSessionStore.Progress(0, 200, 2000, 300, 2000L), true)
+        store.saveProgress(GuidanceSessionStore.Progress(0, 100, 1000, 200, 3000L), true)
+
+        // Damages the last byte of the file, which belongs to the slot of the newest progress.
+        RandomAccessFile(file, "rw").use {
+            it.seek(it.length() - 1)
+            val last = it.read()
+            it.seek(it.length() - 1)
+            it.write(last xor 0xFF)
+        }
+        assertEquals(200L, store.load()!!.progress!!.distanceToManeuver)
+    }
+
+    @Test
+    fun testSessionOfOtherInstallationIsDropped() {
+        store.saveSession { createSession() }
+        assertNull(GuidanceSessionStore(file, BUILD_STAMP + 1, Executor { it.run() }).load())
+        assertFalse(file.exists())
+    }
+
+    @Test
+    fun testClear() {
+        store.saveSession { createSession() }
+        store.clear()
+        assertNull(store.load())
+
+        // Progress without a session is ignored.
+        store.saveProgress(GuidanceSessionStore.Progress(0, 100, 1000, 200), true)
+        assertFalse(file.exists())
+    }
+
+    private fun createSession() = GuidanceSessionStore.Session(snapshot,
+            listOf(GuidanceSessionStore.Waypoint(52.5, 13.4), GuidanceSessionStore.Waypoint(52.6, 13.5)),
+            RouteOptions.Type.SHORTEST, true, 20L)
+
+    companion object {
+        private const val BUILD_STAMP = 42L
+    }
+}
@@ -33,6 +33,7 @@ import kotlinx.android.synthetic.main.guidance_speed_fragment.guidance_current_s
 import kotlinx.android.synthetic.main.guidance_speed_fragment.view.guidance_current_speed
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertSame
 import org.junit.Before
 import org.junit.Test
 import org.mockito.Mock
@@ -40,6 +41,7 @@ import org.mockito.Mockito
 import org.mockito.Mockito.RETURNS_DEEP_STUBS
 import org.mockito.Mockito.`when`
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
 import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 import org.robolectric.Robolectric
@@ -63,13 +65,20 @@ class GuidanceSpeedFragmentTest : BaseTest() {
     }
 
     @Test
-    fun testPauseAndResume() {
-        guidanceSpeedFragment.presenter = mockGuidanceCurrentSpeedPresenter
-        assertNotNull(guidanceSpeedFragment.presenter)
-        guidanceSpeedFragment.onPause()
-        verify(mockGuidanceCurrentSpeedPresenter).pause()
-        guidanceSpeedFragment.onResume()
+    fun testPresenterIsHosted() {
+        addFrag(guidanceSpeedFragment, GuidanceSpeedFragment::class.java.name)
         verify(mockGuidanceCurrentSpeedPresenter).resume()
+        // The host pauses the presenter with the activity, not with the fragment.
+        guidanceSpeedFragment.onPause()
+        verify(mockGuidanceCurrentSpeedPresenter, never()).pause()
+    }
+
+    @Test
+    fun testPresenterIsSharedWithSpeedLimitPanel() {
+        addFrag(guidanceSpeedFragment, GuidanceSpeedFragment::class.java.name)
+        val speedLimitFragment = GuidanceSpeedLimitFragment.newInstance()
+        addFrag(speedLimitFragment, GuidanceSpeedLimitFragment::class.java.name)
+        assertSame(mockGuidanceCurrentSpeedPresenter, speedLimitFragment.mPresenter)
     }
 
     @Test
@@ -105,18 +114,6 @@ class GuidanceSpeedFragmentTest : BaseTest() {
         assertNotNull(guidanceSpeedFragment.presenter)
     }
 
-    @Test
-    fun testOnPause() {
-        guidanceSpeedFragment.onPause()
-        verify(mockGuidanceCurrentSpeedPresenter).pause()
-    }
-
-    @Test
-    fun testOnResume() {
-        guidanceSpeedFragment.onResume()
-        verify(mockGuidanceCurrentSpeedPresenter).resume()
-    }
-
     @Test
     fun testCallback() {
         val speed = 60.0
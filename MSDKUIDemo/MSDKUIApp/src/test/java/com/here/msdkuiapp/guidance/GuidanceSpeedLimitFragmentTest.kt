@@ -75,15 +75,11 @@ class GuidanceSpeedLimitFragmentTest : BaseTest() {
     }
 
     @Test
-    fun testOnPause() {
-        guidanceSpeedLimitFragment.onPause()
-        verify(mockPresenter).pause()
-    }
-
-    @Test
-    fun testOnResume() {
-        guidanceSpeedLimitFragment.onResume()
+    fun testPresenterIsHosted() {
+        addFrag(guidanceSpeedLimitFragment, GuidanceSpeedLimitFragment::class.java.name)
         verify(mockPresenter).resume()
+        guidanceSpeedLimitFragment.onPause()
+        verify(mockPresenter, never()).pause()
     }
 
     @Test
@@ -27,6 +27,7 @@ import org.junit.Before
 import org.junit.Test
 import org.mockito.Mockito.`when`
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
 import org.mockito.Mockito.verify
 
 /**
@@ -71,13 +72,12 @@ class GuidanceStreetLabelViewFragmentTest : BaseTest() {
     }
 
     @Test
-    fun testPausingAndResuming() {
+    fun testPresenterIsHosted() {
         val labelPresenter : GuidanceStreetLabelPresenter = mock(GuidanceStreetLabelPresenter::class.java)
         guidanceStreetLabelFragment.presenter = labelPresenter
-        guidanceStreetLabelFragment.onPause()
-        verify(labelPresenter).pause()
-
-        guidanceStreetLabelFragment.onResume()
+        addFrag(guidanceStreetLabelFragment, GuidanceStreetLabelFragment::class.java.name)
         verify(labelPresenter).resume()
+        guidanceStreetLabelFragment.onPause()
+        verify(labelPresenter, never()).pause()
     }
 }
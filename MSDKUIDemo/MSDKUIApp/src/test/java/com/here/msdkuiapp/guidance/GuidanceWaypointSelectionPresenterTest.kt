@@ -22,6 +22,7 @@ import com.here.msdkuiapp.GuidanceContracts
 import com.here.msdkuiapp.base.BaseContract
 import com.here.msdkuiapp.common.AppActionBar
 import com.here.msdkuiapp.common.Provider
+import com.here.msdkuiapp.common.geocoding.ReverseGeocoder
 import com.here.msdkuiapp.guidance.SingletonHelper.appPositioningManager
 import com.here.msdkuiapp.position.AppPositioningManager
 import com.here.testutils.BaseTest
@@ -94,16 +95,16 @@ class GuidanceWaypointSelectionPresenterTest : BaseTest() {
     @Test
     fun testUpdateCord() {
         val mockCord = mock(GeoCoordinate::class.java)
-        val request = mock(ReverseGeocodeRequest::class.java)
+        val geocoder = mock(ReverseGeocoder::class.java)
 
         `when`(mockCord.isValid).thenReturn(true)
-        `when`(mockProvider.providesReverseGeocodeRequest(mockCord)).thenReturn(request)
+        `when`(mockProvider.providesReverseGeocoder()).thenReturn(geocoder)
         presenter.updateCord(mockCord)
         verify(mockProvider).providesRouteWaypoint(mockCord)
         verify(mockContract).onProgress(eq(true))
 
         val captor = argumentCaptor<ResultListener<Location>>()
-        verify(request).execute(captor.capture())
+        verify(geocoder).reverseGeocode(eq(mockCord), captor.capture())
 
         captor.value.onCompleted(mock(Location::class.java, RETURNS_DEEP_STUBS), ErrorCode.NONE)
         verify(mockContract).onProgress(eq(false))
@@ -56,7 +56,9 @@ import org.mockito.Mockito.any
 import org.mockito.Mockito.atLeastOnce
 import org.mockito.Mockito.doReturn
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
 import org.mockito.Mockito.spy
+import org.mockito.Mockito.times
 import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 import java.util.logging.Handler
@@ -234,6 +236,47 @@ class MapFragmentWrapperTest {
         verify(mapContainer).removeMapObject(anySafe())
     }
 
+    @Test
+    fun testRerouteReusesMapObjects() {
+        val mapContainer = mock(MapContainer::class.java)
+        fragment.map = mockMap
+        `when`(mockProvider.providesMapContainer()).thenReturn(mapContainer)
+        fragment.start{}
+        val firstRoute = mockRoute()
+        val mockMapRoute = mock(MapRoute::class.java)
+        `when`(mockMapRoute.route).thenReturn(firstRoute)
+        `when`(mockProvider.providesMapRoutes(anySafe())).thenReturn(mockMapRoute)
+        fragment.renderRoute(firstRoute)
+        verify(mapContainer, times(2)).addMapObject(anySafe())
+        verify(mockProvider, times(3)).providesMapMarker()
+        verify(mockProvider, times(3)).providesImage()
+
+        // same geometry, markers are kept and no map object is added again
+        val sameRoute = mockRoute()
+        fragment.renderRoute(sameRoute)
+        verify(mockProvider).providesMapRoutes(anySafe())
+        verify(mockMapRoute, never()).route = anySafe()
+        verify(sameRoute).routeGeometry
+
+        // a different length replaces the route without comparing the geometry
+        val longerRoute = mockRoute(mockLength = 20000)
+        fragment.renderRoute(longerRoute)
+        verify(mockMapRoute).route = longerRoute
+        verify(longerRoute, never()).routeGeometry
+        verify(sameRoute, times(1)).routeGeometry
+        verify(mapContainer, times(2)).addMapObject(anySafe())
+        verify(mapContainer, never()).removeAllMapObjects()
+        verify(mockProvider, times(3)).providesMapMarker()
+        verify(mockProvider, times(3)).providesImage()
+
+        // pooled objects are added again after clearing the map
+        fragment.clearMap()
+        fragment.renderRoute(firstRoute, false)
+        verify(mockMap, times(2)).addMapObjects(anySafe())
+        verify(mapContainer, times(3)).addMapObject(anySafe())
+        verify(mockProvider, times(3)).providesMapMarker()
+    }
+
     @Test
     fun testBackBtnBehaviour() {
         fragment.onBackPressed()
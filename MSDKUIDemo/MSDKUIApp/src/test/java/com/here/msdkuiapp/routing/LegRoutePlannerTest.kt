@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.routing
+
+import com.here.android.mpa.common.GeoCoordinate
+import com.here.android.mpa.routing.CoreRouter
+import com.here.android.mpa.routing.DynamicPenalty
+import com.here.android.mpa.routing.Maneuver
+import com.here.android.mpa.routing.Route
+import com.here.android.mpa.routing.RouteOptions
+import com.here.android.mpa.routing.RoutePlan
+import com.here.android.mpa.routing.RouteResult
+import com.here.android.mpa.routing.RouteTta
+import com.here.android.mpa.routing.RouteWaypoint
+import com.here.android.mpa.routing.RoutingError
+import com.here.msdkuiapp.common.Provider
+import com.here.testutils.anySafe
+import junit.framework.Assert.assertEquals
+import junit.framework.Assert.assertFalse
+import junit.framework.Assert.assertNull
+import junit.framework.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.mockito.ArgumentMatchers.anyInt
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.doAnswer
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
+
+/**
+ * Tests for [LegRoutePlanner].
+ */
+class LegRoutePlannerTest {
+
+    private val provider = mock(Provider::class.java)
+    private val coordinates = List(6) { mock(GeoCoordinate::class.java) }
+    private val requests = ArrayList<Request>()
+    private val plans = ArrayList<LegRoutePlanner.Plan?>()
+    private val errors = ArrayList<RoutingError>()
+    private lateinit var planner: LegRoutePlanner
+
+    private val listener = object : LegRoutePlanner.Listener {
+        override fun onPlanCalculated(plan: LegRoutePlanner.Plan?, routingError: RoutingError) {
+            plans.add(plan)
+            errors.add(routingError)
+        }
+    }
+
+    /**
+     * A leg requested from the fake router.
+     */
+    private class Request(val from: GeoCoordinate, val to: GeoCoordinate, val router: CoreRouter,
+                          val listener: CoreRouter.Listener)
+
+    @Before
+    fun setUp() {
+        `when`(provider.providesRouteOptions(anySafe())).thenAnswer { mock(RouteOptions::class.java) }
+        `when`(provider.providesDynamicPenalty()).thenAnswer { mock(DynamicPenalty::class.java) }
+        `when`(provider.providesRouteWaypoint(anySafe())).thenAnswer { invocation ->
+            val coordinate = invocation.getArgument<GeoCoordinate>(0)
+            mock(RouteWaypoint::class.java).also { `when`(it.originalPosition).thenReturn(coordinate) }
+        }
+        `when`(provider.provideRoutePlan()).thenAnswer {
+            val waypoints = ArrayList<RouteWaypoint>()
+            mock(RoutePlan::class.java).also { plan ->
+                `when`(plan.addWaypoint(anySafe())).thenAnswer { waypoints.add(it.getArgument(0)); plan }
+                `when`(plan.getWaypoint(anyInt())).thenAnswer { waypoints[it.getArgument(0)] }
+            }
+        }
+        `when`(provider.providesCoreRouter()).thenAnswer {
+            val router = mock(CoreRouter::class.java)
+            doAnswer {
+                val plan = it.getArgument<RoutePlan>(0)
+                requests.add(Request(plan.getWaypoint(0).originalPosition, plan.getWaypoint(1).originalPosition,
+                        router, it.getArgument(1)))
+                null
+            }.`when`(router).calculateRoute(anySafe<RoutePlan>(), anySafe<CoreRouter.Listener>())
+            router
+        }
+        planner = LegRoutePlanner(provider, maxParallelCalculations = 2)
+    }
+
+    @Test
+    fun testLegsAreCalculatedInParallelAndStitched() {
+        start(0, 1, 2, 3)
+        assertEquals(2, requests.size)
+        assertLeg(0, 0, 1)
+        assertLeg(1, 1, 2)
+
+        finish(1)
+        assertEquals(3, requests.size)
+        assertLeg(2, 2, 3)
+        finish(2)
+        assertTrue(plans.isEmpty())
+
+        finish(0)
+        val plan = plans.single()!!
+        assertEquals(RoutingError.NONE, errors.single())
+        assertEquals(3, plan.legs.size)
+        assertEquals(3 * LEG_LENGTH, plan.length)
+        assertEquals(3 * LEG_DURATION, plan.durationSeconds)
+        assertEquals(6, plan.maneuvers.size)
+        assertEquals(plan.legs[0].maneuvers!![0], plan.maneuvers[0])
+    }
+
+    @Test
+    fun testEditRecalculatesTouchedLegsOnly() {
+        start(0, 1, 2, 3, 4)
+        finishAll()
+        assertEquals(4, planner.calculatedLegCount)
+
+        // waypoint 2 is replaced by waypoint 5.
+        start(0, 1, 5, 3, 4)
+        assertTrue(planner.isCached(coordinates[0], coordinates[1]))
+        assertFalse(planner.isCached(coordinates[1], coordinates[5]))
+        finishAll()
+        assertEquals(6, planner.calculatedLegCount)
+        assertLeg(4, 1, 5)
+        assertLeg(5, 5, 3)
+        assertEquals(4, plans.last()!!.legs.size)
+
+        // removing the waypoint again only needs cached legs.
+        start(0, 1, 2, 3, 4)
+        assertEquals(6, planner.calculatedLegCount)
+        assertEquals(3, plans.size)
+    }
+
+    @Test
+    fun testObsoleteLegsAreCancelled() {
+        start(0, 1, 2)
+        val outdated = requests[1]
+        start(0, 1, 3)
+        verify(outdated.router).cancel()
+        verify(requests[0].router, never()).cancel()
+        assertLeg(2, 1, 3)
+
+        // late result of a cancelled leg is ignored.
+        finish(1)
+        assertFalse(planner.isCached(coordinates[1], coordinates[2]))
+        finish(0)
+        finish(2)
+        assertEquals(1, plans.size)
+    }
+
+    @Test
+    fun testFailedLegFailsPlan() {
+        start(0, 1, 2)
+        finish(0, routingError = RoutingError.NO_END_POINT)
+        assertNull(plans.single())
+        assertEquals(RoutingError.NO_END_POINT, errors.single())
+        verify(requests[1].router).cancel()
+        assertFalse(planner.isCached(coordinates[0], coordinates[1]))
+    }
+
+    @Test
+    fun testInvalidateDropsCachedLegs() {
+        start(0, 1)
+        finish(0)
+        planner.invalidate()
+        assertFalse(planner.isCached(coordinates[0], coordinates[1]))
+        start(0, 1)
+        assertEquals(2, requests.size)
+    }
+
+    @Test
+    fun testCacheIsBounded() {
+        planner = LegRoutePlanner(provider, maxParallelCalculations = 2, maxCachedLegs = 2)
+        start(0, 1, 2, 3)
+        finishAll()
+        assertFalse(planner.isCached(coordinates[0], coordinates[1]))
+        assertTrue(planner.isCached(coordinates[2], coordinates[3]))
+        assertEquals(3, plans.single()!!.legs.size)
+    }
+
+    @Test
+    fun testChangedOptionsDropCachedLegs() {
+        start(0, 1)
+        finish(0)
+        start(0, 1)
+        assertEquals(1, requests.size)
+
+        // the option panels change the options in place.
+        val options = mock(RouteOptions::class.java)
+        `when`(options.areTollRoadsAllowed()).thenReturn(true)
+        start(0, 1, options = options)
+        assertEquals(2, requests.size)
+        assertFalse(planner.isCached(coordinates[0], coordinates[1]))
+
+        finish(1)
+        start(0, 1, options = options, trafficPenaltyMode = Route.TrafficPenaltyMode.DISABLED)
+        assertEquals(3, requests.size)
+    }
+
+    private fun start(vararg indices: Int, options: RouteOptions = mock(RouteOptions::class.java),
+                      trafficPenaltyMode: Route.TrafficPenaltyMode = Route.TrafficPenaltyMode.OPTIMAL) {
+        val waypoints = indices.map { index ->
+            mock(RouteWaypoint::class.java).also { `when`(it.originalPosition).thenReturn(coordinates[index]) }
+        }
+        planner.start(waypoints, options, trafficPenaltyMode, listener)
+    }
+
+    private fun assertLeg(requestIndex: Int, from: Int, to: Int) {
+        assertEquals(coordinates[from], requests[requestIndex].from)
+        assertEquals(coordinates[to], requests[requestIndex].to)
+    }
+
+    private fun finishAll() {
+        var index = 0
+        while (index < requests.size) {
+            finish(index++)
+        }
+    }
+
+    private fun finish(requestIndex: Int, routingError: RoutingError = RoutingError.NONE) {
+        val results = if (routingError == RoutingError.NONE) listOf(mockRouteResult()) else emptyList()
+        requests[requestIndex].listener.onCalculateRouteFinished(results, routingError)
+    }
+
+    private fun mockRouteResult(): RouteResult {
+        val route = mock(Route::class.java)
+        val tta = mock(RouteTta::class.java)
+        `when`(tta.duration).thenReturn(LEG_DURATION)
+        `when`(route.length).thenReturn(LEG_LENGTH)
+        `when`(route.getTtaIncludingTraffic(anyInt())).thenReturn(tta)
+        `when`(route.maneuvers).thenReturn(listOf(mock(Maneuver::class.java), mock(Maneuver::class.java)))
+        return mock(RouteResult::class.java).also { `when`(it.route).thenReturn(route) }
+    }
+
+    private companion object {
+        const val LEG_LENGTH = 1200
+        const val LEG_DURATION = 90
+    }
+}
@@ -19,6 +19,7 @@ package com.here.msdkuiapp.routing
 import android.app.Activity
 import android.view.View
 import com.here.android.mpa.routing.*
+import com.here.msdkui.routing.SingleChoiceOptionItem
 import com.here.msdkui.routing.TrafficOptionsPanel
 import com.here.msdkuiapp.R
 import com.here.msdkuiapp.base.BaseActivity
@@ -34,6 +35,8 @@ import org.junit.Before
 import org.junit.Test
 import org.mockito.*
 import org.mockito.Mockito.*
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.TimeUnit
 
 /**
  * Tests for [OptionPanelPresenter].
@@ -119,7 +122,12 @@ class OptionPanelPresenterTest : BaseTest() {
         assertNotNull(presenter.panels[Panels.ROUTE_TYPE])
 
         assertNotNull(presenter.panels[Panels.TRAFFIC])
-        (presenter.panels[Panels.TRAFFIC] as TrafficOptionsPanel).onChanged(null)
+        val trafficPanel = presenter.panels[Panels.TRAFFIC] as TrafficOptionsPanel
+        assertEquals(OptionPanelPresenter.OPTION_COMMIT_DELAY_MILLIS, trafficPanel.commitDelay)
+        (trafficPanel.optionItems[0] as SingleChoiceOptionItem).selectIndex(2)
+        trafficPanel.onChanged(null)
+        verify(mockContract, never()).trafficChanged(anySafe())
+        ShadowLooper.idleMainLooper(OptionPanelPresenter.OPTION_COMMIT_DELAY_MILLIS, TimeUnit.MILLISECONDS)
         verify(mockContract).trafficChanged(anySafe())
         (presenter.panels[Panels.TRAFFIC] as TrafficOptionsPanel).optionItems = emptyList()
         // nothing to verify because onOptionCreated() body is empty
@@ -180,4 +188,21 @@ class OptionPanelPresenterTest : BaseTest() {
             assertNotNull(dynamicPenalty)
         }
     }
+
+    @Test
+    fun testUpdateOptionsCommitsDelayedTrafficChange() {
+        presenter.makeUiDataReady()
+        val trafficPanel = presenter.panels[Panels.TRAFFIC] as TrafficOptionsPanel
+        (trafficPanel.optionItems[0] as SingleChoiceOptionItem).selectIndex(2)
+        trafficPanel.onChanged(null)
+        verify(mockContract, never()).trafficChanged(anySafe())
+
+        // The screen is left before the commit delay passed.
+        presenter.updateOptions()
+        verify(mockContract).trafficChanged(anySafe())
+        assertEquals(trafficPanel.dynamicPenalty, presenter.dynamicPenalty)
+
+        ShadowLooper.idleMainLooper(OptionPanelPresenter.OPTION_COMMIT_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+        verify(mockContract).trafficChanged(anySafe())
+    }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkuiapp.routing
+
+import com.here.android.mpa.routing.CoreRouter
+import com.here.android.mpa.routing.DynamicPenalty
+import com.here.android.mpa.routing.Route
+import com.here.android.mpa.routing.RouteOptions
+import com.here.android.mpa.routing.RouteOptions.TransportMode
+import com.here.android.mpa.routing.RoutePlan
+import com.here.android.mpa.routing.RouteResult
+import com.here.android.mpa.routing.RouteWaypoint
+import com.here.android.mpa.routing.RoutingError
+import com.here.msdkuiapp.common.Provider
+import com.here.testutils.anySafe
+import com.here.testutils.argumentCaptor
+import junit.framework.Assert.assertEquals
+import junit.framework.Assert.assertFalse
+import junit.framework.Assert.assertNull
+import junit.framework.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
+
+/**
+ * Tests for [TransportModeRoutePrecalculator].
+ */
+class TransportModeRoutePrecalculatorTest {
+
+    private val provider = mock(Provider::class.java)
+    private val routers = ArrayList<CoreRouter>()
+    private val calculatedModes = ArrayList<TransportMode>()
+    private lateinit var precalculator: TransportModeRoutePrecalculator
+
+    private val listener = object : TransportModeRoutePrecalculator.Listener {
+        override fun onRoutesCalculated(transportMode: TransportMode, routeResults: List<RouteResult>,
+                                        routingError: RoutingError) {
+            calculatedModes.add(transportMode)
+        }
+    }
+
+    @Before
+    fun setUp() {
+        `when`(provider.provideRoutePlan()).thenAnswer { mock(RoutePlan::class.java) }
+        `when`(provider.providesRouteOptions(anySafe())).thenAnswer { mock(RouteOptions::class.java) }
+        `when`(provider.providesDynamicPenalty()).thenAnswer { mock(DynamicPenalty::class.java) }
+        `when`(provider.providesCoreRouter()).thenAnswer { mock(CoreRouter::class.java).also { routers.add(it) } }
+        precalculator = TransportModeRoutePrecalculator(provider, maxParallelCalculations = 2)
+    }
+
+    @Test
+    fun testParallelismIsBounded() {
+        start(TransportMode.CAR, TransportMode.PEDESTRIAN, TransportMode.TRUCK)
+        assertEquals(2, routers.size)
+        assertTrue(precalculator.isPending(TransportMode.TRUCK))
+
+        finish(1, RoutingError.NONE)
+        assertEquals(listOf(TransportMode.PEDESTRIAN), calculatedModes)
+        assertEquals(3, routers.size)
+        assertFalse(precalculator.isPending(TransportMode.PEDESTRIAN))
+        assertEquals(RoutingError.NONE, precalculator.getResult(TransportMode.PEDESTRIAN)?.routingError)
+
+        finish(0, RoutingError.NONE)
+        finish(2, RoutingError.NO_END_POINT)
+        assertEquals(listOf(TransportMode.PEDESTRIAN, TransportMode.CAR, TransportMode.TRUCK), calculatedModes)
+        assertEquals(RoutingError.NO_END_POINT, precalculator.getResult(TransportMode.TRUCK)?.routingError)
+    }
+
+    @Test
+    fun testRestartCancelsRunningCalculations() {
+        start(TransportMode.CAR, TransportMode.PEDESTRIAN, TransportMode.TRUCK)
+        finish(0, RoutingError.NONE)
+        val outdatedRouter = routers[1]
+
+        start(TransportMode.CAR)
+        verify(outdatedRouter).cancel()
+        assertNull(precalculator.getResult(TransportMode.CAR))
+        assertFalse(precalculator.isPending(TransportMode.TRUCK))
+
+        // late result of a cancelled calculation is ignored
+        finish(1, RoutingError.NONE)
+        assertEquals(listOf(TransportMode.CAR), calculatedModes)
+        finish(routers.size - 1, RoutingError.NONE)
+        assertEquals(listOf(TransportMode.CAR, TransportMode.CAR), calculatedModes)
+    }
+
+    @Test
+    fun testCancel() {
+        start(TransportMode.CAR)
+        precalculator.cancel()
+        verify(routers[0]).cancel()
+        finish(0, RoutingError.NONE)
+        assertTrue(calculatedModes.isEmpty())
+        assertFalse(precalculator.isPending(TransportMode.CAR))
+    }
+
+    @Test
+    fun testDuplicatedModesAreCalculatedOnce() {
+        start(TransportMode.CAR, TransportMode.CAR)
+        finish(0, RoutingError.NONE)
+        assertEquals(1, routers.size)
+        verify(routers[0], never()).cancel()
+    }
+
+    private fun start(vararg modes: TransportMode) {
+        precalculator.start(listOf(mock(RouteWaypoint::class.java), mock(RouteWaypoint::class.java)),
+                mock(RouteOptions::class.java), Route.TrafficPenaltyMode.OPTIMAL, modes.toList(), listener)
+    }
+
+    private fun finish(routerIndex: Int, routingError: RoutingError) {
+        val captor = argumentCaptor<CoreRouter.Listener>()
+        verify(routers[routerIndex]).calculateRoute(anySafe<RoutePlan>(), captor.capture())
+        captor.value.onCalculateRouteFinished(emptyList(), routingError)
+    }
+}
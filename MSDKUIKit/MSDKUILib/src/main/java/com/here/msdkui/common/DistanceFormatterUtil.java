@@ -19,8 +19,7 @@ package com.here.msdkui.common;
 import android.content.Context;
 
 import com.here.msdkui.R;
-import com.here.msdkui.common.measurements.LengthConverter;
-import com.here.msdkui.common.measurements.Measurement;
+import com.here.msdkui.common.measurements.ConversionTable;
 import com.here.msdkui.common.measurements.MeasurementUnit;
 import com.here.msdkui.common.measurements.UnitSystem;
 
@@ -52,6 +51,17 @@ public final class DistanceFormatterUtil {
     private static final int FEET_THRESHOLD = 5279;
 
 
+    // Lower bounds of the rounding ranges used by the format methods and the step within each range.
+    private static final double[] METER_BOUNDS = {0, METER_THRESHOLD_10, METER_THRESHOLD_200, METER_THRESHOLD_975,
+            METER_THRESHOLD, KM_THRESHOLD};
+    private static final double[] METER_STEPS = {1, 10, 50, 50, 100, THOUSAND};
+    private static final double[] YARD_BOUNDS = {0, YARDS_THRESHOLD_10, YARDS_THRESHOLD_350, YARDS_THRESHOLD_1750,
+            YARDS_THRESHOLD, 17_600};
+    private static final double[] YARD_STEPS = {1, 10, 50, 10, 176, 1760};
+    private static final double[] FEET_BOUNDS = {0, FEET_THRESHOLD_10, FEET_THRESHOLD_1050, FEET_THRESHOLD_5275,
+            FEET_THRESHOLD, 52_800};
+    private static final double[] FEET_STEPS = {1, 10, 50, 10, 528, 5280};
+
     private static final NumberFormat FORMATTER = NumberFormat.getInstance();
 
     private DistanceFormatterUtil() {
@@ -125,12 +135,8 @@ public final class DistanceFormatterUtil {
     public static String formatInImperialUsSystem(final Context context, final long distance) {
         final String value;
         final String unit;
-        LengthConverter lengthConverter = new LengthConverter();
-        Measurement distanceMeters = new Measurement(distance, MeasurementUnit.METER);
-        final double distanceYards = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.YARD).getValue();
-        final double distanceMiles = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.MILE).getValue();
+        final double distanceYards = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.YARD);
+        final double distanceMiles = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.MILE);
         if (distanceYards < YARDS_THRESHOLD) {
             value = FORMATTER.format(Math.round(distanceYards));
             unit = context.getString(R.string.msdkui_unit_yard);
@@ -157,12 +163,8 @@ public final class DistanceFormatterUtil {
     public static String formatInImperialUkSystem(final Context context, final long distance) {
         final String value;
         final String unit;
-        LengthConverter lengthConverter = new LengthConverter();
-        Measurement distanceMeters = new Measurement(distance, MeasurementUnit.METER);
-        final double distanceFeet = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.FOOT).getValue();
-        final double distanceMiles = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.MILE).getValue();
+        final double distanceFeet = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.FOOT);
+        final double distanceMiles = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.MILE);
         if (distanceFeet < FEET_THRESHOLD) {
             value = FORMATTER.format(Math.round(distanceFeet));
             unit = context.getString(R.string.msdkui_unit_foot);
@@ -282,12 +284,8 @@ public final class DistanceFormatterUtil {
     public static String formatDistanceInImperialUsSystem(final Context context, final long distance) {
         final String value;
         final String unit;
-        LengthConverter lengthConverter = new LengthConverter();
-        Measurement distanceMeters = new Measurement(distance, MeasurementUnit.METER);
-        final double distanceYards = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.YARD).getValue();
-        final double distanceMiles = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.MILE).getValue();
+        final double distanceYards = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.YARD);
+        final double distanceMiles = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.MILE);
         if (distanceYards < YARDS_THRESHOLD_1750) {
             unit = context.getString(R.string.msdkui_unit_yard);
         } else {
@@ -337,12 +335,8 @@ public final class DistanceFormatterUtil {
     public static String formatDistanceInImperialUkSystem(final Context context, final long distance) {
         final String value;
         final String unit;
-        LengthConverter lengthConverter = new LengthConverter();
-        Measurement distanceMeters = new Measurement(distance, MeasurementUnit.METER);
-        final double distanceFeet = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.FOOT).getValue();
-        final double distanceMiles = lengthConverter.convert(distanceMeters.getValue(),
-                distanceMeters.getUnit(), MeasurementUnit.MILE).getValue();
+        final double distanceFeet = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.FOOT);
+        final double distanceMiles = ConversionTable.convert(distance, MeasurementUnit.METER, MeasurementUnit.MILE);
         if (distanceFeet < FEET_THRESHOLD_5275) {
             unit = context.getString(R.string.msdkui_unit_foot);
         } else {
@@ -364,6 +358,45 @@ public final class DistanceFormatterUtil {
         return String.format(context.getString(R.string.msdkui_distance_value_with_unit), value, unit);
     }
 
+    /**
+     * Gets the distance that can be travelled towards a target before the text returned by
+     * {@link #formatDistance(Context, long, UnitSystem)} changes. This can be used to skip updates
+     * which wouldn't change the shown text.
+     *
+     * @param distance
+     *         the current distance to the target in meters.
+     * @param system
+     *         the unit system {@link UnitSystem}.
+     *
+     * @return the distance in meters, at least 1.
+     */
+    public static long getDistanceToNextChange(final long distance, final UnitSystem system) {
+        switch (system) {
+            case IMPERIAL_US:
+                return getDistanceToNextChange(distance, MeasurementUnit.YARD, YARD_BOUNDS, YARD_STEPS);
+            case IMPERIAL_UK:
+                return getDistanceToNextChange(distance, MeasurementUnit.FOOT, FEET_BOUNDS, FEET_STEPS);
+            default: // metric
+                return getDistanceToNextChange(distance, MeasurementUnit.METER, METER_BOUNDS, METER_STEPS);
+        }
+    }
+
+    /**
+     * Gets the distance to the next rounding boundary or to the start of the current rounding range,
+     * whichever comes first.
+     */
+    private static long getDistanceToNextChange(final long distance, final MeasurementUnit unit,
+            final double[] bounds, final double[] steps) {
+        final double value = ConversionTable.convert(distance, MeasurementUnit.METER, unit);
+        int range = 0;
+        while (range + 1 < bounds.length && value >= bounds[range + 1]) {
+            range++;
+        }
+        final double step = steps[range];
+        final double change = Math.min(value - (Math.round(value / step) - 0.5) * step, value - bounds[range]);
+        return Math.max(1, (long) ConversionTable.convert(change, unit, MeasurementUnit.METER));
+    }
+
     /**
      * Rounds the given number to it's nearest division of 50.
      *
@@ -19,9 +19,8 @@ package com.here.msdkui.common;
 import android.content.Context;
 
 import com.here.msdkui.R;
-import com.here.msdkui.common.measurements.Measurement;
+import com.here.msdkui.common.measurements.ConversionTable;
 import com.here.msdkui.common.measurements.MeasurementUnit;
-import com.here.msdkui.common.measurements.SpeedConverter;
 import com.here.msdkui.common.measurements.UnitSystem;
 
 /**
@@ -41,22 +40,18 @@ public final class SpeedFormatterUtil {
      * @return velocity in specified unit system.
      */
     public static int format(final double metersPerSecond, final UnitSystem system) {
-        SpeedConverter speedConverter = new SpeedConverter();
-        Measurement speedMeterPerSecond = new Measurement(metersPerSecond,
-                MeasurementUnit.METERS_PER_SECOND);
-        double ret;
+        final MeasurementUnit unit;
         switch (system) {
             case IMPERIAL_UK:
             case IMPERIAL_US:
-                ret = speedConverter.convert(speedMeterPerSecond.getValue(),
-                        speedMeterPerSecond.getUnit(), MeasurementUnit.MILES_PER_HOUR).getValue();
+                unit = MeasurementUnit.MILES_PER_HOUR;
                 break;
             case METRIC:
             default: // metric
-                ret = speedConverter.convert(speedMeterPerSecond.getValue(),
-                        speedMeterPerSecond.getUnit(), MeasurementUnit.KILOMETERS_PER_HOUR).getValue();
+                unit = MeasurementUnit.KILOMETERS_PER_HOUR;
                 break;
         }
+        final double ret = ConversionTable.convert(metersPerSecond, MeasurementUnit.METERS_PER_SECOND, unit);
         return (int) Math.round(ret);
     }
 
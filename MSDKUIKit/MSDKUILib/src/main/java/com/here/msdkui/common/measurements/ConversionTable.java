@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.common.measurements;
+
+/**
+ * Allocation-free conversions between {@link MeasurementUnit}s.
+ * <p>The conversion steps of every pair of units are precomputed once, so a conversion is a lookup
+ * followed by a few floating point operations. The steps are applied in the same order as in
+ * {@link LengthConverter} and {@link SpeedConverter}, so the results are bit-identical to
+ * {@link Converter#convert(double, MeasurementUnit, MeasurementUnit)}.</p>
+ */
+public final class ConversionTable {
+
+    private static final double FOOT_IN_METERS = 0.3048;
+    private static final double YARD_IN_METERS = 0.9144;
+    private static final double MILE_IN_METERS = 1609.344;
+    private static final double SECONDS_IN_HOUR = 3600;
+
+    private static final MeasurementUnit[] UNITS = MeasurementUnit.values();
+    private static final int UNIT_COUNT = UNITS.length;
+
+    /**
+     * Number of steps per pair of units: multiply and divide to convert to the base unit,
+     * then multiply, divide and multiply to convert from the base unit.
+     */
+    private static final int STEPS = 5;
+
+    private static final double[] TABLE = new double[UNIT_COUNT * UNIT_COUNT * STEPS];
+
+    static {
+        for (final MeasurementUnit from : UNITS) {
+            final double[] toBase = toBaseSteps(from);
+            for (final MeasurementUnit to : UNITS) {
+                final int offset = offset(from, to);
+                if (Converter.isSpeed(from) == Converter.isSpeed(to)) {
+                    final double[] fromBase = fromBaseSteps(to);
+                    TABLE[offset] = toBase[0];
+                    TABLE[offset + 1] = toBase[1];
+                    TABLE[offset + 2] = fromBase[0];
+                    TABLE[offset + 3] = fromBase[1];
+                    TABLE[offset + 4] = fromBase[2];
+                } else {
+                    for (int i = 0; i < STEPS; i++) {
+                        TABLE[offset + i] = Double.NaN;
+                    }
+                }
+            }
+        }
+    }
+
+    private ConversionTable() {
+    }
+
+    /**
+     * Converts a value in given {@link MeasurementUnit} to another unit.
+     *
+     * @param in
+     *          a value to be converted.
+     *
+     * @param from
+     *          a source {@link MeasurementUnit}.
+     *
+     * @param to
+     *          a target {@link MeasurementUnit}.
+     *
+     * @return converted value or {@link Double#NaN} if the units are not compatible.
+     */
+    public static double convert(double in, MeasurementUnit from, MeasurementUnit to) {
+        final int offset = offset(from, to);
+        return in * TABLE[offset] / TABLE[offset + 1] * TABLE[offset + 2] / TABLE[offset + 3] * TABLE[offset + 4];
+    }
+
+    /**
+     * Checks if a value can be converted between the given units.
+     *
+     * @param from
+     *          a source {@link MeasurementUnit}.
+     *
+     * @param to
+     *          a target {@link MeasurementUnit}.
+     *
+     * @return true if both units measure the same quantity, false otherwise.
+     */
+    public static boolean areCompatible(MeasurementUnit from, MeasurementUnit to) {
+        return !Double.isNaN(TABLE[offset(from, to)]);
+    }
+
+    private static int offset(MeasurementUnit from, MeasurementUnit to) {
+        return (from.ordinal() * UNIT_COUNT + to.ordinal()) * STEPS;
+    }
+
+    /**
+     * Multiplications by one and divisions by one are exact, so they keep the steps of all units
+     * uniform without changing the results.
+     */
+    private static double[] toBaseSteps(MeasurementUnit unit) {
+        switch (unit) {
+            case KILOMETER:
+                return new double[] {Converter.KILOMETER_IN_METERS, 1};
+            case YARD:
+                return new double[] {YARD_IN_METERS, 1};
+            case FOOT:
+                return new double[] {FOOT_IN_METERS, 1};
+            case MILE:
+                return new double[] {MILE_IN_METERS, 1};
+            case KILOMETERS_PER_HOUR:
+                return new double[] {Converter.KILOMETER_IN_METERS, SECONDS_IN_HOUR};
+            case MILES_PER_HOUR:
+                return new double[] {MILE_IN_METERS, SECONDS_IN_HOUR};
+            case METER:
+            case METERS_PER_SECOND:
+            default:
+                return new double[] {1, 1};
+        }
+    }
+
+    private static double[] fromBaseSteps(MeasurementUnit unit) {
+        switch (unit) {
+            case KILOMETER:
+                return new double[] {1, Converter.KILOMETER_IN_METERS, 1};
+            case YARD:
+                return new double[] {1, YARD_IN_METERS, 1};
+            case FOOT:
+                return new double[] {1, FOOT_IN_METERS, 1};
+            case MILE:
+                return new double[] {1, MILE_IN_METERS, 1};
+            case KILOMETERS_PER_HOUR:
+                return new double[] {SECONDS_IN_HOUR, Converter.KILOMETER_IN_METERS, 1};
+            case MILES_PER_HOUR:
+                return new double[] {1, MILE_IN_METERS, SECONDS_IN_HOUR};
+            case METER:
+            case METERS_PER_SECOND:
+            default:
+                return new double[] {1, 1, 1};
+        }
+    }
+}
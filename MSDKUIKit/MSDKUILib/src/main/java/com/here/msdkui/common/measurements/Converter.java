@@ -26,6 +26,14 @@ public abstract class Converter {
 
     protected static final double KILOMETER_IN_METERS = 1000;
 
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final double HALF = 0.5;
+    private static final double MAX_FAST_SCALED = 0x1p52;
+    private static final double TIE_TOLERANCE_ULPS = 8;
+
     /**
      * Converts a value in given {@link MeasurementUnit} to another unit.
      *
@@ -89,6 +97,25 @@ public abstract class Converter {
     public static double round(double value, int places) {
         if (places < 0) throw new IllegalArgumentException();
 
+        // Values that are not close to a tie are rounded in double arithmetic. The scaled value is
+        // within a few ulps of the decimal representation, so the rounding direction is the same
+        // and the final division yields the same correctly rounded double as BigDecimal.
+        if (places < POWERS_OF_TEN.length) {
+            final double scale = POWERS_OF_TEN[places];
+            final double scaled = Math.abs(value) * scale;
+            if (scaled < MAX_FAST_SCALED) {
+                final double floor = Math.floor(scaled);
+                final double fraction = scaled - floor;
+                if (Math.abs(fraction - HALF) > TIE_TOLERANCE_ULPS * Math.ulp(scaled)) {
+                    final double rounded = fraction > HALF ? floor + 1 : floor;
+                    return rounded == 0 ? 0 : Math.copySign(rounded / scale, value);
+                }
+            }
+        }
+        return roundExact(value, places);
+    }
+
+    private static double roundExact(double value, int places) {
         BigDecimal bd = new BigDecimal(String.valueOf(value));
         bd = bd.setScale(places, RoundingMode.HALF_UP);
         return bd.doubleValue();
@@ -65,10 +65,9 @@ public class Measurement {
      * @return true if conversion was successful.
      */
     public boolean convert(MeasurementUnit to) {
-        Measurement tmp = mUnit.getConverter().convert(mValue, mUnit, to);
-        if (tmp != null) {
-            mValue = tmp.getValue();
-            mUnit = tmp.getUnit();
+        if (ConversionTable.areCompatible(mUnit, to)) {
+            mValue = ConversionTable.convert(mValue, mUnit, to);
+            mUnit = to;
             return true;
         }
         return false;
@@ -83,6 +82,9 @@ public class Measurement {
      * @return an instance of {@link Measurement}.
      */
     public Measurement getConverted(MeasurementUnit to) {
-        return mUnit.getConverter().convert(mValue, mUnit, to);
+        if (ConversionTable.areCompatible(mUnit, to)) {
+            return new Measurement(ConversionTable.convert(mValue, mUnit, to), to);
+        }
+        return null;
     }
 }
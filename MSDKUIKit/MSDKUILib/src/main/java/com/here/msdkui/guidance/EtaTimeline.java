@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteTta;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The stops of a route with their distance and travel time from the start of the route.
+ *
+ * <p>The timeline is created once per route with {@link #from(Route)}, using the stopover maneuvers
+ * and the travel time of each leg. The travel time at any position is interpolated within the leg,
+ * so the remaining time to each stop can be computed from the distance travelled without querying
+ * the SDK.</p>
+ */
+public final class EtaTimeline {
+
+    /**
+     * A timeline without any stops.
+     */
+    public static final EtaTimeline EMPTY = new EtaTimeline(new long[0], new int[0]);
+
+    private final long[] mStopDistances;
+    private final int[] mStopTimes;
+
+    EtaTimeline(final long[] stopDistances, final int[] stopTimes) {
+        mStopDistances = stopDistances;
+        mStopTimes = stopTimes;
+    }
+
+    /**
+     * Creates the timeline of a route. The travel times include traffic, if available.
+     * If the stopovers of the route can't be matched to its legs, the timeline only contains the destination.
+     *
+     * @param route
+     *         the route or null.
+     * @return the timeline, {@link #EMPTY} if there is no route.
+     */
+    @NonNull
+    public static EtaTimeline from(@Nullable final Route route) {
+        if (route == null) {
+            return EMPTY;
+        }
+        final int legCount = route.getSublegCount();
+        final List<Maneuver> maneuvers = route.getManeuvers();
+        final long[] distances = new long[Math.max(legCount, 0)];
+        int stopCount = 0;
+        if (maneuvers != null) {
+            for (final Maneuver maneuver : maneuvers) {
+                final Maneuver.Action action = maneuver.getAction();
+                if (action == Maneuver.Action.STOPOVER || action == Maneuver.Action.END) {
+                    if (stopCount == distances.length) {
+                        stopCount++;
+                        break;
+                    }
+                    distances[stopCount++] = maneuver.getDistanceFromStart();
+                }
+            }
+        }
+        if (legCount <= 0 || stopCount != legCount) {
+            return new EtaTimeline(new long[] {route.getLength()},
+                    new int[] {getDuration(route, Route.WHOLE_ROUTE)});
+        }
+        final int[] times = new int[legCount];
+        int time = 0;
+        for (int leg = 0; leg < legCount; leg++) {
+            time += getDuration(route, leg);
+            times[leg] = time;
+        }
+        return new EtaTimeline(distances, times);
+    }
+
+    private static int getDuration(final Route route, final int subleg) {
+        RouteTta tta = route.getTtaIncludingTraffic(subleg);
+        if (tta == null) {
+            tta = route.getTtaExcludingTraffic(subleg);
+        }
+        return tta == null ? 0 : Math.max(0, tta.getDuration());
+    }
+
+    /**
+     * Checks whether the timeline has any stops.
+     *
+     * @return true if the timeline is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return mStopDistances.length == 0;
+    }
+
+    /**
+     * Gets the number of stops, including the destination.
+     *
+     * @return the number of stops.
+     */
+    public int getStopCount() {
+        return mStopDistances.length;
+    }
+
+    /**
+     * Gets the distance of the destination from the start of the route.
+     *
+     * @return the length in meters or 0 if the timeline is empty.
+     */
+    public long getLength() {
+        return isEmpty() ? 0 : mStopDistances[mStopDistances.length - 1];
+    }
+
+    /**
+     * Gets the distance of a stop from the start of the route.
+     *
+     * @param index
+     *         the index of the stop.
+     * @return the distance in meters.
+     */
+    public long getStopDistance(final int index) {
+        return mStopDistances[index];
+    }
+
+    /**
+     * Gets the travel time from the start of the route to a stop.
+     *
+     * @param index
+     *         the index of the stop.
+     * @return the travel time in seconds.
+     */
+    public int getStopTime(final int index) {
+        return mStopTimes[index];
+    }
+
+    /**
+     * Gets the index of the first stop ahead of a position.
+     *
+     * @param distance
+     *         the distance travelled from the start of the route in meters.
+     * @return the index of the stop or {@link #getStopCount()} if all stops are passed.
+     */
+    public int getFirstUpcomingStop(final double distance) {
+        int low = 0;
+        int high = mStopDistances.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (mStopDistances[mid] <= distance) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the travel time from the start of the route to a position, interpolated within its leg.
+     *
+     * @param distance
+     *         the distance travelled from the start of the route in meters.
+     * @return the travel time in seconds.
+     */
+    public double getTimeAt(final double distance) {
+        if (isEmpty() || distance <= 0) {
+            return 0;
+        }
+        final int leg = getFirstUpcomingStop(distance);
+        if (leg >= mStopDistances.length) {
+            return mStopTimes[mStopTimes.length - 1];
+        }
+        final long legStart = leg == 0 ? 0 : mStopDistances[leg - 1];
+        final int legStartTime = leg == 0 ? 0 : mStopTimes[leg - 1];
+        final long legLength = mStopDistances[leg] - legStart;
+        if (legLength <= 0) {
+            return mStopTimes[leg];
+        }
+        return legStartTime + (mStopTimes[leg] - legStartTime) * (distance - legStart) / legLength;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "EtaTimeline(mStopDistances=" + Arrays.toString(mStopDistances) +
+                ", mStopTimes=" + Arrays.toString(mStopTimes) + ")";
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A stream of the data of a guidance presenter, e.g. {@link GuidanceManeuverData} of a
+ * {@link GuidanceManeuverPresenter}. Streams are created with one of the {@code of} methods.
+ *
+ * <p>Compared to a listener, a stream has two properties:</p>
+ * <ul>
+ *     <li>Data equal to the previous data is dropped at the source, so subscribers are only notified of changes.</li>
+ *     <li>Each subscriber is notified on its own {@link Executor} and only gets the latest data. If a subscriber
+ *     is slow, intermediate data is skipped instead of being queued, so the guidance thread is never blocked.</li>
+ * </ul>
+ *
+ * <p>A new subscriber is notified of the latest data right away, if there is any. The stream listens to the
+ * presenter only while it has subscribers. The data may be null, e.g. while rerouting. Subscribing and
+ * cancelling must happen on the thread the presenter notifies on, usually the main thread.</p>
+ *
+ * <p>The {@link Subscriber} interface has a single method, so it can be used to bridge a stream into other
+ * reactive libraries, for example into a conflated Kotlin {@code callbackFlow}.</p>
+ *
+ * @param <T>
+ *         the type of the data.
+ */
+public final class GuidanceDataStream<T> {
+
+    private static final Object EMPTY = new Object();
+
+    private final Source<T> mSource;
+    private final List<SubscriptionImpl<T>> mSubscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger mDuplicateCount = new AtomicInteger();
+    private volatile Object mValue = EMPTY;
+
+    GuidanceDataStream(final Source<T> source) {
+        mSource = source;
+    }
+
+    /**
+     * Creates a stream of the data of a {@link GuidanceManeuverPresenter}.
+     *
+     * @param presenter
+     *         the presenter.
+     * @return the stream.
+     */
+    @NonNull
+    public static GuidanceDataStream<GuidanceManeuverData> of(@NonNull final GuidanceManeuverPresenter presenter) {
+        return new GuidanceDataStream<>(new ListenerSource<GuidanceManeuverData, GuidanceManeuverListener>(
+                stream -> new GuidanceManeuverListener() {
+                    @Override
+                    public void onDataChanged(@Nullable final GuidanceManeuverData data) {
+                        stream.emit(data);
+                    }
+
+                    @Override
+                    public void onDestinationReached() {
+                        // Not part of the data, listen to the presenter directly to get this event.
+                    }
+                }, presenter::addListener, presenter::removeListener));
+    }
+
+    /**
+     * Creates a stream of the data of a {@link GuidanceNextManeuverPresenter}.
+     *
+     * @param presenter
+     *         the presenter.
+     * @return the stream.
+     */
+    @NonNull
+    public static GuidanceDataStream<GuidanceNextManeuverData> of(
+            @NonNull final GuidanceNextManeuverPresenter presenter) {
+        return new GuidanceDataStream<>(new ListenerSource<GuidanceNextManeuverData, GuidanceNextManeuverListener>(
+                stream -> stream::emit, presenter::addListener, presenter::removeListener));
+    }
+
+    /**
+     * Creates a stream of the data of a {@link GuidanceSpeedPresenter}.
+     *
+     * @param presenter
+     *         the presenter.
+     * @return the stream.
+     */
+    @NonNull
+    public static GuidanceDataStream<GuidanceSpeedData> of(@NonNull final GuidanceSpeedPresenter presenter) {
+        return new GuidanceDataStream<>(new ListenerSource<GuidanceSpeedData, GuidanceSpeedListener>(
+                stream -> stream::emit, presenter::addListener, presenter::removeListener));
+    }
+
+    /**
+     * Creates a stream of the data of a {@link GuidanceEstimatedArrivalViewPresenter}.
+     *
+     * @param presenter
+     *         the presenter.
+     * @return the stream.
+     */
+    @NonNull
+    public static GuidanceDataStream<GuidanceEstimatedArrivalViewData> of(
+            @NonNull final GuidanceEstimatedArrivalViewPresenter presenter) {
+        return new GuidanceDataStream<>(
+                new ListenerSource<GuidanceEstimatedArrivalViewData, GuidanceEstimatedArrivalViewListener>(
+                        stream -> stream::emit, presenter::addListener, presenter::removeListener));
+    }
+
+    /**
+     * Creates a stream of the data of a {@link GuidanceStreetLabelPresenter}.
+     *
+     * @param presenter
+     *         the presenter.
+     * @return the stream.
+     */
+    @NonNull
+    public static GuidanceDataStream<GuidanceStreetLabelData> of(
+            @NonNull final GuidanceStreetLabelPresenter presenter) {
+        return new GuidanceDataStream<>(new ListenerSource<GuidanceStreetLabelData, GuidanceStreetLabelListener>(
+                stream -> stream::emit, presenter::addListener, presenter::removeListener));
+    }
+
+    /**
+     * Subscribes to this stream. The subscriber is notified on the main thread.
+     *
+     * @param subscriber
+     *         the subscriber.
+     * @return the subscription to cancel.
+     */
+    @NonNull
+    public Subscription subscribe(@NonNull final Subscriber<? super T> subscriber) {
+        return subscribe(new Handler(Looper.getMainLooper())::post, subscriber);
+    }
+
+    /**
+     * Subscribes to this stream. The executor must run the notifications one after another, like a
+     * {@link Handler} or a single thread executor does.
+     *
+     * @param executor
+     *         the executor notifying the subscriber.
+     * @param subscriber
+     *         the subscriber.
+     * @return the subscription to cancel.
+     */
+    @NonNull
+    public Subscription subscribe(@NonNull final Executor executor, @NonNull final Subscriber<? super T> subscriber) {
+        final SubscriptionImpl<T> subscription = new SubscriptionImpl<>(this, executor, subscriber);
+        final Object value = mValue;
+        if (value != EMPTY) {
+            subscription.offer(value);
+        }
+        mSubscriptions.add(subscription);
+        if (mSubscriptions.size() == 1) {
+            mSource.start(this);
+        }
+        return subscription;
+    }
+
+    /**
+     * Gets the latest data of this stream.
+     *
+     * @return the latest data, null if there is none yet.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T getValue() {
+        final Object value = mValue;
+        return value == EMPTY ? null : (T) value;
+    }
+
+    /**
+     * Checks whether this stream got any data yet. The data itself may be null.
+     *
+     * @return true if this stream has data, false otherwise.
+     */
+    public boolean hasValue() {
+        return mValue != EMPTY;
+    }
+
+    /**
+     * Gets the number of subscribers.
+     *
+     * @return the number of active subscriptions.
+     */
+    public int getSubscriberCount() {
+        return mSubscriptions.size();
+    }
+
+    /**
+     * Gets the number of data dropped because it was equal to the previous data.
+     *
+     * @return the number of dropped duplicates.
+     */
+    public int getDuplicateCount() {
+        return mDuplicateCount.get();
+    }
+
+    void emit(@Nullable final T data) {
+        final Object value = mValue;
+        if (value != EMPTY && Objects.equals(value, data)) {
+            mDuplicateCount.incrementAndGet();
+            return;
+        }
+        mValue = data;
+        for (final SubscriptionImpl<T> subscription : mSubscriptions) {
+            subscription.offer(data);
+        }
+    }
+
+    private void remove(final SubscriptionImpl<T> subscription) {
+        if (mSubscriptions.remove(subscription) && mSubscriptions.isEmpty()) {
+            mSource.stop();
+        }
+    }
+
+    /**
+     * A subscriber of a {@link GuidanceDataStream}.
+     *
+     * @param <T>
+     *         the type of the data.
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Called with the latest data of the stream.
+         *
+         * @param data
+         *         the data, may be null.
+         */
+        void onNext(@Nullable T data);
+    }
+
+    /**
+     * A subscription to a {@link GuidanceDataStream}.
+     */
+    public interface Subscription {
+
+        /**
+         * Stops notifying the subscriber. Data which is already pending is dropped.
+         */
+        void cancel();
+
+        /**
+         * Gets the number of data skipped because the subscriber was notified slower than the data changed.
+         *
+         * @return the number of skipped data.
+         */
+        int getSkippedCount();
+    }
+
+    /**
+     * Connects a stream to a presenter.
+     *
+     * @param <T>
+     *         the type of the data.
+     */
+    interface Source<T> {
+
+        /**
+         * Starts listening to the presenter, called when the first subscriber subscribes.
+         */
+        void start(GuidanceDataStream<T> stream);
+
+        /**
+         * Stops listening to the presenter, called when the last subscriber cancelled.
+         */
+        void stop();
+    }
+
+    /**
+     * A source listening to a presenter with a listener emitting into the stream.
+     *
+     * @param <T>
+     *         the type of the data.
+     * @param <L>
+     *         the type of the listener of the presenter.
+     */
+    private static final class ListenerSource<T, L> implements Source<T> {
+
+        private final ListenerFactory<T, L> mFactory;
+        private final Registration<L> mAddListener;
+        private final Registration<L> mRemoveListener;
+        private L mListener;
+
+        ListenerSource(final ListenerFactory<T, L> factory, final Registration<L> addListener,
+                final Registration<L> removeListener) {
+            mFactory = factory;
+            mAddListener = addListener;
+            mRemoveListener = removeListener;
+        }
+
+        @Override
+        public void start(final GuidanceDataStream<T> stream) {
+            mListener = mFactory.create(stream);
+            mAddListener.apply(mListener);
+        }
+
+        @Override
+        public void stop() {
+            mRemoveListener.apply(mListener);
+            mListener = null;
+        }
+    }
+
+    /**
+     * Creates a presenter listener emitting into a stream.
+     */
+    private interface ListenerFactory<T, L> {
+        L create(GuidanceDataStream<T> stream);
+    }
+
+    /**
+     * Adds a listener to or removes it from a presenter.
+     */
+    private interface Registration<L> {
+        void apply(L listener);
+    }
+
+    /**
+     * A subscription holding only the latest data which was not delivered yet.
+     */
+    private static final class SubscriptionImpl<T> implements Subscription, Runnable {
+
+        private final GuidanceDataStream<T> mStream;
+        private final Executor mExecutor;
+        private final Subscriber<? super T> mSubscriber;
+        private final AtomicReference<Object> mPending = new AtomicReference<>(EMPTY);
+        private final AtomicInteger mSkippedCount = new AtomicInteger();
+        private volatile boolean mCancelled;
+
+        SubscriptionImpl(final GuidanceDataStream<T> stream, final Executor executor,
+                final Subscriber<? super T> subscriber) {
+            mStream = stream;
+            mExecutor = executor;
+            mSubscriber = subscriber;
+        }
+
+        void offer(final Object value) {
+            if (mPending.getAndSet(value) == EMPTY) {
+                mExecutor.execute(this);
+            } else {
+                // The previous data was not delivered yet and is replaced.
+                mSkippedCount.incrementAndGet();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            final Object value = mPending.getAndSet(EMPTY);
+            if (value != EMPTY && !mCancelled) {
+                mSubscriber.onNext((T) value);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!mCancelled) {
+                mCancelled = true;
+                mPending.set(EMPTY);
+                mStream.remove(this);
+            }
+        }
+
+        @Override
+        public int getSkippedCount() {
+            return mSkippedCount.get();
+        }
+    }
+}
@@ -16,7 +16,15 @@
 
 package com.here.msdkui.guidance;
 
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.guidance.NavigationManager;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteResult;
 import com.here.msdkui.guidance.base.BaseGuidancePresenter;
 
 import java.util.ArrayList;
@@ -26,10 +34,31 @@ import java.util.List;
 /**
  * This class creates {@link GuidanceEstimatedArrivalViewData} instances during guidance and notifies it's
  * listeners about that.
+ *
+ * <p>When a route is given, the presenter also creates {@link GuidanceEtaTimelineData} instances holding the
+ * estimated arrival at every stop of the route. They are computed from an {@link EtaTimeline}, which is created
+ * once per route and reroute, and the distance to the destination. The travel times of the timeline are scaled to
+ * match the remaining time reported by the {@link NavigationManager}, which is only queried after a reroute and
+ * then once per {@link #setRecalibrationInterval(long) recalibration interval}.</p>
+ *
+ * <p>To skip position updates which wouldn't change the shown distance or remaining minutes, set a
+ * {@link GuidanceRefreshScheduler} with {@link #setRefreshScheduler(GuidanceRefreshScheduler)}.</p>
  */
 public class GuidanceEstimatedArrivalViewPresenter extends BaseGuidancePresenter {
 
+    /**
+     * Default interval between two recalibrations of the timeline in milliseconds.
+     */
+    public static final long DEFAULT_RECALIBRATION_INTERVAL = 30_000;
+
     private final List<GuidanceEstimatedArrivalViewListener> mListener = new ArrayList<>();
+    private final List<GuidanceEtaTimelineListener> mTimelineListener = new ArrayList<>();
+    private EtaTimeline mTimeline;
+    private long mRecalibrationInterval = DEFAULT_RECALIBRATION_INTERVAL;
+    private long mLastCalibration = -1;
+    private double mCalibrationFactor = 1;
+    private GuidanceRefreshScheduler mRefreshScheduler;
+    private double mSpeed = -1;
 
     /**
      * Constructs a new instance.
@@ -38,15 +67,147 @@ public class GuidanceEstimatedArrivalViewPresenter extends BaseGuidancePresenter
      *         a {@link NavigationManager} to be used for guidance handling.
      */
     public GuidanceEstimatedArrivalViewPresenter(NavigationManager navigationManager) {
-        super(navigationManager, null);
+        this(navigationManager, null);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param navigationManager
+     *         a {@link NavigationManager} to be used for guidance handling.
+     * @param route
+     *         the route used for guidance or null to only report the arrival at the destination.
+     */
+    public GuidanceEstimatedArrivalViewPresenter(NavigationManager navigationManager, @Nullable Route route) {
+        super(navigationManager, route);
+    }
+
+    @Override
+    public void setRoute(Route route) {
+        super.setRoute(route);
+        mTimeline = null;
+        mLastCalibration = -1;
+        mCalibrationFactor = 1;
+    }
+
+    /**
+     * Gets the timeline of the route used for guidance. The timeline is created on first use.
+     *
+     * @return the timeline, {@link EtaTimeline#EMPTY} if no route is set.
+     */
+    @NonNull
+    public EtaTimeline getEtaTimeline() {
+        if (mTimeline == null) {
+            if (getRoute() != null) {
+                recordSdkCall();
+            }
+            mTimeline = EtaTimeline.from(getRoute());
+        }
+        return mTimeline;
+    }
+
+    /**
+     * Sets the interval between two recalibrations of the timeline against the {@link NavigationManager}.
+     *
+     * @param interval
+     *         the interval in milliseconds, 0 to recalibrate on every position update.
+     */
+    public void setRecalibrationInterval(long interval) {
+        mRecalibrationInterval = interval;
+    }
+
+    /**
+     * Sets the scheduler deciding which position updates refresh the estimated arrival data.
+     *
+     * @param scheduler
+     *         the scheduler or null to refresh on every position update.
+     */
+    public void setRefreshScheduler(@Nullable GuidanceRefreshScheduler scheduler) {
+        mRefreshScheduler = scheduler;
+    }
+
+    /**
+     * Gets the scheduler set with {@link #setRefreshScheduler(GuidanceRefreshScheduler)}.
+     *
+     * @return the scheduler or null.
+     */
+    public @Nullable GuidanceRefreshScheduler getRefreshScheduler() {
+        return mRefreshScheduler;
+    }
+
+    @Override
+    protected void handleRerouteEnd(RouteResult routeResult) {
+        setRoute(routeResult.getRoute());
+        if (mRefreshScheduler != null) {
+            mRefreshScheduler.invalidate();
+        }
+    }
+
+    @Override
+    protected void handlePositionUpdate(GeoPosition position) {
+        mSpeed = position != null && position.isValid() && position.getSpeed() != GeoPosition.UNKNOWN
+                ? position.getSpeed() : -1;
+        if (mRefreshScheduler != null && !mRefreshScheduler.isRefreshDue()) {
+            return;
+        }
+        handlePositionUpdate();
     }
 
     @Override
     protected void handlePositionUpdate() {
-        updateEtaData(getEta(), getDestinationDistance(), getTimeToArrival());
+        final EtaTimeline timeline = getEtaTimeline();
+        if (timeline.isEmpty()) {
+            updateEtaData(getEta(), getDestinationDistance(), getTimeToArrival());
+            return;
+        }
+        final long destinationDistance = getDestinationDistance();
+        final double distance = timeline.getLength() - destinationDistance;
+        final double time = timeline.getTimeAt(distance);
+        final long now = SystemClock.elapsedRealtime();
+        if (mLastCalibration < 0 || now - mLastCalibration >= mRecalibrationInterval) {
+            recalibrate(timeline, time);
+            mLastCalibration = now;
+        }
+
+        final int firstStop = timeline.getFirstUpcomingStop(distance);
+        final int stopCount = timeline.getStopCount();
+        final List<GuidanceEstimatedArrivalViewData> stops = new ArrayList<>(Math.max(stopCount - firstStop, 1));
+        final long currentTime = System.currentTimeMillis();
+        for (int i = firstStop; i < stopCount; i++) {
+            final boolean isDestination = i == stopCount - 1;
+            final long stopDistance = isDestination ? destinationDistance
+                    : Math.max(0, Math.round(timeline.getStopDistance(i) - distance));
+            final int duration = (int) Math.round(Math.max(0, timeline.getStopTime(i) - time) * mCalibrationFactor);
+            stops.add(new GuidanceEstimatedArrivalViewData(new Date(currentTime + duration * 1000L), stopDistance,
+                    duration));
+        }
+        if (stops.isEmpty()) {
+            // All stops are passed, report the arrival at the destination.
+            stops.add(new GuidanceEstimatedArrivalViewData(new Date(currentTime), destinationDistance, 0));
+        }
+        final GuidanceEtaTimelineData timelineData = new GuidanceEtaTimelineData(Math.min(firstStop, stopCount - 1),
+                stops);
+        scheduleRefresh(destinationDistance, timelineData.getDestination().getDuration());
+        notifyDataChanged(timelineData.getDestination());
+        notifyTimelineChanged(timelineData);
+    }
+
+    private void recalibrate(final EtaTimeline timeline, final double time) {
+        final Integer timeToArrival = getTimeToArrival();
+        final double remainingTime = timeline.getStopTime(timeline.getStopCount() - 1) - time;
+        if (timeToArrival != null && timeToArrival >= 0 && remainingTime > 0) {
+            mCalibrationFactor = timeToArrival / remainingTime;
+        }
+    }
+
+    private void scheduleRefresh(long distance, Integer duration) {
+        if (mRefreshScheduler != null) {
+            mRefreshScheduler.onRefreshed(distance, mSpeed, duration == null ? -1 : duration);
+        }
     }
 
     private void updateEtaData(Date date, Long distance, Integer duration) {
+        scheduleRefresh(distance, duration);
         final GuidanceEstimatedArrivalViewData data = new GuidanceEstimatedArrivalViewData(date, distance, duration);
         notifyDataChanged(data);
     }
@@ -55,9 +216,22 @@ public class GuidanceEstimatedArrivalViewPresenter extends BaseGuidancePresenter
      * Notify on {@link GuidanceEstimatedArrivalViewData} changes.
      */
     private void notifyDataChanged(GuidanceEstimatedArrivalViewData data) {
+        final long start = beginNotification();
         for (final GuidanceEstimatedArrivalViewListener listener : mListener) {
             listener.onDataChanged(data);
         }
+        endNotification(start, mListener.size());
+    }
+
+    /**
+     * Notify on {@link GuidanceEtaTimelineData} changes.
+     */
+    private void notifyTimelineChanged(GuidanceEtaTimelineData data) {
+        final long start = beginNotification();
+        for (final GuidanceEtaTimelineListener listener : mTimelineListener) {
+            listener.onTimelineChanged(data);
+        }
+        endNotification(start, mTimelineListener.size());
     }
 
     /**
@@ -81,4 +255,26 @@ public class GuidanceEstimatedArrivalViewPresenter extends BaseGuidancePresenter
     public void removeListener(GuidanceEstimatedArrivalViewListener listener) {
         mListener.remove(listener);
     }
+
+    /**
+     * Adds a {@link GuidanceEtaTimelineListener}. Timelines are only reported if a route is set.
+     *
+     * @param listener
+     *         the listener to add to the list of listeners.
+     */
+    public void addTimelineListener(GuidanceEtaTimelineListener listener) {
+        if (listener != null && !mTimelineListener.contains(listener)) {
+            mTimelineListener.add(listener);
+        }
+    }
+
+    /**
+     * Remove a {@link GuidanceEtaTimelineListener}.
+     *
+     * @param listener
+     *         the listener to remove from the list of listeners.
+     */
+    public void removeTimelineListener(GuidanceEtaTimelineListener listener) {
+        mTimelineListener.remove(listener);
+    }
 }
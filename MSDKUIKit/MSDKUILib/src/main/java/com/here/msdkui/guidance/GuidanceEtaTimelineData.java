@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A data class holding the estimated arrival at each upcoming stop of a route. Each stop is described by a
+ * {@link GuidanceEstimatedArrivalViewData}, the last one being the destination.
+ * Use {@link GuidanceEstimatedArrivalViewPresenter} to get notified on new instances of this class during guidance.
+ */
+public class GuidanceEtaTimelineData implements Parcelable {
+
+    public static final Creator<GuidanceEtaTimelineData> CREATOR = new Creator<GuidanceEtaTimelineData>() {
+        @Override
+        public GuidanceEtaTimelineData createFromParcel(Parcel in) {
+            return new GuidanceEtaTimelineData(in);
+        }
+
+        @Override
+        public GuidanceEtaTimelineData[] newArray(int size) {
+            return new GuidanceEtaTimelineData[size];
+        }
+    };
+
+    /**
+     * Index of the first upcoming stop among all stops of the route.
+     */
+    private final int mFirstStopIndex;
+    /**
+     * Upcoming stops.
+     */
+    private final List<GuidanceEstimatedArrivalViewData> mStops;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param firstStopIndex the index of the first upcoming stop among all stops of the route.
+     * @param stops          the upcoming stops, the last one being the destination.
+     */
+    public GuidanceEtaTimelineData(int firstStopIndex, @NonNull List<GuidanceEstimatedArrivalViewData> stops) {
+        mFirstStopIndex = firstStopIndex;
+        mStops = Collections.unmodifiableList(new ArrayList<>(stops));
+    }
+
+    protected GuidanceEtaTimelineData(Parcel in) {
+        mFirstStopIndex = in.readInt();
+        mStops = Collections.unmodifiableList(in.createTypedArrayList(GuidanceEstimatedArrivalViewData.CREATOR));
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(mFirstStopIndex);
+        dest.writeTypedList(mStops);
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    /**
+     * Gets the index of the first upcoming stop among all stops of the route. Stops before it are passed.
+     *
+     * @return index of the first upcoming stop.
+     */
+    public int getFirstStopIndex() {
+        return mFirstStopIndex;
+    }
+
+    /**
+     * Gets the upcoming stops.
+     *
+     * @return an unmodifiable list of the upcoming stops, the last one being the destination.
+     */
+    @NonNull
+    public List<GuidanceEstimatedArrivalViewData> getStops() {
+        return mStops;
+    }
+
+    /**
+     * Gets the next stop.
+     *
+     * @return the next stop or null if there are no upcoming stops.
+     */
+    @Nullable
+    public GuidanceEstimatedArrivalViewData getNextStop() {
+        return mStops.isEmpty() ? null : mStops.get(0);
+    }
+
+    /**
+     * Gets the destination.
+     *
+     * @return the destination or null if there are no upcoming stops.
+     */
+    @Nullable
+    public GuidanceEstimatedArrivalViewData getDestination() {
+        return mStops.isEmpty() ? null : mStops.get(mStops.size() - 1);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "GuidanceEtaTimelineData(mFirstStopIndex=" + this.mFirstStopIndex +
+                ", mStops=" + this.mStops +
+                ")";
+    }
+
+    @Override
+    public int hashCode() {
+        return this.mFirstStopIndex * 31 + this.mStops.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj1) {
+        if (obj1 instanceof GuidanceEtaTimelineData) {
+            final GuidanceEtaTimelineData obj2 = (GuidanceEtaTimelineData) obj1;
+            return this.mFirstStopIndex == obj2.mFirstStopIndex && this.mStops.equals(obj2.mStops);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.view.Choreographer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+/**
+ * Updates the distance of a {@link GuidanceManeuverView} on every frame, using the distance estimated by a
+ * {@link ManeuverDistanceInterpolator}. The view is only touched when the estimated distance changes.
+ * Once the distance can't change anymore without a new fix, e.g. when standing still, no further frames are
+ * requested until the interpolator gets the next fix. Call {@link #start()} and {@link #stop()} together with
+ * resuming and pausing the presenter.
+ */
+public final class GuidanceManeuverCountdown implements Choreographer.FrameCallback {
+
+    private final GuidanceManeuverView mView;
+    private final ManeuverDistanceInterpolator mInterpolator;
+    private boolean mRunning;
+    private boolean mFramePosted;
+    private long mLastDistance = -1;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param view
+     *         the view to update.
+     * @param interpolator
+     *         the interpolator, which must also be set to the presenter using
+     *         {@link GuidanceManeuverPresenter#setDistanceInterpolator(ManeuverDistanceInterpolator)}.
+     */
+    public GuidanceManeuverCountdown(@NonNull GuidanceManeuverView view,
+            @NonNull ManeuverDistanceInterpolator interpolator) {
+        mView = view;
+        mInterpolator = interpolator;
+    }
+
+    /**
+     * Starts updating the view on every frame.
+     */
+    @MainThread
+    public void start() {
+        if (!mRunning) {
+            mRunning = true;
+            mInterpolator.setFixListener(this::onFix);
+            postFrame();
+        }
+    }
+
+    /**
+     * Stops updating the view and releases the interpolator's reference to this countdown.
+     */
+    @MainThread
+    public void stop() {
+        mInterpolator.setFixListener(null);
+        mRunning = false;
+        mFramePosted = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    /**
+     * Checks whether a frame is requested, which is not the case while the distance doesn't change.
+     *
+     * @return true if the view is updated with the next frame, false otherwise.
+     */
+    public boolean isFramePosted() {
+        return mFramePosted;
+    }
+
+    /**
+     * Checks whether the view is updated on every frame.
+     *
+     * @return true if started, false otherwise.
+     */
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFramePosted = false;
+        if (!mRunning) {
+            return;
+        }
+        final long distance = mInterpolator.getDistance(frameTimeNanos);
+        if (distance >= 0 && distance != mLastDistance) {
+            mLastDistance = distance;
+            mView.setDistance(distance);
+        }
+        if (mInterpolator.isChanging(frameTimeNanos)) {
+            postFrame();
+        }
+    }
+
+    private void onFix() {
+        if (mRunning) {
+            postFrame();
+        }
+    }
+
+    private void postFrame() {
+        if (!mFramePosted) {
+            mFramePosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
@@ -19,6 +19,9 @@ package com.here.msdkui.guidance;
 import android.content.Context;
 import android.graphics.Bitmap;
 
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.common.Image;
 import com.here.android.mpa.guidance.NavigationManager;
 import com.here.android.mpa.routing.Maneuver;
@@ -35,18 +38,31 @@ import java.util.List;
  * {@link GuidanceManeuverView} to inform the user about the next maneuvers to take.
  * You must call resume() to start listening for guidance events.
  * {@link GuidanceManeuverListener#onDataChanged(GuidanceManeuverData)}.
+ *
+ * <p>To show a smooth countdown of the distance between two position updates, set a
+ * {@link ManeuverDistanceInterpolator} with {@link #setDistanceInterpolator(ManeuverDistanceInterpolator)}
+ * and drive the view with a {@link GuidanceManeuverCountdown}.</p>
+ *
+ * <p>To skip position updates which wouldn't change the shown distance, set a {@link GuidanceRefreshScheduler}
+ * with {@link #setRefreshScheduler(GuidanceRefreshScheduler)}. Don't combine it with an interpolator, since the
+ * interpolator needs every position update.</p>
  */
 public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
 
     private static final int DESTINATION_THRESHOLD_DISTANCE = 50;
     private final Context mContext;
     private final List<GuidanceManeuverListener> mListener = new ArrayList<>();
+    private ManeuverDistanceInterpolator mDistanceInterpolator;
+    private double mSpeed = -1;
+    private GuidanceRefreshScheduler mRefreshScheduler;
+    private Maneuver mNextRoadIconManeuver;
+    private Bitmap mNextRoadIcon;
 
     /**
      * Constructs a new instance.
      *
      * @param context
-     *         a {@link Context} to retrieve resources.
+     *         a {@link Context} to retrieve resources. Only its application context is kept.
      * @param navigationManager
      *         a {@link NavigationManager} to be used for guidance handling.
      * @param route
@@ -54,7 +70,66 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
      */
     public GuidanceManeuverPresenter(Context context, NavigationManager navigationManager, Route route) {
         super(navigationManager, route);
-        mContext = context;
+        mContext = context.getApplicationContext() == null ? context : context.getApplicationContext();
+    }
+
+    /**
+     * Sets the interpolator fed with the distance and speed of each position update. While an interpolator is set,
+     * the reported distances are the ones returned by the interpolator, so they match the countdown shown
+     * between two updates.
+     *
+     * @param interpolator
+     *         the interpolator or null to report the distances of the SDK.
+     */
+    public void setDistanceInterpolator(@Nullable ManeuverDistanceInterpolator interpolator) {
+        mDistanceInterpolator = interpolator;
+    }
+
+    /**
+     * Gets the interpolator set with {@link #setDistanceInterpolator(ManeuverDistanceInterpolator)}.
+     *
+     * @return the interpolator or null.
+     */
+    public @Nullable ManeuverDistanceInterpolator getDistanceInterpolator() {
+        return mDistanceInterpolator;
+    }
+
+    /**
+     * Sets the scheduler deciding which position updates refresh the maneuver data.
+     *
+     * @param scheduler
+     *         the scheduler or null to refresh on every position update.
+     */
+    public void setRefreshScheduler(@Nullable GuidanceRefreshScheduler scheduler) {
+        mRefreshScheduler = scheduler;
+    }
+
+    /**
+     * Gets the scheduler set with {@link #setRefreshScheduler(GuidanceRefreshScheduler)}.
+     *
+     * @return the scheduler or null.
+     */
+    public @Nullable GuidanceRefreshScheduler getRefreshScheduler() {
+        return mRefreshScheduler;
+    }
+
+    /**
+     * Drops the cached next road icon. It is recreated with the next update.
+     */
+    @Override
+    public void releaseResources() {
+        mNextRoadIconManeuver = null;
+        mNextRoadIcon = null;
+    }
+
+    @Override
+    protected void handlePositionUpdate(GeoPosition position) {
+        mSpeed = position != null && position.isValid() && position.getSpeed() != GeoPosition.UNKNOWN
+                ? position.getSpeed() : -1;
+        if (mRefreshScheduler != null && !mRefreshScheduler.isRefreshDue()) {
+            return;
+        }
+        handlePositionUpdate();
     }
 
     @Override
@@ -76,9 +151,25 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
 
     @Override
     protected void handleRerouteBegin() {
+        if (mDistanceInterpolator != null) {
+            mDistanceInterpolator.reset();
+        }
+        if (mRefreshScheduler != null) {
+            mRefreshScheduler.invalidate();
+        }
         updateManeuverData(null);
     }
 
+    private long updateDistance(long distance) {
+        if (mRefreshScheduler != null) {
+            mRefreshScheduler.onRefreshed(distance, mSpeed);
+        }
+        if (mDistanceInterpolator == null) {
+            return distance;
+        }
+        return mDistanceInterpolator.onFix(distance, mSpeed, System.nanoTime());
+    }
+
     /**
      * Creates {@link GuidanceManeuverData} and notifies on the changes.
      *
@@ -88,6 +179,7 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
     private void updateDestinationManeuverData(Maneuver maneuver) {
 
         final long distance = getDestinationDistance();
+        final long shownDistance = updateDistance(distance);
         if (distance < DESTINATION_THRESHOLD_DISTANCE) {  // Less than 10 meters.
             notifyDestinationReached();
         }
@@ -96,7 +188,7 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
             street = mContext.getString(R.string.msdkui_value_not_available);
         }
         notifyDataChanged(new GuidanceManeuverData(getIcon(maneuver),
-                distance, getManeuverSignpost(maneuver), street,
+                shownDistance, getManeuverSignpost(maneuver), street,
                 getNextRoadIcon(maneuver)));
     }
 
@@ -111,7 +203,7 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
             notifyDataChanged(null);
         } else {
             notifyDataChanged(new GuidanceManeuverData(getIcon(maneuver),
-                    getNextManeuverDistance(), getManeuverSignpost(maneuver), getStreet(maneuver),
+                    updateDistance(getNextManeuverDistance()), getManeuverSignpost(maneuver), getStreet(maneuver),
                     getNextRoadIcon(maneuver)));
         }
     }
@@ -158,7 +250,8 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
     }
 
     /**
-     * Gets next road icon for given {@link Maneuver}.
+     * Gets next road icon for given {@link Maneuver}. The icon is cached until the next maneuver changes
+     * or {@link #releaseResources()} is called, so position updates don't scale the image again.
      *
      * @param maneuver
      *         the {@link Maneuver} to get next road icon from.
@@ -166,11 +259,13 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
      * @return {@link Bitmap} for next road icon.
      */
     private Bitmap getNextRoadIcon(Maneuver maneuver) {
-        final Image roadImage = maneuver.getNextRoadImage();
-        if (roadImage != null && roadImage.getHeight() > 0) {
-            return getScaledBitmap(roadImage);
+        if (maneuver.equals(mNextRoadIconManeuver)) {
+            return mNextRoadIcon;
         }
-        return null;
+        final Image roadImage = maneuver.getNextRoadImage();
+        mNextRoadIconManeuver = maneuver;
+        mNextRoadIcon = roadImage != null && roadImage.getHeight() > 0 ? getScaledBitmap(roadImage) : null;
+        return mNextRoadIcon;
     }
 
     /**
@@ -223,17 +318,21 @@ public class GuidanceManeuverPresenter extends BaseGuidancePresenter {
      * Notify on {@link GuidanceManeuverData} changes.
      */
     private void notifyDataChanged(GuidanceManeuverData data) {
+        final long start = beginNotification();
         for (final GuidanceManeuverListener listener : mListener) {
             listener.onDataChanged(data);
         }
+        endNotification(start, mListener.size());
     }
 
     /**
      * Notify that destination was reached.
      */
     private void notifyDestinationReached() {
+        final long start = beginNotification();
         for (final GuidanceManeuverListener listener : mListener) {
             listener.onDestinationReached();
         }
+        endNotification(start, mListener.size());
     }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -262,6 +263,25 @@ public class GuidanceManeuverView extends BaseView {
         populate(maneuverData);
     }
 
+    /**
+     * Updates only the distance shown by this view, e.g. to show a distance estimated between two position
+     * updates. The view state is not changed. Does nothing if the view doesn't show a maneuver with a distance.
+     *
+     * @param distance the distance to the maneuver in meters.
+     * @see GuidanceManeuverCountdown
+     */
+    public void setDistance(long distance) {
+        if (mState == null || mState.mGuidanceManeuverData == null
+                || mState.mGuidanceManeuverData.getDistance() == null) {
+            return;
+        }
+        final TextView distanceView = findViewById(R.id.distanceView);
+        final String text = DistanceFormatterUtil.formatDistance(getContext(), distance, mUnitSystem);
+        if (!TextUtils.equals(text, distanceView.getText())) {
+            distanceView.setText(text);
+        }
+    }
+
     /**
      * Gets the {@link com.here.msdkui.guidance.GuidanceManeuverView.State GuidanceManeuverView.State} of this view which was used for
      * UI population.
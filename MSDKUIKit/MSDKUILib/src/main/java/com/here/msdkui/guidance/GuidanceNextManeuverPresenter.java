@@ -42,7 +42,7 @@ public class GuidanceNextManeuverPresenter extends BaseGuidancePresenter {
      * Constructs a new instance.
      *
      * @param context
-     *         a {@link Context} to retrieve resources.
+     *         a {@link Context} to retrieve resources. Only its application context is kept.
      * @param navigationManager
      *         a {@link NavigationManager} to be used for guidance handling.
      * @param route
@@ -50,7 +50,7 @@ public class GuidanceNextManeuverPresenter extends BaseGuidancePresenter {
      */
     public GuidanceNextManeuverPresenter(Context context, NavigationManager navigationManager, Route route) {
         super(navigationManager, route);
-        mContext = context;
+        mContext = context.getApplicationContext() == null ? context : context.getApplicationContext();
     }
 
     @Override
@@ -131,8 +131,10 @@ public class GuidanceNextManeuverPresenter extends BaseGuidancePresenter {
      * Notify on {@link GuidanceNextManeuverData} changes.
      */
     private void notifyDataChanged(GuidanceNextManeuverData data) {
+        final long start = beginNotification();
         for (final GuidanceNextManeuverListener listener : mListener) {
             listener.onDataChanged(data);
         }
+        endNotification(start, mListener.size());
     }
 }
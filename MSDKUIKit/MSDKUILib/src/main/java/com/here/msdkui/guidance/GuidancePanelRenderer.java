@@ -0,0 +1,556 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.here.msdkui.common.BaseView;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Draws guidance panels into a bitmap without showing them on screen, e.g. to mirror guidance to a secondary
+ * display.
+ *
+ * <p>The renderer creates its own {@link GuidanceManeuverView}, {@link GuidanceNextManeuverView} and
+ * {@link GuidanceSpeedView}, which are never attached to a window. Set the bounds of the panels to draw with
+ * {@link #setPanelBounds(Panel, Rect)} and pass the data of the guidance presenters, e.g.
+ * {@link #setManeuverData(GuidanceManeuverData)}. Data equal to the current data of a panel is ignored.
+ * {@link #render(Rect)} then draws only the panels whose data changed and reports the changed region of the
+ * frame, so a consumer only needs to copy or encode that region.</p>
+ *
+ * <p>The frame is taken from a {@link BitmapPool}, which can be shared by several renderers. For exporting a frame
+ * to another thread, {@link #acquireFrame()} hands out a pooled copy, which is given back with
+ * {@link #releaseFrame(Bitmap)}. Except {@link #releaseFrame(Bitmap)}, all methods must be called on the same
+ * thread, which does not need to be the main thread.</p>
+ */
+public final class GuidancePanelRenderer {
+
+    /**
+     * The panels drawn by the renderer.
+     */
+    public enum Panel {
+        /**
+         * A {@link GuidanceManeuverView}, showing {@link GuidanceManeuverData}.
+         */
+        MANEUVER,
+
+        /**
+         * A {@link GuidanceNextManeuverView}, showing {@link GuidanceNextManeuverData}.
+         */
+        NEXT_MANEUVER,
+
+        /**
+         * A {@link GuidanceSpeedView}, showing {@link GuidanceSpeedData}.
+         */
+        SPEED
+    }
+
+    private final Context mContext;
+    private final BitmapPool mPool;
+    private final Map<Panel, PanelSlot> mSlots = new EnumMap<>(Panel.class);
+    private final Canvas mCanvas = new Canvas();
+    private final Canvas mCopyCanvas = new Canvas();
+    private final Rect mDirtyRect = new Rect();
+    private Bitmap mFrame;
+    private UnitSystem mUnitSystem = UnitSystem.METRIC;
+    @ColorInt
+    private int mBackgroundColor = Color.TRANSPARENT;
+    private boolean mFrameDirty = true;
+
+    /**
+     * Constructs a new instance with its own {@link BitmapPool}.
+     *
+     * @param context
+     *         the context to create the panels with. Its theme styles the panels.
+     * @param width
+     *         the width of the frame in pixels.
+     * @param height
+     *         the height of the frame in pixels.
+     */
+    public GuidancePanelRenderer(@NonNull final Context context, final int width, final int height) {
+        this(context, width, height, new BitmapPool(2));
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param context
+     *         the context to create the panels with. Its theme styles the panels.
+     * @param width
+     *         the width of the frame in pixels.
+     * @param height
+     *         the height of the frame in pixels.
+     * @param pool
+     *         the pool providing the frame and its copies.
+     */
+    public GuidancePanelRenderer(@NonNull final Context context, final int width, final int height,
+            @NonNull final BitmapPool pool) {
+        mContext = context;
+        mPool = pool;
+        setSize(width, height);
+    }
+
+    /**
+     * Changes the size of the frame. All panels are drawn again with the next {@link #render(Rect)}.
+     *
+     * @param width
+     *         the width of the frame in pixels.
+     * @param height
+     *         the height of the frame in pixels.
+     */
+    public void setSize(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid frame size " + width + "x" + height);
+        }
+        if (mFrame != null) {
+            if (mFrame.getWidth() == width && mFrame.getHeight() == height) {
+                return;
+            }
+            mPool.release(mFrame);
+        }
+        mFrame = mPool.acquire(width, height);
+        mCanvas.setBitmap(mFrame);
+        invalidate();
+    }
+
+    /**
+     * Sets the area of the frame covered by a panel. The panel is laid out to fill the bounds.
+     *
+     * @param panel
+     *         the panel.
+     * @param bounds
+     *         the bounds within the frame or null to not draw the panel.
+     */
+    public void setPanelBounds(@NonNull final Panel panel, @Nullable final Rect bounds) {
+        PanelSlot slot = mSlots.get(panel);
+        if (bounds == null || bounds.isEmpty()) {
+            if (slot != null) {
+                mSlots.remove(panel);
+                // Clears the area of the removed panel.
+                mFrameDirty = true;
+            }
+            return;
+        }
+        if (slot == null) {
+            slot = new PanelSlot(panel, createView(panel));
+            slot.bind(null, mUnitSystem);
+            mSlots.put(panel, slot);
+        } else if (slot.mBounds.equals(bounds)) {
+            return;
+        } else {
+            mFrameDirty = true;
+        }
+        slot.mBounds.set(bounds);
+        slot.mView.measure(View.MeasureSpec.makeMeasureSpec(bounds.width(), View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(bounds.height(), View.MeasureSpec.EXACTLY));
+        slot.mView.layout(0, 0, bounds.width(), bounds.height());
+        slot.mDirty = true;
+    }
+
+    /**
+     * Gets the bounds of a panel.
+     *
+     * @param panel
+     *         the panel.
+     * @return a copy of the bounds or null if the panel is not drawn.
+     */
+    @Nullable
+    public Rect getPanelBounds(@NonNull final Panel panel) {
+        final PanelSlot slot = mSlots.get(panel);
+        return slot == null ? null : new Rect(slot.mBounds);
+    }
+
+    /**
+     * Gets the view drawing a panel, e.g. to customize its style. Changes of the view are only drawn after
+     * {@link #invalidate()}.
+     *
+     * @param panel
+     *         the panel.
+     * @return the view or null if the panel is not drawn.
+     */
+    @Nullable
+    public View getPanelView(@NonNull final Panel panel) {
+        final PanelSlot slot = mSlots.get(panel);
+        return slot == null ? null : slot.mView;
+    }
+
+    /**
+     * Sets the color of the frame outside and behind the panels.
+     *
+     * @param color
+     *         the background color, transparent by default.
+     */
+    public void setBackgroundColor(@ColorInt final int color) {
+        if (mBackgroundColor != color) {
+            mBackgroundColor = color;
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the unit system of the panels.
+     *
+     * @param unitSystem
+     *         the unit system, {@link UnitSystem#METRIC} by default.
+     */
+    public void setUnitSystem(@NonNull final UnitSystem unitSystem) {
+        if (mUnitSystem == unitSystem) {
+            return;
+        }
+        mUnitSystem = unitSystem;
+        for (final PanelSlot slot : mSlots.values()) {
+            slot.bind(slot.mData, unitSystem);
+            slot.mDirty = true;
+        }
+    }
+
+    /**
+     * Sets the data of the {@link Panel#MANEUVER} panel.
+     *
+     * @param data
+     *         the data or null while there is none, which shows the panel as updating.
+     */
+    public void setManeuverData(@Nullable final GuidanceManeuverData data) {
+        setData(Panel.MANEUVER, data);
+    }
+
+    /**
+     * Sets the data of the {@link Panel#NEXT_MANEUVER} panel.
+     *
+     * @param data
+     *         the data or null to leave the panel empty.
+     */
+    public void setNextManeuverData(@Nullable final GuidanceNextManeuverData data) {
+        setData(Panel.NEXT_MANEUVER, data);
+    }
+
+    /**
+     * Sets the data of the {@link Panel#SPEED} panel.
+     *
+     * @param data
+     *         the data or null if the speed is unknown.
+     */
+    public void setSpeedData(@Nullable final GuidanceSpeedData data) {
+        setData(Panel.SPEED, data);
+    }
+
+    /**
+     * Draws the whole frame again with the next {@link #render(Rect)}.
+     */
+    public void invalidate() {
+        mFrameDirty = true;
+        for (final PanelSlot slot : mSlots.values()) {
+            slot.mDirty = true;
+        }
+    }
+
+    /**
+     * Checks whether {@link #render(Rect)} would draw anything.
+     *
+     * @return true if the frame or any panel changed since the last rendering, false otherwise.
+     */
+    public boolean isDirty() {
+        if (mFrameDirty) {
+            return true;
+        }
+        for (final PanelSlot slot : mSlots.values()) {
+            if (slot.mDirty) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Draws the changed panels into the frame.
+     *
+     * @param outDirty
+     *         set to the changed region of the frame, empty if nothing changed. May be null.
+     * @return true if anything was drawn, false otherwise.
+     */
+    public boolean render(@Nullable final Rect outDirty) {
+        mDirtyRect.setEmpty();
+        if (mFrameDirty) {
+            mFrame.eraseColor(mBackgroundColor);
+            mDirtyRect.set(0, 0, mFrame.getWidth(), mFrame.getHeight());
+        }
+        for (final PanelSlot slot : mSlots.values()) {
+            if (slot.mDirty || mFrameDirty) {
+                draw(slot);
+                mDirtyRect.union(slot.mBounds);
+            }
+        }
+        mFrameDirty = false;
+        // Panels may exceed the frame.
+        if (!mDirtyRect.intersect(0, 0, mFrame.getWidth(), mFrame.getHeight())) {
+            mDirtyRect.setEmpty();
+        }
+        if (outDirty != null) {
+            outDirty.set(mDirtyRect);
+        }
+        return !mDirtyRect.isEmpty();
+    }
+
+    /**
+     * Gets the frame. Its content changes with every {@link #render(Rect)} and it must not be modified or
+     * recycled. Use {@link #acquireFrame()} to pass the frame to another thread.
+     *
+     * @return the frame.
+     */
+    @NonNull
+    public Bitmap getFrame() {
+        return mFrame;
+    }
+
+    /**
+     * Copies a region of the frame into another bitmap of the same size, e.g. the region reported by
+     * {@link #render(Rect)} into a bitmap holding the previous frame.
+     *
+     * @param target
+     *         the mutable bitmap to copy to.
+     * @param region
+     *         the region to copy or null to copy the whole frame.
+     */
+    public void copyFrame(@NonNull final Bitmap target, @Nullable final Rect region) {
+        mCopyCanvas.setBitmap(target);
+        if (region == null) {
+            mCopyCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.SRC);
+            mCopyCanvas.drawBitmap(mFrame, 0, 0, null);
+        } else if (!region.isEmpty()) {
+            mCopyCanvas.save();
+            mCopyCanvas.clipRect(region);
+            mCopyCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.SRC);
+            mCopyCanvas.drawBitmap(mFrame, 0, 0, null);
+            mCopyCanvas.restore();
+        }
+        mCopyCanvas.setBitmap(null);
+    }
+
+    /**
+     * Gets a copy of the frame taken from the pool. The copy can be handed to another thread and must be given
+     * back with {@link #releaseFrame(Bitmap)} once it was exported.
+     *
+     * @return a copy of the frame.
+     */
+    @NonNull
+    public Bitmap acquireFrame() {
+        final Bitmap copy = mPool.acquire(mFrame.getWidth(), mFrame.getHeight());
+        copyFrame(copy, null);
+        return copy;
+    }
+
+    /**
+     * Gives back a copy of the frame taken with {@link #acquireFrame()}. May be called on any thread.
+     *
+     * @param frame
+     *         the copy of the frame, which must not be used afterwards.
+     */
+    public void releaseFrame(@NonNull final Bitmap frame) {
+        mPool.release(frame);
+    }
+
+    /**
+     * Gives back the frame to the pool and drops all panels. The renderer must not be used afterwards.
+     */
+    public void release() {
+        mSlots.clear();
+        mCanvas.setBitmap(null);
+        mPool.release(mFrame);
+    }
+
+    private void setData(final Panel panel, final Object data) {
+        final PanelSlot slot = mSlots.get(panel);
+        if (slot == null || Objects.equals(slot.mData, data)) {
+            return;
+        }
+        slot.bind(data, mUnitSystem);
+        slot.mDirty = true;
+    }
+
+    private void draw(final PanelSlot slot) {
+        final View view = slot.mView;
+        final Rect bounds = slot.mBounds;
+        if (view.isLayoutRequested()) {
+            // The new data changed the size of a child.
+            view.measure(View.MeasureSpec.makeMeasureSpec(bounds.width(), View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(bounds.height(), View.MeasureSpec.EXACTLY));
+            view.layout(0, 0, bounds.width(), bounds.height());
+        }
+        mCanvas.save();
+        mCanvas.clipRect(bounds);
+        mCanvas.drawColor(mBackgroundColor, PorterDuff.Mode.SRC);
+        mCanvas.translate(bounds.left, bounds.top);
+        if (view.getVisibility() == View.VISIBLE) {
+            view.draw(mCanvas);
+        }
+        mCanvas.restore();
+        slot.mDirty = false;
+    }
+
+    private BaseView createView(final Panel panel) {
+        switch (panel) {
+            case MANEUVER:
+                return new GuidanceManeuverView(mContext);
+            case NEXT_MANEUVER:
+                return new GuidanceNextManeuverView(mContext);
+            default:
+                return new GuidanceSpeedView(mContext);
+        }
+    }
+
+    /**
+     * A panel and its current data.
+     */
+    private static final class PanelSlot {
+        private final Panel mPanel;
+        private final BaseView mView;
+        private final Rect mBounds = new Rect();
+        private Object mData;
+        private boolean mDirty = true;
+
+        PanelSlot(final Panel panel, final BaseView view) {
+            mPanel = panel;
+            mView = view;
+        }
+
+        void bind(final Object data, final UnitSystem unitSystem) {
+            mData = data;
+            mView.setUnitSystem(unitSystem);
+            switch (mPanel) {
+                case MANEUVER:
+                    ((GuidanceManeuverView) mView).setViewState(data == null
+                            ? GuidanceManeuverView.State.UPDATING
+                            : new GuidanceManeuverView.State((GuidanceManeuverData) data));
+                    break;
+                case NEXT_MANEUVER:
+                    ((GuidanceNextManeuverView) mView).setNextManeuverData((GuidanceNextManeuverData) data);
+                    break;
+                default:
+                    ((GuidanceSpeedView) mView).setCurrentSpeedData((GuidanceSpeedData) data);
+                    // The view posts this, which never runs for a view without a window.
+                    mView.refreshDrawableState();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * A pool of bitmaps of the same configuration, so frames and their copies are reused instead of allocated
+     * for each rendering. Safe to use from several threads.
+     */
+    public static final class BitmapPool {
+
+        private final int mMaxSize;
+        private final ArrayDeque<Bitmap> mBitmaps = new ArrayDeque<>();
+        private int mCreatedCount;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param maxSize
+         *         the maximal number of unused bitmaps kept by the pool.
+         */
+        public BitmapPool(final int maxSize) {
+            mMaxSize = maxSize;
+        }
+
+        /**
+         * Takes a bitmap from the pool or creates one if there is none of this size.
+         * The content of the bitmap is undefined.
+         *
+         * @param width
+         *         the width in pixels.
+         * @param height
+         *         the height in pixels.
+         * @return a mutable {@link Bitmap.Config#ARGB_8888} bitmap.
+         */
+        @NonNull
+        public synchronized Bitmap acquire(final int width, final int height) {
+            final Iterator<Bitmap> iterator = mBitmaps.iterator();
+            while (iterator.hasNext()) {
+                final Bitmap bitmap = iterator.next();
+                if (bitmap.getWidth() == width && bitmap.getHeight() == height) {
+                    iterator.remove();
+                    return bitmap;
+                }
+            }
+            mCreatedCount++;
+            return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        }
+
+        /**
+         * Gives back a bitmap. If the pool is full, the least recently released bitmap is recycled.
+         *
+         * @param bitmap
+         *         the bitmap, which must not be used afterwards.
+         */
+        public synchronized void release(@NonNull final Bitmap bitmap) {
+            if (bitmap.isRecycled() || !bitmap.isMutable() || bitmap.getConfig() != Bitmap.Config.ARGB_8888
+                    || mBitmaps.contains(bitmap)) {
+                return;
+            }
+            mBitmaps.addFirst(bitmap);
+            while (mBitmaps.size() > mMaxSize) {
+                mBitmaps.removeLast().recycle();
+            }
+        }
+
+        /**
+         * Recycles all unused bitmaps.
+         */
+        public synchronized void clear() {
+            for (final Bitmap bitmap : mBitmaps) {
+                bitmap.recycle();
+            }
+            mBitmaps.clear();
+        }
+
+        /**
+         * Gets the number of unused bitmaps.
+         *
+         * @return the number of bitmaps in the pool.
+         */
+        public synchronized int getSize() {
+            return mBitmaps.size();
+        }
+
+        /**
+         * Gets the number of bitmaps created by the pool, i.e. the number of times no bitmap could be reused.
+         *
+         * @return the number of created bitmaps.
+         */
+        public synchronized int getCreatedCount() {
+            return mCreatedCount;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.here.msdkui.common.DistanceFormatterUtil;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+/**
+ * Decides when a guidance panel needs to be refreshed on a position update.
+ *
+ * <p>Far from the next maneuver, the shown distance is rounded to 100 m or 1 km and the remaining time to minutes,
+ * so most position updates don't change what a panel shows. After each refresh, the scheduler computes how long
+ * it takes, at the current speed, until the rounded distance or the remaining minutes change, and skips position
+ * updates until then. The speed is assumed to increase by up to {@link #SPEED_MARGIN}, and the time between two
+ * refreshes never exceeds the maximum interval.</p>
+ *
+ * <p>Set a scheduler with {@link GuidanceManeuverPresenter#setRefreshScheduler(GuidanceRefreshScheduler)} or
+ * {@link GuidanceEstimatedArrivalViewPresenter#setRefreshScheduler(GuidanceRefreshScheduler)}. Each presenter
+ * needs its own scheduler. Maneuver changes and reroutes always refresh a panel.</p>
+ */
+public final class GuidanceRefreshScheduler {
+
+    /**
+     * Default maximum time between two refreshes in milliseconds.
+     */
+    public static final long DEFAULT_MAX_INTERVAL = 5_000;
+
+    /**
+     * Factor by which the speed may increase until the next refresh.
+     */
+    public static final double SPEED_MARGIN = 1.25;
+
+    private static final double MIN_SPEED = 0.5;
+    private static final int MINUTE_IN_SECONDS = 60;
+    private static final long SECOND_IN_MILLIS = 1000;
+
+    private final UnitSystem mUnitSystem;
+    private final long mMaxInterval;
+    private final Clock mClock;
+    private long mNextRefresh = -1;
+
+    /**
+     * Constructs a new instance using {@link #DEFAULT_MAX_INTERVAL}.
+     *
+     * @param unitSystem
+     *         the unit system the distances are shown in.
+     */
+    public GuidanceRefreshScheduler(@NonNull UnitSystem unitSystem) {
+        this(unitSystem, DEFAULT_MAX_INTERVAL);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param unitSystem
+     *         the unit system the distances are shown in.
+     * @param maxInterval
+     *         the maximum time between two refreshes in milliseconds.
+     */
+    public GuidanceRefreshScheduler(@NonNull UnitSystem unitSystem, long maxInterval) {
+        this(unitSystem, maxInterval, SystemClock::elapsedRealtime);
+    }
+
+    GuidanceRefreshScheduler(UnitSystem unitSystem, long maxInterval, Clock clock) {
+        mUnitSystem = unitSystem;
+        mMaxInterval = maxInterval;
+        mClock = clock;
+    }
+
+    /**
+     * Checks whether a panel should be refreshed now.
+     *
+     * @return true if the panel should be refreshed, false if the update can be skipped.
+     */
+    public boolean isRefreshDue() {
+        return mNextRefresh < 0 || mClock.now() >= mNextRefresh;
+    }
+
+    /**
+     * Schedules the next refresh of a panel showing a distance.
+     *
+     * @param distance
+     *         the shown distance in meters.
+     * @param speed
+     *         the current speed in meters per second, a negative value if unknown.
+     */
+    public void onRefreshed(long distance, double speed) {
+        schedule(getDistanceDelay(distance, speed));
+    }
+
+    /**
+     * Schedules the next refresh of a panel showing a distance and the remaining time in minutes.
+     *
+     * @param distance
+     *         the shown distance in meters.
+     * @param speed
+     *         the current speed in meters per second, a negative value if unknown.
+     * @param remainingSeconds
+     *         the shown remaining time in seconds.
+     */
+    public void onRefreshed(long distance, double speed, int remainingSeconds) {
+        final long timeDelay = remainingSeconds < 0 ? 0
+                : (remainingSeconds % MINUTE_IN_SECONDS + 1) * SECOND_IN_MILLIS;
+        schedule(Math.min(getDistanceDelay(distance, speed), timeDelay));
+    }
+
+    /**
+     * Forces a refresh on the next update, e.g. after the next maneuver changed.
+     */
+    public void invalidate() {
+        mNextRefresh = -1;
+    }
+
+    /**
+     * Gets the time until a refresh is needed for a distance shown in the unit system of this scheduler.
+     *
+     * @param distance
+     *         the shown distance in meters.
+     * @param speed
+     *         the current speed in meters per second, a negative value if unknown.
+     * @return the time in milliseconds, at most the maximum interval.
+     */
+    long getDistanceDelay(long distance, double speed) {
+        if (distance < 0) {
+            return 0;
+        }
+        if (speed < MIN_SPEED) {
+            return mMaxInterval;
+        }
+        final long change = DistanceFormatterUtil.getDistanceToNextChange(distance, mUnitSystem);
+        final long delay = (long) (change * SECOND_IN_MILLIS / (speed * SPEED_MARGIN));
+        return Math.min(delay, mMaxInterval);
+    }
+
+    private void schedule(long delay) {
+        mNextRefresh = mClock.now() + delay;
+    }
+
+    /**
+     * Time source, in milliseconds.
+     */
+    interface Clock {
+        long now();
+    }
+}
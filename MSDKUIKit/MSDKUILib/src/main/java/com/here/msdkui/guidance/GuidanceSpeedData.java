@@ -19,9 +19,13 @@ package com.here.msdkui.guidance;
 import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
 
 /**
- * A data class holding current speed and applicable speed limit.
+ * A data class holding current speed and applicable speed limit. If known, it also holds the
+ * next speed limit along the route and the distance to it.
  */
 public class GuidanceSpeedData implements Parcelable {
 
@@ -39,6 +43,8 @@ public class GuidanceSpeedData implements Parcelable {
 
     private Double mCurrentSpeed;
     private Double mCurrentSpeedLimit;
+    private Double mUpcomingSpeedLimit;
+    private Double mUpcomingSpeedLimitDistance;
 
     /**
      * Constructs a new instance using current speed and color values.
@@ -47,8 +53,23 @@ public class GuidanceSpeedData implements Parcelable {
      * @param speedLimit a current speed limit value in meter per second.
      */
     public GuidanceSpeedData(Double speed, Double speedLimit) {
+        this(speed, speedLimit, null, null);
+    }
+
+    /**
+     * Constructs a new instance using current speed, speed limit and upcoming speed limit values.
+     *
+     * @param speed                      a current speed value in meter per second.
+     * @param speedLimit                 a current speed limit value in meter per second.
+     * @param upcomingSpeedLimit         the next speed limit along the route in meter per second or null.
+     * @param upcomingSpeedLimitDistance the distance to the next speed limit in meters or null.
+     */
+    public GuidanceSpeedData(Double speed, Double speedLimit, @Nullable Double upcomingSpeedLimit,
+            @Nullable Double upcomingSpeedLimitDistance) {
         mCurrentSpeed = speed;
         mCurrentSpeedLimit = speedLimit;
+        mUpcomingSpeedLimit = upcomingSpeedLimit;
+        mUpcomingSpeedLimitDistance = upcomingSpeedLimitDistance;
     }
 
     protected GuidanceSpeedData(Parcel in) {
@@ -62,6 +83,16 @@ public class GuidanceSpeedData implements Parcelable {
         } else {
             mCurrentSpeedLimit = in.readDouble();
         }
+        if (in.readByte() == 0) {
+            mUpcomingSpeedLimit = null;
+        } else {
+            mUpcomingSpeedLimit = in.readDouble();
+        }
+        if (in.readByte() == 0) {
+            mUpcomingSpeedLimitDistance = null;
+        } else {
+            mUpcomingSpeedLimitDistance = in.readDouble();
+        }
     }
 
     @Override
@@ -78,6 +109,18 @@ public class GuidanceSpeedData implements Parcelable {
             dest.writeByte((byte) 1);
             dest.writeDouble(mCurrentSpeedLimit);
         }
+        if (mUpcomingSpeedLimit == null) {
+            dest.writeByte((byte) 0);
+        } else {
+            dest.writeByte((byte) 1);
+            dest.writeDouble(mUpcomingSpeedLimit);
+        }
+        if (mUpcomingSpeedLimitDistance == null) {
+            dest.writeByte((byte) 0);
+        } else {
+            dest.writeByte((byte) 1);
+            dest.writeDouble(mUpcomingSpeedLimitDistance);
+        }
     }
 
     @Override
@@ -103,6 +146,24 @@ public class GuidanceSpeedData implements Parcelable {
         return mCurrentSpeedLimit;
     }
 
+    /**
+     * Gets the next speed limit along the route.
+     *
+     * @return a speed limit value in meter per second or null if unknown.
+     */
+    public @Nullable Double getUpcomingSpeedLimit() {
+        return mUpcomingSpeedLimit;
+    }
+
+    /**
+     * Gets the distance to the next speed limit along the route.
+     *
+     * @return a distance in meters or null if unknown.
+     */
+    public @Nullable Double getUpcomingSpeedLimitDistance() {
+        return mUpcomingSpeedLimitDistance;
+    }
+
     /**
      * Determines if current speed exceeds current speed limit.
      *
@@ -126,6 +187,8 @@ public class GuidanceSpeedData implements Parcelable {
     public String toString() {
         return "GuidanceSpeedData(mCurrentSpeed=" + this.mCurrentSpeed +
                 ", mCurrentSpeedLimit=" + this.mCurrentSpeedLimit +
+                (this.mUpcomingSpeedLimit == null ? "" : ", mUpcomingSpeedLimit=" + this.mUpcomingSpeedLimit +
+                        ", mUpcomingSpeedLimitDistance=" + this.mUpcomingSpeedLimitDistance) +
                 ")";
     }
 
@@ -134,7 +197,7 @@ public class GuidanceSpeedData implements Parcelable {
         long var = Double.doubleToLongBits(this.mCurrentSpeed);
         int var1 = (int) (var ^ var >>> 32) * 31;
         long var2 = Double.doubleToLongBits(this.mCurrentSpeedLimit);
-        return var1 + (int) (var2 ^ var2 >>> 32);
+        return (var1 + (int) (var2 ^ var2 >>> 32)) * 31 + Objects.hash(mUpcomingSpeedLimit, mUpcomingSpeedLimitDistance);
     }
 
     @Override
@@ -143,7 +206,9 @@ public class GuidanceSpeedData implements Parcelable {
             if (var1 instanceof GuidanceSpeedData) {
                 GuidanceSpeedData var2 = (GuidanceSpeedData) var1;
                 return Double.compare(this.mCurrentSpeed, var2.mCurrentSpeed) == 0 &&
-                        Double.compare(this.mCurrentSpeedLimit, var2.mCurrentSpeedLimit) == 0;
+                        Double.compare(this.mCurrentSpeedLimit, var2.mCurrentSpeedLimit) == 0 &&
+                        Objects.equals(this.mUpcomingSpeedLimit, var2.mUpcomingSpeedLimit) &&
+                        Objects.equals(this.mUpcomingSpeedLimitDistance, var2.mUpcomingSpeedLimitDistance);
             }
             return false;
         } else {
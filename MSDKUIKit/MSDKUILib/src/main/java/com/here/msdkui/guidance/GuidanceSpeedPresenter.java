@@ -23,6 +23,8 @@ import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.common.PositioningManager;
 import com.here.android.mpa.common.RoadElement;
 import com.here.android.mpa.guidance.NavigationManager;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteResult;
 import com.here.msdkui.guidance.base.BaseGuidancePresenter;
 
 import java.util.ArrayList;
@@ -31,6 +33,13 @@ import java.util.List;
 /**
  * This class creates {@link GuidanceSpeedData} instances during guidance and notifies it's
  * listeners about that.
+ *
+ * <p>When a route is given, the speed limits are taken from a {@link SpeedLimitProfile} of the route,
+ * which is created once per route and reroute, instead of querying the current road element on each
+ * position update. This also provides the upcoming speed limit and the distance to it.</p>
+ *
+ * <p>The current speed is the one of the position passed with each position update. Speed warnings in between
+ * show the speed and the upcoming speed limit of the last position update.</p>
  */
 public class GuidanceSpeedPresenter extends BaseGuidancePresenter {
 
@@ -38,6 +47,10 @@ public class GuidanceSpeedPresenter extends BaseGuidancePresenter {
     private final PositioningManager mPositioningManager;
     private final List<GuidanceSpeedListener> mListener = new ArrayList<>();
     private float mPreviousSpeedLimit = -1.0f;
+    private SpeedLimitProfile mSpeedLimitProfile;
+    private double mSpeed = -1;
+    private Double mUpcomingSpeedLimit;
+    private Double mUpcomingSpeedLimitDistance;
 
     /**
      * Constructs a new instance using instances of {@link NavigationManager} and {@link PositioningManager}.
@@ -49,10 +62,50 @@ public class GuidanceSpeedPresenter extends BaseGuidancePresenter {
      */
     public GuidanceSpeedPresenter(@NonNull NavigationManager navigationManager,
             @NonNull PositioningManager positioningManager) {
-        super(navigationManager, null);
+        this(navigationManager, positioningManager, null);
+    }
+
+    /**
+     * Constructs a new instance using instances of {@link NavigationManager} and {@link PositioningManager}
+     * and the route to follow during guidance.
+     *
+     * @param navigationManager
+     *         a {@link NavigationManager}.
+     * @param positioningManager
+     *         a {@link PositioningManager}.
+     * @param route
+     *         the route used for guidance or null to look up the speed limits while driving.
+     */
+    public GuidanceSpeedPresenter(@NonNull NavigationManager navigationManager,
+            @NonNull PositioningManager positioningManager, @Nullable Route route) {
+        super(navigationManager, route);
         mPositioningManager = positioningManager;
     }
 
+    @Override
+    public void setRoute(Route route) {
+        super.setRoute(route);
+        mSpeedLimitProfile = null;
+        mUpcomingSpeedLimit = null;
+        mUpcomingSpeedLimitDistance = null;
+    }
+
+    /**
+     * Gets the speed limit profile of the route used for guidance. The profile is created on first use.
+     *
+     * @return the profile, {@link SpeedLimitProfile#EMPTY} if no route is set.
+     */
+    @NonNull
+    public SpeedLimitProfile getSpeedLimitProfile() {
+        if (mSpeedLimitProfile == null) {
+            if (getRoute() != null) {
+                recordSdkCall();
+            }
+            mSpeedLimitProfile = SpeedLimitProfile.from(getRoute());
+        }
+        return mSpeedLimitProfile;
+    }
+
     @Override
     public void resume() {
         super.resume();
@@ -65,10 +118,35 @@ public class GuidanceSpeedPresenter extends BaseGuidancePresenter {
         disableSpeedWarnings();
     }
 
+    @Override
+    protected void handleRerouteEnd(RouteResult routeResult) {
+        setRoute(routeResult.getRoute());
+    }
+
+    @Override
+    protected void handlePositionUpdate(GeoPosition position) {
+        mSpeed = position != null && position.isValid() && position.getSpeed() != GeoPosition.UNKNOWN
+                ? position.getSpeed() : -1;
+        handlePositionUpdate();
+    }
+
     @Override
     protected void handlePositionUpdate() {
-        final RoadElement roadElement = mPositioningManager.getRoadElement();
-        updateCurrentSpeedData(roadElement == null ? mPreviousSpeedLimit : roadElement.getSpeedLimit());
+        final SpeedLimitProfile profile = getSpeedLimitProfile();
+        if (profile.isEmpty()) {
+            recordSdkCall();
+            final RoadElement roadElement = mPositioningManager.getRoadElement();
+            updateCurrentSpeedData(roadElement == null ? mPreviousSpeedLimit : roadElement.getSpeedLimit());
+            return;
+        }
+        // The profile is anchored at the destination, the start of the route may be passed partly.
+        final double distance = profile.getLength() - getDestinationDistance();
+        final float speedLimit = profile.getSpeedLimit(distance);
+        final float nextSpeedLimit = profile.getNextSpeedLimit(distance);
+        mPreviousSpeedLimit = speedLimit;
+        mUpcomingSpeedLimit = nextSpeedLimit < 0 ? null : (double) nextSpeedLimit;
+        mUpcomingSpeedLimitDistance = nextSpeedLimit < 0 ? null : profile.getDistanceToNextChange(distance);
+        updateCurrentSpeedData(speedLimit);
     }
 
     @Override
@@ -83,13 +161,14 @@ public class GuidanceSpeedPresenter extends BaseGuidancePresenter {
         updateCurrentSpeedData(speedLimit);
     }
 
+    /**
+     * Notifies the speed of the last position update. The upcoming speed limit is the one found at the last
+     * position update, which is kept for speed warnings in between.
+     */
     private void updateCurrentSpeedData(float speedLimit) {
-        final GeoPosition geoPosition = mPositioningManager.hasValidPosition() ?
-                mPositioningManager.getPosition() : null;
-        final double speed = geoPosition != null && geoPosition.isValid() && geoPosition.getSpeed() != GeoPosition.UNKNOWN ?
-                geoPosition.getSpeed() : -1;
-        if (speed >= 0) {
-            final GuidanceSpeedData data = new GuidanceSpeedData(speed, (double) speedLimit);
+        if (mSpeed >= 0) {
+            final GuidanceSpeedData data = new GuidanceSpeedData(mSpeed, (double) speedLimit, mUpcomingSpeedLimit,
+                    mUpcomingSpeedLimitDistance);
             notifyDataChanged(data);
         } else {
             notifyDataChanged(null);
@@ -100,9 +179,11 @@ public class GuidanceSpeedPresenter extends BaseGuidancePresenter {
      * Notify on {@link GuidanceSpeedData} changes.
      */
     private void notifyDataChanged(@Nullable GuidanceSpeedData data) {
+        final long start = beginNotification();
         for (final GuidanceSpeedListener listener : mListener) {
             listener.onDataChanged(data);
         }
+        endNotification(start, mListener.size());
     }
 
     /**
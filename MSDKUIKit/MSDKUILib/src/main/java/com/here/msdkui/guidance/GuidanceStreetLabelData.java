@@ -19,6 +19,8 @@ package com.here.msdkui.guidance;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import java.util.Objects;
+
 /**
  * A data class holding the current street name and a background color to be fed into the {@link GuidanceStreetLabelView}.
  */
@@ -85,4 +87,18 @@ public class GuidanceStreetLabelData implements Parcelable {
         dest.writeString(mCurrentStreet);
         dest.writeInt(mBackgroundColor);
     }
+
+    @Override
+    public int hashCode() {
+        return (mCurrentStreet == null ? 0 : mCurrentStreet.hashCode()) * 31 + mBackgroundColor;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof GuidanceStreetLabelData) {
+            final GuidanceStreetLabelData other = (GuidanceStreetLabelData) obj;
+            return Objects.equals(mCurrentStreet, other.mCurrentStreet) && mBackgroundColor == other.mBackgroundColor;
+        }
+        return false;
+    }
 }
@@ -35,6 +35,8 @@ import java.util.List;
 public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
 
     private final Context mContext;
+    private final int mPositiveColor;
+    private final int mSecondaryColor;
 
     private final List<GuidanceStreetLabelListener> mListener = new ArrayList<>();
 
@@ -43,7 +45,8 @@ public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
      * a route to follow during guidance.
      *
      * @param context
-     *         the required {@link Context}.
+     *         the required {@link Context}. The colors of its theme are resolved once, afterwards only its
+     *         application context is kept.
      *
      * @param navigationManager
      *         a {@link NavigationManager}.
@@ -54,7 +57,9 @@ public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
     public GuidanceStreetLabelPresenter(Context context, NavigationManager navigationManager,
                                         Route route) {
         super(navigationManager, route);
-        mContext = context;
+        mContext = context.getApplicationContext() == null ? context : context.getApplicationContext();
+        mPositiveColor = ThemeUtil.getColor(context, R.attr.colorPositive);
+        mSecondaryColor = ThemeUtil.getColor(context, R.attr.colorForegroundSecondary);
     }
 
     @Override
@@ -68,7 +73,7 @@ public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
         if (nextManeuver != null) {
             final String currentStreetInfo = GuidanceManeuverUtil.getCurrentManeuverStreet(mContext, nextManeuver);
             final GuidanceStreetLabelData data = new
-                    GuidanceStreetLabelData(currentStreetInfo, ThemeUtil.getColor(mContext, R.attr.colorPositive));
+                    GuidanceStreetLabelData(currentStreetInfo, mPositiveColor);
             notifyDataChanged(data);
         }
     }
@@ -76,7 +81,7 @@ public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
     protected void handleGpsLost() {
         final GuidanceStreetLabelData data = new
                 GuidanceStreetLabelData(mContext.getString(R.string.msdkui_waypoint_current_location),
-                ThemeUtil.getColor(mContext, R.attr.colorForegroundSecondary));
+                mSecondaryColor);
         notifyDataChanged(data);
     }
 
@@ -94,7 +99,7 @@ public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
         if (listener != null && !mListener.contains(listener)) {
             mListener.add(listener);
             listener.onDataChanged(new GuidanceStreetLabelData(mContext.getString(R.string.msdkui_userposition_search),
-                    ThemeUtil.getColor(mContext, R.attr.colorForegroundSecondary)));
+                    mSecondaryColor));
         }
     }
 
@@ -112,8 +117,10 @@ public class GuidanceStreetLabelPresenter extends BaseGuidancePresenter {
      * Notify on {@link GuidanceStreetLabelData} changes.
      */
     private void notifyDataChanged(GuidanceStreetLabelData data) {
+        final long start = beginNotification();
         for (final GuidanceStreetLabelListener listener : mListener) {
             listener.onDataChanged(data);
         }
+        endNotification(start, mListener.size());
     }
 }
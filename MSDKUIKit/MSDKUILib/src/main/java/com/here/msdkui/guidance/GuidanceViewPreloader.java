@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.content.pm.ActivityInfo;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates guidance panels such as {@link GuidanceManeuverView}, {@link GuidanceNextManeuverView},
+ * {@link GuidanceSpeedView}, {@link GuidanceSpeedLimitView}, {@link GuidanceEstimatedArrivalView} and
+ * {@link GuidanceStreetLabelView} on a background thread before guidance starts.
+ *
+ * <p>Call {@link #preloadLayout(int)} or {@link #preloadView(Class, ViewFactory)} while the route preview is
+ * shown. The views are inflated with the application context and the given theme. When the guidance screen
+ * creates its panels, {@link #acquireLayout(Context, int)} and {@link #acquireView(Context, Class)} hand out
+ * the ready views and switch their context to the guidance screen. If a view is not ready yet, or the
+ * configuration changed since it was created, null is returned and the caller creates the view as usual.</p>
+ *
+ * <p>The time needed to create each view and the number of used and missed views are recorded and can be
+ * retrieved with {@link #dump()}. Except the preload methods, all methods must be called on the main thread.</p>
+ */
+public final class GuidanceViewPreloader {
+
+    private static final String LOG_TAG = GuidanceViewPreloader.class.getSimpleName();
+
+    private static final int RELEVANT_CONFIG_CHANGES = ActivityInfo.CONFIG_ORIENTATION
+            | ActivityInfo.CONFIG_SCREEN_SIZE | ActivityInfo.CONFIG_DENSITY | ActivityInfo.CONFIG_LOCALE
+            | ActivityInfo.CONFIG_UI_MODE | ActivityInfo.CONFIG_FONT_SCALE;
+
+    private static final ExecutorService PRELOAD_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "MSDKUI-GuidancePreloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Context mApplicationContext;
+    private final int mThemeResId;
+    private final Executor mBackgroundExecutor;
+    private final Executor mMainExecutor;
+    private final Map<Object, Entry> mEntries = new HashMap<>();
+    private final Map<Object, Long> mCreationNanos = new LinkedHashMap<>();
+    private int mHits;
+    private int mMisses;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param context
+     *         any context, only its application context is kept.
+     * @param themeResId
+     *         the theme of the guidance screen, which is applied to the preloaded views.
+     */
+    public GuidanceViewPreloader(@NonNull final Context context, @StyleRes final int themeResId) {
+        this(context, themeResId, PRELOAD_EXECUTOR, new Handler(Looper.getMainLooper())::post);
+    }
+
+    GuidanceViewPreloader(final Context context, final int themeResId, final Executor backgroundExecutor,
+            final Executor mainExecutor) {
+        mApplicationContext = context.getApplicationContext();
+        mThemeResId = themeResId;
+        mBackgroundExecutor = backgroundExecutor;
+        mMainExecutor = mainExecutor;
+    }
+
+    /**
+     * Inflates a layout on a background thread. Does nothing if the layout is already preloaded.
+     * The layout parameters of the root view are kept, so the view can be added to any parent.
+     *
+     * @param layoutId
+     *         the layout to inflate.
+     */
+    @MainThread
+    public void preloadLayout(@LayoutRes final int layoutId) {
+        preload(layoutId, context -> LayoutInflater.from(context).inflate(layoutId, new FrameLayout(context), false));
+    }
+
+    /**
+     * Creates a view on a background thread. Does nothing if a view of this type is already preloaded.
+     *
+     * @param type
+     *         the type of the view, used as key in {@link #acquireView(Context, Class)}.
+     * @param factory
+     *         the factory creating the view.
+     * @param <T>
+     *         the type of the view.
+     */
+    @MainThread
+    public <T extends View> void preloadView(@NonNull final Class<T> type, @NonNull final ViewFactory<T> factory) {
+        preload(type, factory);
+    }
+
+    /**
+     * Takes a preloaded layout.
+     *
+     * @param context
+     *         the context of the screen showing the view, typically the guidance activity.
+     * @param layoutId
+     *         the preloaded layout.
+     * @return the root view of the layout or null if it is not available.
+     */
+    @Nullable
+    @MainThread
+    public View acquireLayout(@NonNull final Context context, @LayoutRes final int layoutId) {
+        return acquire(context, layoutId);
+    }
+
+    /**
+     * Takes a preloaded view.
+     *
+     * @param context
+     *         the context of the screen showing the view, typically the guidance activity.
+     * @param type
+     *         the type of the preloaded view.
+     * @param <T>
+     *         the type of the view.
+     * @return the view or null if it is not available.
+     */
+    @Nullable
+    @MainThread
+    public <T extends View> T acquireView(@NonNull final Context context, @NonNull final Class<T> type) {
+        return type.cast(acquire(context, type));
+    }
+
+    /**
+     * Drops all preloaded views, e.g. when the route preview is closed without starting guidance.
+     */
+    @MainThread
+    public void clear() {
+        mEntries.clear();
+        mCreationNanos.clear();
+    }
+
+    /**
+     * Gets the number of views taken from this preloader.
+     * @return the number of used views.
+     */
+    public int getHitCount() {
+        return mHits;
+    }
+
+    /**
+     * Gets the number of requested views that were not available.
+     * @return the number of missed views.
+     */
+    public int getMissCount() {
+        return mMisses;
+    }
+
+    /**
+     * Gets a human readable summary of the recorded timings.
+     * @return the timings of all preloaded views.
+     */
+    @MainThread
+    public String dump() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "used %d, missed %d%n", mHits, mMisses));
+        for (final Map.Entry<Object, Long> entry : mCreationNanos.entrySet()) {
+            builder.append(String.format(Locale.US, "%s: created in %.2f ms%n", describe(entry.getKey()),
+                    entry.getValue() / 1e6));
+        }
+        for (final Map.Entry<Object, Entry> entry : mEntries.entrySet()) {
+            if (entry.getValue().mView == null) {
+                builder.append(String.format(Locale.US, "%s: pending%n", describe(entry.getKey())));
+            }
+        }
+        return builder.toString();
+    }
+
+    private String describe(final Object key) {
+        if (key instanceof Class) {
+            return ((Class<?>) key).getSimpleName();
+        }
+        try {
+            return mApplicationContext.getResources().getResourceEntryName((Integer) key);
+        } catch (Resources.NotFoundException e) {
+            return String.valueOf(key);
+        }
+    }
+
+    private void preload(final Object key, final ViewFactory<?> factory) {
+        if (mEntries.containsKey(key)) {
+            return;
+        }
+        final Entry entry = new Entry(mApplicationContext.getResources().getConfiguration());
+        mEntries.put(key, entry);
+        final MutableContextWrapper context = new MutableContextWrapper(
+                new ContextThemeWrapper(mApplicationContext, mThemeResId));
+        mBackgroundExecutor.execute(() -> {
+            final long start = SystemClock.elapsedRealtimeNanos();
+            final View view;
+            try {
+                view = factory.create(context);
+            } catch (RuntimeException e) {
+                // The view will be created on demand instead.
+                Log.w(LOG_TAG, "Preloading " + key + " failed", e);
+                return;
+            }
+            final long duration = SystemClock.elapsedRealtimeNanos() - start;
+            mMainExecutor.execute(() -> {
+                if (mEntries.get(key) == entry) {
+                    entry.mView = view;
+                    entry.mContext = context;
+                    mCreationNanos.put(key, duration);
+                }
+            });
+        });
+    }
+
+    private View acquire(final Context context, final Object key) {
+        final Entry entry = mEntries.get(key);
+        if (entry == null || entry.mView == null
+                || (entry.mConfiguration.diff(context.getResources().getConfiguration())
+                & RELEVANT_CONFIG_CHANGES) != 0) {
+            mMisses++;
+            return null;
+        }
+        mEntries.remove(key);
+        mHits++;
+        entry.mContext.setBaseContext(context);
+        return entry.mView;
+    }
+
+    /**
+     * Creates a view to be preloaded. Called on a background thread.
+     *
+     * @param <T>
+     *         the type of the view.
+     */
+    public interface ViewFactory<T extends View> {
+
+        /**
+         * Creates the view.
+         *
+         * @param context
+         *         the context to create the view with.
+         * @return the view.
+         */
+        T create(Context context);
+    }
+
+    /**
+     * A preloaded view.
+     */
+    private static final class Entry {
+        private final Configuration mConfiguration;
+        private View mView;
+        private MutableContextWrapper mContext;
+
+        Entry(final Configuration configuration) {
+            mConfiguration = new Configuration(configuration);
+        }
+    }
+}
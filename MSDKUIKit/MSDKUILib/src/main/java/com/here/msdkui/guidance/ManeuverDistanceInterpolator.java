@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Estimates the distance to the next maneuver between two position updates.
+ *
+ * <p>Each position update is passed to {@link #onFix(long, double, long)}. Until the next update, the distance is
+ * extrapolated from the speed of the last fix, for at most {@link #MAX_EXTRAPOLATION_NANOS}. When a new fix
+ * differs from the extrapolated distance, the difference is faded out over {@link #SNAP_NANOS} instead of
+ * jumping to the new value, and an extrapolated countdown never counts up. Differences larger than
+ * {@link #MAX_SMOOTHED_DIFFERENCE}, like when the next maneuver changes, are applied at once.</p>
+ *
+ * <p>All times are in the time base of {@link System#nanoTime()}, which is also used by
+ * {@link android.view.Choreographer} frame callbacks.</p>
+ */
+public final class ManeuverDistanceInterpolator {
+
+    /**
+     * Maximum time in nanoseconds to extrapolate after a fix, e.g. when updates stop in a tunnel.
+     */
+    public static final long MAX_EXTRAPOLATION_NANOS = 3_000_000_000L;
+
+    /**
+     * Time in nanoseconds to fade out the difference between the extrapolated distance and a new fix.
+     */
+    public static final long SNAP_NANOS = 500_000_000L;
+
+    /**
+     * Maximum difference in meters between the extrapolated distance and a new fix that is faded out.
+     */
+    public static final long MAX_SMOOTHED_DIFFERENCE = 200;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private long mFixDistance = -1;
+    private long mFixTime;
+    private double mSpeed;
+    private double mCorrection;
+    private long mLastDistance = -1;
+    private Runnable mFixListener;
+
+    /**
+     * Sets a listener notified after each fix, e.g. to resume per frame updates that stopped because the
+     * distance didn't change anymore.
+     *
+     * @param listener
+     *         the listener or null.
+     */
+    public void setFixListener(@Nullable Runnable listener) {
+        mFixListener = listener;
+    }
+
+    /**
+     * Sets a new fix.
+     *
+     * @param distance
+     *         the distance to the next maneuver in meters as reported by the SDK.
+     * @param speed
+     *         the current speed in meters per second, a negative value if unknown.
+     * @param timeNanos
+     *         the time of the fix.
+     * @return the distance to show at the time of the fix.
+     */
+    public long onFix(long distance, double speed, long timeNanos) {
+        if (mFixDistance < 0) {
+            mCorrection = 0;
+        } else {
+            mCorrection = estimate(timeNanos) - distance;
+            if (Math.abs(mCorrection) > MAX_SMOOTHED_DIFFERENCE) {
+                mCorrection = 0;
+                mLastDistance = -1;
+            }
+        }
+        // Don't count down while moving away from the maneuver.
+        final boolean approaching = mFixDistance < 0 || distance <= mFixDistance;
+        mSpeed = approaching && speed > 0 ? speed : 0;
+        mFixDistance = distance;
+        mFixTime = timeNanos;
+        if (!approaching) {
+            mLastDistance = -1;
+        }
+        final long shownDistance = getDistance(timeNanos);
+        if (mFixListener != null) {
+            mFixListener.run();
+        }
+        return shownDistance;
+    }
+
+    /**
+     * Gets the distance to show at a given time.
+     *
+     * @param timeNanos
+     *         the time, e.g. the frame time of a {@link android.view.Choreographer} callback.
+     * @return the distance in meters or -1 if there is no fix.
+     */
+    public long getDistance(long timeNanos) {
+        if (mFixDistance < 0) {
+            return -1;
+        }
+        long distance = Math.max(0, Math.round(estimate(timeNanos)));
+        if (mSpeed > 0 && mLastDistance >= 0 && distance > mLastDistance) {
+            distance = mLastDistance;
+        }
+        mLastDistance = distance;
+        return distance;
+    }
+
+    /**
+     * Checks whether there is a fix to extrapolate from.
+     *
+     * @return true if there is a fix, false otherwise.
+     */
+    public boolean hasFix() {
+        return mFixDistance >= 0;
+    }
+
+    /**
+     * Checks whether the distance may still change after the given time without a new fix. This is not the
+     * case without a fix, without speed and once the extrapolation and fading time is over.
+     *
+     * @param timeNanos
+     *         the time, e.g. the frame time of a {@link android.view.Choreographer} callback.
+     * @return true if the distance may change, false otherwise.
+     */
+    public boolean isChanging(long timeNanos) {
+        if (mFixDistance < 0) {
+            return false;
+        }
+        final long elapsed = timeNanos - mFixTime;
+        return (mSpeed > 0 && elapsed < MAX_EXTRAPOLATION_NANOS) || (mCorrection != 0 && elapsed < SNAP_NANOS);
+    }
+
+    /**
+     * Drops the current fix, e.g. when rerouting.
+     */
+    public void reset() {
+        mFixDistance = -1;
+        mLastDistance = -1;
+        mCorrection = 0;
+        mSpeed = 0;
+    }
+
+    private double estimate(long timeNanos) {
+        final long elapsed = Math.max(0, timeNanos - mFixTime);
+        final double travelled = mSpeed * Math.min(elapsed, MAX_EXTRAPOLATION_NANOS) / NANOS_PER_SECOND;
+        final double fade = 1 - Math.min(1, (double) elapsed / SNAP_NANOS);
+        return mFixDistance - travelled + mCorrection * fade;
+    }
+}
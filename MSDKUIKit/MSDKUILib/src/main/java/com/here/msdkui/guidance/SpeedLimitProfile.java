@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.common.GeoCoordinate;
+import com.here.android.mpa.common.RoadElement;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteElement;
+import com.here.android.mpa.routing.RouteElements;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The speed limits along a route, keyed by the distance from the start of the route.
+ *
+ * <p>The profile is created once per route with {@link #from(Route)}. Consecutive road elements sharing the
+ * same speed limit are merged, so a lookup is a binary search over the sections with distinct limits.
+ * The route usually starts and ends within a road element, so only the covered part of the first and last
+ * road element is counted. A speed limit of 0 means the limit is unknown, like {@link RoadElement#getSpeedLimit()}.</p>
+ */
+public final class SpeedLimitProfile {
+
+    /**
+     * A profile without any speed limits.
+     */
+    public static final SpeedLimitProfile EMPTY = new SpeedLimitProfile(new double[0], new float[0], 0);
+
+    private final double[] mStarts;
+    private final float[] mLimits;
+    private final double mLength;
+
+    SpeedLimitProfile(final double[] starts, final float[] limits, final double length) {
+        mStarts = starts;
+        mLimits = limits;
+        mLength = length;
+    }
+
+    /**
+     * Creates the profile of a route.
+     *
+     * @param route
+     *         the route or null.
+     * @return the profile, {@link #EMPTY} if the route has no road elements.
+     */
+    @NonNull
+    public static SpeedLimitProfile from(@Nullable final Route route) {
+        final RouteElements routeElements = route == null ? null : route.getRouteElements();
+        final List<RouteElement> elements = routeElements == null ? null : routeElements.getElements();
+        if (elements == null || elements.isEmpty()) {
+            return EMPTY;
+        }
+        final double[] starts = new double[elements.size()];
+        final float[] limits = new float[elements.size()];
+        int count = 0;
+        double distance = 0;
+        final int last = elements.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            final RouteElement element = elements.get(i);
+            final RoadElement roadElement = element.getRoadElement();
+            if (roadElement == null) {
+                continue;
+            }
+            final float limit = roadElement.getSpeedLimit();
+            if (count > 0 && starts[count - 1] == distance) {
+                // The previous section has no length, replace it.
+                count--;
+            }
+            if (count == 0 || Float.compare(limits[count - 1], limit) != 0) {
+                starts[count] = distance;
+                limits[count] = limit;
+                count++;
+            }
+            distance += i == 0 || i == last ? getCoveredLength(element, roadElement) : roadElement.getGeometryLength();
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new SpeedLimitProfile(Arrays.copyOf(starts, count), Arrays.copyOf(limits, count), distance);
+    }
+
+    /**
+     * Gets the length of the part of a road element covered by the route.
+     */
+    private static double getCoveredLength(final RouteElement element, final RoadElement roadElement) {
+        final double fullLength = roadElement.getGeometryLength();
+        final List<GeoCoordinate> geometry = element.getGeometry();
+        if (geometry == null || geometry.size() < 2) {
+            return fullLength;
+        }
+        double length = 0;
+        for (int i = 1; i < geometry.size(); i++) {
+            length += geometry.get(i - 1).distanceTo(geometry.get(i));
+        }
+        return Math.min(length, fullLength);
+    }
+
+    /**
+     * Checks whether the profile has any speed limits.
+     *
+     * @return true if the profile is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return mLimits.length == 0;
+    }
+
+    /**
+     * Gets the length of the profile, which is the sum of the lengths of all road elements.
+     *
+     * @return the length in meters.
+     */
+    public double getLength() {
+        return mLength;
+    }
+
+    /**
+     * Gets the number of sections with distinct speed limits.
+     *
+     * @return the number of sections.
+     */
+    public int getSectionCount() {
+        return mLimits.length;
+    }
+
+    /**
+     * Gets the speed limit at a distance. Distances outside the route are clamped to its start or end.
+     *
+     * @param distance
+     *         the distance from the start of the route in meters.
+     * @return the speed limit in meters per second, 0 if unknown or -1 if the profile is empty.
+     */
+    public float getSpeedLimit(final double distance) {
+        final int index = indexOf(distance);
+        return index < 0 ? -1 : mLimits[index];
+    }
+
+    /**
+     * Gets the speed limit of the section following the one at the given distance.
+     *
+     * @param distance
+     *         the distance from the start of the route in meters.
+     * @return the next speed limit in meters per second or -1 if there is no further change.
+     */
+    public float getNextSpeedLimit(final double distance) {
+        final int index = indexOf(distance) + 1;
+        return index > 0 && index < mLimits.length ? mLimits[index] : -1;
+    }
+
+    /**
+     * Gets the distance to the next change of the speed limit.
+     *
+     * @param distance
+     *         the distance from the start of the route in meters.
+     * @return the distance to the next change in meters or -1 if there is no further change.
+     */
+    public double getDistanceToNextChange(final double distance) {
+        final int index = indexOf(distance) + 1;
+        return index > 0 && index < mStarts.length ? Math.max(0, mStarts[index] - distance) : -1;
+    }
+
+    private int indexOf(final double distance) {
+        if (mStarts.length == 0) {
+            return -1;
+        }
+        final int index = Arrays.binarySearch(mStarts, distance);
+        // For a distance between two starts, binarySearch returns -(insertion point) - 1.
+        return Math.max(0, index >= 0 ? index : -index - 2);
+    }
+}
@@ -18,6 +18,9 @@ package com.here.msdkui.guidance.base;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
 
 import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.common.PositioningManager;
@@ -35,6 +38,11 @@ import java.util.Date;
  * Base class for guidance presenters.
  * <p>The class interacts with {@link NavigationManager} and {@link PositioningManager} to support
  * easier handling of guidance events.</p>
+ *
+ * <p>Instead of calling {@link #resume()} and {@link #pause()}, a presenter can be bound to the lifecycle of
+ * an activity or fragment with {@link #bindToLifecycle(LifecycleOwner)}. It then listens to navigation events
+ * only while the owner is started, releases its resources when the owner is stopped and unbinds itself when
+ * the owner is destroyed.</p>
  */
 public class BaseGuidancePresenter {
 
@@ -47,7 +55,9 @@ public class BaseGuidancePresenter {
             new NavigationManager.ManeuverEventListener() {
                 @Override
                 public void onManeuverEvent() {
+                    final long start = beginEvent();
                     handleManeuverEvent();
+                    endEvent(GuidanceMetrics.Event.MANEUVER, start);
                 }
             };
     /**
@@ -57,7 +67,9 @@ public class BaseGuidancePresenter {
             new NavigationManager.NewInstructionEventListener() {
                 @Override
                 public void onNewInstructionEvent() {
+                    final long start = beginEvent();
                     handleNewInstructionEvent();
+                    endEvent(GuidanceMetrics.Event.NEW_INSTRUCTION, start);
                 }
             };
     /**
@@ -67,7 +79,9 @@ public class BaseGuidancePresenter {
             new NavigationManager.PositionListener() {
                 @Override
                 public void onPositionUpdated(final GeoPosition loc) {
-                    handlePositionUpdate();
+                    final long start = beginEvent();
+                    handlePositionUpdate(loc);
+                    endEvent(GuidanceMetrics.Event.POSITION_UPDATE, start);
                 }
             };
 
@@ -77,11 +91,15 @@ public class BaseGuidancePresenter {
     private final NavigationManager.GpsSignalListener mGpsSignalListener =
             new NavigationManager.GpsSignalListener() {
                 @Override public void onGpsLost() {
+                    final long start = beginEvent();
                     handleGpsLost();
+                    endEvent(GuidanceMetrics.Event.GPS_LOST, start);
                 }
 
                 @Override public void onGpsRestored() {
+                    final long start = beginEvent();
                     handleGpsRestore();
+                    endEvent(GuidanceMetrics.Event.GPS_RESTORED, start);
                 }
             };
 
@@ -91,22 +109,56 @@ public class BaseGuidancePresenter {
     private final NavigationManager.RerouteListener mRerouteListener =
             new NavigationManager.RerouteListener() {
                 @Override public void onRerouteBegin() {
+                    final long start = beginEvent();
                     handleRerouteBegin();
+                    endEvent(GuidanceMetrics.Event.REROUTE_BEGIN, start);
                 }
 
                 @Override public void onRerouteEnd(RouteResult routeResult, RoutingError error) {
+                    final long start = beginEvent();
                     if (error == RoutingError.NONE) {
                         handleRerouteEnd(routeResult);
+                        endEvent(GuidanceMetrics.Event.REROUTE_END, start);
                     } else {
                         handleRerouteFailed(error);
+                        endEvent(GuidanceMetrics.Event.REROUTE_FAILED, start);
                     }
                 }
             };
 
+    /**
+     * Observer for the {@link Lifecycle} set with {@link #bindToLifecycle(LifecycleOwner)}.
+     */
+    private final LifecycleEventObserver mLifecycleObserver = new LifecycleEventObserver() {
+        @Override
+        public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+            switch (event) {
+                case ON_START:
+                    resume();
+                    break;
+                case ON_STOP:
+                    pause();
+                    releaseResources();
+                    break;
+                case ON_DESTROY:
+                    unbindFromLifecycle();
+                    break;
+                default:
+                    break;
+            }
+        }
+    };
+
     private NavigationManager.SpeedWarningListener mSpeedWarningListener;
 
+    private LifecycleOwner mLifecycleOwner;
+
     private Route mRoute;
 
+    private GuidanceMetrics mMetrics = GuidanceMetrics.NO_OP;
+    private String mMetricsName;
+    private int mSdkCalls;
+
     /**
      * Constructs a new instance using a {@link NavigationManager} instance and
      * a route to follow during guidance.
@@ -143,6 +195,62 @@ public class BaseGuidancePresenter {
         mNavigationManager.removeRerouteListener(mRerouteListener);
     }
 
+    /**
+     * Binds this presenter to the lifecycle of an activity or fragment. The presenter is resumed when the owner
+     * is started and paused when the owner is stopped, so {@link #resume()} and {@link #pause()} must not be
+     * called anymore. If the owner is already started, the presenter is resumed immediately.
+     * When the owner is destroyed, the presenter unbinds itself and keeps no reference to the owner.
+     *
+     * <p>A presenter can be bound to one owner at a time, binding it to another owner unbinds it from the
+     * previous one first.</p>
+     *
+     * @param owner
+     *         the lifecycle owner, e.g. a fragment's view lifecycle owner.
+     */
+    public void bindToLifecycle(@NonNull LifecycleOwner owner) {
+        if (mLifecycleOwner == owner) {
+            return;
+        }
+        unbindFromLifecycle();
+        mLifecycleOwner = owner;
+        // Adding the observer dispatches the events up to the current state, e.g. ON_START.
+        owner.getLifecycle().addObserver(mLifecycleObserver);
+    }
+
+    /**
+     * Unbinds this presenter from the lifecycle set with {@link #bindToLifecycle(LifecycleOwner)}.
+     * If the owner is started, the presenter is paused.
+     */
+    public void unbindFromLifecycle() {
+        if (mLifecycleOwner == null) {
+            return;
+        }
+        final Lifecycle lifecycle = mLifecycleOwner.getLifecycle();
+        mLifecycleOwner = null;
+        lifecycle.removeObserver(mLifecycleObserver);
+        if (lifecycle.getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+            pause();
+        }
+    }
+
+    /**
+     * Gets the lifecycle owner set with {@link #bindToLifecycle(LifecycleOwner)}.
+     *
+     * @return the owner or null if the presenter is not bound.
+     */
+    public @Nullable LifecycleOwner getLifecycleOwner() {
+        return mLifecycleOwner;
+    }
+
+    /**
+     * Releases resources which can be recreated on the next update, such as cached bitmaps. Called when the
+     * bound lifecycle owner is stopped, may also be called after {@link #pause()}. Subclasses holding such
+     * resources should override this method.
+     */
+    public void releaseResources() {
+        // Let the sub class override it, if interested.
+    }
+
     /**
      * Enable listening to speed limit warnings.
      */
@@ -152,13 +260,17 @@ public class BaseGuidancePresenter {
                 @Override
                 public void onSpeedExceeded(String roadName, float speedLimit) {
                     super.onSpeedExceeded(roadName, speedLimit);
+                    final long start = beginEvent();
                     handleSpeedExceeded(speedLimit);
+                    endEvent(GuidanceMetrics.Event.SPEED_EXCEEDED, start);
                 }
 
                 @Override
                 public void onSpeedExceededEnd(String roadName, float speedLimit) {
                     super.onSpeedExceededEnd(roadName, speedLimit);
+                    final long start = beginEvent();
                     handleSpeedExceededEnd(speedLimit);
+                    endEvent(GuidanceMetrics.Event.SPEED_EXCEEDED_END, start);
                 }
             };
         }
@@ -174,6 +286,71 @@ public class BaseGuidancePresenter {
         }
     }
 
+    /**
+     * Sets the sink receiving runtime metrics of this presenter, such as handler latency, number of
+     * SDK calls per event and listener fan-out time. The metrics are reported with the simple class
+     * name of the presenter.
+     *
+     * @param metrics
+     *         the metrics sink or null to stop collecting metrics.
+     */
+    public void setMetrics(@Nullable GuidanceMetrics metrics) {
+        mMetrics = metrics == null ? GuidanceMetrics.NO_OP : metrics;
+        mMetricsName = getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the sink receiving runtime metrics of this presenter.
+     *
+     * @return the metrics sink, {@link GuidanceMetrics#NO_OP} if none was set.
+     */
+    @NonNull
+    public GuidanceMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Records an SDK call issued by this presenter while handling the current event.
+     * Subclasses should call it when they query SDK objects other than the {@link NavigationManager}.
+     */
+    protected final void recordSdkCall() {
+        mSdkCalls++;
+    }
+
+    /**
+     * Starts measuring a listener notification. Must be paired with {@link #endNotification(long, int)}.
+     *
+     * @return start time in nanoseconds or 0 if metrics are not collected.
+     */
+    protected final long beginNotification() {
+        return mMetrics == GuidanceMetrics.NO_OP ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Finishes measuring a listener notification started with {@link #beginNotification()}.
+     *
+     * @param start
+     *         the value returned by {@link #beginNotification()}.
+     * @param listenerCount
+     *         the number of notified listeners.
+     */
+    protected final void endNotification(long start, int listenerCount) {
+        if (mMetrics != GuidanceMetrics.NO_OP) {
+            mMetrics.onNotificationEmitted(mMetricsName, listenerCount, System.nanoTime() - start);
+        }
+    }
+
+    private long beginEvent() {
+        mSdkCalls = 0;
+        return mMetrics == GuidanceMetrics.NO_OP ? 0 : System.nanoTime();
+    }
+
+    private void endEvent(GuidanceMetrics.Event event, long start) {
+        if (mMetrics != GuidanceMetrics.NO_OP) {
+            mMetrics.onEventHandled(mMetricsName, event, System.nanoTime() - start, mSdkCalls);
+        }
+    }
+
     /**
      * Called after resuming the presenter. Subclasses may override for custom needs.
      */
@@ -238,6 +415,18 @@ public class BaseGuidancePresenter {
         // Let the sub class override it, if interested.
     }
 
+    /**
+     * Notifies when position updates. By default, this calls {@link #handlePositionUpdate()}.
+     * Sub classes needing the position, e.g. the current speed, can override this method instead of querying
+     * the {@link com.here.android.mpa.common.PositioningManager}.
+     *
+     * @param position
+     *         the new position.
+     */
+    protected void handlePositionUpdate(GeoPosition position) {
+        handlePositionUpdate();
+    }
+
     /**
      * Notifies when driving over speed limit.
      *
@@ -264,6 +453,7 @@ public class BaseGuidancePresenter {
      * @return next {@link Maneuver Maneuver}.
      */
     public Maneuver getNextManeuver() {
+        recordSdkCall();
         return mNavigationManager.getNextManeuver();
     }
 
@@ -273,6 +463,7 @@ public class BaseGuidancePresenter {
      * @return after-next {@link Maneuver Maneuver}.
      */
     public Maneuver getAfterNextManeuver() {
+        recordSdkCall();
         return mNavigationManager.getAfterNextManeuver();
     }
 
@@ -282,6 +473,7 @@ public class BaseGuidancePresenter {
      * @return distance to next {@link Maneuver Maneuver}.
      */
     public long getNextManeuverDistance() {
+        recordSdkCall();
         return mNavigationManager.getNextManeuverDistance();
     }
 
@@ -310,6 +502,7 @@ public class BaseGuidancePresenter {
      * @return a {@link Date} of arrival at the destination.
      */
     public @Nullable Date getEta() {
+        recordSdkCall();
         return mNavigationManager.getEta(false, Route.TrafficPenaltyMode.OPTIMAL);
     }
 
@@ -319,6 +512,7 @@ public class BaseGuidancePresenter {
      * @return distance in meters.
      */
     public long getDestinationDistance() {
+        recordSdkCall();
         return mNavigationManager.getDestinationDistance();
     }
 
@@ -328,6 +522,7 @@ public class BaseGuidancePresenter {
      * @return time to arrive in seconds or -1 if time couldn't be retrieved.
      */
     public Integer getTimeToArrival() {
+        recordSdkCall();
         final RouteTta routeTta = mNavigationManager.getTta(Route.TrafficPenaltyMode.OPTIMAL, false);
         if (routeTta != null) {
             return routeTta.getDuration();
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance.base;
+
+/**
+ * A sink for runtime metrics of {@link BaseGuidancePresenter} instances.
+ * <p>A presenter reports the time spent handling every guidance event, the number of SDK calls
+ * issued while handling it and the time spent notifying its listeners. By default presenters use
+ * {@link #NO_OP}, which is never invoked, so metrics collection costs nothing unless a sink is set
+ * with {@link BaseGuidancePresenter#setMetrics(GuidanceMetrics)}.</p>
+ */
+public interface GuidanceMetrics {
+
+    /**
+     * A sink that discards all metrics. Presenters using it do not measure anything.
+     */
+    GuidanceMetrics NO_OP = new GuidanceMetrics() {
+        @Override
+        public void onEventHandled(String presenter, Event event, long durationNanos, int sdkCalls) {
+            // Nothing to record.
+        }
+
+        @Override
+        public void onNotificationEmitted(String presenter, int listenerCount, long durationNanos) {
+            // Nothing to record.
+        }
+    };
+
+    /**
+     * Guidance events a presenter receives from the {@link com.here.android.mpa.guidance.NavigationManager}.
+     */
+    enum Event {
+        MANEUVER,
+        NEW_INSTRUCTION,
+        POSITION_UPDATE,
+        GPS_LOST,
+        GPS_RESTORED,
+        REROUTE_BEGIN,
+        REROUTE_END,
+        REROUTE_FAILED,
+        SPEED_EXCEEDED,
+        SPEED_EXCEEDED_END
+    }
+
+    /**
+     * Called after a presenter handled a guidance event.
+     *
+     * @param presenter
+     *         the name of the presenter that handled the event.
+     * @param event
+     *         the handled event.
+     * @param durationNanos
+     *         the time spent in the handler, in nanoseconds.
+     * @param sdkCalls
+     *         the number of SDK calls issued while handling the event.
+     */
+    void onEventHandled(String presenter, Event event, long durationNanos, int sdkCalls);
+
+    /**
+     * Called after a presenter notified its listeners.
+     *
+     * @param presenter
+     *         the name of the presenter that emitted the notification.
+     * @param listenerCount
+     *         the number of notified listeners.
+     * @param durationNanos
+     *         the time spent notifying all listeners, in nanoseconds.
+     */
+    void onNotificationEmitted(String presenter, int listenerCount, long durationNanos);
+}
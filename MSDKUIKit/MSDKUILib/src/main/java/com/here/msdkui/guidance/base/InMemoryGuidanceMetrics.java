@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance.base;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A {@link GuidanceMetrics} implementation that aggregates all metrics in memory.
+ * <p>For every presenter it keeps a latency histogram per handled event, the number of received
+ * events, emitted notifications and SDK calls, and a histogram of listener fan-out time.
+ * The collected data can be read with {@link #getStats(String)} or rendered with {@link #dump()}.</p>
+ */
+public class InMemoryGuidanceMetrics implements GuidanceMetrics {
+
+    private final Map<String, PresenterStats> mStats = new TreeMap<>();
+
+    @Override
+    public synchronized void onEventHandled(String presenter, Event event, long durationNanos, int sdkCalls) {
+        getOrCreateStats(presenter).onEventHandled(event, durationNanos, sdkCalls);
+    }
+
+    @Override
+    public synchronized void onNotificationEmitted(String presenter, int listenerCount, long durationNanos) {
+        getOrCreateStats(presenter).onNotificationEmitted(listenerCount, durationNanos);
+    }
+
+    /**
+     * Gets the metrics collected for a presenter.
+     *
+     * @param presenter
+     *         the name of the presenter.
+     *
+     * @return the collected metrics or null if the presenter did not report anything yet.
+     */
+    @Nullable
+    public synchronized PresenterStats getStats(String presenter) {
+        return mStats.get(presenter);
+    }
+
+    /**
+     * Discards all collected metrics.
+     */
+    public synchronized void reset() {
+        mStats.clear();
+    }
+
+    /**
+     * Renders all collected metrics as human readable text.
+     *
+     * @return the collected metrics, one block per presenter.
+     */
+    @NonNull
+    public synchronized String dump() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<String, PresenterStats> entry : mStats.entrySet()) {
+            final PresenterStats stats = entry.getValue();
+            builder.append(entry.getKey()).append('\n');
+            builder.append(String.format(Locale.US, "  events: %d, notifications: %d, sdk calls: %d (max %d/tick)%n",
+                    stats.getEventCount(), stats.getNotificationCount(), stats.getSdkCallCount(),
+                    stats.getMaxSdkCallsPerTick()));
+            for (final Map.Entry<Event, LatencyHistogram> handler : stats.mHandlerLatency.entrySet()) {
+                builder.append("  ").append(handler.getKey()).append(": ")
+                        .append(handler.getValue()).append('\n');
+            }
+            if (stats.getNotificationCount() > 0) {
+                builder.append("  fan-out: ").append(stats.getFanOutLatency()).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    private PresenterStats getOrCreateStats(String presenter) {
+        PresenterStats stats = mStats.get(presenter);
+        if (stats == null) {
+            stats = new PresenterStats();
+            mStats.put(presenter, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Metrics collected for a single presenter.
+     */
+    public static final class PresenterStats {
+
+        private final Map<Event, LatencyHistogram> mHandlerLatency = new EnumMap<>(Event.class);
+        private final LatencyHistogram mFanOutLatency = new LatencyHistogram();
+        private long mEventCount;
+        private long mNotificationCount;
+        private long mSdkCallCount;
+        private int mMaxSdkCallsPerTick;
+
+        PresenterStats() {
+        }
+
+        void onEventHandled(Event event, long durationNanos, int sdkCalls) {
+            LatencyHistogram histogram = mHandlerLatency.get(event);
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                mHandlerLatency.put(event, histogram);
+            }
+            histogram.record(durationNanos);
+            mEventCount++;
+            mSdkCallCount += sdkCalls;
+            mMaxSdkCallsPerTick = Math.max(mMaxSdkCallsPerTick, sdkCalls);
+        }
+
+        void onNotificationEmitted(int listenerCount, long durationNanos) {
+            mNotificationCount++;
+            mFanOutLatency.record(durationNanos);
+        }
+
+        /**
+         * Gets the handler latency histogram for an event.
+         *
+         * @param event
+         *         the event.
+         *
+         * @return the histogram or null if the event was never handled.
+         */
+        @Nullable
+        public LatencyHistogram getHandlerLatency(Event event) {
+            return mHandlerLatency.get(event);
+        }
+
+        /**
+         * Gets the histogram of time spent notifying listeners.
+         *
+         * @return the fan-out latency histogram.
+         */
+        @NonNull
+        public LatencyHistogram getFanOutLatency() {
+            return mFanOutLatency;
+        }
+
+        /**
+         * Gets the number of received events.
+         *
+         * @return number of received events.
+         */
+        public long getEventCount() {
+            return mEventCount;
+        }
+
+        /**
+         * Gets the number of emitted notifications.
+         *
+         * @return number of emitted notifications.
+         */
+        public long getNotificationCount() {
+            return mNotificationCount;
+        }
+
+        /**
+         * Gets the total number of SDK calls issued while handling events.
+         *
+         * @return number of SDK calls.
+         */
+        public long getSdkCallCount() {
+            return mSdkCallCount;
+        }
+
+        /**
+         * Gets the highest number of SDK calls issued while handling a single event.
+         *
+         * @return maximum number of SDK calls per event.
+         */
+        public int getMaxSdkCallsPerTick() {
+            return mMaxSdkCallsPerTick;
+        }
+    }
+
+    /**
+     * A latency histogram with power-of-two microsecond buckets.
+     * <p>Bucket {@code i} holds samples below {@code 2^i} microseconds, the last bucket holds
+     * everything above.</p>
+     */
+    public static final class LatencyHistogram {
+
+        private static final int BUCKET_COUNT = 24;
+        private static final long NANOS_PER_MICRO = 1000L;
+
+        private final long[] mBuckets = new long[BUCKET_COUNT];
+        private long mCount;
+        private long mTotalNanos;
+        private long mMaxNanos;
+
+        LatencyHistogram() {
+        }
+
+        void record(long durationNanos) {
+            final long micros = Math.max(0, durationNanos) / NANOS_PER_MICRO;
+            final int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+            mBuckets[bucket]++;
+            mCount++;
+            mTotalNanos += durationNanos;
+            mMaxNanos = Math.max(mMaxNanos, durationNanos);
+        }
+
+        /**
+         * Gets the number of recorded samples.
+         *
+         * @return number of samples.
+         */
+        public long getCount() {
+            return mCount;
+        }
+
+        /**
+         * Gets the mean of all recorded samples.
+         *
+         * @return mean duration in nanoseconds or 0 if there are no samples.
+         */
+        public long getMeanNanos() {
+            return mCount == 0 ? 0 : mTotalNanos / mCount;
+        }
+
+        /**
+         * Gets the longest recorded sample.
+         *
+         * @return maximum duration in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return mMaxNanos;
+        }
+
+        /**
+         * Gets an upper bound of the given percentile.
+         *
+         * @param percentile
+         *         the percentile in range [0, 100].
+         *
+         * @return upper bound of the bucket containing the percentile, in nanoseconds.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (mCount == 0) {
+                return 0;
+            }
+            final long rank = (long) Math.ceil(mCount * Math.min(100, Math.max(0, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+                seen += mBuckets[i];
+                if (seen >= rank) {
+                    return Math.min(mMaxNanos, (1L << i) * NANOS_PER_MICRO);
+                }
+            }
+            return mMaxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "n=%d mean=%dus p50<=%dus p99<=%dus max=%dus", mCount,
+                    getMeanNanos() / NANOS_PER_MICRO, getPercentileNanos(50) / NANOS_PER_MICRO,
+                    getPercentileNanos(99) / NANOS_PER_MICRO, mMaxNanos / NANOS_PER_MICRO);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import android.os.Build;
+import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 import android.util.AttributeSet;
 
@@ -37,6 +38,11 @@ import java.util.Map;
  */
 public class HazardousMaterialsOptionsPanel extends OptionsPanel implements OptionItem.OnChangedListener {
 
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the shipped hazardous goods changed.
+     */
+    public static final String FIELD_HAZARDOUS_GOODS = "truckShippedHazardousGoods";
+
     private Map<RouteOptions.HazardousGoodType, String> mResourceKey;
     private RouteOptions mRouteOptions;
     private OptionItem mSubItems;
@@ -153,12 +159,17 @@ public class HazardousMaterialsOptionsPanel extends OptionsPanel implements Opti
         mRouteOptions = routeOptions;
         final EnumSet<RouteOptions.HazardousGoodType> materialsOptions = mRouteOptions.getTruckShippedHazardousGoods();
         select(materialsOptions);
+        resetChanges();
     }
 
     private void populateRouteOptions() {
         if (mRouteOptions == null) {
             return;
         }
+        mRouteOptions.setTruckShippedHazardousGoods(getSelectedGoodTypes());
+    }
+
+    private EnumSet<RouteOptions.HazardousGoodType> getSelectedGoodTypes() {
         final EnumSet<RouteOptions.HazardousGoodType> hazardousGoodTypes = EnumSet.noneOf(RouteOptions.HazardousGoodType.class);
         final List<String> labelIds = ((MultipleChoiceOptionItem) mSubItems).getSelectedLabels();
         for (final Map.Entry<RouteOptions.HazardousGoodType, String> entry : mResourceKey.entrySet()) {
@@ -166,7 +177,14 @@ public class HazardousMaterialsOptionsPanel extends OptionsPanel implements Opti
                 hazardousGoodTypes.add(entry.getKey());
             }
         }
-        mRouteOptions.setTruckShippedHazardousGoods(hazardousGoodTypes);
+        return hazardousGoodTypes;
+    }
+
+    @Override
+    protected void captureState(@NonNull final Map<String, Object> state) {
+        if (mSubItems != null) {
+            state.put(FIELD_HAZARDOUS_GOODS, getSelectedGoodTypes());
+        }
     }
 
     @Override
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared {@link RecyclerView.RecycledViewPool}s and pre-inflated rows for the list widgets of this package.
+ *
+ * <p>Using this class is optional. Create one instance per screen, e.g. per {@code Activity}, and pass it
+ * to {@link ManeuverList#setViewPools(ListViewPools)}, {@link RouteDescriptionList#setViewPools(ListViewPools)}
+ * and {@link WaypointList#setViewPools(ListViewPools)}. All lists showing the same {@link RowType} then share
+ * one pool of recycled rows.</p>
+ *
+ * <p>Call {@link #warmUp(RowType, int)} ahead of time, e.g. while a route is being calculated, to inflate
+ * rows on a background thread. The first layout of a list then binds into already inflated rows instead
+ * of inflating them on the main thread. Rows created by adapters overriding {@code getRowView()} are
+ * not pre-inflated.</p>
+ *
+ * <p>Except {@link #warmUp(RowType, int)}, all methods must be called on the main thread. Call {@link #clear()}
+ * when the screen is destroyed to release the rows.</p>
+ */
+public final class ListViewPools {
+
+    private static final String LOG_TAG = ListViewPools.class.getSimpleName();
+
+    private static final ExecutorService INFLATION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "MSDKUI-RowInflater");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final Context mContext;
+    private final Executor mBackgroundExecutor;
+    private final Executor mMainExecutor;
+    private final EnumMap<RowType, RecyclerView.RecycledViewPool> mPools = new EnumMap<>(RowType.class);
+    private final EnumMap<RowType, ArrayDeque<View>> mInflatedRows = new EnumMap<>(RowType.class);
+    private int mGeneration;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param context
+     *         the context used to inflate rows. It must be the context of the lists using this instance,
+     *         otherwise pre-inflated rows are not used.
+     */
+    public ListViewPools(final Context context) {
+        this(context, INFLATION_EXECUTOR, new Handler(Looper.getMainLooper())::post);
+    }
+
+    ListViewPools(final Context context, final Executor backgroundExecutor, final Executor mainExecutor) {
+        mContext = context;
+        mBackgroundExecutor = backgroundExecutor;
+        mMainExecutor = mainExecutor;
+    }
+
+    /**
+     * Gets the shared pool for a row type.
+     *
+     * @param rowType
+     *         the type of rows.
+     *
+     * @return the shared {@link RecyclerView.RecycledViewPool}.
+     */
+    public RecyclerView.RecycledViewPool getRecycledViewPool(final RowType rowType) {
+        RecyclerView.RecycledViewPool pool = mPools.get(rowType);
+        if (pool == null) {
+            pool = new RecyclerView.RecycledViewPool();
+            pool.setMaxRecycledViews(0, rowType.getMaxRows());
+            mPools.put(rowType, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Inflates rows on a background thread. Rows that are not used by a list yet are kept until
+     * {@link #clear()} is called. The number of kept rows per type is limited by {@link RowType#getMaxRows()}.
+     *
+     * @param rowType
+     *         the type of rows to inflate.
+     *
+     * @param count
+     *         the number of rows to inflate.
+     */
+    public void warmUp(final RowType rowType, final int count) {
+        final int generation = mGeneration;
+        final int rows = Math.min(count, rowType.getMaxRows());
+        mBackgroundExecutor.execute(() -> {
+            for (int i = 0; i < rows; i++) {
+                final View view;
+                try {
+                    view = rowType.createRow(mContext);
+                } catch (RuntimeException e) {
+                    // Some views can't be created off the main thread, they will be inflated on demand instead.
+                    Log.w(LOG_TAG, "Pre-inflation of " + rowType + " rows failed", e);
+                    return;
+                }
+                mMainExecutor.execute(() -> addInflatedRow(rowType, view, generation));
+            }
+        });
+    }
+
+    /**
+     * Gets the number of pre-inflated rows, which are not used by a list yet.
+     *
+     * @param rowType
+     *         the type of rows.
+     *
+     * @return the number of available rows.
+     */
+    public int getInflatedRowCount(final RowType rowType) {
+        final ArrayDeque<View> rows = mInflatedRows.get(rowType);
+        return rows == null ? 0 : rows.size();
+    }
+
+    /**
+     * Releases all pre-inflated and recycled rows.
+     */
+    public void clear() {
+        mGeneration++;
+        mInflatedRows.clear();
+        for (final RecyclerView.RecycledViewPool pool : mPools.values()) {
+            pool.clear();
+        }
+    }
+
+    /**
+     * Takes a pre-inflated row.
+     *
+     * @return the row or null if there is no row for the given context.
+     */
+    @Nullable
+    View obtain(final Context context, final RowType rowType) {
+        if (context != mContext) {
+            return null;
+        }
+        final ArrayDeque<View> rows = mInflatedRows.get(rowType);
+        return rows == null ? null : rows.poll();
+    }
+
+    private void addInflatedRow(final RowType rowType, final View view, final int generation) {
+        if (generation != mGeneration) {
+            return;
+        }
+        ArrayDeque<View> rows = mInflatedRows.get(rowType);
+        if (rows == null) {
+            rows = new ArrayDeque<>();
+            mInflatedRows.put(rowType, rows);
+        }
+        if (rows.size() < rowType.getMaxRows()) {
+            rows.add(view);
+        }
+    }
+
+    /**
+     * The types of rows.
+     */
+    public enum RowType {
+
+        /**
+         * Rows of a {@link ManeuverList}.
+         */
+        MANEUVER(16),
+
+        /**
+         * Rows of a {@link RouteDescriptionList}.
+         */
+        ROUTE_DESCRIPTION(8),
+
+        /**
+         * Rows of a {@link WaypointList}.
+         */
+        WAYPOINT(8);
+
+        private final int mMaxRows;
+
+        RowType(final int maxRows) {
+            mMaxRows = maxRows;
+        }
+
+        /**
+         * Gets the maximum number of rows kept in a pool of this type.
+         * @return the maximum number of rows.
+         */
+        public int getMaxRows() {
+            return mMaxRows;
+        }
+
+        View createRow(final Context context) {
+            switch (this) {
+                case MANEUVER:
+                    return ManeuverListAdapter.createDefaultRowView(context);
+                case ROUTE_DESCRIPTION:
+                    return RouteDescriptionListAdapter.createDefaultRowView(context);
+                case WAYPOINT:
+                default:
+                    return WaypointListAdapter.createDefaultRowView(context);
+            }
+        }
+    }
+}
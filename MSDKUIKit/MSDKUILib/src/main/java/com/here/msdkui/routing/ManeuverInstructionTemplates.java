@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.content.Context;
+
+import androidx.core.os.ConfigurationCompat;
+
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Maneuver.Icon;
+import com.here.android.mpa.routing.Maneuver.Turn;
+import com.here.msdkui.R;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Localized maneuver instruction strings, resolved once per locale.
+ * <p>All strings used by {@link ManeuverResources} are looked up when the table is compiled and
+ * format strings are split into literal segments, so producing an instruction needs no resource
+ * lookup. The table is compiled again when the locale of the application changes.</p>
+ */
+final class ManeuverInstructionTemplates {
+
+    private static final Map<Maneuver.Action, Integer> ACTION_RESOURCES = new EnumMap<>(Maneuver.Action.class);
+    private static final Map<Turn, Integer> TURN_RESOURCES = new EnumMap<>(Turn.class);
+    private static final int[] ORIENTATION_RESOURCES = {
+            R.string.msdkui_maneuver_orientation_north, R.string.msdkui_maneuver_orientation_north_east,
+            R.string.msdkui_maneuver_orientation_east, R.string.msdkui_maneuver_orientation_south_east,
+            R.string.msdkui_maneuver_orientation_south, R.string.msdkui_maneuver_orientation_south_west,
+            R.string.msdkui_maneuver_orientation_west, R.string.msdkui_maneuver_orientation_north_west};
+
+    static {
+        // Actions
+        ACTION_RESOURCES.put(Maneuver.Action.END, R.string.msdkui_maneuver_arrive_at_02y);
+        ACTION_RESOURCES.put(Maneuver.Action.ENTER_HIGHWAY, R.string.msdkui_maneuver_enter_highway);
+        ACTION_RESOURCES.put(Maneuver.Action.ENTER_HIGHWAY_FROM_LEFT, R.string.msdkui_maneuver_turn_keep_right);
+        ACTION_RESOURCES.put(Maneuver.Action.ENTER_HIGHWAY_FROM_RIGHT, R.string.msdkui_maneuver_turn_keep_left);
+        ACTION_RESOURCES.put(Maneuver.Action.LEAVE_HIGHWAY, R.string.msdkui_maneuver_leave_highway);
+        ACTION_RESOURCES.put(Maneuver.Action.UTURN, R.string.msdkui_maneuver_uturn);
+
+        // Turns
+        TURN_RESOURCES.put(Turn.HEAVY_LEFT, R.string.msdkui_maneuver_turn_sharply_left);
+        TURN_RESOURCES.put(Turn.HEAVY_RIGHT, R.string.msdkui_maneuver_turn_sharply_right);
+        TURN_RESOURCES.put(Turn.KEEP_LEFT, R.string.msdkui_maneuver_turn_keep_left);
+        TURN_RESOURCES.put(Turn.KEEP_MIDDLE, R.string.msdkui_maneuver_turn_keep_middle);
+        TURN_RESOURCES.put(Turn.KEEP_RIGHT, R.string.msdkui_maneuver_turn_keep_right);
+        TURN_RESOURCES.put(Turn.LIGHT_LEFT, R.string.msdkui_maneuver_turn_slightly_left);
+        TURN_RESOURCES.put(Turn.LIGHT_RIGHT, R.string.msdkui_maneuver_turn_slightly_right);
+        TURN_RESOURCES.put(Turn.QUITE_LEFT, R.string.msdkui_maneuver_turn_left);
+        TURN_RESOURCES.put(Turn.QUITE_RIGHT, R.string.msdkui_maneuver_turn_right);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_1, R.string.msdkui_maneuver_turn_roundabout_exit_1);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_2, R.string.msdkui_maneuver_turn_roundabout_exit_2);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_3, R.string.msdkui_maneuver_turn_roundabout_exit_3);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_4, R.string.msdkui_maneuver_turn_roundabout_exit_4);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_5, R.string.msdkui_maneuver_turn_roundabout_exit_5);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_6, R.string.msdkui_maneuver_turn_roundabout_exit_6);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_7, R.string.msdkui_maneuver_turn_roundabout_exit_7);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_8, R.string.msdkui_maneuver_turn_roundabout_exit_8);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_9, R.string.msdkui_maneuver_turn_roundabout_exit_9);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_10, R.string.msdkui_maneuver_turn_roundabout_exit_10);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_11, R.string.msdkui_maneuver_turn_roundabout_exit_11);
+        TURN_RESOURCES.put(Turn.ROUNDABOUT_12, R.string.msdkui_maneuver_turn_roundabout_exit_12);
+    }
+
+    private static volatile ManeuverInstructionTemplates sTemplates;
+
+    private final Locale mLocale;
+    private final String mPackageName;
+    private final Map<Maneuver.Action, String> mActionInstructions = new EnumMap<>(Maneuver.Action.class);
+    private final Map<Turn, String> mTurnInstructions = new EnumMap<>(Turn.class);
+    private final Map<Icon, Integer> mIconIds = new EnumMap<>(Icon.class);
+    private final String[] mHeadToInstructions = new String[ORIENTATION_RESOURCES.length];
+    private final String mContinue;
+    private final String mEnterFerry;
+    private final String mEnterCarShuttleTrain;
+    private final String mArrived;
+    private final Template mHeadTo;
+    private final Template mExitDirectionsTowards;
+    private final Template mRoadNameDivider;
+
+    private ManeuverInstructionTemplates(Context context, Locale locale) {
+        mLocale = locale;
+        mPackageName = context.getPackageName();
+        for (final Map.Entry<Maneuver.Action, Integer> entry : ACTION_RESOURCES.entrySet()) {
+            mActionInstructions.put(entry.getKey(), context.getString(entry.getValue()));
+        }
+        for (final Map.Entry<Turn, Integer> entry : TURN_RESOURCES.entrySet()) {
+            mTurnInstructions.put(entry.getKey(), context.getString(entry.getValue()));
+        }
+        for (final Icon icon : Icon.values()) {
+            if (icon != Icon.PASS_STATION) {
+                mIconIds.put(icon, context.getResources()
+                        .getIdentifier("ic_maneuver_icon_" + icon.ordinal(), "drawable", mPackageName));
+            }
+        }
+        mContinue = context.getString(R.string.msdkui_maneuver_continue);
+        mEnterFerry = context.getString(R.string.msdkui_maneuver_enter_ferry);
+        mEnterCarShuttleTrain = context.getString(R.string.msdkui_maneuver_enter_car_shuttle_train);
+        mArrived = context.getString(R.string.msdkui_maneuver_end);
+        mHeadTo = new Template(context.getString(R.string.msdkui_maneuver_head_to), locale);
+        mExitDirectionsTowards = new Template(context.getString(R.string.msdkui_maneuver_exit_directions_towards),
+                locale);
+        mRoadNameDivider = new Template(context.getString(R.string.msdkui_maneuver_road_name_divider), locale);
+        for (int i = 0; i < ORIENTATION_RESOURCES.length; i++) {
+            mHeadToInstructions[i] = mHeadTo.apply(context.getString(ORIENTATION_RESOURCES[i]), null);
+        }
+    }
+
+    /**
+     * Gets the templates for the current locale of the given context, compiling them if needed.
+     */
+    static ManeuverInstructionTemplates get(Context context) {
+        final Locale locale = ConfigurationCompat.getLocales(context.getResources().getConfiguration()).get(0);
+        ManeuverInstructionTemplates templates = sTemplates;
+        if (templates == null || !templates.mLocale.equals(locale)
+                || !templates.mPackageName.equals(context.getPackageName())) {
+            templates = new ManeuverInstructionTemplates(context, locale);
+            sTemplates = templates;
+        }
+        return templates;
+    }
+
+    /**
+     * Gets the instruction for an action or null if the action is not mapped.
+     */
+    String getActionInstruction(Maneuver.Action action) {
+        return mActionInstructions.get(action);
+    }
+
+    /**
+     * Gets the instruction for a turn or null if the turn is not mapped.
+     */
+    String getTurnInstruction(Turn turn) {
+        return mTurnInstructions.get(turn);
+    }
+
+    /**
+     * Gets the drawable id for a maneuver icon or 0 if there is none.
+     */
+    int getIconId(Icon icon) {
+        final Integer id = icon == null ? null : mIconIds.get(icon);
+        return id == null ? 0 : id;
+    }
+
+    String getContinueInstruction() {
+        return mContinue;
+    }
+
+    String getFerryInstruction(boolean carShuttleTrain) {
+        return carShuttleTrain ? mEnterCarShuttleTrain : mEnterFerry;
+    }
+
+    String getArrivedInstruction() {
+        return mArrived;
+    }
+
+    /**
+     * Gets the 'head to orientation' instruction for an angle in degrees.
+     */
+    String getHeadToInstruction(int angleInDegrees) {
+        final int index = ((angleInDegrees + 45 / 2) % 360) / 45;
+        // Normally, this should never happen.
+        if (index < 0 || index >= mHeadToInstructions.length) {
+            return mHeadTo.apply(String.valueOf(angleInDegrees), null);
+        }
+        return mHeadToInstructions[index];
+    }
+
+    String formatExitDirectionsTowards(String road, String exitDirections) {
+        return mExitDirectionsTowards.apply(road, exitDirections);
+    }
+
+    String formatRoadNameDivider(String first, String second) {
+        return mRoadNameDivider.apply(first, second);
+    }
+
+    /**
+     * A format string with up to two string arguments, split into literal segments.
+     * Format strings using other conversions than {@code %s}, {@code %n$s} and {@code %%} are
+     * formatted with {@link String#format(Locale, String, Object...)}.
+     */
+    static final class Template {
+
+        private static final int MAX_ARGUMENTS = 2;
+
+        private final String mPattern;
+        private final Locale mLocale;
+        private final String[] mSegments;
+        private final int[] mArguments;
+        private final int mLength;
+
+        Template(String pattern, Locale locale) {
+            mPattern = pattern;
+            mLocale = locale;
+            final List<String> segments = new ArrayList<>();
+            final List<Integer> arguments = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+            int nextArgument = 0;
+            boolean supported = true;
+            int i = 0;
+            while (supported && i < pattern.length()) {
+                final char c = pattern.charAt(i);
+                if (c != '%') {
+                    literal.append(c);
+                    i++;
+                    continue;
+                }
+                int end = i + 1;
+                while (end < pattern.length() && Character.isDigit(pattern.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1 && end < pattern.length() && pattern.charAt(end) == '%') {
+                    literal.append('%');
+                    i = end + 1;
+                } else if (end == i + 1 && end < pattern.length() && pattern.charAt(end) == 's') {
+                    segments.add(literal.toString());
+                    literal.setLength(0);
+                    arguments.add(nextArgument++);
+                    i = end + 1;
+                } else if (end > i + 1 && end + 1 < pattern.length() && pattern.charAt(end) == '$'
+                        && pattern.charAt(end + 1) == 's') {
+                    segments.add(literal.toString());
+                    literal.setLength(0);
+                    arguments.add(Integer.parseInt(pattern.substring(i + 1, end)) - 1);
+                    i = end + 2;
+                } else {
+                    supported = false;
+                }
+            }
+            for (final int argument : arguments) {
+                supported &= argument >= 0 && argument < MAX_ARGUMENTS;
+            }
+            if (supported) {
+                segments.add(literal.toString());
+                mSegments = segments.toArray(new String[0]);
+                mArguments = new int[arguments.size()];
+                int length = 0;
+                for (int j = 0; j < mArguments.length; j++) {
+                    mArguments[j] = arguments.get(j);
+                }
+                for (final String segment : mSegments) {
+                    length += segment.length();
+                }
+                mLength = length;
+            } else {
+                mSegments = null;
+                mArguments = null;
+                mLength = 0;
+            }
+        }
+
+        /**
+         * Formats the template with the given arguments.
+         */
+        String apply(String first, String second) {
+            if (mSegments == null) {
+                return String.format(mLocale, mPattern, first, second);
+            }
+            final String firstText = String.valueOf(first);
+            final String secondText = String.valueOf(second);
+            final StringBuilder builder = new StringBuilder(mLength + firstText.length() + secondText.length());
+            builder.append(mSegments[0]);
+            for (int i = 0; i < mArguments.length; i++) {
+                builder.append(mArguments[i] == 0 ? firstText : secondText).append(mSegments[i + 1]);
+            }
+            return builder.toString();
+        }
+    }
+}
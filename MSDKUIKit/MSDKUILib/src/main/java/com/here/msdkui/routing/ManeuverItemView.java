@@ -19,7 +19,10 @@ package com.here.msdkui.routing;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.os.Build;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -31,6 +34,7 @@ import com.here.msdkui.R;
 import com.here.msdkui.common.BaseView;
 import com.here.msdkui.common.DistanceFormatterUtil;
 import com.here.msdkui.common.ThemeUtil;
+import com.here.msdkui.common.measurements.UnitSystem;
 
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -47,6 +51,8 @@ public class ManeuverItemView extends BaseView {
     private final EnumMap<ManeuverItemView.Section, View> mSections = new EnumMap<>(
             ManeuverItemView.Section.class);
     private Maneuver mManeuver;
+    private RouteSnapshot mSnapshot;
+    private int mSnapshotIndex;
 
     /**
      * Constructs a new instance.
@@ -255,6 +261,23 @@ public class ManeuverItemView extends BaseView {
      * @throws IllegalArgumentException if pos is out of range.
      */
     public void setManeuver(final List<Maneuver> maneuvers, final int pos) {
+        setManeuver(maneuvers, pos, null);
+    }
+
+    /**
+     * Sets the {@link Maneuver} to be shown in this item using texts created ahead of time with
+     * {@link #createRowText(Context, List, int, UnitSystem, Map)}. The row text is ignored if it was created
+     * for another maneuver or unit system.
+     *
+     * @param maneuvers
+     *         a list of {@link Maneuver Maneuver} elements that describe the instructions for a route.
+     * @param pos
+     *         the index of the maneuver element from the given list that should be shown in this item.
+     * @param rowText
+     *         the texts of this item or null to create them now.
+     * @throws IllegalArgumentException if pos is out of range.
+     */
+    public void setManeuver(final List<Maneuver> maneuvers, final int pos, @Nullable final RowText rowText) {
         if (maneuvers == null) {
             throw new IllegalArgumentException(
                     getContext().getString(R.string.msdkui_exception_maneuvres_null));
@@ -265,35 +288,185 @@ public class ManeuverItemView extends BaseView {
                     getContext().getString(R.string.msdkui_exception_maneuver_pos_invalid));
         }
 
-        final ManeuverResources maneuverResources = new ManeuverResources(getContext(), maneuvers);
         mManeuver = maneuvers.get(pos);
+        mSnapshot = null;
+        final RowText text = rowText != null && rowText.mManeuver == mManeuver && rowText.mUnitSystem == mUnitSystem
+                ? rowText : createRowText(getContext(), maneuvers, pos, mUnitSystem, null);
+        bind(text.mIconId, text.mInstruction, text.mAddress, text.mDistance);
+    }
+
+    /**
+     * Sets the maneuver to be shown in this item from a {@link RouteSnapshot}. {@link #getManeuver()} returns
+     * null for such items.
+     *
+     * @param snapshot
+     *         the snapshot of the route.
+     * @param pos
+     *         the index of the maneuver in the snapshot.
+     * @throws IllegalArgumentException if pos is out of range.
+     */
+    public void setManeuver(final RouteSnapshot snapshot, final int pos) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException(
+                    getContext().getString(R.string.msdkui_exception_maneuvres_null));
+        }
 
+        if (pos < 0 || pos >= snapshot.getManeuverCount()) {
+            throw new IllegalArgumentException(
+                    getContext().getString(R.string.msdkui_exception_maneuver_pos_invalid));
+        }
+
+        mManeuver = null;
+        mSnapshot = snapshot;
+        mSnapshotIndex = pos;
+        bind(snapshot.getManeuverIconId(pos), snapshot.getManeuverInstruction(pos), snapshot.getRoadToDisplay(pos),
+                formatDistance(snapshot.getDistanceFromNext(pos)));
+    }
+
+    /**
+     * Checks whether this item shows the maneuver of a {@link RouteSnapshot}.
+     */
+    boolean isShowing(final RouteSnapshot snapshot, final int pos) {
+        return mSnapshot == snapshot && mSnapshotIndex == pos;
+    }
+
+    private void bind(final int iconId, final CharSequence instruction, final CharSequence address,
+            @Nullable final CharSequence distance) {
         final ImageView icon = (ImageView) mSections.get(Section.ICON);
-        final int id = maneuverResources.getManeuverIconId(pos);
-        if (id == 0) {
+        if (iconId == 0) {
             icon.setVisibility(View.GONE);
         } else {
-            icon.setImageResource(id);
+            icon.setImageResource(iconId);
         }
-        icon.setTag(id);
+        icon.setTag(iconId);
 
-        final TextView instructionView = (TextView) mSections.get(Section.INSTRUCTIONS);
-        instructionView.setText(maneuverResources.getManeuverInstruction(pos));
+        PrecomputedTexts.setText((TextView) mSections.get(Section.INSTRUCTIONS), instruction);
+        PrecomputedTexts.setText((TextView) mSections.get(Section.ADDRESS), address);
 
-        final TextView addressView = (TextView) mSections.get(Section.ADDRESS);
-        addressView.setText(maneuverResources.getRoadToDisplay(pos));
+        setDistance(distance);
 
+        if (getVisibility() == INVISIBLE) {
+            setVisibility(View.VISIBLE);
+        }
+    }
+
+    /**
+     * Updates only the distance of the shown maneuver, e.g. after the unit system changed.
+     *
+     * @param maneuvers
+     *         the list of {@link Maneuver Maneuver} elements the shown maneuver was taken from.
+     * @param pos
+     *         the index of the shown maneuver.
+     */
+    void updateDistance(final List<Maneuver> maneuvers, final int pos) {
+        setDistance(formatDistance(new ManeuverResources(getContext(), maneuvers).getDistanceFromNext(pos)));
+    }
+
+    /**
+     * Updates only the distance of the shown maneuver of a {@link RouteSnapshot}.
+     *
+     * @param snapshot
+     *         the snapshot the shown maneuver was taken from.
+     * @param pos
+     *         the index of the shown maneuver.
+     */
+    void updateDistance(final RouteSnapshot snapshot, final int pos) {
+        setDistance(formatDistance(snapshot.getDistanceFromNext(pos)));
+    }
+
+    @Nullable
+    private CharSequence formatDistance(final int distance) {
+        return distance == 0 ? null : DistanceFormatterUtil.format(getContext(), distance, mUnitSystem);
+    }
+
+    private void setDistance(@Nullable final CharSequence distance) {
         final TextView distanceView = (TextView) mSections.get(Section.DISTANCE);
-        final int distance = maneuverResources.getDistanceFromNext(pos);
-        if (distance == 0) {
+        if (distance == null) {
             distanceView.setVisibility(GONE);
         } else {
             distanceView.setVisibility(VISIBLE);
-            distanceView.setText(DistanceFormatterUtil.format(getContext(), distance, mUnitSystem));
+            PrecomputedTexts.setText(distanceView, distance);
         }
+    }
 
-        if (getVisibility() == INVISIBLE) {
-            setVisibility(View.VISIBLE);
+    /**
+     * Gets the parameters to measure the texts of this item with {@link #createRowText(Context, List, int,
+     * UnitSystem, Map)}.
+     *
+     * @return the text metrics parameters of the {@link Section#INSTRUCTIONS}, {@link Section#ADDRESS} and
+     *         {@link Section#DISTANCE} sections.
+     */
+    public Map<Section, PrecomputedTextCompat.Params> getTextMetricsParams() {
+        final EnumMap<Section, PrecomputedTextCompat.Params> params = new EnumMap<>(Section.class);
+        for (final Section section : EnumSet.of(Section.INSTRUCTIONS, Section.ADDRESS, Section.DISTANCE)) {
+            params.put(section, TextViewCompat.getTextMetricsParams((TextView) mSections.get(section)));
+        }
+        return params;
+    }
+
+    /**
+     * Creates the texts of an item. This can be done on a background thread, e.g. while the list is
+     * scrolled, so binding the item only needs to set the prepared texts.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param maneuvers
+     *         a list of {@link Maneuver Maneuver} elements that describe the instructions for a route.
+     * @param pos
+     *         the index of the maneuver element.
+     * @param unitSystem
+     *         the unit system of the distance.
+     * @param params
+     *         the parameters to measure the texts with, see {@link #getTextMetricsParams()}, or null to
+     *         create plain texts.
+     * @return the texts of the item.
+     */
+    public static RowText createRowText(final Context context, final List<Maneuver> maneuvers, final int pos,
+            final UnitSystem unitSystem, @Nullable final Map<Section, PrecomputedTextCompat.Params> params) {
+        final ManeuverResources maneuverResources = new ManeuverResources(context, maneuvers);
+        final int distance = maneuverResources.getDistanceFromNext(pos);
+        return new RowText(maneuvers.get(pos), unitSystem, maneuverResources.getManeuverIconId(pos),
+                PrecomputedTexts.create(maneuverResources.getManeuverInstruction(pos),
+                        params == null ? null : params.get(Section.INSTRUCTIONS)),
+                PrecomputedTexts.create(maneuverResources.getRoadToDisplay(pos),
+                        params == null ? null : params.get(Section.ADDRESS)),
+                distance == 0 ? null : PrecomputedTexts.create(
+                        DistanceFormatterUtil.format(context, distance, unitSystem),
+                        params == null ? null : params.get(Section.DISTANCE)));
+    }
+
+    /**
+     * The texts of a {@link ManeuverItemView}, see {@link #createRowText(Context, List, int, UnitSystem, Map)}.
+     */
+    public static final class RowText {
+
+        private final Maneuver mManeuver;
+        private final UnitSystem mUnitSystem;
+        private final int mIconId;
+        private final CharSequence mInstruction;
+        private final CharSequence mAddress;
+        private final CharSequence mDistance;
+
+        RowText(final Maneuver maneuver, final UnitSystem unitSystem, final int iconId,
+                final CharSequence instruction, final CharSequence address, final CharSequence distance) {
+            mManeuver = maneuver;
+            mUnitSystem = unitSystem;
+            mIconId = iconId;
+            mInstruction = instruction;
+            mAddress = address;
+            mDistance = distance;
+        }
+
+        /**
+         * Gets the maneuver of this row.
+         * @return the maneuver.
+         */
+        public Maneuver getManeuver() {
+            return mManeuver;
+        }
+
+        CharSequence getInstruction() {
+            return mInstruction;
         }
     }
 
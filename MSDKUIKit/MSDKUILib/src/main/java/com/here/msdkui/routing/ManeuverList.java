@@ -18,6 +18,7 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import android.util.AttributeSet;
+import androidx.annotation.Nullable;
 
 import com.here.android.mpa.routing.Maneuver;
 import com.here.android.mpa.routing.Route;
@@ -96,6 +97,17 @@ public class ManeuverList extends CustomRecyclerView {
         return mAdapter.getUnitSystem();
     }
 
+    /**
+     * Sets the {@link ListViewPools} used to share recycled rows with other lists and to use pre-inflated rows.
+     *
+     * @param viewPools
+     *         the pools to use or null to use a pool owned by this list.
+     */
+    public void setViewPools(@Nullable final ListViewPools viewPools) {
+        setRecycledViewPool(viewPools == null ? null : viewPools.getRecycledViewPool(ListViewPools.RowType.MANEUVER));
+        mAdapter.setViewPools(viewPools);
+    }
+
     private void init() {
         mAdapter = new ManeuverListAdapter(mManeuverList);
         setAdapter(mAdapter);
@@ -130,6 +142,33 @@ public class ManeuverList extends CustomRecyclerView {
         }
         mManeuverList.clear();
         mManeuverList.addAll(maneuvers);
-        mAdapter.notifyDataSetChanged();
+        // Also notifies the adapter about the new maneuvers.
+        mAdapter.setRouteSnapshot(null);
+    }
+
+    /**
+     * Gets the {@link RouteSnapshot} shown by this list.
+     *
+     * @return the snapshot or null if a {@link Route} is shown.
+     */
+    @Nullable
+    public RouteSnapshot getRouteSnapshot() {
+        return mAdapter.getRouteSnapshot();
+    }
+
+    /**
+     * Shows the maneuvers of a {@link RouteSnapshot} instead of a {@link Route}. The list keeps no reference to
+     * the route or its maneuvers, so they can be released while the list is shown.
+     *
+     * @param snapshot the snapshot to show, replacing the current route or snapshot.
+     * @throws IllegalArgumentException if snapshot is null.
+     */
+    public void setRouteSnapshot(final RouteSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException(getContext().getString(R.string.msdkui_exception_route_null));
+        }
+        mRoute = null;
+        mManeuverList.clear();
+        mAdapter.setRouteSnapshot(snapshot);
     }
 }
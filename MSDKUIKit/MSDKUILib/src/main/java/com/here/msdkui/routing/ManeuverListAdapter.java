@@ -17,6 +17,8 @@
 package com.here.msdkui.routing;
 
 import android.content.Context;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.View;
 import android.view.ViewGroup;
@@ -25,7 +27,10 @@ import com.here.android.mpa.routing.Maneuver;
 import com.here.msdkui.R;
 import com.here.msdkui.common.measurements.UnitSystem;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link androidx.recyclerview.widget.RecyclerView.Adapter} to bind a view item of the list to a
@@ -34,7 +39,12 @@ import java.util.List;
 public class ManeuverListAdapter extends RecyclerView.Adapter<ManeuverListAdapter.ViewHolder> {
 
     private final List<Maneuver> mManeuverList;
+    private RouteSnapshot mSnapshot;
     private UnitSystem mUnitSystem = UnitSystem.METRIC;
+    private ListViewPools mViewPools;
+    private final PrecomputedTexts.Loader<ManeuverItemView.RowText> mRowTexts = new PrecomputedTexts.Loader<>();
+    private Map<ManeuverItemView.Section, PrecomputedTextCompat.Params> mTextParams;
+    private Context mTextContext;
 
     /**
      * Constructs a new instance using a list of maneuvers.
@@ -45,17 +55,63 @@ public class ManeuverListAdapter extends RecyclerView.Adapter<ManeuverListAdapte
     public ManeuverListAdapter(final List<Maneuver> maneuverList) {
         super();
         mManeuverList = maneuverList;
+        registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                loadRowTexts();
+            }
+
+            @Override
+            public void onItemRangeChanged(final int positionStart, final int itemCount, final Object payload) {
+                loadRowTexts();
+            }
+        });
+    }
+
+    /**
+     * Sets an executor creating the texts of the rows ahead of binding them. The texts are measured with
+     * {@link androidx.core.text.PrecomputedTextCompat}, which moves most of the text layout work off the
+     * main thread. Rows whose texts are not ready yet are bound as usual.
+     *
+     * @param executor
+     *         a background executor or null to create the texts when binding the rows.
+     */
+    public void setTextPrecomputeExecutor(@Nullable final Executor executor) {
+        mRowTexts.setExecutor(executor);
+        loadRowTexts();
+    }
+
+    /**
+     * Sets a {@link RouteSnapshot} whose maneuvers are shown instead of the list of maneuvers given to the
+     * constructor. The rows are bound from the texts of the snapshot, so no texts are precomputed.
+     *
+     * @param snapshot
+     *         the snapshot or null to show the list of maneuvers again.
+     */
+    public void setRouteSnapshot(@Nullable final RouteSnapshot snapshot) {
+        mSnapshot = snapshot;
+        notifyDataSetChanged();
     }
 
     /**
-     * Sets unit system of this adapter.
+     * Gets the {@link RouteSnapshot} shown by this adapter.
+     *
+     * @return the snapshot or null if the list of maneuvers is shown.
+     */
+    @Nullable
+    public RouteSnapshot getRouteSnapshot() {
+        return mSnapshot;
+    }
+
+    /**
+     * Sets unit system of this adapter. The rows only update their distances.
      *
      * @param unitSystem
      *         unit system {@link UnitSystem}.
      */
     public void setUnitSystem(UnitSystem unitSystem) {
         mUnitSystem = unitSystem;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount(), RowPayload.UNIT_SYSTEM);
     }
 
     /**
@@ -69,7 +125,13 @@ public class ManeuverListAdapter extends RecyclerView.Adapter<ManeuverListAdapte
 
     @Override
     public ViewHolder onCreateViewHolder(final ViewGroup parent, final int viewType) {
-        return new ViewHolder(getRowView(parent.getContext()));
+        final View view = getRowView(parent.getContext());
+        if (mTextParams == null && view instanceof ManeuverItemView) {
+            mTextParams = ((ManeuverItemView) view).getTextMetricsParams();
+            mTextContext = parent.getContext();
+            loadRowTexts();
+        }
+        return new ViewHolder(view);
     }
 
     /**
@@ -82,23 +144,79 @@ public class ManeuverListAdapter extends RecyclerView.Adapter<ManeuverListAdapte
      * @return an instance of {@link ManeuverItemView}.
      */
     protected View getRowView(final Context context) {
-        View view =  View.inflate(context, R.layout.maneuver_item_list, null);
+        final View view = mViewPools == null ? null : mViewPools.obtain(context, ListViewPools.RowType.MANEUVER);
+        return view == null ? createDefaultRowView(context) : view;
+    }
+
+    static View createDefaultRowView(final Context context) {
+        final View view = View.inflate(context, R.layout.maneuver_item_list, null);
         view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
         return view;
     }
 
+    /**
+     * Sets the {@link ListViewPools} providing pre-inflated rows.
+     *
+     * @param viewPools
+     *         the pools or null to always create new rows.
+     */
+    void setViewPools(@Nullable final ListViewPools viewPools) {
+        mViewPools = viewPools;
+    }
+
     @Override
     public void onBindViewHolder(final ViewHolder holder, final int position) {
+        if (mSnapshot != null) {
+            if (holder.itemView instanceof ManeuverItemView) {
+                ((ManeuverItemView) holder.itemView).setUnitSystem(mUnitSystem);
+                ((ManeuverItemView) holder.itemView).setManeuver(mSnapshot, position);
+            }
+            return;
+        }
         final Maneuver maneuver = mManeuverList.get(position);
         if (maneuver != null && holder.itemView instanceof ManeuverItemView) {
             ((ManeuverItemView) holder.itemView).setUnitSystem(mUnitSystem);
-            ((ManeuverItemView) holder.itemView).setManeuver(mManeuverList, position);
+            ((ManeuverItemView) holder.itemView).setManeuver(mManeuverList, position, mRowTexts.get(position));
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(final ViewHolder holder, final int position, final List<Object> payloads) {
+        if (!RowPayload.isPartial(payloads) || !(holder.itemView instanceof ManeuverItemView)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        final ManeuverItemView view = (ManeuverItemView) holder.itemView;
+        if (mSnapshot == null ? view.getManeuver() != mManeuverList.get(position)
+                : !view.isShowing(mSnapshot, position)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // The only payload of this adapter is the unit system.
+        view.setUnitSystem(mUnitSystem);
+        if (mSnapshot == null) {
+            view.updateDistance(mManeuverList, position);
+        } else {
+            view.updateDistance(mSnapshot, position);
+        }
+    }
+
+    private void loadRowTexts() {
+        if (!mRowTexts.isEnabled() || mTextParams == null || mSnapshot != null) {
+            mRowTexts.invalidate();
+            return;
         }
+        final Context context = mTextContext;
+        final List<Maneuver> maneuvers = new ArrayList<>(mManeuverList);
+        final UnitSystem unitSystem = mUnitSystem;
+        final Map<ManeuverItemView.Section, PrecomputedTextCompat.Params> params = mTextParams;
+        mRowTexts.load(maneuvers.size(),
+                position -> ManeuverItemView.createRowText(context, maneuvers, position, unitSystem, params));
     }
 
     @Override
     public int getItemCount() {
-        return mManeuverList.size();
+        return mSnapshot == null ? mManeuverList.size() : mSnapshot.getManeuverCount();
     }
 
     /**
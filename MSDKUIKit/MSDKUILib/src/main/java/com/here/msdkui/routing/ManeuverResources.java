@@ -27,8 +27,6 @@ import com.here.android.mpa.routing.Signpost;
 import com.here.msdkui.R;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A resource provider for {@link Maneuver}.
@@ -36,49 +34,17 @@ import java.util.concurrent.ConcurrentHashMap;
 @SuppressWarnings("PMD.GodClass")
 public class ManeuverResources {
     private static final int NEXT_NEXT_MANEUVER_THRESHOLD = 750;
-    private static final Map<Enum, Integer> RESOURCE_MAP = new ConcurrentHashMap<>();
     private final Context mContext;
     private final List<Maneuver> mManeuverList;
+    private final ManeuverInstructionTemplates mTemplates;
 
-    @SuppressWarnings("PMD.NcssCount") // There is no purpose to break this constuctor into smaller functions.
     /**
      * Constructs a new instance using a list of maneuvers.
      */
     public ManeuverResources(final Context context, final List<Maneuver> maneuverList) {
         mContext = context.getApplicationContext();
         mManeuverList = maneuverList;
-        if (RESOURCE_MAP.isEmpty()) {
-            // Actions
-            RESOURCE_MAP.put(Maneuver.Action.END, R.string.msdkui_maneuver_arrive_at_02y);
-            RESOURCE_MAP.put(Maneuver.Action.ENTER_HIGHWAY, R.string.msdkui_maneuver_enter_highway);
-            RESOURCE_MAP.put(Maneuver.Action.ENTER_HIGHWAY_FROM_LEFT, R.string.msdkui_maneuver_turn_keep_right);
-            RESOURCE_MAP.put(Maneuver.Action.ENTER_HIGHWAY_FROM_RIGHT, R.string.msdkui_maneuver_turn_keep_left);
-            RESOURCE_MAP.put(Maneuver.Action.LEAVE_HIGHWAY, R.string.msdkui_maneuver_leave_highway);
-            RESOURCE_MAP.put(Maneuver.Action.UTURN, R.string.msdkui_maneuver_uturn);
-
-            // Turns
-            RESOURCE_MAP.put(Turn.HEAVY_LEFT, R.string.msdkui_maneuver_turn_sharply_left);
-            RESOURCE_MAP.put(Turn.HEAVY_RIGHT, R.string.msdkui_maneuver_turn_sharply_right);
-            RESOURCE_MAP.put(Turn.KEEP_LEFT, R.string.msdkui_maneuver_turn_keep_left);
-            RESOURCE_MAP.put(Turn.KEEP_MIDDLE, R.string.msdkui_maneuver_turn_keep_middle);
-            RESOURCE_MAP.put(Turn.KEEP_RIGHT, R.string.msdkui_maneuver_turn_keep_right);
-            RESOURCE_MAP.put(Turn.LIGHT_LEFT, R.string.msdkui_maneuver_turn_slightly_left);
-            RESOURCE_MAP.put(Turn.LIGHT_RIGHT, R.string.msdkui_maneuver_turn_slightly_right);
-            RESOURCE_MAP.put(Turn.QUITE_LEFT, R.string.msdkui_maneuver_turn_left);
-            RESOURCE_MAP.put(Turn.QUITE_RIGHT, R.string.msdkui_maneuver_turn_right);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_1, R.string.msdkui_maneuver_turn_roundabout_exit_1);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_2, R.string.msdkui_maneuver_turn_roundabout_exit_2);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_3, R.string.msdkui_maneuver_turn_roundabout_exit_3);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_4, R.string.msdkui_maneuver_turn_roundabout_exit_4);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_5, R.string.msdkui_maneuver_turn_roundabout_exit_5);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_6, R.string.msdkui_maneuver_turn_roundabout_exit_6);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_7, R.string.msdkui_maneuver_turn_roundabout_exit_7);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_8, R.string.msdkui_maneuver_turn_roundabout_exit_8);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_9, R.string.msdkui_maneuver_turn_roundabout_exit_9);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_10, R.string.msdkui_maneuver_turn_roundabout_exit_10);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_11, R.string.msdkui_maneuver_turn_roundabout_exit_11);
-            RESOURCE_MAP.put(Turn.ROUNDABOUT_12, R.string.msdkui_maneuver_turn_roundabout_exit_12);
-        }
+        mTemplates = ManeuverInstructionTemplates.get(mContext);
     }
 
     /**
@@ -131,8 +97,7 @@ public class ManeuverResources {
         }
         String instruction = getInstruction(maneuver);
         if (instruction == null || TextUtils.isEmpty(instruction)) {
-            instruction = mContext.getString(R.string.msdkui_maneuver_head_to, getLocalizedOrientation(mContext, maneuver
-                    .getMapOrientation()));
+            instruction = mTemplates.getHeadToInstruction(maneuver.getMapOrientation());
         }
         return instruction;
     }
@@ -160,7 +125,7 @@ public class ManeuverResources {
     public String getRoadToDisplay(final int index) {
         final String exitDir = getExitDirections(getManeuverAt(index));
         if (exitDir != null) {
-            return mContext.getString(R.string.msdkui_maneuver_exit_directions_towards, getRoadName(index), exitDir);
+            return mTemplates.formatExitDirectionsTowards(getRoadName(index), exitDir);
         }
         return getRoadName(index);
     }
@@ -185,7 +150,7 @@ public class ManeuverResources {
             final String text = label.getText();
             if (!TextUtils.isEmpty(text)) {
                 exitDirectionsText = exitDirectionsText == null ? text :
-                        mContext.getString(R.string.msdkui_maneuver_road_name_divider, exitDirectionsText, text);
+                        mTemplates.formatRoadNameDivider(exitDirectionsText, text);
             }
         }
         return exitDirectionsText;
@@ -248,7 +213,7 @@ public class ManeuverResources {
         } else if (TextUtils.isEmpty(roadName)) {
             return roadNumber;
         } else {
-            return mContext.getString(R.string.msdkui_maneuver_road_name_divider, roadNumber, roadName);
+            return mTemplates.formatRoadNameDivider(roadNumber, roadName);
         }
     }
 
@@ -268,29 +233,7 @@ public class ManeuverResources {
      * Gets Maneuver icon id.
      */
     private int getManeuverIconId(final Icon icon) {
-        if (icon == null || icon == Icon.PASS_STATION) {
-            return 0; // No id in this case.
-        }
-
-        final String resourceName = "ic_maneuver_icon_" + icon.ordinal();
-        return mContext.getResources()
-                .getIdentifier(resourceName, "drawable", mContext.getPackageName());
-    }
-
-    /**
-     * Gets Localized orientation.
-     */
-    private String getLocalizedOrientation(final Context context, final int angleInDegrees) {
-        final int[] ids = {R.string.msdkui_maneuver_orientation_north, R.string.msdkui_maneuver_orientation_north_east, R.string
-                .msdkui_maneuver_orientation_east, R.string.msdkui_maneuver_orientation_south_east, R.string
-                .msdkui_maneuver_orientation_south, R.string.msdkui_maneuver_orientation_south_west, R.string
-                .msdkui_maneuver_orientation_west, R.string.msdkui_maneuver_orientation_north_west};
-        final int index = ((angleInDegrees + 45 / 2) % 360) / 45;
-        // Normally, this should never happen.
-        if (index < 0 || index >= ids.length) {
-            return String.valueOf(angleInDegrees);
-        }
-        return context.getString(ids[index]);
+        return mTemplates.getIconId(icon); // PASS_STATION and unknown icons have no id.
     }
 
     /**
@@ -305,15 +248,14 @@ public class ManeuverResources {
                 ret = getHighwayInstructions(maneuver.getTurn());
                 break;
             case FERRY:
-                ret = getString(isCarShuttleTrainManeuver(maneuver) ? R.string.msdkui_maneuver_enter_car_shuttle_train : R.string
-                        .msdkui_maneuver_enter_ferry);
+                ret = mTemplates.getFerryInstruction(isCarShuttleTrainManeuver(maneuver));
                 break;
             case JUNCTION:
             case ROUNDABOUT:
-                ret = getString(RESOURCE_MAP.get(maneuver.getTurn()));
+                ret = mTemplates.getTurnInstruction(maneuver.getTurn());
                 break;
             default:
-                ret = getString(RESOURCE_MAP.get(action));
+                ret = mTemplates.getActionInstruction(action);
                 break;
         }
         return ret;
@@ -338,7 +280,7 @@ public class ManeuverResources {
      * @return the localized "You've arrived" string.
      */
     public String getArrivedAtDestinationInstruction() {
-        return mContext.getString(R.string.msdkui_maneuver_end);
+        return mTemplates.getArrivedInstruction();
     }
 
     /**
@@ -346,10 +288,10 @@ public class ManeuverResources {
      */
     private String getHighwayInstructions(final Turn turn) {
         if (turn == Turn.KEEP_LEFT || turn == Turn.KEEP_MIDDLE || turn == Turn.KEEP_RIGHT) {
-            return getString(RESOURCE_MAP.get(turn));
+            return mTemplates.getTurnInstruction(turn);
         }
 
-        return mContext.getString(R.string.msdkui_maneuver_continue);
+        return mTemplates.getContinueInstruction();
     }
 
     /**
@@ -19,6 +19,10 @@ package com.here.msdkui.routing;
 import android.content.Context;
 import android.graphics.Color;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import android.util.AttributeSet;
 import android.view.ViewGroup;
@@ -27,15 +31,35 @@ import android.widget.LinearLayout;
 import com.here.msdkui.R;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * A base class for all views that show multiple instances of {@link OptionItem}.
+ *
+ * <p>By default, every change of an option item is reported right away. To report several changes at once,
+ * e.g. to calculate a route only once after the user checked several options, either wrap the changes in
+ * {@link #beginChanges()} and {@link #commitChanges()} or set a delay with {@link #setCommitDelay(long)}, which
+ * commits the changes once the user stopped changing options for that time. On commit, the {@link Listener} is
+ * notified once per changed item and the {@link ChangesListener} once with all changed items and the names of the
+ * changed fields. Changes which are undone before the commit are not reported.</p>
  */
 public abstract class OptionsPanel extends LinearLayout {
 
     private LinearLayout mContentView;
     private OptionsPanel.Listener mListener;
+    private OptionsPanel.ChangesListener mChangesListener;
+    private final Set<OptionItem> mPendingItems = new LinkedHashSet<>();
+    private final Runnable mCommitRunnable = () -> commitPendingChanges(true);
+    private Handler mHandler;
+    private Map<String, Object> mCommittedState = Collections.emptyMap();
+    private int mTransactionDepth;
+    private long mCommitDelay;
 
     /**
      * Constructs a new instance.
@@ -205,11 +229,158 @@ public abstract class OptionsPanel extends LinearLayout {
         mListener = listener;
     }
 
+    /**
+     * Sets a listener to get all changes of a commit at once.
+     * @param listener the listener to set or null to remove it.
+     */
+    public void setChangesListener(@Nullable final OptionsPanel.ChangesListener listener) {
+        mChangesListener = listener;
+    }
+
+    /**
+     * Sets the time to wait for further changes before committing them. Each change restarts the delay.
+     * Changes within {@link #beginChanges()} and {@link #commitChanges()} are committed with
+     * {@link #commitChanges()} regardless of the delay.
+     *
+     * @param delayMillis the delay in milliseconds, 0 to report each change right away, which is the default.
+     */
+    public void setCommitDelay(final long delayMillis) {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("The commit delay must not be negative");
+        }
+        mCommitDelay = delayMillis;
+        if (delayMillis == 0 && mTransactionDepth == 0) {
+            commitPendingChanges(true);
+        }
+    }
+
+    /**
+     * Gets the time to wait for further changes before committing them.
+     * @return the delay in milliseconds.
+     */
+    public long getCommitDelay() {
+        return mCommitDelay;
+    }
+
+    /**
+     * Starts collecting changes until {@link #commitChanges()} is called. Calls can be nested, the changes are
+     * committed with the outermost {@link #commitChanges()}.
+     */
+    public void beginChanges() {
+        mTransactionDepth++;
+        // Pending changes of the delayed commit become part of this transaction.
+        cancelScheduledCommit();
+    }
+
+    /**
+     * Commits the changes collected since {@link #beginChanges()}.
+     * @throws IllegalStateException if {@link #beginChanges()} wasn't called before.
+     */
+    public void commitChanges() {
+        if (mTransactionDepth == 0) {
+            throw new IllegalStateException("commitChanges() without beginChanges()");
+        }
+        mTransactionDepth--;
+        if (mTransactionDepth == 0) {
+            commitPendingChanges(true);
+        }
+    }
+
+    /**
+     * Commits the changes waiting for the commit delay right away, e.g. before the options are read when the
+     * screen is left. Changes within {@link #beginChanges()} and {@link #commitChanges()} are not committed.
+     */
+    public void flushChanges() {
+        if (mTransactionDepth == 0) {
+            commitPendingChanges(true);
+        }
+    }
+
+    /**
+     * Checks whether there are changes which weren't committed yet.
+     * @return true if changes are pending, false otherwise.
+     */
+    public boolean hasPendingChanges() {
+        return !mPendingItems.isEmpty();
+    }
+
+    /**
+     * Adds the values of the fields shown by this panel, keyed by the name of the field. The values are
+     * compared on commit to find the changed fields, so they must implement {@code equals}. Subclasses should add
+     * the values selected in their option items. The default implementation adds nothing, in which case the
+     * changed fields are unknown and every commit with changed items is reported.
+     *
+     * @param state the map to add the values to.
+     */
+    protected void captureState(@NonNull final Map<String, Object> state) {
+        // Let the sub class override it, if interested.
+    }
+
+    /**
+     * Takes the current values of the fields as committed and drops the pending changes. Subclasses should call
+     * it after populating their option items from new options.
+     */
+    protected void resetChanges() {
+        cancelScheduledCommit();
+        mPendingItems.clear();
+        mCommittedState = captureCurrentState();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        // The delayed commit must not run after the panel is gone, nor get lost.
+        flushChanges();
+        super.onDetachedFromWindow();
+    }
+
+    private Map<String, Object> captureCurrentState() {
+        final Map<String, Object> state = new HashMap<>();
+        captureState(state);
+        return state;
+    }
+
+    private void commitPendingChanges(final boolean notifyListener) {
+        cancelScheduledCommit();
+        if (mPendingItems.isEmpty()) {
+            return;
+        }
+        final List<OptionItem> items = new ArrayList<>(mPendingItems);
+        mPendingItems.clear();
+        final Map<String, Object> state = captureCurrentState();
+        final Set<String> fields = new LinkedHashSet<>();
+        for (final Map.Entry<String, Object> entry : state.entrySet()) {
+            if (!mCommittedState.containsKey(entry.getKey())
+                    || !Objects.equals(mCommittedState.get(entry.getKey()), entry.getValue())) {
+                fields.add(entry.getKey());
+            }
+        }
+        mCommittedState = state;
+        if (fields.isEmpty() && !state.isEmpty()) {
+            // All changes were undone.
+            return;
+        }
+        if (notifyListener && mListener != null) {
+            for (final OptionItem item : items) {
+                mListener.onOptionChanged(item);
+            }
+        }
+        if (mChangesListener != null) {
+            mChangesListener.onChangesCommitted(this, new Changes(items, fields));
+        }
+    }
+
+    private void cancelScheduledCommit() {
+        if (mHandler != null) {
+            mHandler.removeCallbacks(mCommitRunnable);
+        }
+    }
+
     /**
      * Notifies listeners when a new option item has been created.
      * @param item the item that was created.
      */
     protected void notifyOnOptionCreated(final List<OptionItem> item) {
+        resetChanges();
         if (mListener != null) {
             mListener.onOptionCreated(item);
         }
@@ -220,9 +391,23 @@ public abstract class OptionsPanel extends LinearLayout {
      * @param item the item that was changed.
      */
     protected void notifyOnOptionChanged(final OptionItem item) {
+        mPendingItems.add(item);
+        if (mTransactionDepth > 0) {
+            return;
+        }
+        if (mCommitDelay > 0) {
+            if (mHandler == null) {
+                mHandler = new Handler(Looper.getMainLooper());
+            }
+            mHandler.removeCallbacks(mCommitRunnable);
+            mHandler.postDelayed(mCommitRunnable, mCommitDelay);
+            return;
+        }
         if (mListener != null) {
+            // Reported even if the change was undone by another one, as before transactions were supported.
             mListener.onOptionChanged(item);
         }
+        commitPendingChanges(false);
     }
 
     /**
@@ -253,4 +438,59 @@ public abstract class OptionsPanel extends LinearLayout {
          */
         void onOptionChanged(OptionItem item);
     }
+
+    /**
+     * A listener to get all changes of a commit at once.
+     */
+    public interface ChangesListener {
+
+        /**
+         * Called when changes are committed.
+         *
+         * @param panel the panel which changed.
+         * @param changes the committed changes.
+         */
+        void onChangesCommitted(@NonNull OptionsPanel panel, @NonNull Changes changes);
+    }
+
+    /**
+     * The changes of a commit.
+     */
+    public static final class Changes {
+
+        private final List<OptionItem> mItems;
+        private final Set<String> mFields;
+
+        Changes(final List<OptionItem> items, final Set<String> fields) {
+            mItems = Collections.unmodifiableList(items);
+            mFields = Collections.unmodifiableSet(fields);
+        }
+
+        /**
+         * Gets the changed option items.
+         * @return the items in the order of their first change.
+         */
+        @NonNull
+        public List<OptionItem> getItems() {
+            return mItems;
+        }
+
+        /**
+         * Gets the names of the changed fields, e.g. {@link HazardousMaterialsOptionsPanel#FIELD_HAZARDOUS_GOODS}.
+         * @return the changed fields, empty if the panel doesn't report its fields.
+         */
+        @NonNull
+        public Set<String> getChangedFields() {
+            return mFields;
+        }
+
+        /**
+         * Checks whether a field changed.
+         * @param field the name of the field.
+         * @return true if the field changed, false otherwise.
+         */
+        public boolean isFieldChanged(@NonNull final String field) {
+            return mFields.contains(field);
+        }
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.SpannableString;
+import android.widget.TextView;
+
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Helpers to measure the texts of list rows ahead of binding them.
+ */
+final class PrecomputedTexts {
+
+    private PrecomputedTexts() {
+    }
+
+    /**
+     * Measures a text. Safe to call on a background thread.
+     *
+     * @param text
+     *         the text to measure.
+     *
+     * @param params
+     *         the parameters of the {@link TextView} showing the text or null to skip measuring.
+     *
+     * @return a {@link PrecomputedTextCompat} or the given text if it can't be measured.
+     */
+    static CharSequence create(@Nullable final CharSequence text, @Nullable final PrecomputedTextCompat.Params params) {
+        if (text == null || params == null || text.length() == 0) {
+            return text;
+        }
+        return PrecomputedTextCompat.create(text, params);
+    }
+
+    /**
+     * Sets a text that was possibly measured with {@link #create(CharSequence, PrecomputedTextCompat.Params)}.
+     * If the text was measured with other parameters than the ones of the view, for example because the
+     * theme or the text size changed in the meantime, the text is set without its measurements.
+     *
+     * @param view
+     *         the view to set the text to.
+     *
+     * @param text
+     *         the text to set.
+     */
+    static void setText(final TextView view, @Nullable final CharSequence text) {
+        if (text instanceof PrecomputedTextCompat) {
+            final PrecomputedTextCompat precomputedText = (PrecomputedTextCompat) text;
+            if (precomputedText.getParams().equals(TextViewCompat.getTextMetricsParams(view))) {
+                TextViewCompat.setPrecomputedText(view, precomputedText);
+            } else {
+                view.setText(new SpannableString(precomputedText));
+            }
+        } else {
+            view.setText(text);
+        }
+    }
+
+    /**
+     * Creates the texts of list rows on a background executor and keeps the results until they
+     * are invalidated. All methods must be called on the main thread.
+     *
+     * @param <T> the type of the row texts.
+     */
+    static final class Loader<T> {
+
+        private final Executor mMainExecutor;
+        private Executor mExecutor;
+        private Object[] mRowTexts = new Object[0];
+        private volatile int mGeneration;
+
+        Loader() {
+            this(new Handler(Looper.getMainLooper())::post);
+        }
+
+        Loader(final Executor mainExecutor) {
+            mMainExecutor = mainExecutor;
+        }
+
+        /**
+         * Sets the executor creating the row texts.
+         * @param executor the executor or null to disable creating row texts.
+         */
+        void setExecutor(@Nullable final Executor executor) {
+            mExecutor = executor;
+            invalidate();
+        }
+
+        boolean isEnabled() {
+            return mExecutor != null;
+        }
+
+        /**
+         * Discards the current row texts and creates new ones for the given number of rows.
+         */
+        void load(final int count, final Factory<T> factory) {
+            invalidate();
+            if (mExecutor == null || count == 0) {
+                return;
+            }
+            final int generation = mGeneration;
+            mRowTexts = new Object[count];
+            mExecutor.execute(() -> {
+                for (int position = 0; position < count; position++) {
+                    if (generation != mGeneration) {
+                        // Outdated, a newer load is pending.
+                        return;
+                    }
+                    final T rowText = factory.create(position);
+                    final int index = position;
+                    mMainExecutor.execute(() -> {
+                        if (generation == mGeneration) {
+                            mRowTexts[index] = rowText;
+                        }
+                    });
+                }
+            });
+        }
+
+        /**
+         * Discards the current row texts.
+         */
+        void invalidate() {
+            mGeneration++;
+            mRowTexts = new Object[0];
+        }
+
+        /**
+         * Gets the text of a row.
+         * @return the texts or null if not available yet.
+         */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        T get(final int position) {
+            return position >= 0 && position < mRowTexts.length ? (T) mRowTexts[position] : null;
+        }
+
+        /**
+         * Creates the text of a row. Called on the background executor.
+         *
+         * @param <T> the type of the row texts.
+         */
+        interface Factory<T> {
+            T create(int position);
+        }
+    }
+}
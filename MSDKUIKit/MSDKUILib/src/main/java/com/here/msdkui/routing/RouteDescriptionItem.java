@@ -20,7 +20,10 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.PorterDuff;
 import android.os.Build;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
 import android.text.Spannable;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
@@ -33,6 +36,7 @@ import com.here.android.mpa.routing.RouteOptions;
 import com.here.msdkui.R;
 import com.here.msdkui.common.BaseView;
 import com.here.msdkui.common.ThemeUtil;
+import com.here.msdkui.common.measurements.UnitSystem;
 
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -47,8 +51,11 @@ public class RouteDescriptionItem extends BaseView {
     private final EnumMap<RouteDescriptionItem.Section, View> mSections = new EnumMap<>(
             RouteDescriptionItem.Section.class);
     private Route mRoute;
+    private RouteSnapshot mRouteSnapshot;
     private boolean mTrafficEnabled;
     private float mSectionBarScaling = 1.0f;
+    private RouteSections.TrafficLevelProvider mTrafficLevelProvider;
+    private RouteSections mRouteSections;
 
     /**
      * Constructs a new instance.
@@ -260,6 +267,32 @@ public class RouteDescriptionItem extends BaseView {
         mTrafficEnabled = isTraffic;
     }
 
+    /**
+     * Gets the provider of the traffic shown in the {@link SectionBar}.
+     * @return the provider or null if no traffic is shown.
+     */
+    @Nullable
+    public RouteSections.TrafficLevelProvider getTrafficLevelProvider() {
+        return mTrafficLevelProvider;
+    }
+
+    /**
+     * Sets the provider of the traffic shown in the {@link SectionBar}. Traffic is only shown if
+     * {@link #isTrafficEnabled()} is true. Takes effect with the next call of {@link #setRoute(Route)}.
+     * @param trafficLevelProvider the provider or null to show no traffic.
+     */
+    public void setTrafficLevelProvider(@Nullable final RouteSections.TrafficLevelProvider trafficLevelProvider) {
+        mTrafficLevelProvider = trafficLevelProvider;
+    }
+
+    /**
+     * Gets the sections shown in the {@link SectionBar}.
+     * @return the sections or null if no route is set.
+     */
+    RouteSections getRouteSections() {
+        return mRouteSections;
+    }
+
     /**
      * Gets the {@link Route} associated with this item.
      *
@@ -276,13 +309,77 @@ public class RouteDescriptionItem extends BaseView {
      *         the new {@link Route}.
      */
     public void setRoute(final Route route) {
+        setRoute(route, null);
+    }
+
+    /**
+     * Sets the new {@link Route} to be associated with this item using texts created ahead of time with
+     * {@link #createRowText(Context, Route, boolean, UnitSystem, Map)}. The row text is ignored if it was created
+     * for another route, traffic setting or unit system.
+     *
+     * @param route
+     *         the new {@link Route}.
+     * @param rowText
+     *         the texts of this item or null to create them now.
+     */
+    public void setRoute(final Route route, @Nullable final RowText rowText) {
         if (route == null) {
             throw new IllegalArgumentException(getContext().getString(R.string.msdkui_exception_route_null));
         }
         mRoute = route;
+        mRouteSnapshot = null;
+        final RowText text = rowText != null && rowText.mSource == mRoute && rowText.mUnitSystem == mUnitSystem
+                && rowText.mTrafficEnabled == isTrafficEnabled()
+                ? rowText : createRowText(getContext(), mRoute, isTrafficEnabled(), mUnitSystem, null);
+        bind(RouteUtil.getIcon(mRoute), text);
+    }
 
+    /**
+     * Gets the {@link RouteSnapshot} associated with this item.
+     *
+     * @return the {@link RouteSnapshot} or null if a {@link Route} is shown.
+     */
+    @Nullable
+    public RouteSnapshot getRouteSnapshot() {
+        return mRouteSnapshot;
+    }
+
+    /**
+     * Shows a {@link RouteSnapshot} instead of a {@link Route}. The item keeps no reference to the route, so it
+     * can be released while the item is shown. {@link #getRoute()} returns null for such items. The traffic
+     * shown in the {@link SectionBar} is the one of the provider the snapshot was created with.
+     *
+     * @param snapshot
+     *         the new {@link RouteSnapshot}.
+     */
+    public void setRouteSnapshot(final RouteSnapshot snapshot) {
+        setRouteSnapshot(snapshot, null);
+    }
+
+    /**
+     * Shows a {@link RouteSnapshot} using texts created ahead of time with
+     * {@link #createRowText(Context, RouteSnapshot, boolean, UnitSystem, Map)}. The row text is ignored if it was
+     * created for another snapshot, traffic setting or unit system.
+     *
+     * @param snapshot
+     *         the new {@link RouteSnapshot}.
+     * @param rowText
+     *         the texts of this item or null to create them now.
+     */
+    public void setRouteSnapshot(final RouteSnapshot snapshot, @Nullable final RowText rowText) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException(getContext().getString(R.string.msdkui_exception_route_null));
+        }
+        mRoute = null;
+        mRouteSnapshot = snapshot;
+        final RowText text = rowText != null && rowText.mSource == mRouteSnapshot && rowText.mUnitSystem == mUnitSystem
+                && rowText.mTrafficEnabled == isTrafficEnabled()
+                ? rowText : createRowText(getContext(), mRouteSnapshot, isTrafficEnabled(), mUnitSystem, null);
+        bind(RouteUtil.getIcon(mRouteSnapshot), text);
+    }
+
+    private void bind(final Integer id, final RowText text) {
         final ImageView icon = (ImageView) mSections.get(Section.TYPE_ICON);
-        final Integer id = RouteUtil.getIcon(mRoute);
         if (id == 0) {
             icon.setVisibility(GONE);
         } else {
@@ -290,34 +387,150 @@ public class RouteDescriptionItem extends BaseView {
             icon.setColorFilter(ThemeUtil.getColor(getContext(), R.attr.colorForeground), PorterDuff.Mode.SRC_ATOP);
         }
 
-        final Spannable totalTime = RouteUtil.getTimeToArrive(getContext(), mRoute, isTrafficEnabled());
-        ((TextView) mSections.get(Section.TIME)).setText(totalTime);
-        ((TextView) mSections.get(Section.TIME)).setContentDescription(
-                getContext().getString(R.string.msdkui_duration) + " " + totalTime);
+        bindTimes(text);
+        PrecomputedTexts.setText((TextView) mSections.get(Section.DETAILS), text.mDetails);
+        bindSectionBar();
+        setVisibility(VISIBLE);
+    }
+
+    /**
+     * Updates only the length and the other details of the shown route, e.g. after the unit system changed.
+     */
+    void updateDetails() {
+        PrecomputedTexts.setText((TextView) mSections.get(Section.DETAILS), mRouteSnapshot == null
+                ? RouteUtil.getDetails(getContext(), mRoute, mUnitSystem)
+                : RouteUtil.getDetails(getContext(), mRouteSnapshot, mUnitSystem));
+    }
+
+    /**
+     * Updates only the sections depending on traffic, which are the times, the traffic warning and the
+     * {@link SectionBar}, e.g. after traffic was enabled or disabled.
+     */
+    void updateTraffic() {
+        bindTimes(mRouteSnapshot == null
+                ? createRowText(getContext(), mRoute, isTrafficEnabled(), mUnitSystem, null)
+                : createRowText(getContext(), mRouteSnapshot, isTrafficEnabled(), mUnitSystem, null));
+        bindSectionBar();
+    }
+
+    private void bindTimes(final RowText text) {
+        PrecomputedTexts.setText((TextView) mSections.get(Section.TIME), text.mTime);
+        ((TextView) mSections.get(Section.TIME)).setContentDescription(text.mTimeDescription);
 
-        if (isTrafficEnabled() && !isBikeOrPedestrian()) {
+        if (text.mTrafficWarning != null) {
             ((TextView) mSections.get(Section.TRAFFIC_WARNING)).setVisibility(View.VISIBLE);
-            final Spannable delayText = RouteUtil.getTrafficDelayed(getContext(), mRoute);
-            ((TextView) mSections.get(Section.TRAFFIC_WARNING)).setText(delayText);
-            ((TextView) mSections.get(Section.TRAFFIC_WARNING)).setContentDescription(delayText.toString().replace(
-                    getContext().getString(R.string.msdkui_incl),
-                    getContext().getString(R.string.msdkui_including)));
+            PrecomputedTexts.setText((TextView) mSections.get(Section.TRAFFIC_WARNING), text.mTrafficWarning);
+            ((TextView) mSections.get(Section.TRAFFIC_WARNING))
+                    .setContentDescription(text.mTrafficWarningDescription);
 
         } else {
             ((TextView) mSections.get(Section.TRAFFIC_WARNING)).setVisibility(GONE);
         }
 
-        ((TextView) mSections.get(Section.DETAILS)).setText(
-                RouteUtil.getDetails(getContext(), mRoute, mUnitSystem));
-        ((SectionBar) mSections.get(Section.SECTION_BAR))
-                .bind(RouteUtil.getSectionBar(getContext(), mRoute), mSectionBarScaling);
+        PrecomputedTexts.setText((TextView) mSections.get(Section.ARRIVAL_TIME), text.mArrivalTime);
+        ((TextView) mSections.get(Section.ARRIVAL_TIME)).setContentDescription(text.mArrivalTimeDescription);
+    }
 
-        final String arrivalTime = RouteUtil.getArrivalTime(getContext(), mRoute, isTrafficEnabled());
-        ((TextView) mSections.get(Section.ARRIVAL_TIME)).setText(arrivalTime);
-        ((TextView) mSections.get(Section.ARRIVAL_TIME)).setContentDescription(
-                getContext().getString(R.string.msdkui_arrive_at) +
-                        arrivalTime);
-        setVisibility(VISIBLE);
+    private void bindSectionBar() {
+        mRouteSections = mRouteSnapshot == null
+                ? RouteSectionsCache.get(mRoute, isTrafficEnabled() ? mTrafficLevelProvider : null)
+                : mRouteSnapshot.getSections(isTrafficEnabled());
+        ((SectionBar) mSections.get(Section.SECTION_BAR)).bind(mRouteSections, mSectionBarScaling);
+    }
+
+    /**
+     * Gets the parameters to measure the texts of this item with {@link #createRowText(Context, Route, boolean,
+     * UnitSystem, Map)}.
+     *
+     * @return the text metrics parameters of the {@link Section#TIME}, {@link Section#TRAFFIC_WARNING},
+     *         {@link Section#DETAILS} and {@link Section#ARRIVAL_TIME} sections.
+     */
+    public Map<Section, PrecomputedTextCompat.Params> getTextMetricsParams() {
+        final EnumMap<Section, PrecomputedTextCompat.Params> params = new EnumMap<>(Section.class);
+        for (final Section section : EnumSet.of(Section.TIME, Section.TRAFFIC_WARNING, Section.DETAILS,
+                Section.ARRIVAL_TIME)) {
+            params.put(section, TextViewCompat.getTextMetricsParams((TextView) mSections.get(section)));
+        }
+        return params;
+    }
+
+    /**
+     * Creates the texts of an item. This can be done on a background thread, e.g. while the list is
+     * scrolled, so binding the item only needs to set the prepared texts.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param route
+     *         the {@link Route} of the item.
+     * @param trafficEnabled
+     *         true if the travel time should include traffic, false otherwise.
+     * @param unitSystem
+     *         the unit system of the route length.
+     * @param params
+     *         the parameters to measure the texts with, see {@link #getTextMetricsParams()}, or null to
+     *         create plain texts.
+     * @return the texts of the item.
+     */
+    public static RowText createRowText(final Context context, final Route route, final boolean trafficEnabled,
+            final UnitSystem unitSystem, @Nullable final Map<Section, PrecomputedTextCompat.Params> params) {
+        final RouteOptions.TransportMode transportMode = route.getRoutePlan().getRouteOptions().getTransportMode();
+        return createRowText(context, route, trafficEnabled, unitSystem, params,
+                RouteUtil.getTimeToArrive(context, route, trafficEnabled),
+                trafficEnabled && !isBikeOrPedestrian(transportMode) ? RouteUtil.getTrafficDelayed(context, route) : null,
+                RouteUtil.getDetails(context, route, unitSystem),
+                RouteUtil.getArrivalTime(context, route, trafficEnabled));
+    }
+
+    /**
+     * Creates the texts of an item showing a {@link RouteSnapshot}, see
+     * {@link #createRowText(Context, Route, boolean, UnitSystem, Map)}.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param snapshot
+     *         the {@link RouteSnapshot} of the item.
+     * @param trafficEnabled
+     *         true if the travel time should include traffic, false otherwise.
+     * @param unitSystem
+     *         the unit system of the route length.
+     * @param params
+     *         the parameters to measure the texts with, see {@link #getTextMetricsParams()}, or null to
+     *         create plain texts.
+     * @return the texts of the item.
+     */
+    public static RowText createRowText(final Context context, final RouteSnapshot snapshot,
+            final boolean trafficEnabled, final UnitSystem unitSystem,
+            @Nullable final Map<Section, PrecomputedTextCompat.Params> params) {
+        return createRowText(context, snapshot, trafficEnabled, unitSystem, params,
+                RouteUtil.getTimeToArrive(context, snapshot, trafficEnabled),
+                trafficEnabled && !isBikeOrPedestrian(snapshot.getTransportMode())
+                        ? RouteUtil.getTrafficDelayed(context, snapshot) : null,
+                RouteUtil.getDetails(context, snapshot, unitSystem),
+                RouteUtil.getArrivalTime(context, snapshot, trafficEnabled));
+    }
+
+    private static RowText createRowText(final Context context, final Object source, final boolean trafficEnabled,
+            final UnitSystem unitSystem, @Nullable final Map<Section, PrecomputedTextCompat.Params> params,
+            final Spannable totalTime, @Nullable final Spannable delayText, final Spannable details,
+            final String arrivalTime) {
+        final String timeDescription = context.getString(R.string.msdkui_duration) + " " + totalTime;
+
+        String delayDescription = null;
+        if (delayText != null) {
+            delayDescription = delayText.toString().replace(
+                    context.getString(R.string.msdkui_incl),
+                    context.getString(R.string.msdkui_including));
+        }
+
+        return new RowText(source, trafficEnabled, unitSystem,
+                PrecomputedTexts.create(totalTime, params == null ? null : params.get(Section.TIME)),
+                timeDescription,
+                PrecomputedTexts.create(delayText, params == null ? null : params.get(Section.TRAFFIC_WARNING)),
+                delayDescription,
+                PrecomputedTexts.create(details,
+                        params == null ? null : params.get(Section.DETAILS)),
+                PrecomputedTexts.create(arrivalTime, params == null ? null : params.get(Section.ARRIVAL_TIME)),
+                context.getString(R.string.msdkui_arrive_at) + arrivalTime);
     }
 
     /**
@@ -334,9 +547,8 @@ public class RouteDescriptionItem extends BaseView {
      * @param sectionBarScaling the scaling factor.
      */
     public void setSectionBarScaling(final float sectionBarScaling) {
-        if (Float.compare(mSectionBarScaling, sectionBarScaling) != 0 && mRoute != null) {
-            ((SectionBar) mSections.get(Section.SECTION_BAR))
-                    .bind(RouteUtil.getSectionBar(getContext(), mRoute), mSectionBarScaling);
+        if (Float.compare(mSectionBarScaling, sectionBarScaling) != 0 && mRouteSections != null) {
+            ((SectionBar) mSections.get(Section.SECTION_BAR)).bind(mRouteSections, mSectionBarScaling);
         }
         mSectionBarScaling = sectionBarScaling;
     }
@@ -346,10 +558,65 @@ public class RouteDescriptionItem extends BaseView {
      * @return true if bike or pedestrian, false otherwise.
      */
     public boolean isBikeOrPedestrian() {
-        final RouteOptions.TransportMode transportMode = mRoute.getRoutePlan().getRouteOptions().getTransportMode();
+        return isBikeOrPedestrian(mRouteSnapshot == null
+                ? mRoute.getRoutePlan().getRouteOptions().getTransportMode() : mRouteSnapshot.getTransportMode());
+    }
+
+    private static boolean isBikeOrPedestrian(final RouteOptions.TransportMode transportMode) {
         return transportMode == RouteOptions.TransportMode.BICYCLE || transportMode == RouteOptions.TransportMode.PEDESTRIAN;
     }
 
+    /**
+     * The texts of a {@link RouteDescriptionItem}, see {@link #createRowText(Context, Route, boolean, UnitSystem,
+     * Map)}.
+     */
+    public static final class RowText {
+
+        private final Object mSource;
+        private final boolean mTrafficEnabled;
+        private final UnitSystem mUnitSystem;
+        private final CharSequence mTime;
+        private final String mTimeDescription;
+        private final CharSequence mTrafficWarning;
+        private final String mTrafficWarningDescription;
+        private final CharSequence mDetails;
+        private final CharSequence mArrivalTime;
+        private final String mArrivalTimeDescription;
+
+        RowText(final Object source, final boolean trafficEnabled, final UnitSystem unitSystem,
+                final CharSequence time, final String timeDescription, final CharSequence trafficWarning,
+                final String trafficWarningDescription, final CharSequence details, final CharSequence arrivalTime,
+                final String arrivalTimeDescription) {
+            mSource = source;
+            mTrafficEnabled = trafficEnabled;
+            mUnitSystem = unitSystem;
+            mTime = time;
+            mTimeDescription = timeDescription;
+            mTrafficWarning = trafficWarning;
+            mTrafficWarningDescription = trafficWarningDescription;
+            mDetails = details;
+            mArrivalTime = arrivalTime;
+            mArrivalTimeDescription = arrivalTimeDescription;
+        }
+
+        /**
+         * Gets the route of this row.
+         * @return the route or null if the row shows a {@link RouteSnapshot}.
+         */
+        public Route getRoute() {
+            return mSource instanceof Route ? (Route) mSource : null;
+        }
+
+        /**
+         * Gets the route snapshot of this row.
+         * @return the snapshot or null if the row shows a {@link Route}.
+         */
+        @Nullable
+        public RouteSnapshot getRouteSnapshot() {
+            return mSource instanceof RouteSnapshot ? (RouteSnapshot) mSource : null;
+        }
+    }
+
     /**
      * An enum describing the sections of this item.
      */
@@ -19,6 +19,7 @@ package com.here.msdkui.routing;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.util.AttributeSet;
+import androidx.annotation.Nullable;
 
 import com.here.android.mpa.routing.Route;
 import com.here.android.mpa.routing.RouteResult;
@@ -98,6 +99,17 @@ public class RouteDescriptionList extends CustomRecyclerView {
         return mAdapter.getUnitSystem();
     }
 
+    /**
+     * Sets the {@link ListViewPools} used to share recycled rows with other lists and to use pre-inflated rows.
+     *
+     * @param viewPools
+     *         the pools to use or null to use a pool owned by this list.
+     */
+    public void setViewPools(@Nullable final ListViewPools viewPools) {
+        setRecycledViewPool(viewPools == null ? null : viewPools.getRecycledViewPool(ListViewPools.RowType.ROUTE_DESCRIPTION));
+        mAdapter.setViewPools(viewPools);
+    }
+
     private void init(final AttributeSet attrs) {
         attrsInit(attrs);
         mAdapter = new RouteDescriptionListAdapter(mRouteList);
@@ -241,6 +253,25 @@ public class RouteDescriptionList extends CustomRecyclerView {
         mAdapter.setTrafficEnabled(isTraffic);
     }
 
+    /**
+     * Gets the provider of the traffic shown in the section bars of the list items.
+     * @return the provider or null if no traffic is shown.
+     */
+    @Nullable
+    public RouteSections.TrafficLevelProvider getTrafficLevelProvider() {
+        return mAdapter.getTrafficLevelProvider();
+    }
+
+    /**
+     * Sets the provider of the traffic shown in the section bars of the list items, e.g. based on the traffic
+     * events affecting the routes. Traffic is only shown if {@link #isTrafficEnabled()} is true.
+     *
+     * @param trafficLevelProvider the provider or null to show no traffic.
+     */
+    public void setTrafficLevelProvider(@Nullable final RouteSections.TrafficLevelProvider trafficLevelProvider) {
+        mAdapter.setTrafficLevelProvider(trafficLevelProvider);
+    }
+
     private void sort(final List<Route> routes) {
         switch (mSortType) {
             case DISTANCE:
@@ -17,6 +17,8 @@
 package com.here.msdkui.routing;
 
 import android.content.Context;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.View;
 import android.view.ViewGroup;
@@ -24,7 +26,10 @@ import android.view.ViewGroup;
 import com.here.android.mpa.routing.Route;
 import com.here.msdkui.common.measurements.UnitSystem;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * An adapter class that acts as a bridge between a list of {@link Route} elements and the corresponding
@@ -35,7 +40,12 @@ public class RouteDescriptionListAdapter extends RecyclerView.Adapter<RouteDescr
     private final List<Route> mRouteList;
     private final RouteBarScaler mRouteBarScaler;
     private boolean mTrafficEnabled;
+    private RouteSections.TrafficLevelProvider mTrafficLevelProvider;
     private UnitSystem mUnitSystem = UnitSystem.METRIC;
+    private ListViewPools mViewPools;
+    private final PrecomputedTexts.Loader<RouteDescriptionItem.RowText> mRowTexts = new PrecomputedTexts.Loader<>();
+    private Map<RouteDescriptionItem.Section, PrecomputedTextCompat.Params> mTextParams;
+    private Context mTextContext;
 
     /**
      * Constructs a new instance using a list of {@link Route} elements.
@@ -50,14 +60,27 @@ public class RouteDescriptionListAdapter extends RecyclerView.Adapter<RouteDescr
     }
 
     /**
-     * Sets unit system of this adapter.
+     * Sets an executor creating the texts of the rows ahead of binding them. The texts are measured with
+     * {@link androidx.core.text.PrecomputedTextCompat}, which moves most of the text layout work off the
+     * main thread. Rows whose texts are not ready yet are bound as usual.
+     *
+     * @param executor
+     *         a background executor or null to create the texts when binding the rows.
+     */
+    public void setTextPrecomputeExecutor(@Nullable final Executor executor) {
+        mRowTexts.setExecutor(executor);
+        loadRowTexts();
+    }
+
+    /**
+     * Sets unit system of this adapter. The rows only update their details.
      *
      * @param unitSystem
      *         unit system {@link UnitSystem}.
      */
     public void setUnitSystem(UnitSystem unitSystem) {
         mUnitSystem = unitSystem;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount(), RowPayload.UNIT_SYSTEM);
     }
 
     /**
@@ -71,7 +94,13 @@ public class RouteDescriptionListAdapter extends RecyclerView.Adapter<RouteDescr
 
     @Override
     public ViewHolder onCreateViewHolder(final ViewGroup parent, final int viewType) {
-        return new ViewHolder(getRowView(parent.getContext()));
+        final View view = getRowView(parent.getContext());
+        if (mTextParams == null && view instanceof RouteDescriptionItem) {
+            mTextParams = ((RouteDescriptionItem) view).getTextMetricsParams();
+            mTextContext = parent.getContext();
+            loadRowTexts();
+        }
+        return new ViewHolder(view);
     }
 
     /**
@@ -83,23 +112,74 @@ public class RouteDescriptionListAdapter extends RecyclerView.Adapter<RouteDescr
      * @return a new instance of {@link RouteDescriptionItem}.
      */
     protected View getRowView(final Context context) {
-        RouteDescriptionItem item = new RouteDescriptionItem(context);
+        final View view = mViewPools == null ? null
+                : mViewPools.obtain(context, ListViewPools.RowType.ROUTE_DESCRIPTION);
+        return view == null ? createDefaultRowView(context) : view;
+    }
+
+    static View createDefaultRowView(final Context context) {
+        final RouteDescriptionItem item = new RouteDescriptionItem(context);
         item.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
                 ViewGroup.LayoutParams.WRAP_CONTENT));
         return item;
     }
 
+    /**
+     * Sets the {@link ListViewPools} providing pre-inflated rows.
+     *
+     * @param viewPools
+     *         the pools or null to always create new rows.
+     */
+    void setViewPools(@Nullable final ListViewPools viewPools) {
+        mViewPools = viewPools;
+    }
+
     @Override
     public void onBindViewHolder(final ViewHolder holder, final int position) {
         final Route route = mRouteList.get(position);
         if (route != null && holder.itemView instanceof RouteDescriptionItem) {
             ((RouteDescriptionItem) holder.itemView).setUnitSystem(mUnitSystem);
             ((RouteDescriptionItem) holder.itemView).setTrafficEnabled(mTrafficEnabled);
+            ((RouteDescriptionItem) holder.itemView).setTrafficLevelProvider(mTrafficLevelProvider);
             ((RouteDescriptionItem) holder.itemView).setSectionBarScaling(mRouteBarScaler.getScaling(route));
-            ((RouteDescriptionItem) holder.itemView).setRoute(route);
+            ((RouteDescriptionItem) holder.itemView).setRoute(route, mRowTexts.get(position));
         }
     }
 
+    @Override
+    public void onBindViewHolder(final ViewHolder holder, final int position, final List<Object> payloads) {
+        final Route route = mRouteList.get(position);
+        if (!RowPayload.isPartial(payloads) || !(holder.itemView instanceof RouteDescriptionItem)
+                || ((RouteDescriptionItem) holder.itemView).getRoute() != route) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        final RouteDescriptionItem item = (RouteDescriptionItem) holder.itemView;
+        if (payloads.contains(RowPayload.UNIT_SYSTEM)) {
+            item.setUnitSystem(mUnitSystem);
+            item.updateDetails();
+        }
+        if (payloads.contains(RowPayload.TRAFFIC)) {
+            item.setTrafficEnabled(mTrafficEnabled);
+            item.setTrafficLevelProvider(mTrafficLevelProvider);
+            item.updateTraffic();
+        }
+    }
+
+    private void loadRowTexts() {
+        if (!mRowTexts.isEnabled() || mTextParams == null) {
+            mRowTexts.invalidate();
+            return;
+        }
+        final Context context = mTextContext;
+        final List<Route> routes = new ArrayList<>(mRouteList);
+        final boolean trafficEnabled = mTrafficEnabled;
+        final UnitSystem unitSystem = mUnitSystem;
+        final Map<RouteDescriptionItem.Section, PrecomputedTextCompat.Params> params = mTextParams;
+        mRowTexts.load(routes.size(), position -> RouteDescriptionItem.createRowText(context, routes.get(position),
+                trafficEnabled, unitSystem, params));
+    }
+
     @Override
     public int getItemCount() {
         return mRouteList.size();
@@ -126,11 +206,33 @@ public class RouteDescriptionListAdapter extends RecyclerView.Adapter<RouteDescr
      * <p>Please note, setting this to true will call route tta with traffic. For more details please
      * see {@link com.here.android.mpa.routing.Route#getTtaIncludingTraffic(int)}</p>
      *
+     * <p>The rows only update the sections depending on traffic.</p>
+     *
      * @param isTraffic true if traffic should be enabled, false otherwise.
      */
     public void setTrafficEnabled(final boolean isTraffic) {
         mTrafficEnabled = isTraffic;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount(), RowPayload.TRAFFIC);
+    }
+
+    /**
+     * Gets the provider of the traffic shown in the section bars of the rows.
+     * @return the provider or null if no traffic is shown.
+     */
+    @Nullable
+    public RouteSections.TrafficLevelProvider getTrafficLevelProvider() {
+        return mTrafficLevelProvider;
+    }
+
+    /**
+     * Sets the provider of the traffic shown in the section bars of the rows. Traffic is only shown if
+     * {@link #isTrafficEnabled()} is true. The rows only update the sections depending on traffic.
+     *
+     * @param trafficLevelProvider the provider or null to show no traffic.
+     */
+    public void setTrafficLevelProvider(@Nullable final RouteSections.TrafficLevelProvider trafficLevelProvider) {
+        mTrafficLevelProvider = trafficLevelProvider;
+        notifyItemRangeChanged(0, getItemCount(), RowPayload.TRAFFIC);
     }
 
     /**
@@ -156,30 +258,35 @@ public class RouteDescriptionListAdapter extends RecyclerView.Adapter<RouteDescr
         @Override
         public void onChanged() {
             updateScaling();
+            loadRowTexts();
             super.onChanged();
         }
 
         @Override
         public void onItemRangeChanged(final int positionStart, final int itemCount, final Object payload) {
             updateScaling();
+            loadRowTexts();
             super.onItemRangeChanged(positionStart, itemCount, payload);
         }
 
         @Override
         public void onItemRangeInserted(final int positionStart, final int itemCount) {
             updateScaling();
+            loadRowTexts();
             super.onItemRangeInserted(positionStart, itemCount);
         }
 
         @Override
         public void onItemRangeRemoved(final int positionStart, final int itemCount) {
             updateScaling();
+            loadRowTexts();
             super.onItemRangeRemoved(positionStart, itemCount);
         }
 
         @Override
         public void onItemRangeMoved(final int fromPosition, final int toPosition, final int itemCount) {
             updateScaling();
+            loadRowTexts();
             super.onItemRangeMoved(fromPosition, toPosition, itemCount);
         }
     }
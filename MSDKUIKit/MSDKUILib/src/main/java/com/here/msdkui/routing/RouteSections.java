@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.common.RoadElement;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteElement;
+import com.here.android.mpa.routing.RouteElements;
+import com.here.android.mpa.routing.RouteOptions;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * The sections of a {@link Route} as shown by a {@link SectionBar}.
+ * <p>Consecutive road elements of the same type are merged into one section. Sections are stored as
+ * parallel primitive arrays: the normalized end of each section in the range [0, 1] and its type.
+ * A section starts where the previous one ends. Instances are immutable.</p>
+ *
+ * <p>When several types apply to a road element, the type with the highest value wins, so traffic
+ * always takes precedence over ferries, ferries over tunnels and tunnels over toll roads.</p>
+ */
+public final class RouteSections {
+
+    /**
+     * A regular section of the route.
+     */
+    public static final int TYPE_DEFAULT = 0;
+
+    /**
+     * A section on a toll road.
+     */
+    public static final int TYPE_TOLL = 1;
+
+    /**
+     * A section in a tunnel.
+     */
+    public static final int TYPE_TUNNEL = 2;
+
+    /**
+     * A section on a ferry or a car shuttle train.
+     */
+    public static final int TYPE_FERRY = 3;
+
+    /**
+     * A section with moderate traffic.
+     */
+    public static final int TYPE_TRAFFIC_MODERATE = 4;
+
+    /**
+     * A section with heavy traffic.
+     */
+    public static final int TYPE_TRAFFIC_HEAVY = 5;
+
+    /**
+     * A section that is blocked by traffic.
+     */
+    public static final int TYPE_TRAFFIC_BLOCKED = 6;
+
+    /**
+     * The number of section types.
+     */
+    public static final int TYPE_COUNT = 7;
+
+    /**
+     * Sections of a route without any elements.
+     */
+    public static final RouteSections EMPTY = new RouteSections(new float[0], new int[0], 0);
+
+    private static final RouteSections SINGLE = new RouteSections(new float[] {1f}, new int[] {TYPE_DEFAULT}, 1);
+
+    private final float[] mEnds;
+    private final int[] mTypes;
+    private final int mCount;
+
+    /**
+     * Constructs a new instance. The arrays are not copied.
+     */
+    RouteSections(final float[] ends, final int[] types, final int count) {
+        mEnds = ends;
+        mTypes = types;
+        mCount = count;
+    }
+
+    /**
+     * Calculates the sections of a {@link Route} in one pass over its {@link RouteElements}.
+     *
+     * @param route
+     *         the route to calculate the sections for.
+     *
+     * @param trafficLevelProvider
+     *         a provider of the traffic of the road elements or null to ignore traffic.
+     *
+     * @return the sections of the route. Routes using public transport have no sections.
+     */
+    public static RouteSections from(final Route route, @Nullable final TrafficLevelProvider trafficLevelProvider) {
+        final RouteOptions.TransportMode transportMode = route.getRoutePlan()
+                .getRouteOptions()
+                .getTransportMode();
+        if (transportMode == RouteOptions.TransportMode.PUBLIC_TRANSPORT) {
+            return EMPTY;
+        }
+
+        final RouteElements routeElements = route.getRouteElements();
+        final List<RouteElement> elements = routeElements == null ? null : routeElements.getElements();
+        if (elements == null || elements.isEmpty()) {
+            return SINGLE;
+        }
+
+        final int size = elements.size();
+        final double[] ends = new double[size];
+        final int[] types = new int[size];
+        int count = 0;
+        double length = 0;
+        for (int i = 0; i < size; i++) {
+            final RoadElement roadElement = elements.get(i).getRoadElement();
+            if (roadElement == null) {
+                continue;
+            }
+            int type = getType(roadElement.getAttributes());
+            if (trafficLevelProvider != null) {
+                type = Math.max(type, trafficLevelProvider.getTrafficType(roadElement));
+            }
+            length += Math.max(0, roadElement.getGeometryLength());
+            if (count > 0 && types[count - 1] == type) {
+                ends[count - 1] = length;
+            } else {
+                ends[count] = length;
+                types[count] = type;
+                count++;
+            }
+        }
+
+        if (count == 0 || length <= 0) {
+            return SINGLE;
+        }
+
+        final float[] normalizedEnds = new float[count];
+        for (int i = 0; i < count; i++) {
+            normalizedEnds[i] = (float) (ends[i] / length);
+        }
+        // Guard against rounding, so the last section always ends at the end of the bar.
+        normalizedEnds[count - 1] = 1f;
+        return new RouteSections(normalizedEnds, types, count);
+    }
+
+    /**
+     * Gets the number of sections.
+     * @return the number of sections.
+     */
+    public int size() {
+        return mCount;
+    }
+
+    /**
+     * Gets the normalized start of a section.
+     * @param index the index of the section.
+     * @return the start of the section in the range [0, 1].
+     */
+    public float getStart(final int index) {
+        checkIndex(index);
+        return index == 0 ? 0f : mEnds[index - 1];
+    }
+
+    /**
+     * Gets the normalized end of a section.
+     * @param index the index of the section.
+     * @return the end of the section in the range [0, 1].
+     */
+    public float getEnd(final int index) {
+        checkIndex(index);
+        return mEnds[index];
+    }
+
+    /**
+     * Gets the type of a section.
+     * @param index the index of the section.
+     * @return one of the {@code TYPE_} constants of this class.
+     */
+    public int getType(final int index) {
+        checkIndex(index);
+        return mTypes[index];
+    }
+
+    /**
+     * Merges the sections to pixel resolution. A pixel covered by several sections gets the type with
+     * the highest value, so short traffic sections stay visible on long routes. Afterwards, consecutive
+     * pixels of the same type are merged into one run.
+     *
+     * @param width
+     *         the width in pixels.
+     *
+     * @param outEnds
+     *         receives the exclusive end pixel of each run. Must hold at least {@code width} elements.
+     *
+     * @param outTypes
+     *         receives the type of each run. Must hold at least {@code width} elements.
+     *
+     * @return the number of runs.
+     */
+    public int mergeToPixels(final int width, final int[] outEnds, final int[] outTypes) {
+        if (width <= 0 || mCount == 0) {
+            return 0;
+        }
+        if (outEnds.length < width || outTypes.length < width) {
+            throw new IllegalArgumentException("Output arrays must hold at least " + width + " elements");
+        }
+
+        // First pass: type of every pixel.
+        for (int pixel = 0; pixel < width; pixel++) {
+            outTypes[pixel] = TYPE_DEFAULT;
+        }
+        float start = 0f;
+        for (int i = 0; i < mCount; i++) {
+            final float end = mEnds[i];
+            final int type = mTypes[i];
+            if (type != TYPE_DEFAULT && end > start) {
+                final int first = Math.min(width - 1, (int) (start * width));
+                final int last = Math.min(width - 1, Math.max(first, (int) Math.ceil(end * width) - 1));
+                for (int pixel = first; pixel <= last; pixel++) {
+                    if (outTypes[pixel] < type) {
+                        outTypes[pixel] = type;
+                    }
+                }
+            }
+            start = end;
+        }
+
+        // Second pass: merge pixels in place, a run never starts after the pixel it is read from.
+        int runs = 0;
+        for (int pixel = 0; pixel < width; pixel++) {
+            final int type = outTypes[pixel];
+            if (runs > 0 && outTypes[runs - 1] == type) {
+                outEnds[runs - 1] = pixel + 1;
+            } else {
+                outTypes[runs] = type;
+                outEnds[runs] = pixel + 1;
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= mCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + mCount);
+        }
+    }
+
+    private static int getType(final EnumSet<RoadElement.Attribute> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return TYPE_DEFAULT;
+        }
+        if (attributes.contains(RoadElement.Attribute.FERRY)
+                || attributes.contains(RoadElement.Attribute.CAR_SHUTTLE_TRAIN)) {
+            return TYPE_FERRY;
+        }
+        if (attributes.contains(RoadElement.Attribute.TUNNEL)) {
+            return TYPE_TUNNEL;
+        }
+        if (attributes.contains(RoadElement.Attribute.TOLLROAD)) {
+            return TYPE_TOLL;
+        }
+        return TYPE_DEFAULT;
+    }
+
+    /**
+     * Provides the traffic on the road elements of a route, e.g. based on the traffic events
+     * affecting the route.
+     */
+    public interface TrafficLevelProvider {
+
+        /**
+         * Gets the traffic on a road element.
+         *
+         * @param roadElement
+         *         the road element.
+         *
+         * @return {@link #TYPE_DEFAULT} for free flow or one of {@link #TYPE_TRAFFIC_MODERATE},
+         *         {@link #TYPE_TRAFFIC_HEAVY} and {@link #TYPE_TRAFFIC_BLOCKED}.
+         */
+        int getTrafficType(RoadElement roadElement);
+    }
+}
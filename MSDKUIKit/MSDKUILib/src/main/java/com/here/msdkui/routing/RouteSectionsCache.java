@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.routing.Route;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the {@link RouteSections} shown by {@link RouteDescriptionItem}s, so binding a route again or toggling
+ * traffic doesn't walk all route elements again. The sections with and without traffic are kept separately, the
+ * ones with traffic are calculated again when the {@link RouteSections.TrafficLevelProvider} changes. An entry is
+ * released together with its route.
+ */
+final class RouteSectionsCache {
+
+    private static final Map<Route, Entry> ENTRIES = new WeakHashMap<>();
+
+    private RouteSectionsCache() {
+    }
+
+    /**
+     * Gets the sections of a route, calculating them if they are not cached yet.
+     *
+     * @param route
+     *         the route.
+     * @param trafficLevelProvider
+     *         a provider of the traffic along the route or null to ignore traffic.
+     * @return the sections of the route.
+     */
+    @MainThread
+    static RouteSections get(final Route route,
+            @Nullable final RouteSections.TrafficLevelProvider trafficLevelProvider) {
+        Entry entry = ENTRIES.get(route);
+        if (entry == null) {
+            entry = new Entry();
+            ENTRIES.put(route, entry);
+        }
+        if (trafficLevelProvider == null) {
+            if (entry.mSections == null) {
+                entry.mSections = RouteSections.from(route, null);
+            }
+            return entry.mSections;
+        }
+        if (entry.mTrafficSections == null || entry.mTrafficLevelProvider.get() != trafficLevelProvider) {
+            entry.mTrafficSections = RouteSections.from(route, trafficLevelProvider);
+            // The provider may reference the route, which must not be kept reachable by the cache.
+            entry.mTrafficLevelProvider = new WeakReference<>(trafficLevelProvider);
+        }
+        return entry.mTrafficSections;
+    }
+
+    /**
+     * Cached sections of a route.
+     */
+    private static final class Entry {
+        private RouteSections mSections;
+        private RouteSections mTrafficSections;
+        private WeakReference<RouteSections.TrafficLevelProvider> mTrafficLevelProvider;
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteOptions;
+import com.here.android.mpa.routing.RouteTta;
+import com.here.msdkui.R;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.here.android.mpa.routing.Route.WHOLE_ROUTE;
+
+/**
+ * A detached copy of everything the route and maneuver lists show of a {@link Route}.
+ *
+ * <p>The snapshot is created once with {@link #from(Context, Route, RouteSections.TrafficLevelProvider)} and only
+ * holds Java arrays and strings: a table of the maneuvers with their icon, instruction, road and distance to the
+ * next maneuver, the summary of the route and its {@link RouteSections}. Texts occurring more than once, such as
+ * the names of roads followed by several maneuvers, are stored only once. Once the snapshot is shown by a
+ * {@link ManeuverList} or a {@link RouteDescriptionItem}, the {@link Route}, its maneuvers and their native
+ * resources can be released. Instances are immutable.</p>
+ *
+ * <p>A snapshot can be stored with {@link #writeTo(DataOutput)} and read again with {@link #readFrom(DataInput)},
+ * e.g. to show the route right away after the app was restarted. The icons are stored as resource ids, so a
+ * stored snapshot must only be read by the same build of the app.</p>
+ */
+public final class RouteSnapshot {
+
+    /**
+     * The version of the format written by {@link #writeTo(DataOutput)}.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private final int[] mIconIds;
+    private final int[] mInstructions;
+    private final int[] mRoads;
+    private final int[] mDistances;
+    private final String[] mStrings;
+
+    private final RouteOptions.TransportMode mTransportMode;
+    private final int mLength;
+    private final long mDurationWithTraffic;
+    private final long mDurationWithoutTraffic;
+    private final boolean mBlocked;
+    private final RouteOptions.TimeType mTimeType;
+    private final long mTime;
+    private final String mLongestRoadSegments;
+    private final RouteSections mSections;
+    private final RouteSections mTrafficSections;
+
+    private RouteSnapshot(final Builder builder) {
+        mIconIds = builder.mIconIds;
+        mInstructions = builder.mInstructions;
+        mRoads = builder.mRoads;
+        mDistances = builder.mDistances;
+        mStrings = builder.mStrings;
+        mTransportMode = builder.mTransportMode;
+        mLength = builder.mLength;
+        mDurationWithTraffic = builder.mDurationWithTraffic;
+        mDurationWithoutTraffic = builder.mDurationWithoutTraffic;
+        mBlocked = builder.mBlocked;
+        mTimeType = builder.mTimeType;
+        mTime = builder.mTime;
+        mLongestRoadSegments = builder.mLongestRoadSegments;
+        mSections = builder.mSections;
+        mTrafficSections = builder.mTrafficSections;
+    }
+
+    /**
+     * Creates the snapshot of a route. This reads every maneuver and road element of the route and can be
+     * done on a background thread.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param route
+     *         the {@link Route} to copy.
+     * @param trafficLevelProvider
+     *         a provider of the traffic along the route or null to ignore traffic.
+     * @return the snapshot of the route.
+     * @throws IllegalArgumentException if route is null.
+     */
+    @NonNull
+    public static RouteSnapshot from(@NonNull final Context context, final Route route,
+            @Nullable final RouteSections.TrafficLevelProvider trafficLevelProvider) {
+        if (route == null) {
+            throw new IllegalArgumentException(context.getString(R.string.msdkui_exception_route_null));
+        }
+        final Builder builder = new Builder();
+        final List<Maneuver> routeManeuvers = route.getManeuvers();
+        final List<Maneuver> maneuvers = routeManeuvers == null ? Collections.<Maneuver>emptyList() : routeManeuvers;
+        final ManeuverResources resources = new ManeuverResources(context, maneuvers);
+        final int count = maneuvers.size();
+        builder.mIconIds = new int[count];
+        builder.mInstructions = new int[count];
+        builder.mRoads = new int[count];
+        builder.mDistances = new int[count];
+        for (int i = 0; i < count; i++) {
+            builder.mIconIds[i] = resources.getManeuverIconId(i);
+            builder.mInstructions[i] = builder.intern(resources.getManeuverInstruction(i));
+            builder.mRoads[i] = builder.intern(resources.getRoadToDisplay(i));
+            builder.mDistances[i] = resources.getDistanceFromNext(i);
+        }
+        builder.mStrings = new String[builder.mStringIndices.size()];
+        for (final Map.Entry<String, Integer> entry : builder.mStringIndices.entrySet()) {
+            builder.mStrings[entry.getValue()] = entry.getKey();
+        }
+
+        final RouteOptions options = route.getRoutePlan().getRouteOptions();
+        final Date time = new Date();
+        builder.mTimeType = options.getTime(time);
+        builder.mTime = time.getTime();
+        builder.mTransportMode = options.getTransportMode();
+        builder.mLength = route.getLength();
+        final RouteTta ttaWithTraffic = route.getTtaIncludingTraffic(WHOLE_ROUTE);
+        builder.mDurationWithTraffic = ttaWithTraffic.getDuration();
+        builder.mBlocked = ttaWithTraffic.isBlocked();
+        builder.mDurationWithoutTraffic = route.getTtaExcludingTraffic(WHOLE_ROUTE).getDuration();
+        builder.mLongestRoadSegments = builder.mTransportMode == RouteOptions.TransportMode.PUBLIC_TRANSPORT
+                ? "" : RouteUtil.getLongestRoadSegments(route);
+        builder.mSections = RouteSections.from(route, null);
+        builder.mTrafficSections = trafficLevelProvider == null
+                ? builder.mSections : RouteSections.from(route, trafficLevelProvider);
+        return new RouteSnapshot(builder);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input
+     *         the input to read from.
+     * @return the snapshot.
+     * @throws IOException if reading fails or the data is not a snapshot of the {@link #FORMAT_VERSION}.
+     */
+    @NonNull
+    public static RouteSnapshot readFrom(@NonNull final DataInput input) throws IOException {
+        final int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported route snapshot version " + version);
+        }
+        final Builder builder = new Builder();
+        builder.mStrings = new String[readCount(input)];
+        for (int i = 0; i < builder.mStrings.length; i++) {
+            builder.mStrings[i] = input.readUTF();
+        }
+        final int count = readCount(input);
+        builder.mIconIds = new int[count];
+        builder.mInstructions = new int[count];
+        builder.mRoads = new int[count];
+        builder.mDistances = new int[count];
+        for (int i = 0; i < count; i++) {
+            builder.mIconIds[i] = input.readInt();
+            builder.mInstructions[i] = readStringIndex(input, builder.mStrings.length);
+            builder.mRoads[i] = readStringIndex(input, builder.mStrings.length);
+            builder.mDistances[i] = input.readInt();
+        }
+        builder.mTransportMode = readEnum(input, RouteOptions.TransportMode.class);
+        builder.mLength = input.readInt();
+        builder.mDurationWithTraffic = input.readLong();
+        builder.mDurationWithoutTraffic = input.readLong();
+        builder.mBlocked = input.readBoolean();
+        builder.mTimeType = readEnum(input, RouteOptions.TimeType.class);
+        builder.mTime = input.readLong();
+        builder.mLongestRoadSegments = input.readUTF();
+        builder.mSections = readSections(input);
+        builder.mTrafficSections = input.readBoolean() ? readSections(input) : builder.mSections;
+        return new RouteSnapshot(builder);
+    }
+
+    /**
+     * Writes this snapshot in a compact binary format, see {@link #readFrom(DataInput)}.
+     *
+     * @param output
+     *         the output to write to.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(@NonNull final DataOutput output) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(mStrings.length);
+        for (final String string : mStrings) {
+            output.writeUTF(string);
+        }
+        output.writeInt(mIconIds.length);
+        for (int i = 0; i < mIconIds.length; i++) {
+            output.writeInt(mIconIds[i]);
+            output.writeInt(mInstructions[i]);
+            output.writeInt(mRoads[i]);
+            output.writeInt(mDistances[i]);
+        }
+        writeEnum(output, mTransportMode);
+        output.writeInt(mLength);
+        output.writeLong(mDurationWithTraffic);
+        output.writeLong(mDurationWithoutTraffic);
+        output.writeBoolean(mBlocked);
+        writeEnum(output, mTimeType);
+        output.writeLong(mTime);
+        output.writeUTF(mLongestRoadSegments);
+        writeSections(output, mSections);
+        output.writeBoolean(mTrafficSections != mSections);
+        if (mTrafficSections != mSections) {
+            writeSections(output, mTrafficSections);
+        }
+    }
+
+    /**
+     * Gets the number of maneuvers.
+     *
+     * @return the number of maneuvers of the route.
+     */
+    public int getManeuverCount() {
+        return mIconIds.length;
+    }
+
+    /**
+     * Gets the icon of a maneuver, see {@link ManeuverResources#getManeuverIconId(int)}.
+     *
+     * @param index
+     *         the index of the maneuver.
+     * @return the icon id or 0 if the maneuver has no icon.
+     */
+    public int getManeuverIconId(final int index) {
+        return mIconIds[index];
+    }
+
+    /**
+     * Gets the instruction of a maneuver, see {@link ManeuverResources#getManeuverInstruction(int)}.
+     *
+     * @param index
+     *         the index of the maneuver.
+     * @return the instruction.
+     */
+    public String getManeuverInstruction(final int index) {
+        return mStrings[mInstructions[index]];
+    }
+
+    /**
+     * Gets the road of a maneuver, see {@link ManeuverResources#getRoadToDisplay(int)}.
+     *
+     * @param index
+     *         the index of the maneuver.
+     * @return the road name.
+     */
+    public String getRoadToDisplay(final int index) {
+        return mStrings[mRoads[index]];
+    }
+
+    /**
+     * Gets the distance from a maneuver to the next one, see {@link ManeuverResources#getDistanceFromNext(int)}.
+     *
+     * @param index
+     *         the index of the maneuver.
+     * @return the distance in meters or 0 for the last maneuver.
+     */
+    public int getDistanceFromNext(final int index) {
+        return mDistances[index];
+    }
+
+    /**
+     * Gets the transport mode of the route.
+     *
+     * @return the {@link RouteOptions.TransportMode}.
+     */
+    public RouteOptions.TransportMode getTransportMode() {
+        return mTransportMode;
+    }
+
+    /**
+     * Gets the length of the route.
+     *
+     * @return the length in meters.
+     */
+    public int getLength() {
+        return mLength;
+    }
+
+    /**
+     * Gets the travel time of the route.
+     *
+     * @param isTraffic
+     *         true to include traffic, false otherwise.
+     * @return the travel time in seconds.
+     */
+    public long getDuration(final boolean isTraffic) {
+        return isTraffic ? mDurationWithTraffic : mDurationWithoutTraffic;
+    }
+
+    /**
+     * Indicates whether the route is blocked by traffic.
+     *
+     * @return true if blocked, false otherwise.
+     */
+    public boolean isBlocked() {
+        return mBlocked;
+    }
+
+    /**
+     * Gets whether the time of the route is the departure or the arrival time.
+     *
+     * @return the {@link RouteOptions.TimeType}.
+     */
+    public RouteOptions.TimeType getTimeType() {
+        return mTimeType;
+    }
+
+    /**
+     * Gets the departure or arrival time of the route, see {@link #getTimeType()}.
+     *
+     * @return the time in milliseconds since January 1, 1970 00:00:00 UTC.
+     */
+    public long getTime() {
+        return mTime;
+    }
+
+    /**
+     * Gets the longest road segments of the route, see {@link RouteUtil#getLongestRoadSegments(Route)}.
+     *
+     * @return the longest road segments, empty for routes using public transport.
+     */
+    public String getLongestRoadSegments() {
+        return mLongestRoadSegments;
+    }
+
+    /**
+     * Gets the sections of the route.
+     *
+     * @param isTraffic
+     *         true to include the traffic of the provider the snapshot was created with, false otherwise.
+     * @return the {@link RouteSections}.
+     */
+    public RouteSections getSections(final boolean isTraffic) {
+        return isTraffic ? mTrafficSections : mSections;
+    }
+
+    /**
+     * Gets the number of distinct texts of the maneuvers.
+     */
+    int getStringCount() {
+        return mStrings.length;
+    }
+
+    private static int readCount(final DataInput input) throws IOException {
+        final int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    private static int readStringIndex(final DataInput input, final int stringCount) throws IOException {
+        final int index = input.readInt();
+        if (index < 0 || index >= stringCount) {
+            throw new IOException("Invalid string index " + index);
+        }
+        return index;
+    }
+
+    private static void writeEnum(final DataOutput output, @Nullable final Enum<?> value) throws IOException {
+        output.writeUTF(value == null ? "" : value.name());
+    }
+
+    @Nullable
+    private static <E extends Enum<E>> E readEnum(final DataInput input, final Class<E> type) throws IOException {
+        final String name = input.readUTF();
+        if (name.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown " + type.getSimpleName() + " " + name, e);
+        }
+    }
+
+    private static void writeSections(final DataOutput output, final RouteSections sections) throws IOException {
+        output.writeInt(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            output.writeFloat(sections.getEnd(i));
+            output.writeByte(sections.getType(i));
+        }
+    }
+
+    private static RouteSections readSections(final DataInput input) throws IOException {
+        final int count = readCount(input);
+        if (count == 0) {
+            return RouteSections.EMPTY;
+        }
+        final float[] ends = new float[count];
+        final int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            ends[i] = input.readFloat();
+            types[i] = input.readByte();
+        }
+        return new RouteSections(ends, types, count);
+    }
+
+    /**
+     * Collects the fields of a snapshot.
+     */
+    private static final class Builder {
+        private final Map<String, Integer> mStringIndices = new HashMap<>();
+        private int[] mIconIds;
+        private int[] mInstructions;
+        private int[] mRoads;
+        private int[] mDistances;
+        private String[] mStrings;
+        private RouteOptions.TransportMode mTransportMode;
+        private int mLength;
+        private long mDurationWithTraffic;
+        private long mDurationWithoutTraffic;
+        private boolean mBlocked;
+        private RouteOptions.TimeType mTimeType;
+        private long mTime;
+        private String mLongestRoadSegments;
+        private RouteSections mSections;
+        private RouteSections mTrafficSections;
+
+        int intern(@Nullable final String text) {
+            final String key = text == null ? "" : text;
+            final Integer index = mStringIndices.get(key);
+            if (index != null) {
+                return index;
+            }
+            mStringIndices.put(key, mStringIndices.size());
+            return mStringIndices.size() - 1;
+        }
+    }
+}
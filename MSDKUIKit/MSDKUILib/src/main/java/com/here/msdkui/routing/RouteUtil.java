@@ -21,6 +21,7 @@ import android.graphics.PorterDuff;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
 import android.graphics.drawable.LayerDrawable;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.appcompat.content.res.AppCompatResources;
 import android.text.Spannable;
@@ -113,22 +114,39 @@ public final class RouteUtil {
      * @return the {@link Spannable} containing the traffic delay.
      */
     public static Spannable getTrafficDelayed(final Context context, final Route route) {
-        final SpannableStringBuilder builder = new SpannableStringBuilder(" ");
-
         if (!isTrafficAvailable(route)) {
-            return builder;
+            return new SpannableStringBuilder(" ");
+        }
+        return getTrafficDelayed(context, route.getTtaIncludingTraffic(WHOLE_ROUTE).isBlocked(),
+                route.getTtaIncludingTraffic(WHOLE_ROUTE).getDuration(),
+                route.getTtaExcludingTraffic(WHOLE_ROUTE).getDuration());
+    }
+
+    /**
+     * Gets the traffic delay text of the associated {@link RouteSnapshot}.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param snapshot
+     *         a {@link RouteSnapshot} instance.
+     * @return the {@link Spannable} containing the traffic delay.
+     */
+    public static Spannable getTrafficDelayed(final Context context, final RouteSnapshot snapshot) {
+        if (!isTrafficAvailable(snapshot.getTimeType(), new Date(snapshot.getTime()))) {
+            return new SpannableStringBuilder(" ");
         }
+        return getTrafficDelayed(context, snapshot.isBlocked(), snapshot.getDuration(true),
+                snapshot.getDuration(false));
+    }
 
-        final boolean isBlockedRoad = route.getTtaIncludingTraffic(WHOLE_ROUTE).isBlocked();
+    private static Spannable getTrafficDelayed(final Context context, final boolean isBlockedRoad,
+            final long durationWithTraffic, final long durationWithoutTraffic) {
+        final SpannableStringBuilder builder = new SpannableStringBuilder(" ");
         if (isBlockedRoad) {
             appendDrawable(context, builder, R.drawable.ic_warning, R.attr.colorAlert);
             appendText(context, builder, context.getString(R.string.msdkui_traffic_blocked), R.attr.colorAlert);
             return builder;
         }
-        final long durationWithTraffic = route.getTtaIncludingTraffic(WHOLE_ROUTE)
-                .getDuration();
-        final long durationWithoutTraffic = route.getTtaExcludingTraffic(WHOLE_ROUTE)
-                .getDuration();
         final long delayInSeconds = durationWithTraffic > durationWithoutTraffic ?
                 durationWithTraffic - durationWithoutTraffic :
                 0;
@@ -156,10 +174,31 @@ public final class RouteUtil {
      * @return a string containing the arrival time.
      */
     public static String getArrivalTime(final Context context, final Route route, final boolean isTraffic) {
-        final long tta = getTta(route, isTraffic);
         final Date setArrivalOrDepartureDate = new Date();
-        final Date estimatedArrival;
         final RouteOptions.TimeType type = route.getRoutePlan().getRouteOptions().getTime(setArrivalOrDepartureDate);
+        return getArrivalTime(context, type, setArrivalOrDepartureDate, getTta(route, isTraffic));
+    }
+
+    /**
+     * Gets the arrival time of the associated {@link RouteSnapshot} with or without traffic.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param snapshot
+     *         a {@link RouteSnapshot} instance.
+     * @param isTraffic
+     *         true if traffic situation should be included, false otherwise.
+     * @return a string containing the arrival time.
+     */
+    public static String getArrivalTime(final Context context, final RouteSnapshot snapshot,
+            final boolean isTraffic) {
+        return getArrivalTime(context, snapshot.getTimeType(), new Date(snapshot.getTime()),
+                getTta(snapshot, isTraffic));
+    }
+
+    private static String getArrivalTime(final Context context, final RouteOptions.TimeType type,
+            final Date setArrivalOrDepartureDate, final long tta) {
+        final Date estimatedArrival;
         if (type == RouteOptions.TimeType.ARRIVAL) {
             estimatedArrival = new Date(setArrivalOrDepartureDate.getTime() - tta);
         } else {
@@ -186,6 +225,23 @@ public final class RouteUtil {
         return DistanceFormatterUtil.format(context, length, unitSystem);
     }
 
+    /**
+     * Gets the total length of the associated {@link RouteSnapshot} as formatted string.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param snapshot
+     *         a {@link RouteSnapshot} instance.
+     * @param unitSystem
+     *         unit system {@link UnitSystem}.
+     *
+     * @return the formatted route length including units.
+     */
+    public static String getRouteLength(final Context context, final RouteSnapshot snapshot,
+                                        final UnitSystem unitSystem) {
+        return DistanceFormatterUtil.format(context, snapshot.getLength(), unitSystem);
+    }
+
     /**
      * Gets different details of the associated {@link Route} like via and others.
      *
@@ -203,13 +259,35 @@ public final class RouteUtil {
         final RouteOptions.TransportMode transportMode = route.getRoutePlan()
                 .getRouteOptions()
                 .getTransportMode();
+        if (transportMode == RouteOptions.TransportMode.PUBLIC_TRANSPORT) {
+            return new SpannableStringBuilder(); // empty
+        }
         final SpannableStringBuilder builder =
                 new SpannableStringBuilder(getRouteLength(context, route, unitSystem));
-        if (transportMode == RouteOptions.TransportMode.PUBLIC_TRANSPORT) {
+        addVia(context, getLongestRoadSegments(route), builder);
+        return builder;
+    }
+
+    /**
+     * Gets different details of the associated {@link RouteSnapshot} like via and others.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param snapshot
+     *         a {@link RouteSnapshot} instance.
+     * @param unitSystem
+     *         unit system {@link UnitSystem}.
+     *
+     * @return a {@link Spannable} containing the details.
+     */
+    public static Spannable getDetails(final Context context, final RouteSnapshot snapshot,
+                                       final UnitSystem unitSystem) {
+        if (snapshot.getTransportMode() == RouteOptions.TransportMode.PUBLIC_TRANSPORT) {
             return new SpannableStringBuilder(); // empty
-        } else {
-            addVia(context, route, builder);
         }
+        final SpannableStringBuilder builder =
+                new SpannableStringBuilder(getRouteLength(context, snapshot, unitSystem));
+        addVia(context, snapshot.getLongestRoadSegments(), builder);
         return builder;
     }
 
@@ -229,6 +307,23 @@ public final class RouteUtil {
         return SpannableString.valueOf(TimeFormatterUtil.format(context, getTta(route, isTraffic)));
     }
 
+    /**
+     * Gets the estimated time to arrive at the destination of the associated {@link RouteSnapshot} with or
+     * without traffic.
+     *
+     * @param context
+     *         the required {@link Context}.
+     * @param snapshot
+     *         a {@link RouteSnapshot} instance.
+     * @param isTraffic
+     *         true if traffic situation should be included, false otherwise.
+     * @return the {@link Spannable} containing the time to arrive in the format: days-hours-minutes.
+     */
+    public static Spannable getTimeToArrive(final Context context, final RouteSnapshot snapshot,
+            final boolean isTraffic) {
+        return SpannableString.valueOf(TimeFormatterUtil.format(context, getTta(snapshot, isTraffic)));
+    }
+
     /**
      * Gets the {@link com.here.android.mpa.routing.RouteOptions.TransportMode} icon of the associated {@link Route}.
      *
@@ -237,9 +332,24 @@ public final class RouteUtil {
      * @return an icon indicating the transport mode.
      */
     public static Integer getIcon(final Route route) {
-        final RouteOptions.TransportMode transportMode = route.getRoutePlan()
+        return getIcon(route.getRoutePlan()
                 .getRouteOptions()
-                .getTransportMode();
+                .getTransportMode());
+    }
+
+    /**
+     * Gets the {@link com.here.android.mpa.routing.RouteOptions.TransportMode} icon of the associated
+     * {@link RouteSnapshot}.
+     *
+     * @param snapshot
+     *         a {@link RouteSnapshot} instance.
+     * @return an icon indicating the transport mode.
+     */
+    public static Integer getIcon(final RouteSnapshot snapshot) {
+        return getIcon(snapshot.getTransportMode());
+    }
+
+    private static Integer getIcon(final RouteOptions.TransportMode transportMode) {
         Integer id = 0;
         switch (transportMode) {
             case CAR:
@@ -263,6 +373,20 @@ public final class RouteUtil {
         return id;
     }
 
+    /**
+     * Gets the {@link RouteSections} of the associated {@link Route}, highlighting ferries, tunnels and toll roads.
+     *
+     * @param route
+     *         a {@link Route} instance.
+     * @param trafficLevelProvider
+     *         a provider of the traffic along the route or null to ignore traffic.
+     * @return the sections of the route.
+     */
+    public static RouteSections getSections(final Route route,
+            @Nullable final RouteSections.TrafficLevelProvider trafficLevelProvider) {
+        return RouteSections.from(route, trafficLevelProvider);
+    }
+
     /**
      * Gets a list of {@link SectionModel} elements of the associated {@link Route}.
      *
@@ -290,11 +414,11 @@ public final class RouteUtil {
         return sectionModels;
     }
 
-    private static void addVia(final Context context, final Route route, final SpannableStringBuilder builder) {
+    private static void addVia(final Context context, final String via, final SpannableStringBuilder builder) {
         builder.append("  ");
         appendDrawable(context, builder, R.drawable.ic_small_vertical_divider, -1);
         builder.append(" ");
-        builder.append(getLongestRoadSegments(route));
+        builder.append(via);
     }
 
     private static void appendDrawable(final Context context, final SpannableStringBuilder builder, final int drawable, int tint) {
@@ -328,6 +452,11 @@ public final class RouteUtil {
                 .getDuration() * DateUtils.SECOND_IN_MILLIS;
     }
 
+    private static long getTta(final RouteSnapshot snapshot, final boolean isTraffic) {
+        final boolean traffic = isTraffic && isTrafficAvailable(snapshot.getTimeType(), new Date(snapshot.getTime()));
+        return snapshot.getDuration(traffic) * DateUtils.SECOND_IN_MILLIS;
+    }
+
     /**
      * Traffic information is not available when departure time is more than 5 minutes in the past or more
      * than 30 minutes in the future - or when RouteOptions.TimeType.ARRIVAL is set as time.
@@ -341,7 +470,10 @@ public final class RouteUtil {
         // gets arrival or departure date.
         final Date departureDate = new Date();
         final RouteOptions.TimeType type = route.getRoutePlan().getRouteOptions().getTime(departureDate);
+        return isTrafficAvailable(type, departureDate);
+    }
 
+    private static boolean isTrafficAvailable(final RouteOptions.TimeType type, final Date departureDate) {
         if (type == RouteOptions.TimeType.ARRIVAL) {
             return false; // traffic is not supported for arrival.
         }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import java.util.List;
+
+/**
+ * Payloads of the row changes of the list adapters in this package. A row bound with payloads only updates
+ * the views affected by the change instead of binding the whole row again.
+ */
+enum RowPayload {
+
+    /**
+     * The unit system changed, which affects the distances.
+     */
+    UNIT_SYSTEM,
+
+    /**
+     * Traffic was enabled or disabled, which affects the travel times and the traffic on the section bar.
+     */
+    TRAFFIC;
+
+    /**
+     * Checks if the payloads of a bind request can be applied as partial updates.
+     *
+     * @param payloads
+     *         the payloads given to {@code onBindViewHolder}.
+     * @return true if all payloads are {@link RowPayload}s, false if the row must be bound in full.
+     */
+    static boolean isPartial(final List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            return false;
+        }
+        for (final Object payload : payloads) {
+            if (!(payload instanceof RowPayload)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
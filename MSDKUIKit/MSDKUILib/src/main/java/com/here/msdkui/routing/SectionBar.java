@@ -18,18 +18,27 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.os.Build;
 import androidx.annotation.RequiresApi;
+import androidx.core.content.ContextCompat;
 import android.util.AttributeSet;
 import android.view.View;
 import android.widget.LinearLayout;
 
+import com.here.msdkui.R;
+
 import java.util.List;
 
 /**
  * A view that shows a section bar indicating the length of a route. A scale factor can be set to adjust the width.
  * This view is one of the available sections that is shown in a {@link RouteDescriptionItem}.
+ *
+ * <p>The bar can either draw a list of {@link SectionModel}s or the {@link RouteSections} of a route,
+ * highlighting traffic, ferries, tunnels and toll roads.</p>
  */
 public final class SectionBar extends LinearLayout {
 
@@ -117,6 +126,18 @@ public final class SectionBar extends LinearLayout {
         mBar.invalidate();
     }
 
+    /**
+     * Binds the {@link RouteSections} of a route to this view.
+     * @param sections the sections to show.
+     * @param scale the scale factor to use in order to adapt the width of this view. The scale factor
+     *              has a range from [0, 1], whereas 1 results in an unscaled width representing the longest route.
+     */
+    public void bind(final RouteSections sections, final float scale) {
+        mBar.setSections(sections);
+        mBar.setScale(scale);
+        mBar.invalidate();
+    }
+
     private BarView createBar() {
         final BarView view = new BarView(getContext());
         view.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
@@ -128,13 +149,37 @@ public final class SectionBar extends LinearLayout {
      * Bar view.
      */
     private static class BarView extends View {
-        private Rect mBounds;
+        private final Rect mBounds;
+        private final RectF mRect = new RectF();
+        private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private final int[] mColors = new int[RouteSections.TYPE_COUNT];
+        private final float mCornerRadius;
+        private final float mEndInset;
         private List<SectionModel> mModels;
+        private RouteSections mSections;
         private float mScale;
 
+        private int[] mRunEnds = new int[0];
+        private int[] mRunTypes = new int[0];
+        private int mRunCount;
+        private int mRunWidth = -1;
+
         BarView(Context context) {
             super(context);
             mBounds = new Rect();
+            mPaint.setStyle(Paint.Style.FILL);
+            mCornerRadius = 2 * context.getResources().getDisplayMetrics().density;
+            mEndInset = mCornerRadius;
+            mColors[RouteSections.TYPE_DEFAULT] = ContextCompat.getColor(context, R.color.color_route);
+            mColors[RouteSections.TYPE_TOLL] = ContextCompat.getColor(context, R.color.color_section_toll);
+            mColors[RouteSections.TYPE_TUNNEL] = ContextCompat.getColor(context, R.color.color_section_tunnel);
+            mColors[RouteSections.TYPE_FERRY] = ContextCompat.getColor(context, R.color.color_section_ferry);
+            mColors[RouteSections.TYPE_TRAFFIC_MODERATE] =
+                    ContextCompat.getColor(context, R.color.color_section_traffic_moderate);
+            mColors[RouteSections.TYPE_TRAFFIC_HEAVY] =
+                    ContextCompat.getColor(context, R.color.color_section_traffic_heavy);
+            mColors[RouteSections.TYPE_TRAFFIC_BLOCKED] =
+                    ContextCompat.getColor(context, R.color.color_section_traffic_blocked);
         }
 
         void setScale(final float scale) {
@@ -143,10 +188,22 @@ public final class SectionBar extends LinearLayout {
 
         void setModels(final List<SectionModel> models) {
             mModels = models;
+            mSections = null;
+        }
+
+        void setSections(final RouteSections sections) {
+            mSections = sections;
+            mModels = null;
+            mRunWidth = -1;
         }
 
         @Override
         protected void onDraw(final Canvas canvas) {
+            if (mSections != null) {
+                drawSections(canvas, mSections);
+                return;
+            }
+
             final List<SectionModel> models = mModels;
 
             if (models == null) {
@@ -165,5 +222,45 @@ public final class SectionBar extends LinearLayout {
                 model.getDrawable().draw(canvas);
             }
         }
+
+        private void drawSections(final Canvas canvas, final RouteSections sections) {
+            if (sections.size() == 0) {
+                return;
+            }
+            final int barWidth = (int) (getWidth() * mScale);
+            final int sectionWidth = (int) (barWidth - mEndInset);
+            if (sectionWidth <= 0) {
+                return;
+            }
+            final int height = getHeight();
+
+            // Rounded background with the rounded default color on top, like section_bar_layer_rounded.
+            mPaint.setColor(Color.WHITE);
+            mRect.set(0, 0, barWidth, height);
+            canvas.drawRoundRect(mRect, mCornerRadius, mCornerRadius, mPaint);
+            mPaint.setColor(mColors[RouteSections.TYPE_DEFAULT]);
+            mRect.set(0, 0, sectionWidth, height);
+            canvas.drawRoundRect(mRect, mCornerRadius, mCornerRadius, mPaint);
+
+            if (mRunWidth != sectionWidth) {
+                if (mRunEnds.length < sectionWidth) {
+                    mRunEnds = new int[sectionWidth];
+                    mRunTypes = new int[sectionWidth];
+                }
+                mRunCount = sections.mergeToPixels(sectionWidth, mRunEnds, mRunTypes);
+                mRunWidth = sectionWidth;
+            }
+
+            int start = 0;
+            for (int i = 0; i < mRunCount; i++) {
+                final int end = mRunEnds[i];
+                final int type = mRunTypes[i];
+                if (type != RouteSections.TYPE_DEFAULT) {
+                    mPaint.setColor(mColors[type]);
+                    canvas.drawRect(start, 0, end, height, mPaint);
+                }
+                start = end;
+            }
+        }
     }
 }
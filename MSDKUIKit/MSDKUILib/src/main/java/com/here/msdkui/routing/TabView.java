@@ -20,7 +20,9 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.widget.ImageView;
@@ -31,12 +33,13 @@ import com.here.msdkui.R;
 import com.here.msdkui.common.ThemeUtil;
 
 /**
- * A view that shows an icon and a label.
+ * A view that shows an icon and a label, plus an optional badge with a short summary like a duration.
  */
 public class TabView extends RelativeLayout {
 
     private ImageView mButtonIcon;
     private TextView mButtonLabel;
+    private TextView mButtonBadge;
 
     /**
      * Constructs a new instance.
@@ -114,6 +117,7 @@ public class TabView extends RelativeLayout {
     private void uiInit() {
         mButtonIcon = (ImageView) findViewById(android.R.id.icon);
         mButtonLabel = (TextView) findViewById(android.R.id.text1);
+        mButtonBadge = (TextView) findViewById(R.id.tab_view_badge);
     }
 
     /**
@@ -195,4 +199,23 @@ public class TabView extends RelativeLayout {
         mButtonLabel.setText(label);
         return this;
     }
+
+    /**
+     * Gets the badge shown by this view.
+     * @return the badge or an empty text if no badge is shown.
+     */
+    public CharSequence getBadge() {
+        return mButtonBadge.getText();
+    }
+
+    /**
+     * Sets a badge, a short summary shown below the icon, e.g. the duration of a route.
+     * @param badge the badge to show or null to hide the badge.
+     * @return an instance of this class.
+     */
+    public TabView setBadge(@Nullable final CharSequence badge) {
+        mButtonBadge.setText(badge);
+        mButtonBadge.setVisibility(TextUtils.isEmpty(badge) ? GONE : VISIBLE);
+        return this;
+    }
 }
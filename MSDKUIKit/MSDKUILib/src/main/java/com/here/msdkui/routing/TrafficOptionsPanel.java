@@ -18,6 +18,7 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import android.os.Build;
+import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 import android.util.AttributeSet;
 
@@ -37,6 +38,11 @@ import java.util.Map;
  */
 public class TrafficOptionsPanel extends OptionsPanel implements OptionItem.OnChangedListener {
 
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the traffic penalty mode changed.
+     */
+    public static final String FIELD_TRAFFIC_PENALTY_MODE = "trafficPenaltyMode";
+
     private Map<Route.TrafficPenaltyMode, String> mResourceKey;
     private OptionItem mSubOptionItem;
     private DynamicPenalty mDynamicPenalty;
@@ -140,6 +146,7 @@ public class TrafficOptionsPanel extends OptionsPanel implements OptionItem.OnCh
     public void setDynamicPenalty(final DynamicPenalty penalty) {
         mDynamicPenalty = penalty;
         select(mDynamicPenalty.getTrafficPenaltyMode());
+        resetChanges();
     }
 
     /**
@@ -150,13 +157,27 @@ public class TrafficOptionsPanel extends OptionsPanel implements OptionItem.OnCh
         if (mDynamicPenalty == null) {
             return;
         }
+        final Route.TrafficPenaltyMode mode = getSelectedMode();
+        if (mode != null) {
+            mDynamicPenalty.setTrafficPenaltyMode(mode);
+        }
+    }
+
+    private Route.TrafficPenaltyMode getSelectedMode() {
         final String label = ((SingleChoiceOptionItem) mSubOptionItem).getSelectedItemLabel();
         for (final Map.Entry<Route.TrafficPenaltyMode, String> entry : mResourceKey.entrySet()) {
             if (entry.getValue().equals(label)) {
-                mDynamicPenalty.setTrafficPenaltyMode(entry.getKey());
-                break;
+                return entry.getKey();
             }
         }
+        return null;
+    }
+
+    @Override
+    protected void captureState(@NonNull final Map<String, Object> state) {
+        if (mSubOptionItem != null) {
+            state.put(FIELD_TRAFFIC_PENALTY_MODE, getSelectedMode());
+        }
     }
 
     private void select(final Route.TrafficPenaltyMode mode) {
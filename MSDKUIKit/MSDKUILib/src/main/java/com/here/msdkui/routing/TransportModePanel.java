@@ -19,6 +19,7 @@ package com.here.msdkui.routing;
 import android.content.Context;
 import android.database.DataSetObserver;
 import com.google.android.material.tabs.TabLayout;
+import androidx.annotation.Nullable;
 import androidx.viewpager.widget.ViewPager;
 import androidx.appcompat.app.AppCompatDelegate;
 import android.util.AttributeSet;
@@ -28,6 +29,10 @@ import android.widget.LinearLayout;
 import com.here.android.mpa.routing.RouteOptions;
 import com.here.msdkui.R;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * A view that shows all supported elements of {@link com.here.android.mpa.routing.RouteOptions.TransportMode}
  * with or without content fragment using a {@link TabLayout}. Each tab shows a transport mode.
@@ -42,6 +47,8 @@ public class TransportModePanel extends LinearLayout implements TabLayout.OnTabS
     private TabLayout mTabLayout;
     private OnSelectedListener mOnSelectedListener;
     private DataSetObserver mDataSetObserver;
+    private final Map<RouteOptions.TransportMode, CharSequence> mBadges =
+            new EnumMap<>(RouteOptions.TransportMode.class);
 
     /**
      * Constructs a new instance.
@@ -94,8 +101,12 @@ public class TransportModePanel extends LinearLayout implements TabLayout.OnTabS
         if (mPanelAdapter != null && panelAdapter == null) {
             mPanelAdapter.unregisterDataSetObserver(mDataSetObserver);
         }
+        if (mPanelAdapter != null) {
+            mPanelAdapter.setTabViewsObserver(null);
+        }
         if (panelAdapter != null) {
             panelAdapter.registerDataSetObserver(mDataSetObserver);
+            panelAdapter.setTabViewsObserver(this::updateTabs);
             mViewPager.setAdapter(panelAdapter);
             mTabLayout.setupWithViewPager(mViewPager);
         }
@@ -124,10 +135,63 @@ public class TransportModePanel extends LinearLayout implements TabLayout.OnTabS
     void updateTabs() {
         for (int i = 0; i < mTabLayout.getTabCount(); i++) {
             final TabView btn = mPanelAdapter.getTabView(i);
+            btn.setBadge(mBadges.get(getTransportModeAt(i)));
             mTabLayout.getTabAt(i).setIcon(btn.getIcon()).setText(btn.getLabel()).setCustomView(btn);
         }
     }
 
+    @Nullable
+    private RouteOptions.TransportMode getTransportModeAt(final int position) {
+        final List<RouteOptions.TransportMode> modes = getTransportModes();
+        return position < modes.size() ? modes.get(position) : null;
+    }
+
+    /**
+     * Sets a badge on the tab of a transport mode, e.g. the duration of a route calculated for this
+     * transport mode. The badge is kept when the adapter or its data changes.
+     *
+     * @param transportMode
+     *         the {@link com.here.android.mpa.routing.RouteOptions.TransportMode} whose tab shows the badge.
+     * @param badge
+     *         the badge or null to remove the badge.
+     */
+    public void setBadge(final RouteOptions.TransportMode transportMode, @Nullable final CharSequence badge) {
+        if (badge == null) {
+            mBadges.remove(transportMode);
+        } else {
+            mBadges.put(transportMode, badge);
+        }
+        if (mPanelAdapter == null) {
+            return;
+        }
+        final TabLayout.Tab tab = mTabLayout.getTabAt(mPanelAdapter.getTransportModes().indexOf(transportMode));
+        if (tab != null && tab.getCustomView() instanceof TabView) {
+            ((TabView) tab.getCustomView()).setBadge(badge);
+        }
+    }
+
+    /**
+     * Gets the badge set on the tab of a transport mode.
+     *
+     * @param transportMode
+     *         the {@link com.here.android.mpa.routing.RouteOptions.TransportMode} to get the badge for.
+     * @return the badge or null if the tab has no badge.
+     */
+    @Nullable
+    public CharSequence getBadge(final RouteOptions.TransportMode transportMode) {
+        return mBadges.get(transportMode);
+    }
+
+    /**
+     * Removes the badges of all tabs.
+     */
+    public void clearBadges() {
+        for (final RouteOptions.TransportMode transportMode
+                : mBadges.keySet().toArray(new RouteOptions.TransportMode[0])) {
+            setBadge(transportMode, null);
+        }
+    }
+
     /**
      * Gets the {@link TabLayout} associated with this panel.
      * @return the associated {@link TabLayout}.
@@ -180,6 +244,14 @@ public class TransportModePanel extends LinearLayout implements TabLayout.OnTabS
                 .get(mTabLayout.getSelectedTabPosition());
     }
 
+    /**
+     * Gets the {@link com.here.android.mpa.routing.RouteOptions.TransportMode}s shown by this panel.
+     * @return the transport modes in the order of their tabs.
+     */
+    public List<RouteOptions.TransportMode> getTransportModes() {
+        return mPanelAdapter.getTransportModes();
+    }
+
     /**
      * Sets the {@link com.here.android.mpa.routing.RouteOptions.TransportMode}
      * that should be selected.
@@ -16,6 +16,7 @@
 
 package com.here.msdkui.routing;
 
+import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentStatePagerAdapter;
@@ -33,6 +34,7 @@ import java.util.List;
 public abstract class TransportModePanelAdapter extends FragmentStatePagerAdapter {
 
     private List<RouteOptions.TransportMode> mTransportModes;
+    private Runnable mTabViewsObserver;
 
     /**
      * Constructs a new instance using a {@link FragmentManager}.
@@ -113,6 +115,27 @@ public abstract class TransportModePanelAdapter extends FragmentStatePagerAdapte
         mTransportModes = transportModes;
     }
 
+    /**
+     * Notifies the {@link TransportModePanel} that only the tab views changed, e.g. their icons or labels, while
+     * the transport modes and the contents stayed the same. Unlike {@link #notifyDataSetChanged()}, which makes
+     * the panel recreate all tabs and pages, this only replaces the custom views of the tabs with the ones
+     * returned by {@link #getCustomTabView(com.here.android.mpa.routing.RouteOptions.TransportMode)}.
+     */
+    public void notifyTabViewsChanged() {
+        if (mTabViewsObserver != null) {
+            mTabViewsObserver.run();
+        }
+    }
+
+    /**
+     * Sets the observer to be notified by {@link #notifyTabViewsChanged()}.
+     *
+     * @param observer the observer or null to remove it.
+     */
+    void setTabViewsObserver(@Nullable final Runnable observer) {
+        mTabViewsObserver = observer;
+    }
+
     /**
      * Gets the fragment of {@link TransportModePanel}.
      *
@@ -18,6 +18,7 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import android.os.Build;
+import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 import android.text.InputType;
 import android.util.AttributeSet;
@@ -38,6 +39,46 @@ import java.util.Map;
 @SuppressWarnings({"PMD.ModifiedCyclomaticComplexity", "PMD.StdCyclomaticComplexity"}) // Those rules are deprecated.
 public class TruckOptionsPanel extends OptionsPanel implements OptionItem.OnChangedListener {
 
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the truck height changed.
+     */
+    public static final String FIELD_HEIGHT = "truckHeight";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the truck length changed.
+     */
+    public static final String FIELD_LENGTH = "truckLength";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the truck width changed.
+     */
+    public static final String FIELD_WIDTH = "truckWidth";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the limited weight changed.
+     */
+    public static final String FIELD_LIMITED_WEIGHT = "truckLimitedWeight";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the weight per axle changed.
+     */
+    public static final String FIELD_WEIGHT_PER_AXLE = "truckWeightPerAxle";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the number of trailers changed.
+     */
+    public static final String FIELD_TRAILERS_COUNT = "truckTrailersCount";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the truck type changed.
+     */
+    public static final String FIELD_TRUCK_TYPE = "truckType";
+
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the restrictions mode changed.
+     */
+    public static final String FIELD_RESTRICTIONS_MODE = "truckRestrictionsMode";
+
     private RouteOptions mRouteOptions;
 
     private Integer[] mResourceKey;
@@ -197,6 +238,38 @@ public class TruckOptionsPanel extends OptionsPanel implements OptionItem.OnChan
                 setRestriction(item);
             }
         }
+        resetChanges();
+    }
+
+    @Override
+    protected void captureState(@NonNull final Map<String, Object> state) {
+        if (mSubItem == null) {
+            return;
+        }
+        for (final OptionItem item : mSubItem) {
+            if (item instanceof NumericOptionItem) {
+                state.put(getNumericField(item.getItemId()), ((NumericOptionItem) item).getValue());
+            } else if (item instanceof SingleChoiceOptionItem) {
+                state.put(FIELD_TRUCK_TYPE, ((SingleChoiceOptionItem) item).getSelectedItemLabel());
+            } else if (item instanceof BooleanOptionItem) {
+                state.put(FIELD_RESTRICTIONS_MODE, ((BooleanOptionItem) item).isChecked());
+            }
+        }
+    }
+
+    private static String getNumericField(final int itemId) {
+        if (itemId == R.string.msdkui_height) {
+            return FIELD_HEIGHT;
+        } else if (itemId == R.string.msdkui_length) {
+            return FIELD_LENGTH;
+        } else if (itemId == R.string.msdkui_width) {
+            return FIELD_WIDTH;
+        } else if (itemId == R.string.msdkui_limited_weight) {
+            return FIELD_LIMITED_WEIGHT;
+        } else if (itemId == R.string.msdkui_weight_per_axle) {
+            return FIELD_WEIGHT_PER_AXLE;
+        }
+        return FIELD_TRAILERS_COUNT;
     }
 
     private void setRestriction(OptionItem item) {
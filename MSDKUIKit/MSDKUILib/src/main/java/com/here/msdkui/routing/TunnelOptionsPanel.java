@@ -18,6 +18,7 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import android.os.Build;
+import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 import android.util.AttributeSet;
 
@@ -35,6 +36,11 @@ import java.util.Map;
  */
 public class TunnelOptionsPanel extends OptionsPanel implements OptionItem.OnChangedListener {
 
+    /**
+     * The name of the field reported by {@link OptionsPanel.Changes} when the tunnel category changed.
+     */
+    public static final String FIELD_TUNNEL_CATEGORY = "truckTunnelCategory";
+
     private Map<RouteOptions.TunnelCategory, String> mResourceKey;
     private OptionItem mSubOptionItem;
     private RouteOptions mRouteOptions;
@@ -147,6 +153,7 @@ public class TunnelOptionsPanel extends OptionsPanel implements OptionItem.OnCha
         }
         mRouteOptions = routeOptions;
         select(mRouteOptions.getTruckTunnelCategory());
+        resetChanges();
     }
 
     /**
@@ -157,14 +164,28 @@ public class TunnelOptionsPanel extends OptionsPanel implements OptionItem.OnCha
         if (mRouteOptions == null) {
             return;
         }
+        final RouteOptions.TunnelCategory category = getSelectedCategory();
+        if (category != null) {
+            mRouteOptions.setTruckTunnelCategory(category);
+        }
+    }
+
+    private RouteOptions.TunnelCategory getSelectedCategory() {
         final String label = ((SingleChoiceOptionItem) mSubOptionItem).getSelectedItemLabel();
         for (final Map.Entry<RouteOptions.TunnelCategory, String> entry : mResourceKey.entrySet()) {
             if (entry.getValue()
                     .equals(label)) {
-                mRouteOptions.setTruckTunnelCategory(entry.getKey());
-                break;
+                return entry.getKey();
             }
         }
+        return null;
+    }
+
+    @Override
+    protected void captureState(@NonNull final Map<String, Object> state) {
+        if (mSubOptionItem != null) {
+            state.put(FIELD_TUNNEL_CATEGORY, getSelectedCategory());
+        }
     }
 
     private void select(final RouteOptions.TunnelCategory category) {
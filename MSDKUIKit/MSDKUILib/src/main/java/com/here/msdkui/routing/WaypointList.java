@@ -21,6 +21,7 @@ import android.content.res.Resources;
 import android.graphics.PorterDuff;
 import android.graphics.drawable.Drawable;
 import androidx.annotation.ColorInt;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DefaultItemAnimator;
 import androidx.recyclerview.widget.DividerItemDecoration;
@@ -106,6 +107,17 @@ public class WaypointList extends RecyclerView {
         addMinWaypointsItem();
     }
 
+    /**
+     * Sets the {@link ListViewPools} used to share recycled rows with other lists and to use pre-inflated rows.
+     *
+     * @param viewPools
+     *         the pools to use or null to use a pool owned by this list.
+     */
+    public void setViewPools(@Nullable final ListViewPools viewPools) {
+        setRecycledViewPool(viewPools == null ? null : viewPools.getRecycledViewPool(ListViewPools.RowType.WAYPOINT));
+        mAdapter.setViewPools(viewPools);
+    }
+
     private void addMinWaypointsItem() {
         for (int i = mWaypointEntries.size(); i < mMinWaypointCount; i++) {
             addEmptyEntry();
@@ -18,6 +18,7 @@ package com.here.msdkui.routing;
 
 import android.content.Context;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import android.view.MotionEvent;
@@ -43,6 +44,7 @@ public class WaypointListAdapter extends RecyclerView.Adapter<WaypointListAdapte
     private final ItemTouchHelper mItemTouchHelper;
     private WaypointList.Listener mListener;
     private RecyclerView mRecyclerView;
+    private ListViewPools mViewPools;
 
     /**
      * Constructs a new instance using a list of {@link WaypointEntry} elements.
@@ -181,9 +183,24 @@ public class WaypointListAdapter extends RecyclerView.Adapter<WaypointListAdapte
      * Gets view for generating row in list.
      */
     private View getRowView(final Context context) {
+        final View view = mViewPools == null ? null : mViewPools.obtain(context, ListViewPools.RowType.WAYPOINT);
+        return view == null ? createDefaultRowView(context) : view;
+    }
+
+    static View createDefaultRowView(final Context context) {
         return new WaypointItem(context);
     }
 
+    /**
+     * Sets the {@link ListViewPools} providing pre-inflated rows.
+     *
+     * @param viewPools
+     *         the pools or null to always create new rows.
+     */
+    void setViewPools(@Nullable final ListViewPools viewPools) {
+        mViewPools = viewPools;
+    }
+
     /**
      * Sets a listener to get notified on user interactions done on the {@link WaypointList}.
      * @param listener the listener to set.
@@ -0,0 +1,590 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.here.android.mpa.common.GeoCoordinate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reorders the intermediate {@link WaypointEntry} elements of a {@link WaypointList}, so the route visits all
+ * stops with the lowest total cost. The first and the last entry keep their positions.
+ *
+ * <p>The costs between all pairs of entries are taken from a {@link MatrixProvider}, for example travel times
+ * of a matrix routing service. {@link #HAVERSINE_DISTANCE} is a local stand-in using the great-circle distance.
+ * The stop sequence is improved with 2-opt and Or-opt moves, started from several tours at the same time on
+ * all cores. The search ends when no better sequence is found anymore or when the time budget is used up, so
+ * the result is a good sequence, but not necessarily the best one.</p>
+ */
+public final class WaypointSequenceOptimizer {
+
+    private static final double EARTH_RADIUS = 6371008.8;
+    // A search ends after this many perturbed tours without an improvement.
+    private static final int MAX_ROUNDS_WITHOUT_IMPROVEMENT = 200;
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * A {@link MatrixProvider} returning the great-circle distances in meters between the entries.
+     */
+    public static final MatrixProvider HAVERSINE_DISTANCE = coordinates -> {
+        final int count = coordinates.size();
+        final double[] latitudes = new double[count];
+        final double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = Math.toRadians(coordinates.get(i).getLatitude());
+            longitudes[i] = Math.toRadians(coordinates.get(i).getLongitude());
+        }
+        final double[][] matrix = new double[count][count];
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                final double sinLatitude = Math.sin((latitudes[j] - latitudes[i]) / 2);
+                final double sinLongitude = Math.sin((longitudes[j] - longitudes[i]) / 2);
+                final double a = sinLatitude * sinLatitude
+                        + Math.cos(latitudes[i]) * Math.cos(latitudes[j]) * sinLongitude * sinLongitude;
+                matrix[i][j] = 2 * EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(a)));
+                matrix[j][i] = matrix[i][j];
+            }
+        }
+        return matrix;
+    };
+
+    /**
+     * The default time budget in milliseconds.
+     */
+    public static final long DEFAULT_TIME_BUDGET = 2000;
+
+    private static final ExecutorService OPTIMIZE_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "MSDKUI-WaypointOptimizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MatrixProvider mMatrixProvider;
+    private final Executor mBackgroundExecutor;
+    private final Executor mMainExecutor;
+    private long mTimeBudget = DEFAULT_TIME_BUDGET;
+    private int mParallelism = Runtime.getRuntime().availableProcessors();
+    private long mSeed;
+    private int mGeneration;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param matrixProvider
+     *         the {@link MatrixProvider} delivering the costs between the entries.
+     */
+    public WaypointSequenceOptimizer(@NonNull final MatrixProvider matrixProvider) {
+        this(matrixProvider, OPTIMIZE_EXECUTOR, new Handler(Looper.getMainLooper())::post);
+    }
+
+    WaypointSequenceOptimizer(final MatrixProvider matrixProvider, final Executor backgroundExecutor,
+            final Executor mainExecutor) {
+        mMatrixProvider = matrixProvider;
+        mBackgroundExecutor = backgroundExecutor;
+        mMainExecutor = mainExecutor;
+    }
+
+    /**
+     * Gets the time budget of an optimization.
+     *
+     * @return the time budget in milliseconds.
+     */
+    public long getTimeBudget() {
+        return mTimeBudget;
+    }
+
+    /**
+     * Sets the time budget of an optimization, not including the time needed by the {@link MatrixProvider}.
+     * Default is {@link #DEFAULT_TIME_BUDGET}.
+     *
+     * @param timeBudget
+     *         the time budget in milliseconds.
+     * @throws IllegalArgumentException
+     *         if the time budget is not positive.
+     */
+    public void setTimeBudget(final long timeBudget) {
+        if (timeBudget <= 0) {
+            throw new IllegalArgumentException("The time budget must be positive");
+        }
+        mTimeBudget = timeBudget;
+    }
+
+    /**
+     * Gets the number of searches running at the same time.
+     *
+     * @return the number of threads used by an optimization.
+     */
+    public int getParallelism() {
+        return mParallelism;
+    }
+
+    /**
+     * Sets the number of searches running at the same time. Default is the number of available cores.
+     *
+     * @param parallelism
+     *         the number of threads used by an optimization.
+     * @throws IllegalArgumentException
+     *         if parallelism is not positive.
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("At least one thread must be used");
+        }
+        mParallelism = parallelism;
+    }
+
+    /**
+     * Sets the seed of the random tours, so optimizations which are not cut short by the time budget give
+     * the same result each time. Default is 0.
+     *
+     * @param seed
+     *         the seed.
+     */
+    public void setSeed(final long seed) {
+        mSeed = seed;
+    }
+
+    /**
+     * Optimizes the sequence of the given entries. Blocks until the optimization is done.
+     *
+     * @param entries
+     *         the entries to reorder, all entries must be valid.
+     * @return the {@link Result}, which keeps the given order if any entry is not valid.
+     */
+    @NonNull
+    @WorkerThread
+    public Result optimize(@NonNull final List<WaypointEntry> entries) {
+        final List<WaypointEntry> snapshot = new ArrayList<>(entries);
+        final List<GeoCoordinate> coordinates = new ArrayList<>(snapshot.size());
+        for (final WaypointEntry entry : snapshot) {
+            if (!entry.isValid()) {
+                return new Result(snapshot, 0, 0);
+            }
+            coordinates.add(entry.getRouteWaypoint().getOriginalPosition());
+        }
+        if (snapshot.size() < 4) {
+            // There is at most one intermediate entry, nothing to reorder.
+            return new Result(snapshot, 0, 0);
+        }
+        final double[][] matrix = mMatrixProvider.getMatrix(coordinates);
+        final int[] identity = new int[snapshot.size()];
+        for (int i = 0; i < identity.length; i++) {
+            identity[i] = i;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(mTimeBudget);
+        final int[] tour = solve(matrix, mParallelism, deadline, mSeed);
+        final List<WaypointEntry> ordered = new ArrayList<>(snapshot.size());
+        for (final int index : tour) {
+            ordered.add(snapshot.get(index));
+        }
+        return new Result(ordered, getCost(matrix, identity), getCost(matrix, tour));
+    }
+
+    /**
+     * Optimizes the sequence of the entries of a {@link WaypointList} in the background and applies it with
+     * {@link WaypointList#setEntries(List)}. The sequence is only applied if it is better than the current one
+     * and the entries of the list did not change in the meantime. Starting a new optimization or calling
+     * {@link #cancel()} drops the result of the running one.
+     *
+     * @param waypointList
+     *         the list to reorder.
+     * @param listener
+     *         the listener to be notified when the optimization is done or null.
+     */
+    @MainThread
+    public void optimize(@NonNull final WaypointList waypointList, @Nullable final Listener listener) {
+        final int generation = ++mGeneration;
+        final List<WaypointEntry> entries = new ArrayList<>(waypointList.getEntries());
+        mBackgroundExecutor.execute(() -> {
+            final Result result = optimize(entries);
+            mMainExecutor.execute(() -> {
+                if (generation != mGeneration) {
+                    return;
+                }
+                final boolean applied = result.isImproved() && waypointList.getEntries().equals(entries);
+                if (applied) {
+                    waypointList.setEntries(result.getEntries());
+                }
+                if (listener != null) {
+                    listener.onOptimized(result, applied);
+                }
+            });
+        });
+    }
+
+    /**
+     * Drops the result of a running optimization started with {@link #optimize(WaypointList, Listener)}.
+     */
+    @MainThread
+    public void cancel() {
+        mGeneration++;
+    }
+
+    /**
+     * Gets the cost of visiting the entries in the given order.
+     */
+    static double getCost(final double[][] matrix, final int[] tour) {
+        double cost = 0;
+        for (int i = 1; i < tour.length; i++) {
+            cost += matrix[tour[i - 1]][tour[i]];
+        }
+        return cost;
+    }
+
+    /**
+     * Finds a short path from the first to the last index of the matrix through all other indices.
+     * The deadline is compared to {@link System#nanoTime()}.
+     *
+     * @return the indices in the order to visit them.
+     */
+    static int[] solve(final double[][] matrix, final int parallelism, final long deadline, final long seed) {
+        if (parallelism == 1) {
+            return new Search(matrix, deadline, seed, true).call();
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "MSDKUI-WaypointSearch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<int[]>> futures = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                // The first search starts from the nearest neighbor tour, the others from random tours.
+                futures.add(executor.submit(new Search(matrix, deadline, seed + i, i == 0)));
+            }
+            int[] best = null;
+            double bestCost = Double.MAX_VALUE;
+            for (final Future<int[]> future : futures) {
+                final int[] tour = future.get();
+                final double cost = getCost(matrix, tour);
+                if (cost < bestCost - EPSILON) {
+                    best = tour;
+                    bestCost = cost;
+                }
+            }
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The optimization was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The optimization failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * An iterated local search: the tour is improved until no 2-opt or Or-opt move shortens it, then it is
+     * perturbed and improved again.
+     */
+    private static final class Search implements Callable<int[]> {
+
+        private final double[][] mMatrix;
+        private final long mDeadline;
+        private final Random mRandom;
+        private final boolean mNearestNeighbor;
+        private final int mCount;
+        // The cost of the path up to each position, forwards and backwards.
+        private final double[] mForward;
+        private final double[] mBackward;
+
+        Search(final double[][] matrix, final long deadline, final long seed, final boolean nearestNeighbor) {
+            mMatrix = matrix;
+            mDeadline = deadline;
+            mRandom = new Random(seed);
+            mNearestNeighbor = nearestNeighbor;
+            mCount = matrix.length;
+            mForward = new double[mCount];
+            mBackward = new double[mCount];
+        }
+
+        @Override
+        public int[] call() {
+            int[] best = mNearestNeighbor ? createNearestNeighborTour() : createRandomTour();
+            improve(best);
+            double bestCost = getCost(mMatrix, best);
+            int roundsWithoutImprovement = 0;
+            while (roundsWithoutImprovement < MAX_ROUNDS_WITHOUT_IMPROVEMENT && !isTimeUp()) {
+                final int[] tour = perturb(best);
+                improve(tour);
+                final double cost = getCost(mMatrix, tour);
+                if (cost < bestCost - EPSILON) {
+                    best = tour;
+                    bestCost = cost;
+                    roundsWithoutImprovement = 0;
+                } else {
+                    roundsWithoutImprovement++;
+                }
+            }
+            return best;
+        }
+
+        private boolean isTimeUp() {
+            return System.nanoTime() - mDeadline >= 0 || Thread.currentThread().isInterrupted();
+        }
+
+        private int[] createNearestNeighborTour() {
+            final int[] tour = new int[mCount];
+            final boolean[] visited = new boolean[mCount];
+            tour[mCount - 1] = mCount - 1;
+            visited[0] = true;
+            visited[mCount - 1] = true;
+            for (int position = 1; position < mCount - 1; position++) {
+                final int previous = tour[position - 1];
+                int next = -1;
+                for (int candidate = 1; candidate < mCount - 1; candidate++) {
+                    if (!visited[candidate]
+                            && (next < 0 || mMatrix[previous][candidate] < mMatrix[previous][next])) {
+                        next = candidate;
+                    }
+                }
+                tour[position] = next;
+                visited[next] = true;
+            }
+            return tour;
+        }
+
+        private int[] createRandomTour() {
+            final int[] tour = new int[mCount];
+            for (int i = 0; i < mCount; i++) {
+                tour[i] = i;
+            }
+            for (int i = mCount - 2; i > 1; i--) {
+                final int j = 1 + mRandom.nextInt(i);
+                final int swap = tour[i];
+                tour[i] = tour[j];
+                tour[j] = swap;
+            }
+            return tour;
+        }
+
+        /**
+         * Double bridge move: the intermediate entries are cut into four parts, which are joined in another
+         * order. Small tours are shuffled instead.
+         */
+        private int[] perturb(final int[] tour) {
+            final int intermediates = mCount - 2;
+            if (intermediates < 8) {
+                return createRandomTour();
+            }
+            final int[] cuts = new int[3];
+            for (int i = 0; i < cuts.length; i++) {
+                cuts[i] = 2 + mRandom.nextInt(intermediates - 1);
+            }
+            Arrays.sort(cuts);
+            final int[] result = new int[mCount];
+            int position = 0;
+            position = copy(tour, 0, cuts[0], result, position);
+            position = copy(tour, cuts[2], mCount - 1, result, position);
+            position = copy(tour, cuts[1], cuts[2], result, position);
+            position = copy(tour, cuts[0], cuts[1], result, position);
+            result[position] = tour[mCount - 1];
+            return result;
+        }
+
+        private static int copy(final int[] source, final int from, final int to, final int[] target,
+                final int position) {
+            System.arraycopy(source, from, target, position, to - from);
+            return position + to - from;
+        }
+
+        private void improve(final int[] tour) {
+            boolean improved = true;
+            while (improved && !isTimeUp()) {
+                updateCosts(tour);
+                improved = applyTwoOpt(tour) || applyOrOpt(tour);
+            }
+        }
+
+        private void updateCosts(final int[] tour) {
+            for (int i = 1; i < mCount; i++) {
+                mForward[i] = mForward[i - 1] + mMatrix[tour[i - 1]][tour[i]];
+                mBackward[i] = mBackward[i - 1] + mMatrix[tour[i]][tour[i - 1]];
+            }
+        }
+
+        /**
+         * Reverses the first segment whose reversal shortens the tour. The costs of the reversed segment are
+         * taken from the backward costs, so asymmetric matrices are supported.
+         */
+        private boolean applyTwoOpt(final int[] tour) {
+            for (int i = 1; i < mCount - 2; i++) {
+                for (int j = i + 1; j < mCount - 1; j++) {
+                    final double before = mMatrix[tour[i - 1]][tour[i]] + mForward[j] - mForward[i]
+                            + mMatrix[tour[j]][tour[j + 1]];
+                    final double after = mMatrix[tour[i - 1]][tour[j]] + mBackward[j] - mBackward[i]
+                            + mMatrix[tour[i]][tour[j + 1]];
+                    if (after < before - EPSILON) {
+                        for (int left = i, right = j; left < right; left++, right--) {
+                            final int swap = tour[left];
+                            tour[left] = tour[right];
+                            tour[right] = swap;
+                        }
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Moves the first segment of up to three entries whose move to another position shortens the tour.
+         */
+        private boolean applyOrOpt(final int[] tour) {
+            for (int length = 1; length <= 3; length++) {
+                for (int i = 1; i + length < mCount; i++) {
+                    final int first = tour[i];
+                    final int last = tour[i + length - 1];
+                    final double removed = mMatrix[tour[i - 1]][first] + mMatrix[last][tour[i + length]]
+                            - mMatrix[tour[i - 1]][tour[i + length]];
+                    for (int p = 0; p < mCount - 1; p++) {
+                        if (p >= i - 1 && p < i + length) {
+                            continue;
+                        }
+                        final double added = mMatrix[tour[p]][first] + mMatrix[last][tour[p + 1]]
+                                - mMatrix[tour[p]][tour[p + 1]];
+                        if (added < removed - EPSILON) {
+                            moveSegment(tour, i, length, p);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Moves the segment starting at i behind position p.
+         */
+        private static void moveSegment(final int[] tour, final int i, final int length, final int p) {
+            final int[] segment = Arrays.copyOfRange(tour, i, i + length);
+            if (p < i) {
+                System.arraycopy(tour, p + 1, tour, p + 1 + length, i - p - 1);
+                System.arraycopy(segment, 0, tour, p + 1, length);
+            } else {
+                System.arraycopy(tour, i + length, tour, i, p - i - length + 1);
+                System.arraycopy(segment, 0, tour, p - length + 1, length);
+            }
+        }
+    }
+
+    /**
+     * Provides the costs between all pairs of entries, such as travel times or distances.
+     */
+    public interface MatrixProvider {
+
+        /**
+         * Gets the costs between all pairs of coordinates. Called on a background thread, so it may block
+         * while the costs are calculated.
+         *
+         * @param coordinates
+         *         the coordinates of the entries.
+         * @return a matrix with the cost from coordinate i to coordinate j at [i][j], which may differ from
+         * the cost at [j][i].
+         */
+        @NonNull
+        double[][] getMatrix(@NonNull List<GeoCoordinate> coordinates);
+    }
+
+    /**
+     * Listener to be notified when an optimization started with {@link #optimize(WaypointList, Listener)} is
+     * done.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the main thread when the optimization is done.
+         *
+         * @param result
+         *         the {@link Result} of the optimization.
+         * @param applied
+         *         true if the new sequence was set to the {@link WaypointList}, false otherwise.
+         */
+        void onOptimized(@NonNull Result result, boolean applied);
+    }
+
+    /**
+     * The result of an optimization.
+     */
+    public static final class Result {
+
+        private final List<WaypointEntry> mEntries;
+        private final double mInitialCost;
+        private final double mCost;
+
+        Result(final List<WaypointEntry> entries, final double initialCost, final double cost) {
+            mEntries = entries;
+            mInitialCost = initialCost;
+            mCost = cost;
+        }
+
+        /**
+         * Gets the entries in the optimized order.
+         *
+         * @return the list of {@link WaypointEntry} elements.
+         */
+        @NonNull
+        public List<WaypointEntry> getEntries() {
+            return mEntries;
+        }
+
+        /**
+         * Gets the cost of the entries in the order they were given.
+         *
+         * @return the cost in the unit of the {@link MatrixProvider}.
+         */
+        public double getInitialCost() {
+            return mInitialCost;
+        }
+
+        /**
+         * Gets the cost of the entries in the optimized order.
+         *
+         * @return the cost in the unit of the {@link MatrixProvider}.
+         */
+        public double getCost() {
+            return mCost;
+        }
+
+        /**
+         * Checks if the optimized order is better than the given one.
+         *
+         * @return true if the cost was reduced, false otherwise.
+         */
+        public boolean isImproved() {
+            return mCost < mInitialCost - EPSILON;
+        }
+    }
+}
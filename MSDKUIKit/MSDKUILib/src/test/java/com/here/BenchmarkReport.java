@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Figures measured by a benchmark test, written to {@code build/reports/benchmarks/<name>.properties}. Values
+ * depending on the machine, like timings, are reported this way instead of being asserted. Nothing is written
+ * unless the build sets the output directory.
+ */
+public final class BenchmarkReport {
+
+    private static final String OUTPUT_PROPERTY = "msdkui.benchmark.output";
+
+    private final String mName;
+    private final Properties mValues = new Properties();
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param name
+     *         the name of the report file, without extension.
+     */
+    public BenchmarkReport(final String name) {
+        mName = name;
+    }
+
+    /**
+     * Adds a figure.
+     *
+     * @param key
+     *         the key of the figure, unique within the report.
+     * @param value
+     *         the value.
+     * @return this report.
+     */
+    public BenchmarkReport put(final String key, final double value) {
+        mValues.setProperty(key, String.format(Locale.US, "%.2f", value));
+        return this;
+    }
+
+    /**
+     * Adds a figure.
+     *
+     * @param key
+     *         the key of the figure, unique within the report.
+     * @param value
+     *         the value.
+     * @return this report.
+     */
+    public BenchmarkReport put(final String key, final long value) {
+        mValues.setProperty(key, Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Adds the figures to the report file. Figures of other tests written to the same file are kept.
+     */
+    public void write() {
+        final String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output == null) {
+            return;
+        }
+        final File file = new File(output, mName + ".properties");
+        synchronized (BenchmarkReport.class) {
+            try {
+                final Properties properties = new Properties();
+                if (file.isFile()) {
+                    try (InputStream stream = new FileInputStream(file)) {
+                        properties.load(stream);
+                    }
+                }
+                properties.putAll(mValues);
+                final File directory = file.getParentFile();
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("Cannot create " + directory);
+                }
+                try (OutputStream stream = new FileOutputStream(file)) {
+                    properties.store(stream, "Benchmark figures of " + mName);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write " + file, e);
+            }
+        }
+    }
+}
@@ -60,6 +60,8 @@ public final class MockUtils {
     public static GeoCoordinate mockGeoCoordinate(double lat, double lon) {
         GeoCoordinate ret = mock(GeoCoordinate.class);
         when(ret.toString()).thenReturn("(" + lat + ", " + lon + ")");
+        when(ret.getLatitude()).thenReturn(lat);
+        when(ret.getLongitude()).thenReturn(lon);
         return ret;
     }
 
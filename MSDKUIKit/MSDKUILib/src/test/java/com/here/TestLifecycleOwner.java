@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+/**
+ * A {@link LifecycleOwner} whose lifecycle is moved by the test.
+ */
+public class TestLifecycleOwner implements LifecycleOwner {
+
+    private final LifecycleRegistry mRegistry = new LifecycleRegistry(this);
+
+    @NonNull
+    @Override
+    public LifecycleRegistry getLifecycle() {
+        return mRegistry;
+    }
+
+    /**
+     * Moves the lifecycle to the given state, dispatching all events in between.
+     */
+    public void moveTo(Lifecycle.State state) {
+        mRegistry.setCurrentState(state);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui;
+
+import android.graphics.Color;
+import android.view.View;
+
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.routing.Route;
+import com.here.msdkui.guidance.GuidanceEstimatedArrivalView;
+import com.here.msdkui.guidance.GuidanceEstimatedArrivalViewData;
+import com.here.msdkui.guidance.GuidanceManeuverData;
+import com.here.msdkui.guidance.GuidanceManeuverView;
+import com.here.msdkui.guidance.GuidanceNextManeuverData;
+import com.here.msdkui.guidance.GuidanceNextManeuverView;
+import com.here.msdkui.guidance.GuidanceSpeedData;
+import com.here.msdkui.guidance.GuidanceSpeedLimitView;
+import com.here.msdkui.guidance.GuidanceSpeedView;
+import com.here.msdkui.guidance.GuidanceStreetLabelData;
+import com.here.msdkui.guidance.GuidanceStreetLabelView;
+import com.here.msdkui.routing.ManeuverItemView;
+import com.here.msdkui.routing.RouteDescriptionItem;
+import com.here.msdkui.routing.RouteSnapshot;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.IntConsumer;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Render performance regression tests for the views in {@code com.here.msdkui.guidance} and
+ * {@code com.here.msdkui.routing}.
+ *
+ * <p>Each view is driven through {@link #UPDATES} data updates with {@link RenderProbe}. The measure, layout and
+ * draw passes, layout requests and allocated bytes per update must not exceed the values in
+ * {@code render_baseline.properties}. Allocations vary slightly between runs, so they may exceed the baseline by
+ * {@link #ALLOCATION_TOLERANCE}. A metric without a baseline fails the test, except for allocations on JVMs which
+ * cannot count them. The build leaves this suite out until {@code render_baseline.properties} has entries.</p>
+ *
+ * <p>To update the baseline, run the unit tests with {@code -PrecordRenderBaseline} and copy
+ * {@code build/reports/render-baseline.properties} over the checked in file. Recording runs skip all checks.
+ * Record it with the JVM used by the CI, the allocations depend on it.</p>
+ */
+public class RenderPerformanceTest extends RobolectricTest {
+
+    private static final String BASELINE = "render_baseline.properties";
+    private static final String OUTPUT_PROPERTY = "msdkui.render.baseline.output";
+    private static final int WARMUPS = 20;
+    private static final int UPDATES = 100;
+    private static final int DATA_VARIANTS = 10;
+    private static final double ALLOCATION_TOLERANCE = 0.2;
+    private static final double ALLOCATION_SLACK_BYTES = 512;
+    private static final double COUNT_SLACK = 0.01;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private static final List<RenderProbe.Result> RESULTS = new ArrayList<>();
+
+    @AfterClass
+    public static void writeResults() throws IOException {
+        final String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output == null || RESULTS.isEmpty()) {
+            return;
+        }
+        final Properties properties = new Properties();
+        for (final RenderProbe.Result result : RESULTS) {
+            for (int i = 0; i < RenderProbe.METRICS.length; i++) {
+                if (result.get(i) >= 0) {
+                    properties.setProperty(key(result, i), String.format(Locale.US, "%.2f", result.get(i)));
+                }
+            }
+        }
+        final File file = new File(output);
+        final File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        try (OutputStream stream = new FileOutputStream(file)) {
+            properties.store(stream, "Render performance baseline, see RenderPerformanceTest");
+        }
+    }
+
+    @Test
+    public void testGuidanceManeuverView() {
+        final int[] icons = {R.drawable.ic_maneuver_icon_1, R.drawable.ic_maneuver_icon_2};
+        final GuidanceManeuverView.State[] states = new GuidanceManeuverView.State[DATA_VARIANTS];
+        for (int i = 0; i < DATA_VARIANTS; i++) {
+            states[i] = new GuidanceManeuverView.State(new GuidanceManeuverData(icons[i % icons.length],
+                    1000L - i * 10, "Exit " + i / 5, "Road " + i / 5));
+        }
+        final GuidanceManeuverView view = new GuidanceManeuverView(getContextWithTheme());
+        check(view, index -> view.setViewState(states[index % DATA_VARIANTS]));
+    }
+
+    @Test
+    public void testGuidanceNextManeuverView() {
+        final GuidanceNextManeuverData[] data = new GuidanceNextManeuverData[DATA_VARIANTS];
+        for (int i = 0; i < DATA_VARIANTS; i++) {
+            data[i] = new GuidanceNextManeuverData(R.drawable.ic_maneuver_icon_1, 500L - i * 10, "Road " + i / 5);
+        }
+        final GuidanceNextManeuverView view = new GuidanceNextManeuverView(getContextWithTheme());
+        check(view, index -> view.setNextManeuverData(data[index % DATA_VARIANTS]));
+    }
+
+    @Test
+    public void testGuidanceSpeedView() {
+        final GuidanceSpeedData[] data = createSpeedData();
+        final GuidanceSpeedView view = new GuidanceSpeedView(getContextWithTheme());
+        check(view, index -> view.setCurrentSpeedData(data[index % DATA_VARIANTS]));
+    }
+
+    @Test
+    public void testGuidanceSpeedLimitView() {
+        final GuidanceSpeedData[] data = createSpeedData();
+        final GuidanceSpeedLimitView view = new GuidanceSpeedLimitView(getContextWithTheme());
+        check(view, index -> view.setCurrentSpeedData(data[index % DATA_VARIANTS]));
+    }
+
+    @Test
+    public void testGuidanceEstimatedArrivalView() {
+        final GuidanceEstimatedArrivalViewData[] data = new GuidanceEstimatedArrivalViewData[DATA_VARIANTS];
+        for (int i = 0; i < DATA_VARIANTS; i++) {
+            data[i] = new GuidanceEstimatedArrivalViewData(new Date(1_600_000_000_000L + i * 60_000L),
+                    10_000L - i * 100, 600 - i * 6);
+        }
+        final GuidanceEstimatedArrivalView view = new GuidanceEstimatedArrivalView(getContextWithTheme());
+        check(view, index -> view.setEstimatedArrivalData(data[index % DATA_VARIANTS]));
+    }
+
+    @Test
+    public void testGuidanceStreetLabelView() {
+        final GuidanceStreetLabelData[] data = new GuidanceStreetLabelData[DATA_VARIANTS];
+        for (int i = 0; i < DATA_VARIANTS; i++) {
+            data[i] = new GuidanceStreetLabelData("Road " + i / 5, Color.BLUE);
+        }
+        final GuidanceStreetLabelView view = new GuidanceStreetLabelView(getContextWithTheme());
+        check(view, index -> view.setCurrentStreetData(data[index % DATA_VARIANTS]));
+    }
+
+    @Test
+    public void testManeuverItemView() {
+        final Route route = new MockUtils.MockRouteBuilder().setListOfManeuver().getRoute();
+        final RouteSnapshot snapshot = RouteSnapshot.from(getApplicationContext(), route, null);
+        final ManeuverItemView view = new ManeuverItemView(getContextWithTheme());
+        check(view, index -> view.setManeuver(snapshot, index % snapshot.getManeuverCount()));
+    }
+
+    @Test
+    public void testRouteDescriptionItem() {
+        // The snapshots are detached from the mocked routes, so the updates do not record mock invocations.
+        final RouteSnapshot[] snapshots = {
+                RouteSnapshot.from(getApplicationContext(), new MockUtils.MockRouteBuilder().getRoute(), null),
+                RouteSnapshot.from(getApplicationContext(),
+                        new MockUtils.MockRouteBuilder().setTrafficPenaltyMinutes(10).getRoute(), null)
+        };
+        final RouteDescriptionItem view = new RouteDescriptionItem(getContextWithTheme());
+        view.setTrafficEnabled(true);
+        check(view, index -> view.setRouteSnapshot(snapshots[index % snapshots.length]));
+    }
+
+    private void check(final View view, final IntConsumer update) {
+        final String name = view.getClass().getSimpleName();
+        final RenderProbe.Result result = new RenderProbe(getContextWithTheme(), view, WIDTH, HEIGHT)
+                .run(name, WARMUPS, UPDATES, update);
+        RESULTS.add(result);
+
+        if (System.getProperty(OUTPUT_PROPERTY) != null) {
+            // The baseline is being recorded, the old one doesn't apply.
+            return;
+        }
+
+        final Properties baseline = loadBaseline();
+        final List<String> missing = new ArrayList<>();
+        final List<String> regressions = new ArrayList<>();
+        for (int i = 0; i < RenderProbe.METRICS.length; i++) {
+            final String key = key(result, i);
+            final String expected = baseline.getProperty(key);
+            if (result.get(i) < 0) {
+                continue;
+            }
+            if (expected == null) {
+                // A new view or metric must come with its baseline.
+                missing.add(key);
+                continue;
+            }
+            final double limit = getLimit(i, Double.parseDouble(expected));
+            if (result.get(i) > limit) {
+                regressions.add(String.format(Locale.US, "%s: %.2f, baseline %s", key, result.get(i), expected));
+            }
+        }
+        if (!missing.isEmpty()) {
+            fail("No render performance baseline for " + missing + ", record it with -PrecordRenderBaseline: "
+                    + result);
+        }
+        if (!regressions.isEmpty()) {
+            fail("Render performance regressed, " + regressions);
+        }
+    }
+
+    private static double getLimit(final int metric, final double baseline) {
+        if ("allocatedBytes".equals(RenderProbe.METRICS[metric])) {
+            return baseline * (1 + ALLOCATION_TOLERANCE) + ALLOCATION_SLACK_BYTES;
+        }
+        return baseline + COUNT_SLACK;
+    }
+
+    private static String key(final RenderProbe.Result result, final int metric) {
+        return result.getName() + "." + RenderProbe.METRICS[metric];
+    }
+
+    private static GuidanceSpeedData[] createSpeedData() {
+        final GuidanceSpeedData[] data = new GuidanceSpeedData[DATA_VARIANTS];
+        for (int i = 0; i < DATA_VARIANTS; i++) {
+            // The second half exceeds the speed limit.
+            data[i] = new GuidanceSpeedData(12.0 + i, 16.7);
+        }
+        return data;
+    }
+
+    private static Properties loadBaseline() {
+        final Properties properties = new Properties();
+        try (InputStream stream = RenderPerformanceTest.class.getResourceAsStream(BASELINE)) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + BASELINE, e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Drives a view through data updates and counts the work each update causes.
+ *
+ * <p>The view is added to a detached root of a fixed size. After every update a frame is emulated: the
+ * views requesting a layout are counted, the root is measured and laid out if needed and then drawn to a
+ * canvas counting the draw calls without drawing anything. The bytes allocated by the current thread are
+ * taken from {@link com.sun.management.ThreadMXBean} where the JVM supports it.</p>
+ */
+final class RenderProbe {
+
+    /**
+     * The metrics recorded per update, used as keys in the baseline.
+     */
+    static final String[] METRICS = {
+            "measurePasses", "layoutPasses", "layoutRequests", "drawCalls", "allocatedBytes"
+    };
+
+    private final CountingFrame mRoot;
+    private final CountingCanvas mCanvas = new CountingCanvas();
+    private final Set<View> mObservedViews = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final View.OnLayoutChangeListener mLayoutListener =
+            (view, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> onLayout();
+    private final int mWidth;
+    private final int mHeight;
+    private int mLayoutPasses;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param context
+     *         the themed context of the view.
+     * @param view
+     *         the view to probe.
+     * @param width
+     *         the width of the root in pixels.
+     * @param height
+     *         the height of the root in pixels.
+     */
+    RenderProbe(final Context context, final View view, final int width, final int height) {
+        mWidth = width;
+        mHeight = height;
+        mRoot = new CountingFrame(context);
+        mRoot.addView(view, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        frame();
+        observe(mRoot);
+    }
+
+    /**
+     * Runs the updates and averages the counted work.
+     *
+     * @param name
+     *         the name of the result, the prefix of its baseline keys.
+     * @param warmups
+     *         the number of updates run before counting, so lazily created state is not counted.
+     * @param updates
+     *         the number of counted updates.
+     * @param update
+     *         applies the update with the given index to the view.
+     * @return the averages per update.
+     */
+    Result run(final String name, final int warmups, final int updates, final IntConsumer update) {
+        for (int i = 0; i < warmups; i++) {
+            update.accept(i);
+            frame();
+            observe(mRoot);
+        }
+        final long[] totals = new long[METRICS.length];
+        boolean allocationsSupported = true;
+        for (int i = warmups; i < warmups + updates; i++) {
+            mRoot.mMeasurePasses = 0;
+            mLayoutPasses = 0;
+            mCanvas.mDrawCalls = 0;
+            final long allocatedBefore = getAllocatedBytes();
+            update.accept(i);
+            final int layoutRequests = countLayoutRequests(mRoot);
+            frame();
+            final long allocatedAfter = getAllocatedBytes();
+            totals[0] += mRoot.mMeasurePasses;
+            totals[1] += mLayoutPasses;
+            totals[2] += layoutRequests;
+            totals[3] += mCanvas.mDrawCalls;
+            if (allocatedBefore < 0 || allocatedAfter < 0) {
+                allocationsSupported = false;
+            } else {
+                totals[4] += allocatedAfter - allocatedBefore;
+            }
+            // Views added by the update, e.g. new list rows, are observed from the next update on.
+            observe(mRoot);
+        }
+        final double[] values = new double[METRICS.length];
+        for (int i = 0; i < METRICS.length; i++) {
+            values[i] = (double) totals[i] / updates;
+        }
+        if (!allocationsSupported) {
+            values[4] = -1;
+        }
+        return new Result(name, values);
+    }
+
+    private void frame() {
+        if (mRoot.isLayoutRequested()) {
+            mRoot.measure(View.MeasureSpec.makeMeasureSpec(mWidth, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(mHeight, View.MeasureSpec.EXACTLY));
+            mRoot.layout(0, 0, mWidth, mHeight);
+        }
+        mRoot.draw(mCanvas);
+    }
+
+    private void onLayout() {
+        mLayoutPasses++;
+    }
+
+    private void observe(final View view) {
+        if (mObservedViews.add(view)) {
+            view.addOnLayoutChangeListener(mLayoutListener);
+        }
+        if (view instanceof ViewGroup) {
+            final ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                observe(group.getChildAt(i));
+            }
+        }
+    }
+
+    private static int countLayoutRequests(final View view) {
+        int count = view.isLayoutRequested() ? 1 : 0;
+        if (view instanceof ViewGroup) {
+            final ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countLayoutRequests(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    private static long getAllocatedBytes() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        if (!allocations.isThreadAllocatedMemoryEnabled()) {
+            allocations.setThreadAllocatedMemoryEnabled(true);
+        }
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The work per update of a probed view.
+     */
+    static final class Result {
+        private final String mName;
+        private final double[] mValues;
+
+        Result(final String name, final double[] values) {
+            mName = name;
+            mValues = values;
+        }
+
+        String getName() {
+            return mName;
+        }
+
+        /**
+         * Gets the average of a metric.
+         *
+         * @param metric
+         *         the index of the metric in {@link #METRICS}.
+         * @return the average per update, -1 if the metric is not supported by the JVM.
+         */
+        double get(final int metric) {
+            return mValues[metric];
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder(mName);
+            for (int i = 0; i < METRICS.length; i++) {
+                builder.append(String.format(Locale.US, " %s=%.2f", METRICS[i], mValues[i]));
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * A root counting its measure passes.
+     */
+    private static final class CountingFrame extends FrameLayout {
+        private int mMeasurePasses;
+
+        CountingFrame(final Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+            mMeasurePasses++;
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        }
+    }
+
+    /**
+     * A canvas counting draw calls. Nothing is drawn, so the counted allocations are the ones of the views.
+     */
+    private static final class CountingCanvas extends Canvas {
+        private int mDrawCalls;
+
+        @Override
+        public void drawColor(final int color) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawColor(final int color, final PorterDuff.Mode mode) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawPaint(final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawRect(final float left, final float top, final float right, final float bottom,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawRect(final RectF rect, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawRect(final Rect rect, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawRoundRect(final RectF rect, final float rx, final float ry, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawOval(final RectF oval, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawCircle(final float cx, final float cy, final float radius, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawArc(final RectF oval, final float startAngle, final float sweepAngle, final boolean useCenter,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawLine(final float startX, final float startY, final float stopX, final float stopY,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawLines(final float[] pts, final int offset, final int count, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawPath(final Path path, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawBitmap(final Bitmap bitmap, final float left, final float top, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawBitmap(final Bitmap bitmap, final Rect src, final RectF dst, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawBitmap(final Bitmap bitmap, final Rect src, final Rect dst, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawBitmap(final Bitmap bitmap, final Matrix matrix, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawText(final char[] text, final int index, final int count, final float x, final float y,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawText(final String text, final float x, final float y, final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawText(final String text, final int start, final int end, final float x, final float y,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawText(final CharSequence text, final int start, final int end, final float x, final float y,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawTextOnPath(final String text, final Path path, final float hOffset, final float vOffset,
+                final Paint paint) {
+            mDrawCalls++;
+        }
+    }
+}
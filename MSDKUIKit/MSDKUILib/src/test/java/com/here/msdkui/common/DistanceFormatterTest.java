@@ -292,4 +292,28 @@ public class DistanceFormatterTest extends RobolectricTest {
                 1933248, UnitSystem.IMPERIAL_UK);
         assertThat(formattedDistance, is("1,201 mi"));
     }
+
+    // Tests of getDistanceToNextChange(long, UnitSystem)
+
+    @Test
+    public void testDistanceToNextChangeInMetricSystem() {
+        assertThat(DistanceFormatterUtil.getDistanceToNextChange(25400, UnitSystem.METRIC), is(900L));
+        assertThat(DistanceFormatterUtil.getDistanceToNextChange(9000, UnitSystem.METRIC), is(50L));
+        assertThat(DistanceFormatterUtil.getDistanceToNextChange(150, UnitSystem.METRIC), is(5L));
+        // Crossing into another rounding range changes the text.
+        assertThat(DistanceFormatterUtil.getDistanceToNextChange(1000, UnitSystem.METRIC), is(1L));
+        assertThat(DistanceFormatterUtil.getDistanceToNextChange(5, UnitSystem.METRIC), is(1L));
+    }
+
+    @Test
+    public void testTextDoesNotChangeBeforeNextChange() {
+        for (final UnitSystem system : UnitSystem.values()) {
+            for (final long distance : new long[] {3, 42, 180, 640, 980, 1049, 4321, 9960, 20000, 123456}) {
+                final long change = DistanceFormatterUtil.getDistanceToNextChange(distance, system);
+                assertThat(system + " " + distance, DistanceFormatterUtil.formatDistance(getApplicationContext(),
+                        distance - change + 1, system),
+                        is(DistanceFormatterUtil.formatDistance(getApplicationContext(), distance, system)));
+            }
+        }
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.common.measurements;
+
+import com.here.RobolectricTest;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for {@link ConversionTable} and the fast path of {@link Converter#round(double, int)}.
+ * Both are checked for bit-identical results against the reference implementations.
+ */
+public class ConversionTableTest extends RobolectricTest {
+
+    private static final long SEED = 0x5EED;
+    private static final int SAMPLES = 200000;
+
+    @Test
+    public void testCompatibility() {
+        for (final MeasurementUnit from : MeasurementUnit.values()) {
+            for (final MeasurementUnit to : MeasurementUnit.values()) {
+                assertEquals(Converter.isSpeed(from) == Converter.isSpeed(to),
+                        ConversionTable.areCompatible(from, to));
+            }
+        }
+        assertTrue(Double.isNaN(ConversionTable.convert(1, MeasurementUnit.METER, MeasurementUnit.MILES_PER_HOUR)));
+        assertFalse(new Measurement(1, MeasurementUnit.METER).convert(MeasurementUnit.KILOMETERS_PER_HOUR));
+        assertNull(new Measurement(1, MeasurementUnit.METER).getConverted(MeasurementUnit.KILOMETERS_PER_HOUR));
+    }
+
+    @Test
+    public void testConvertMatchesConverters() {
+        final Random random = new Random(SEED);
+        for (final MeasurementUnit from : MeasurementUnit.values()) {
+            for (final MeasurementUnit to : MeasurementUnit.values()) {
+                if (!ConversionTable.areCompatible(from, to)) {
+                    continue;
+                }
+                for (int i = 0; i < SAMPLES / 16; i++) {
+                    final double value = (random.nextDouble() - 0.2) * Math.pow(10, random.nextInt(12) - 3);
+                    final double expected = from.getConverter().convert(value, from, to).getValue();
+                    assertBitIdentical(from + " -> " + to + " of " + value, expected,
+                            ConversionTable.convert(value, from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundMatchesBigDecimal() {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            final double value;
+            switch (i % 4) {
+                case 0:
+                    value = random.nextDouble() * 1000;
+                    break;
+                case 1:
+                    // Values with a tie in the third decimal place.
+                    value = (random.nextInt(2000000) - 1000000) / 1000.0 + 0.0005;
+                    break;
+                case 2:
+                    value = random.nextInt(100000) / 200.0;
+                    break;
+                default:
+                    value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15);
+                    break;
+            }
+            assertRoundMatches(value, random.nextInt(10));
+        }
+    }
+
+    @Test
+    public void testRoundEdgeCases() {
+        final double[] values = {0.0, -0.0, 0.5, 1.5, 2.5, -2.5, 0.125, 2.675, 1.005, -1.005, 0.045, 1e-5,
+                -1e-5, 9.995, 0.9995, 123456.785, 4503599627370495.5, 1e300, -1e300, Double.MIN_VALUE,
+                Double.MAX_VALUE};
+        for (final double value : values) {
+            for (int places = 0; places < 25; places++) {
+                assertRoundMatches(value, places);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRoundNegativePlaces() {
+        Converter.round(1, -1);
+    }
+
+    private static void assertRoundMatches(double value, int places) {
+        final double expected = new BigDecimal(String.valueOf(value))
+                .setScale(places, RoundingMode.HALF_UP).doubleValue();
+        assertBitIdentical("round(" + value + ", " + places + ")", expected, Converter.round(value, places));
+    }
+
+    private static void assertBitIdentical(String message, double expected, double actual) {
+        assertEquals(message, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import com.here.RobolectricTest;
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteTta;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for class {@link EtaTimeline}.
+ */
+public class EtaTimelineTest extends RobolectricTest {
+
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testEmptyTimeline() {
+        assertThat(EtaTimeline.from(null), sameInstance(EtaTimeline.EMPTY));
+        assertThat(EtaTimeline.EMPTY.getLength(), is(0L));
+        assertThat(EtaTimeline.EMPTY.getTimeAt(100), closeTo(0, DELTA));
+    }
+
+    @Test
+    public void testStopsFromLegs() {
+        final EtaTimeline timeline = EtaTimeline.from(mockRoute(new int[] {1000, 3000}, new int[] {100, 300}));
+        assertThat(timeline.getStopCount(), is(2));
+        assertThat(timeline.getLength(), is(3000L));
+        assertThat(timeline.getStopDistance(0), is(1000L));
+        assertThat(timeline.getStopTime(0), is(100));
+        assertThat(timeline.getStopTime(1), is(400));
+    }
+
+    @Test
+    public void testInterpolation() {
+        final EtaTimeline timeline = EtaTimeline.from(mockRoute(new int[] {1000, 3000}, new int[] {100, 300}));
+        assertThat(timeline.getTimeAt(0), closeTo(0, DELTA));
+        assertThat(timeline.getTimeAt(500), closeTo(50, DELTA));
+        assertThat(timeline.getTimeAt(1000), closeTo(100, DELTA));
+        assertThat(timeline.getTimeAt(2000), closeTo(250, DELTA));
+        assertThat(timeline.getTimeAt(5000), closeTo(400, DELTA));
+
+        assertThat(timeline.getFirstUpcomingStop(500), is(0));
+        assertThat(timeline.getFirstUpcomingStop(1000), is(1));
+        assertThat(timeline.getFirstUpcomingStop(3000), is(2));
+    }
+
+    @Test
+    public void testMismatchingStopsFallBackToDestination() {
+        final Route route = mockRoute(new int[] {1000, 3000}, new int[] {100, 300});
+        when(route.getSublegCount()).thenReturn(3);
+        final RouteTta tta = mock(RouteTta.class);
+        when(tta.getDuration()).thenReturn(500);
+        when(route.getTtaIncludingTraffic(Route.WHOLE_ROUTE)).thenReturn(tta);
+        when(route.getLength()).thenReturn(3100);
+
+        final EtaTimeline timeline = EtaTimeline.from(route);
+        assertThat(timeline.getStopCount(), is(1));
+        assertThat(timeline.getLength(), is(3100L));
+        assertThat(timeline.getStopTime(0), is(500));
+    }
+
+    /**
+     * Creates a route with a leg for each stop.
+     *
+     * @param stopDistances the distance of each stop from the start, the last one being the destination.
+     * @param legDurations the duration of each leg in seconds.
+     */
+    static Route mockRoute(final int[] stopDistances, final int[] legDurations) {
+        final Route route = mock(Route.class);
+        final List<Maneuver> maneuvers = new ArrayList<>();
+        maneuvers.add(mock(Maneuver.class));
+        for (int i = 0; i < stopDistances.length; i++) {
+            final Maneuver maneuver = mock(Maneuver.class);
+            when(maneuver.getAction()).thenReturn(i == stopDistances.length - 1
+                    ? Maneuver.Action.END : Maneuver.Action.STOPOVER);
+            when(maneuver.getDistanceFromStart()).thenReturn(stopDistances[i]);
+            maneuvers.add(maneuver);
+
+            final RouteTta tta = mock(RouteTta.class);
+            when(tta.getDuration()).thenReturn(legDurations[i]);
+            when(route.getTtaIncludingTraffic(i)).thenReturn(tta);
+        }
+        when(route.getManeuvers()).thenReturn(maneuvers);
+        when(route.getSublegCount()).thenReturn(stopDistances.length);
+        return route;
+    }
+}
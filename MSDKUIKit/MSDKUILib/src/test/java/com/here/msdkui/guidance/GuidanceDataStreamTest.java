@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import com.here.RobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link GuidanceDataStream}.
+ */
+public class GuidanceDataStreamTest extends RobolectricTest {
+
+    private final List<Runnable> mPendingNotifications = new ArrayList<>();
+    private FakeSource mSource;
+    private GuidanceDataStream<String> mStream;
+
+    @Before
+    public void setUp() {
+        mPendingNotifications.clear();
+        mSource = new FakeSource();
+        mStream = new GuidanceDataStream<>(mSource);
+    }
+
+    @Test
+    public void testDropsDuplicates() {
+        final List<String> received = new ArrayList<>();
+        mStream.subscribe(Runnable::run, received::add);
+        mSource.emit("a", "a", "b", null, null, "b", "b");
+        assertThat(received, contains("a", "b", null, "b"));
+        assertThat(mStream.getDuplicateCount(), is(3));
+        assertThat(mStream.getValue(), equalTo("b"));
+    }
+
+    @Test
+    public void testSlowSubscriberGetsLatestData() {
+        final List<String> received = new ArrayList<>();
+        final GuidanceDataStream.Subscription subscription = mStream.subscribe(mPendingNotifications::add,
+                received::add);
+        mSource.emit("a", "b", "c");
+        // Only one notification is queued, it delivers the latest data.
+        assertThat(mPendingNotifications.size(), is(1));
+        runPendingNotifications();
+        assertThat(received, contains("c"));
+        assertThat(subscription.getSkippedCount(), is(2));
+
+        mSource.emit("d");
+        runPendingNotifications();
+        assertThat(received, contains("c", "d"));
+    }
+
+    @Test
+    public void testSubscribersAreIndependent() {
+        final List<String> fast = new ArrayList<>();
+        final List<String> slow = new ArrayList<>();
+        mStream.subscribe(Runnable::run, fast::add);
+        mStream.subscribe(mPendingNotifications::add, slow::add);
+        mSource.emit("a", "b");
+        assertThat(fast, contains("a", "b"));
+        assertThat(slow, is(empty()));
+        runPendingNotifications();
+        assertThat(slow, contains("b"));
+    }
+
+    @Test
+    public void testNewSubscriberGetsLatestData() {
+        mStream.subscribe(Runnable::run, data -> { });
+        mSource.emit("a", null);
+        final List<String> received = new ArrayList<>();
+        mStream.subscribe(Runnable::run, received::add);
+        assertThat(received, contains((String) null));
+        assertThat(mStream.hasValue(), is(true));
+    }
+
+    @Test
+    public void testListensOnlyWhileSubscribed() {
+        assertThat(mSource.mStarted, is(false));
+        final List<String> received = new ArrayList<>();
+        final GuidanceDataStream.Subscription first = mStream.subscribe(mPendingNotifications::add, received::add);
+        final GuidanceDataStream.Subscription second = mStream.subscribe(Runnable::run, data -> { });
+        assertThat(mSource.mStarted, is(true));
+        assertThat(mStream.getSubscriberCount(), is(2));
+
+        mSource.emit("a");
+        first.cancel();
+        runPendingNotifications();
+        assertThat(received, is(empty()));
+        assertThat(mSource.mStarted, is(true));
+
+        second.cancel();
+        second.cancel();
+        assertThat(mSource.mStarted, is(false));
+        assertThat(mStream.getSubscriberCount(), is(0));
+    }
+
+    @Test
+    public void testPresenterStream() {
+        final GuidanceNextManeuverPresenter presenter = mock(GuidanceNextManeuverPresenter.class);
+        final GuidanceDataStream<GuidanceNextManeuverData> stream = GuidanceDataStream.of(presenter);
+        verify(presenter, never()).addListener(any(GuidanceNextManeuverListener.class));
+
+        final List<GuidanceNextManeuverData> received = new ArrayList<>();
+        final GuidanceDataStream.Subscription subscription = stream.subscribe(Runnable::run, received::add);
+        final ArgumentCaptor<GuidanceNextManeuverListener> captor =
+                ArgumentCaptor.forClass(GuidanceNextManeuverListener.class);
+        verify(presenter).addListener(captor.capture());
+
+        final GuidanceNextManeuverData data = new GuidanceNextManeuverData(1, 100L, "Invalidenstr.");
+        captor.getValue().onDataChanged(data);
+        captor.getValue().onDataChanged(new GuidanceNextManeuverData(1, 100L, "Invalidenstr."));
+        assertThat(received, contains(data));
+
+        subscription.cancel();
+        verify(presenter).removeListener(captor.getValue());
+        assertThat(stream.getValue(), equalTo(data));
+        assertThat(new GuidanceDataStream<>(mSource).getValue(), is(nullValue()));
+    }
+
+    private void runPendingNotifications() {
+        final List<Runnable> notifications = new ArrayList<>(mPendingNotifications);
+        mPendingNotifications.clear();
+        for (final Runnable notification : notifications) {
+            notification.run();
+        }
+    }
+
+    /**
+     * A source emitting data on demand.
+     */
+    private static final class FakeSource implements GuidanceDataStream.Source<String> {
+        private GuidanceDataStream<String> mStream;
+        private boolean mStarted;
+
+        @Override
+        public void start(final GuidanceDataStream<String> stream) {
+            mStream = stream;
+            mStarted = true;
+        }
+
+        @Override
+        public void stop() {
+            mStarted = false;
+        }
+
+        void emit(final String... data) {
+            for (final String value : Arrays.asList(data)) {
+                mStream.emit(value);
+            }
+        }
+    }
+}
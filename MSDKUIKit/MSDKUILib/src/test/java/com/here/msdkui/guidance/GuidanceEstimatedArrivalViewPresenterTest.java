@@ -22,13 +22,17 @@ import com.here.android.mpa.routing.RouteTta;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Date;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,6 +74,46 @@ public class GuidanceEstimatedArrivalViewPresenterTest extends RobolectricTest {
         verify(listener, never()).onDataChanged(any());
     }
 
+    @Test
+    public void testTimelineFromRoute() {
+        final GuidanceEstimatedArrivalViewPresenter presenter = new GuidanceEstimatedArrivalViewPresenter(
+                mNavigationManager, EtaTimelineTest.mockRoute(new int[] {1000, 3000}, new int[] {100, 300}));
+        final GuidanceEstimatedArrivalViewListener listener = mock(GuidanceEstimatedArrivalViewListener.class);
+        final GuidanceEtaTimelineListener timelineListener = mock(GuidanceEtaTimelineListener.class);
+        presenter.addListener(listener);
+        presenter.addTimelineListener(timelineListener);
+        presenter.setRecalibrationInterval(Long.MAX_VALUE);
+
+        // 500 m travelled, the SDK reports twice the remaining time of the route.
+        final RouteTta routeTta = mock(RouteTta.class);
+        when(routeTta.getDuration()).thenReturn(700);
+        when(mNavigationManager.getTta(any(), anyBoolean())).thenReturn(routeTta);
+        when(mNavigationManager.getDestinationDistance()).thenReturn(2500L);
+        presenter.handlePositionUpdate();
+
+        final ArgumentCaptor<GuidanceEtaTimelineData> captor = ArgumentCaptor.forClass(GuidanceEtaTimelineData.class);
+        verify(timelineListener).onTimelineChanged(captor.capture());
+        GuidanceEtaTimelineData data = captor.getValue();
+        assertThat(data.getFirstStopIndex(), is(0));
+        assertThat(data.getStops().size(), is(2));
+        assertThat(data.getNextStop().getDistance(), is(500L));
+        assertThat(data.getNextStop().getDuration(), is(100));
+        assertThat(data.getDestination().getDistance(), is(2500L));
+        assertThat(data.getDestination().getDuration(), is(700));
+        verify(listener).onDataChanged(data.getDestination());
+
+        // Past the first stop, the calibration is kept without querying the SDK again.
+        when(mNavigationManager.getDestinationDistance()).thenReturn(1500L);
+        presenter.handlePositionUpdate();
+        verify(timelineListener, times(2)).onTimelineChanged(captor.capture());
+        data = captor.getValue();
+        assertThat(data.getFirstStopIndex(), is(1));
+        assertThat(data.getStops().size(), is(1));
+        assertThat(data.getDestination().getDuration(), is(450));
+        verify(mNavigationManager, times(1)).getTta(any(), anyBoolean());
+        verify(mNavigationManager, never()).getEta(anyBoolean(), any());
+    }
+
     private void prepareNavigationManagerForCorrectHandlePositionUpdate() {
         RouteTta mockRouteTta = mock(RouteTta.class);
         Date mockDate = mock(Date.class);
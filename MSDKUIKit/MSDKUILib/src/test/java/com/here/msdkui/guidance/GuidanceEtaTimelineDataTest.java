@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.os.Parcel;
+
+import com.here.RobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link GuidanceEtaTimelineData}.
+ */
+public class GuidanceEtaTimelineDataTest extends RobolectricTest {
+
+    private GuidanceEstimatedArrivalViewData mStop;
+    private GuidanceEstimatedArrivalViewData mDestination;
+    private GuidanceEtaTimelineData mData;
+
+    @Before
+    public void setUp() {
+        mStop = new GuidanceEstimatedArrivalViewData(new Date(1000), 500L, 60);
+        mDestination = new GuidanceEstimatedArrivalViewData(new Date(2000), 1500L, 180);
+        mData = new GuidanceEtaTimelineData(1, Arrays.asList(mStop, mDestination));
+    }
+
+    @Test
+    public void testProperties() {
+        assertThat(mData.getFirstStopIndex(), is(1));
+        assertThat(mData.getStops().size(), is(2));
+        assertThat(mData.getNextStop(), is(mStop));
+        assertThat(mData.getDestination(), is(mDestination));
+
+        final GuidanceEtaTimelineData empty = new GuidanceEtaTimelineData(0, Collections.emptyList());
+        assertNull(empty.getNextStop());
+        assertNull(empty.getDestination());
+    }
+
+    @Test
+    public void testEquality() {
+        assertThat(mData, is(new GuidanceEtaTimelineData(1, Arrays.asList(mStop, mDestination))));
+        assertThat(mData.hashCode(),
+                is(new GuidanceEtaTimelineData(1, Arrays.asList(mStop, mDestination)).hashCode()));
+        assertThat(mData, is(not(new GuidanceEtaTimelineData(2, Collections.singletonList(mDestination)))));
+    }
+
+    @Test
+    public void testDataIsParcelable() {
+        final Parcel parcel = Parcel.obtain();
+        mData.writeToParcel(parcel, mData.describeContents());
+        parcel.setDataPosition(0);
+
+        final GuidanceEtaTimelineData createdFromParcel = GuidanceEtaTimelineData.CREATOR.createFromParcel(parcel);
+        assertThat(createdFromParcel, is(mData));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.widget.TextView;
+
+import com.here.RobolectricTest;
+import com.here.msdkui.R;
+import com.here.msdkui.common.DistanceFormatterUtil;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for class {@link GuidanceManeuverCountdown}.
+ */
+public class GuidanceManeuverCountdownTest extends RobolectricTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private GuidanceManeuverView mView;
+    private ManeuverDistanceInterpolator mInterpolator;
+    private GuidanceManeuverCountdown mCountdown;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        mView = new GuidanceManeuverView(getApplicationContext());
+        mView.setUnitSystem(UnitSystem.METRIC);
+        mView.setViewState(new GuidanceManeuverView.State(
+                new GuidanceManeuverData(R.drawable.ic_maneuver_icon_0, 150L, "Exit", "Str")));
+        mInterpolator = new ManeuverDistanceInterpolator();
+        mCountdown = new GuidanceManeuverCountdown(mView, mInterpolator);
+    }
+
+    @Test
+    public void testUpdatesDistanceOnFrame() {
+        mInterpolator.onFix(150, 10, 0);
+        mCountdown.start();
+        assertThat(mCountdown.isRunning(), is(true));
+
+        mCountdown.doFrame(2 * SECOND);
+        assertThat(getDistanceText(), is(format(130)));
+        // The view state keeps the last reported data.
+        assertThat(mView.getViewState().getData().getDistance(), is(150L));
+
+        mCountdown.stop();
+        mCountdown.doFrame(3 * SECOND);
+        assertThat(getDistanceText(), is(format(130)));
+    }
+
+    @Test
+    public void testRequestsFramesOnlyWhileDistanceChanges() {
+        // Frame callbacks are only run by the test.
+        ShadowLooper.pauseMainLooper();
+        mInterpolator.onFix(150, 0, 0);
+        mCountdown.start();
+        assertThat(mCountdown.isFramePosted(), is(true));
+        mCountdown.doFrame(SECOND);
+        assertThat(mCountdown.isFramePosted(), is(false));
+
+        // The next fix requests frames again.
+        mInterpolator.onFix(140, 10, 2 * SECOND);
+        assertThat(mCountdown.isFramePosted(), is(true));
+        mCountdown.doFrame(3 * SECOND);
+        assertThat(getDistanceText(), is(format(130)));
+        assertThat(mCountdown.isFramePosted(), is(true));
+
+        // Nothing changes once the extrapolation time is over.
+        mCountdown.doFrame(2 * SECOND + ManeuverDistanceInterpolator.MAX_EXTRAPOLATION_NANOS);
+        assertThat(mCountdown.isFramePosted(), is(false));
+
+        mCountdown.stop();
+        mInterpolator.onFix(100, 10, 6 * SECOND);
+        assertThat(mCountdown.isFramePosted(), is(false));
+    }
+
+    @Test
+    public void testIgnoresViewWithoutData() {
+        mView.setViewState(GuidanceManeuverView.State.UPDATING);
+        mInterpolator.onFix(150, 10, 0);
+        mCountdown.start();
+        mCountdown.doFrame(SECOND);
+        assertThat(mView.getViewState(), is(GuidanceManeuverView.State.UPDATING));
+        mCountdown.stop();
+    }
+
+    @Test
+    public void testStopClearsFixListener() {
+        final ManeuverDistanceInterpolator interpolator = spy(new ManeuverDistanceInterpolator());
+        final GuidanceManeuverCountdown countdown = new GuidanceManeuverCountdown(mView, interpolator);
+        countdown.start();
+        countdown.stop();
+        verify(interpolator).setFixListener(isNull());
+    }
+
+    private String getDistanceText() {
+        return ((TextView) mView.findViewById(R.id.distanceView)).getText().toString();
+    }
+
+    private String format(long distance) {
+        return DistanceFormatterUtil.formatDistance(getApplicationContext(), distance, UnitSystem.METRIC);
+    }
+}
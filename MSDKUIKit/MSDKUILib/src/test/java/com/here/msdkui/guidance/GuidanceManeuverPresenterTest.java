@@ -16,26 +16,37 @@
 
 package com.here.msdkui.guidance;
 
+import android.content.Context;
 import android.graphics.Bitmap;
+import android.view.ContextThemeWrapper;
+
+import androidx.lifecycle.Lifecycle;
 
 import com.here.MockUtils;
 import com.here.RobolectricTest;
+import com.here.TestLifecycleOwner;
+import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.common.Image;
 import com.here.android.mpa.guidance.NavigationManager;
 import com.here.android.mpa.routing.Maneuver;
 import com.here.android.mpa.routing.Route;
 import com.here.android.mpa.routing.Signpost;
+import com.here.msdkui.R;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.lang.ref.WeakReference;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -65,6 +76,29 @@ public class GuidanceManeuverPresenterTest extends RobolectricTest {
         verify(listener).onDataChanged(any());
     }
 
+    @Test
+    public void testDistanceInterpolator() {
+        final ManeuverDistanceInterpolator interpolator = new ManeuverDistanceInterpolator();
+        mGuidanceManeuverPresenter.setDistanceInterpolator(interpolator);
+        assertThat(mGuidanceManeuverPresenter.getDistanceInterpolator(), is(interpolator));
+        GuidanceManeuverListener listener = mock(GuidanceManeuverListener.class);
+        mGuidanceManeuverPresenter.addListener(listener);
+        when(mNavigationManager.getNextManeuver()).thenReturn(MockUtils.mockManeuver());
+        when(mNavigationManager.getNextManeuverDistance()).thenReturn(200L);
+        final GeoPosition position = mock(GeoPosition.class);
+        when(position.isValid()).thenReturn(true);
+        when(position.getSpeed()).thenReturn(15.0);
+
+        mGuidanceManeuverPresenter.handlePositionUpdate(position);
+        final ArgumentCaptor<GuidanceManeuverData> captor = ArgumentCaptor.forClass(GuidanceManeuverData.class);
+        verify(listener).onDataChanged(captor.capture());
+        assertThat(captor.getValue().getDistance(), is(200L));
+        assertThat(interpolator.hasFix(), is(true));
+
+        mGuidanceManeuverPresenter.handleRerouteBegin();
+        assertThat(interpolator.hasFix(), is(false));
+    }
+
     @Test
     public void testHandleManeuverEvent() {
         final Maneuver maneuver = MockUtils.mockManeuver();
@@ -131,4 +165,49 @@ public class GuidanceManeuverPresenterTest extends RobolectricTest {
         mGuidanceManeuverPresenter.handleManeuverEvent();
         verify(listener, never()).onDataChanged(any());
     }
+
+    @Test
+    public void testReleaseResourcesDropsRoadIcon() {
+        final Maneuver maneuver = MockUtils.mockManeuver();
+        final Image image = mock(Image.class);
+        when(image.getHeight()).thenReturn(10L);
+        when(image.getWidth()).thenReturn(10L);
+        when(image.getBitmap(anyInt(), anyInt())).thenReturn(mock(Bitmap.class));
+        when(maneuver.getNextRoadImage()).thenReturn(image);
+        when(mNavigationManager.getNextManeuver()).thenReturn(maneuver);
+
+        // Position updates towards the same maneuver reuse the scaled icon.
+        mGuidanceManeuverPresenter.handlePositionUpdate();
+        mGuidanceManeuverPresenter.handlePositionUpdate();
+        verify(image, times(1)).getBitmap(anyInt(), anyInt());
+
+        mGuidanceManeuverPresenter.releaseResources();
+        mGuidanceManeuverPresenter.handlePositionUpdate();
+        verify(image, times(2)).getBitmap(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testBoundPresenterDoesNotLeakScreen() {
+        Context screenContext = new ContextThemeWrapper(getApplicationContext(), R.style.MSDKUIDarkTheme);
+        TestLifecycleOwner owner = new TestLifecycleOwner();
+        final GuidanceManeuverPresenter presenter = new GuidanceManeuverPresenter(screenContext,
+                mNavigationManager, mock(Route.class));
+        presenter.bindToLifecycle(owner);
+        owner.moveTo(Lifecycle.State.RESUMED);
+        owner.moveTo(Lifecycle.State.DESTROYED);
+        assertThat(presenter.getLifecycleOwner(), is(nullValue()));
+
+        // The presenter outlives the screen, e.g. in a retained fragment.
+        final WeakReference<Context> contextReference = new WeakReference<>(screenContext);
+        final WeakReference<TestLifecycleOwner> ownerReference = new WeakReference<>(owner);
+        screenContext = null;
+        owner = null;
+        for (int i = 0; i < 10 && (contextReference.get() != null || ownerReference.get() != null); i++) {
+            System.gc();
+            System.runFinalization();
+        }
+        assertThat(contextReference.get(), is(nullValue()));
+        assertThat(ownerReference.get(), is(nullValue()));
+        assertThat(presenter.getNextManeuver(), is(nullValue()));
+    }
 }
@@ -29,6 +29,7 @@ import android.widget.TextView;
 
 import com.here.RobolectricTest;
 import com.here.msdkui.R;
+import com.here.msdkui.common.DistanceFormatterUtil;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -234,6 +235,20 @@ public class GuidanceManeuverViewTest extends RobolectricTest {
         assertThat(createdFromParcel.getViewState(), equalTo(GuidanceManeuverView.State.UPDATING));
     }
 
+    @Test
+    public void testSetDistance() {
+        final TextView distanceView = mGuidanceManeuverView.findViewById(R.id.distanceView);
+        mGuidanceManeuverView.setDistance(50);
+        assertThat(distanceView.getVisibility(), is(View.GONE));
+
+        mGuidanceManeuverView.setViewState(new GuidanceManeuverView.State(createData(mIconId, mDistance, mInfo1,
+                mInfo2)));
+        mGuidanceManeuverView.setDistance(50);
+        assertThat(distanceView.getText().toString(), is(DistanceFormatterUtil.formatDistance(
+                getApplicationContext(), 50, mGuidanceManeuverView.getUnitSystem())));
+        assertThat(mGuidanceManeuverView.getViewState().getData().getDistance(), is(mDistance));
+    }
+
     private GuidanceManeuverData createData(int iconId, Long distance, String info1, String info2) {
         return new GuidanceManeuverData(iconId, distance, info1, info2);
     }
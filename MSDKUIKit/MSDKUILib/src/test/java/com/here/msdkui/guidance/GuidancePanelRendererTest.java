@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.widget.TextView;
+
+import com.here.RobolectricTest;
+import com.here.msdkui.R;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link GuidancePanelRenderer}.
+ */
+public class GuidancePanelRendererTest extends RobolectricTest {
+
+    private static final Rect MANEUVER_BOUNDS = new Rect(0, 0, 400, 200);
+    private static final Rect SPEED_BOUNDS = new Rect(0, 200, 100, 300);
+
+    private GuidancePanelRenderer.BitmapPool mPool;
+    private GuidancePanelRenderer mRenderer;
+    private final Rect mDirty = new Rect();
+
+    @Before
+    public void setUp() {
+        mPool = new GuidancePanelRenderer.BitmapPool(2);
+        mRenderer = new GuidancePanelRenderer(getContextWithTheme(), 400, 300, mPool);
+        mRenderer.setPanelBounds(GuidancePanelRenderer.Panel.MANEUVER, MANEUVER_BOUNDS);
+        mRenderer.setPanelBounds(GuidancePanelRenderer.Panel.SPEED, SPEED_BOUNDS);
+    }
+
+    @Test
+    public void testFirstRenderingDrawsWholeFrame() {
+        mRenderer.setBackgroundColor(Color.BLACK);
+        assertThat(mRenderer.render(mDirty), equalTo(true));
+        assertThat(mDirty, equalTo(new Rect(0, 0, 400, 300)));
+        assertThat(mRenderer.getFrame().getPixel(399, 299), equalTo(Color.BLACK));
+
+        assertThat(mRenderer.isDirty(), equalTo(false));
+        assertThat(mRenderer.render(mDirty), equalTo(false));
+        assertThat(mDirty.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testOnlyChangedPanelIsDrawn() {
+        mRenderer.render(null);
+        mRenderer.setSpeedData(new GuidanceSpeedData(10.0, 13.9));
+        assertThat(mRenderer.render(mDirty), equalTo(true));
+        assertThat(mDirty, equalTo(SPEED_BOUNDS));
+
+        // Equal data is ignored.
+        mRenderer.setSpeedData(new GuidanceSpeedData(10.0, 13.9));
+        assertThat(mRenderer.isDirty(), equalTo(false));
+
+        mRenderer.setManeuverData(new GuidanceManeuverData(R.drawable.ic_maneuver_icon_0, 200L, "A", "B"));
+        mRenderer.setSpeedData(new GuidanceSpeedData(12.0, 13.9));
+        mRenderer.render(mDirty);
+        assertThat(mDirty, equalTo(new Rect(0, 0, 400, 300)));
+    }
+
+    @Test
+    public void testPanelShowsData() {
+        mRenderer.setManeuverData(new GuidanceManeuverData(R.drawable.ic_maneuver_icon_0, 200L, "Exit", "Main Street"));
+        mRenderer.render(null);
+        final GuidanceManeuverView view =
+                (GuidanceManeuverView) mRenderer.getPanelView(GuidancePanelRenderer.Panel.MANEUVER);
+        assertThat(view, notNullValue());
+        assertThat(view.isAttachedToWindow(), equalTo(false));
+        assertThat(view.getWidth(), equalTo(MANEUVER_BOUNDS.width()));
+        assertThat(((TextView) view.findViewById(R.id.infoView2)).getText().toString(), equalTo("Main Street"));
+    }
+
+    @Test
+    public void testUnitSystemRedrawsPanels() {
+        mRenderer.setManeuverData(new GuidanceManeuverData(R.drawable.ic_maneuver_icon_0, 200L, "A", "B"));
+        mRenderer.render(null);
+        final TextView distance = mRenderer.getPanelView(GuidancePanelRenderer.Panel.MANEUVER)
+                .findViewById(R.id.distanceView);
+        final String metric = distance.getText().toString();
+
+        mRenderer.setUnitSystem(UnitSystem.IMPERIAL_US);
+        assertThat(mRenderer.render(mDirty), equalTo(true));
+        assertThat(distance.getText().toString(), not(equalTo(metric)));
+    }
+
+    @Test
+    public void testRemovedPanelIsCleared() {
+        mRenderer.render(null);
+        mRenderer.setPanelBounds(GuidancePanelRenderer.Panel.SPEED, null);
+        assertThat(mRenderer.getPanelBounds(GuidancePanelRenderer.Panel.SPEED), nullValue());
+        mRenderer.render(mDirty);
+        assertThat(mDirty, equalTo(new Rect(0, 0, 400, 300)));
+
+        // Data of panels which aren't drawn is ignored.
+        mRenderer.setSpeedData(new GuidanceSpeedData(10.0, 13.9));
+        assertThat(mRenderer.isDirty(), equalTo(false));
+    }
+
+    @Test
+    public void testFramesAreReused() {
+        mRenderer.render(null);
+        final Bitmap copy = mRenderer.acquireFrame();
+        assertThat(copy, not(sameInstance(mRenderer.getFrame())));
+        assertThat(copy.getWidth(), equalTo(400));
+        mRenderer.releaseFrame(copy);
+        assertThat(mRenderer.acquireFrame(), sameInstance(copy));
+        assertThat(mPool.getCreatedCount(), equalTo(2));
+
+        final Bitmap frame = mRenderer.getFrame();
+        mRenderer.setSize(200, 100);
+        assertThat(mRenderer.getFrame().getWidth(), equalTo(200));
+        mRenderer.setSize(400, 300);
+        assertThat(mRenderer.getFrame(), sameInstance(frame));
+        assertThat(mPool.getCreatedCount(), equalTo(3));
+    }
+
+    @Test
+    public void testPoolRecyclesExcessBitmaps() {
+        final GuidancePanelRenderer.BitmapPool pool = new GuidancePanelRenderer.BitmapPool(1);
+        final Bitmap first = pool.acquire(10, 10);
+        final Bitmap second = pool.acquire(10, 10);
+        pool.release(first);
+        pool.release(second);
+        assertThat(pool.getSize(), equalTo(1));
+        assertThat(first.isRecycled(), equalTo(true));
+
+        pool.clear();
+        assertThat(second.isRecycled(), equalTo(true));
+        assertThat(pool.getSize(), equalTo(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        mRenderer.setSize(0, 100);
+    }
+}
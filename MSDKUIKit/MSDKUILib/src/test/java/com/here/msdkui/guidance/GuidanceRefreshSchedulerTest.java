@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import com.here.BenchmarkReport;
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.common.GeoPosition;
+import com.here.android.mpa.guidance.NavigationManager;
+import com.here.android.mpa.routing.Route;
+import com.here.msdkui.common.DistanceFormatterUtil;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for class {@link GuidanceRefreshScheduler}.
+ */
+public class GuidanceRefreshSchedulerTest extends RobolectricTest {
+
+    private static final long MAX_INTERVAL = 60_000;
+    private static final double MOTORWAY_SPEED = 30;
+    private static final long DRIVE_DISTANCE = 36_000;
+
+    private long mNow;
+    private GuidanceRefreshScheduler mScheduler;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        mNow = 0;
+        mScheduler = new GuidanceRefreshScheduler(UnitSystem.METRIC, MAX_INTERVAL, () -> mNow);
+    }
+
+    @Test
+    public void testDistanceDelay() {
+        // 900 m until "25 km" changes, at up to 1.25 times the current speed.
+        assertThat(mScheduler.getDistanceDelay(25400, MOTORWAY_SPEED), is(24_000L));
+        assertThat(mScheduler.getDistanceDelay(150, MOTORWAY_SPEED), is(133L));
+        assertThat(mScheduler.getDistanceDelay(25400, 0), is(MAX_INTERVAL));
+        assertThat(new GuidanceRefreshScheduler(UnitSystem.METRIC).getDistanceDelay(25400, MOTORWAY_SPEED),
+                is(GuidanceRefreshScheduler.DEFAULT_MAX_INTERVAL));
+    }
+
+    @Test
+    public void testSkipsUntilRefreshIsDue() {
+        assertThat(mScheduler.isRefreshDue(), is(true));
+        mScheduler.onRefreshed(25400, MOTORWAY_SPEED);
+
+        mNow = 1000;
+        assertThat(mScheduler.isRefreshDue(), is(false));
+        mNow = 24_000;
+        assertThat(mScheduler.isRefreshDue(), is(true));
+
+        mScheduler.onRefreshed(24500, MOTORWAY_SPEED);
+        mScheduler.invalidate();
+        assertThat(mScheduler.isRefreshDue(), is(true));
+    }
+
+    @Test
+    public void testRemainingMinutes() {
+        // 125 s are shown as 2 min until 6 s passed.
+        mScheduler.onRefreshed(25400, MOTORWAY_SPEED, 125);
+        mNow = 5999;
+        assertThat(mScheduler.isRefreshDue(), is(false));
+        mNow = 6000;
+        assertThat(mScheduler.isRefreshDue(), is(true));
+    }
+
+    /**
+     * Drives 36 km on a motorway towards a maneuver with one position update per second and compares the work of
+     * {@link GuidanceManeuverPresenter} with and without a scheduler. The shown distances must be the same.
+     * The work is asserted by the number of refreshes and SDK calls, the CPU time of the updates is only reported
+     * as it depends on the machine.
+     */
+    @Test
+    public void testSyntheticMotorwayDrive() {
+        final Drive plain = drive(null);
+        final Drive scheduled = drive(mScheduler);
+
+        assertThat(scheduled.mUpdates, is(plain.mUpdates));
+        assertThat(scheduled.mRefreshes, lessThan(scheduled.mUpdates));
+        assertThat(scheduled.mTexts, is(plain.mTexts));
+        assertThat(scheduled.mOutdatedUpdates, is(0));
+        assertThat(scheduled.mRefreshes * 2, lessThan(plain.mRefreshes));
+        assertThat(scheduled.mSdkCalls * 2, lessThan(plain.mSdkCalls));
+
+        new BenchmarkReport("guidance-refresh-scheduler")
+                .put("updates", plain.mUpdates)
+                .put("refreshes.plain", plain.mRefreshes)
+                .put("refreshes.scheduled", scheduled.mRefreshes)
+                .put("sdkCalls.plain", plain.mSdkCalls)
+                .put("sdkCalls.scheduled", scheduled.mSdkCalls)
+                .put("updateCpuMicros.plain", plain.mCpuNanos / 1000.0 / plain.mUpdates)
+                .put("updateCpuMicros.scheduled", scheduled.mCpuNanos / 1000.0 / scheduled.mUpdates)
+                .write();
+    }
+
+    private Drive drive(GuidanceRefreshScheduler scheduler) {
+        final NavigationManager navigationManager = mock(NavigationManager.class);
+        when(navigationManager.getNextManeuver()).thenReturn(MockUtils.mockManeuver());
+        final GuidanceManeuverPresenter presenter = new GuidanceManeuverPresenter(getApplicationContext(),
+                navigationManager, mock(Route.class));
+        presenter.setRefreshScheduler(scheduler);
+        final Drive drive = new Drive();
+        presenter.addListener(new GuidanceManeuverListener() {
+            @Override
+            public void onDataChanged(GuidanceManeuverData data) {
+                drive.mRefreshes++;
+                drive.mShownText = format(data.getDistance());
+                if (drive.mTexts.isEmpty() || !drive.mTexts.get(drive.mTexts.size() - 1).equals(drive.mShownText)) {
+                    drive.mTexts.add(drive.mShownText);
+                }
+            }
+
+            @Override
+            public void onDestinationReached() {
+            }
+        });
+        final GeoPosition position = mock(GeoPosition.class);
+        when(position.isValid()).thenReturn(true);
+        when(position.getSpeed()).thenReturn(MOTORWAY_SPEED);
+
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        mNow = 0;
+        for (double distance = DRIVE_DISTANCE; distance > 0; distance -= MOTORWAY_SPEED) {
+            when(navigationManager.getNextManeuverDistance()).thenReturn((long) distance);
+            final long start = threads.getCurrentThreadCpuTime();
+            presenter.handlePositionUpdate(position);
+            drive.mCpuNanos += threads.getCurrentThreadCpuTime() - start;
+            drive.mUpdates++;
+            if (!format((long) distance).equals(drive.mShownText)) {
+                drive.mOutdatedUpdates++;
+            }
+            mNow += 1000;
+        }
+        // Stubbing calls are recorded as well, so only count the calls issued by the presenter.
+        drive.mSdkCalls = mockingDetails(navigationManager).getInvocations().size() - drive.mUpdates - 1;
+        return drive;
+    }
+
+    private String format(long distance) {
+        return DistanceFormatterUtil.formatDistance(getApplicationContext(), distance, UnitSystem.METRIC);
+    }
+
+    /**
+     * Results of a synthetic drive.
+     */
+    private static final class Drive {
+        private final List<String> mTexts = new ArrayList<>();
+        private String mShownText;
+        private int mUpdates;
+        private int mRefreshes;
+        private int mOutdatedUpdates;
+        private int mSdkCalls;
+        private long mCpuNanos;
+    }
+}
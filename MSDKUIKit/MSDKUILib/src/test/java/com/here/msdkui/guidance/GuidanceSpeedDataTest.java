@@ -97,4 +97,23 @@ public class GuidanceSpeedDataTest extends RobolectricTest {
         assertNull(createdFromParcel.getCurrentSpeedLimit());
 
     }
+
+    @Test
+    public void testUpcomingSpeedLimit() {
+        assertNull(mCurrentSpeedData.getUpcomingSpeedLimit());
+        assertNull(mCurrentSpeedData.getUpcomingSpeedLimitDistance());
+
+        GuidanceSpeedData data = new GuidanceSpeedData(VELOCITY, SPEED_LIMIT, 50.0, 120.0);
+        assertThat(data, is(not(mCurrentSpeedData)));
+        assertThat(data, is(new GuidanceSpeedData(VELOCITY, SPEED_LIMIT, 50.0, 120.0)));
+        assertThat(data.toString(), is("GuidanceSpeedData(mCurrentSpeed=60.0, mCurrentSpeedLimit=70.0, "
+                + "mUpcomingSpeedLimit=50.0, mUpcomingSpeedLimitDistance=120.0)"));
+
+        Parcel parcel = Parcel.obtain();
+        data.writeToParcel(parcel, data.describeContents());
+        parcel.setDataPosition(0);
+        GuidanceSpeedData createdFromParcel = GuidanceSpeedData.CREATOR.createFromParcel(parcel);
+        assertThat(createdFromParcel, is(data));
+        assertThat(createdFromParcel.getUpcomingSpeedLimitDistance(), is(120.0));
+    }
 }
@@ -20,12 +20,18 @@ import com.here.RobolectricTest;
 import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.common.PositioningManager;
 import com.here.android.mpa.guidance.NavigationManager;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteResult;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,17 +58,46 @@ public class GuidanceSpeedPresenterTest extends RobolectricTest {
         mCurrentSpeedPresenter.addListener(listener);
 
         //for incorrect data
-        when(mPositioningManager.hasValidPosition()).thenReturn(false);
-        mCurrentSpeedPresenter.handlePositionUpdate();
-        verify(listener).onDataChanged(any());
+        mCurrentSpeedPresenter.handlePositionUpdate(mock(GeoPosition.class));
+        verify(listener).onDataChanged(isNull());
 
-        when(mPositioningManager.hasValidPosition()).thenReturn(true);
         GeoPosition geoPos = mock(GeoPosition.class);
         when(geoPos.isValid()).thenReturn(true);
         when(geoPos.getSpeed()).thenReturn(10.0);
-        when(mPositioningManager.getPosition()).thenReturn(geoPos);
-        mCurrentSpeedPresenter.handlePositionUpdate();
+        mCurrentSpeedPresenter.handlePositionUpdate(geoPos);
         verify(listener, times(2)).onDataChanged(any());
+        verify(mPositioningManager, never()).getPosition();
+    }
+
+    @Test
+    public void testSpeedLimitFromRouteProfile() {
+        final GuidanceSpeedPresenter presenter = new GuidanceSpeedPresenter(mNavigationManager, mPositioningManager,
+                SpeedLimitProfileTest.mockRoute(new float[] {10, 20}, new double[] {100, 200}));
+        final GuidanceSpeedListener listener = mock(GuidanceSpeedListener.class);
+        presenter.addListener(listener);
+        final GeoPosition geoPos = mock(GeoPosition.class);
+        when(geoPos.isValid()).thenReturn(true);
+        when(geoPos.getSpeed()).thenReturn(12.0);
+
+        // 260 m to the destination means 40 m travelled on a 300 m route.
+        when(mNavigationManager.getDestinationDistance()).thenReturn(260L);
+        presenter.handlePositionUpdate(geoPos);
+        verify(listener).onDataChanged(new GuidanceSpeedData(12.0, 10.0, 20.0, 60.0));
+        verify(mPositioningManager, never()).getRoadElement();
+
+        // Speed warnings keep the upcoming speed limit.
+        presenter.handleSpeedExceeded(10);
+        verify(listener, times(2)).onDataChanged(new GuidanceSpeedData(12.0, 10.0, 20.0, 60.0));
+
+        // A reroute replaces the profile.
+        final RouteResult routeResult = mock(RouteResult.class);
+        final Route route = SpeedLimitProfileTest.mockRoute(new float[] {30}, new double[] {100});
+        when(routeResult.getRoute()).thenReturn(route);
+        presenter.handleRerouteEnd(routeResult);
+        when(mNavigationManager.getDestinationDistance()).thenReturn(50L);
+        presenter.handlePositionUpdate(geoPos);
+        verify(listener).onDataChanged(new GuidanceSpeedData(12.0, 30.0, null, null));
+        assertThat(presenter.getSpeedLimitProfile().getLength(), is(100.0));
     }
 
     @Test
@@ -86,6 +121,13 @@ public class GuidanceSpeedPresenterTest extends RobolectricTest {
         when(mPositioningManager.hasValidPosition()).thenReturn(false);
         mCurrentSpeedPresenter.handleSpeedExceeded(10);
         verify(listener).onDataChanged(any());
+
+        final GeoPosition geoPos = mock(GeoPosition.class);
+        when(geoPos.isValid()).thenReturn(true);
+        when(geoPos.getSpeed()).thenReturn(10.0);
+        mCurrentSpeedPresenter.handlePositionUpdate(geoPos);
+        mCurrentSpeedPresenter.handleSpeedExceeded(8);
+        verify(listener).onDataChanged(new GuidanceSpeedData(10.0, 8.0, null, null));
     }
 
     @Test
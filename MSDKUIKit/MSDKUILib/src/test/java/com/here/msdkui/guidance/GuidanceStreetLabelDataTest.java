@@ -24,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 
 /**
  * Test for {@link GuidanceStreetLabelData} class.
@@ -56,4 +57,15 @@ public class GuidanceStreetLabelDataTest extends RobolectricTest {
         assertEquals(NAME, fromParcel.getCurrentStreetName());
         assertEquals(COLOR, fromParcel.getBackgroundColor());
     }
+
+    @Test
+    public void testEquals() {
+        final GuidanceStreetLabelData other = new GuidanceStreetLabelData(NAME, COLOR);
+        assertEquals(mCurrentStreetData, other);
+        assertEquals(mCurrentStreetData.hashCode(), other.hashCode());
+        assertEquals(new GuidanceStreetLabelData(null, COLOR), new GuidanceStreetLabelData(null, COLOR));
+        assertFalse(mCurrentStreetData.equals(new GuidanceStreetLabelData(NAME, 0)));
+        assertFalse(mCurrentStreetData.equals(new GuidanceStreetLabelData("Other", COLOR)));
+        assertFalse(mCurrentStreetData.equals(null));
+    }
 }
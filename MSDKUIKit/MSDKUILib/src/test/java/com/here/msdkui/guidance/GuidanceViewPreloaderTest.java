@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import com.here.RobolectricTest;
+import com.here.msdkui.R;
+import com.here.msdkui.routing.ManeuverItemView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link GuidanceViewPreloader}.
+ */
+public class GuidanceViewPreloaderTest extends RobolectricTest {
+
+    private final List<Runnable> mBackgroundTasks = new ArrayList<>();
+    private GuidanceViewPreloader mPreloader;
+    private Context mScreenContext;
+
+    @Before
+    public void setUp() {
+        mPreloader = new GuidanceViewPreloader(getApplicationContext(), R.style.MSDKUIDarkTheme,
+                mBackgroundTasks::add, Runnable::run);
+        mScreenContext = new ContextThemeWrapper(getApplicationContext(), R.style.MSDKUIDarkTheme);
+    }
+
+    @Test
+    public void testPreloadView() {
+        mPreloader.preloadView(GuidanceStreetLabelView.class, GuidanceStreetLabelView::new);
+        assertThat(mPreloader.acquireView(mScreenContext, GuidanceStreetLabelView.class), nullValue());
+        assertThat(mPreloader.getMissCount(), equalTo(1));
+
+        runBackgroundTasks();
+        final GuidanceStreetLabelView view = mPreloader.acquireView(mScreenContext, GuidanceStreetLabelView.class);
+        assertThat(view, notNullValue());
+        assertThat(view.getContext().getApplicationContext(), sameInstance(getApplicationContext()));
+        assertThat(mPreloader.getHitCount(), equalTo(1));
+
+        // A view is only handed out once.
+        assertThat(mPreloader.acquireView(mScreenContext, GuidanceStreetLabelView.class), nullValue());
+        assertThat(mPreloader.dump(), containsString("GuidanceStreetLabelView"));
+    }
+
+    @Test
+    public void testPreloadLayoutKeepsLayoutParams() {
+        mPreloader.preloadLayout(R.layout.maneuver_item_list);
+        mPreloader.preloadLayout(R.layout.maneuver_item_list);
+        assertThat(mBackgroundTasks.size(), equalTo(1));
+
+        runBackgroundTasks();
+        final View view = mPreloader.acquireLayout(mScreenContext, R.layout.maneuver_item_list);
+        assertThat(view, instanceOf(ManeuverItemView.class));
+        assertThat(view.getLayoutParams(), notNullValue());
+    }
+
+    @Test
+    public void testConfigurationChangeDiscardsView() {
+        mPreloader.preloadView(GuidanceSpeedView.class, GuidanceSpeedView::new);
+        runBackgroundTasks();
+
+        RuntimeEnvironment.setQualifiers("land");
+        assertThat(mPreloader.acquireView(getApplicationContext(), GuidanceSpeedView.class), nullValue());
+        assertThat(mPreloader.getMissCount(), equalTo(1));
+    }
+
+    @Test
+    public void testClear() {
+        mPreloader.preloadView(GuidanceSpeedLimitView.class, GuidanceSpeedLimitView::new);
+        mPreloader.clear();
+        runBackgroundTasks();
+        assertThat(mPreloader.acquireView(mScreenContext, GuidanceSpeedLimitView.class), nullValue());
+    }
+
+    private void runBackgroundTasks() {
+        for (final Runnable task : new ArrayList<>(mBackgroundTasks)) {
+            task.run();
+        }
+        mBackgroundTasks.clear();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import com.here.RobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for class {@link ManeuverDistanceInterpolator}.
+ */
+public class ManeuverDistanceInterpolatorTest extends RobolectricTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private ManeuverDistanceInterpolator mInterpolator;
+
+    @Before
+    public void setUp() {
+        mInterpolator = new ManeuverDistanceInterpolator();
+    }
+
+    @Test
+    public void testNoFix() {
+        assertThat(mInterpolator.hasFix(), is(false));
+        assertThat(mInterpolator.getDistance(SECOND), is(-1L));
+    }
+
+    @Test
+    public void testExtrapolation() {
+        assertThat(mInterpolator.onFix(1000, 20, 0), is(1000L));
+        assertThat(mInterpolator.getDistance(SECOND / 2), is(990L));
+        assertThat(mInterpolator.getDistance(SECOND), is(980L));
+        // Extrapolation stops after a while, e.g. when updates stop in a tunnel.
+        assertThat(mInterpolator.getDistance(10 * SECOND), is(940L));
+    }
+
+    @Test
+    public void testIsChanging() {
+        assertThat(mInterpolator.isChanging(0), is(false));
+        mInterpolator.onFix(1000, 0, 0);
+        assertThat(mInterpolator.isChanging(SECOND), is(false));
+
+        // A correction is faded out even without speed.
+        mInterpolator.onFix(900, 0, SECOND);
+        assertThat(mInterpolator.isChanging(SECOND + SECOND / 4), is(true));
+        assertThat(mInterpolator.isChanging(2 * SECOND), is(false));
+
+        mInterpolator.onFix(900, 20, 3 * SECOND);
+        assertThat(mInterpolator.isChanging(5 * SECOND), is(true));
+        assertThat(mInterpolator.isChanging(3 * SECOND + ManeuverDistanceInterpolator.MAX_EXTRAPOLATION_NANOS),
+                is(false));
+    }
+
+    @Test
+    public void testUnknownSpeed() {
+        mInterpolator.onFix(1000, -1, 0);
+        assertThat(mInterpolator.getDistance(SECOND), is(1000L));
+    }
+
+    @Test
+    public void testSnapsBackSmoothly() {
+        mInterpolator.onFix(1000, 20, 0);
+        assertThat(mInterpolator.getDistance(SECOND), is(980L));
+
+        // The fix is 5 m behind the extrapolated distance, the countdown doesn't jump back.
+        assertThat(mInterpolator.onFix(985, 20, SECOND), is(980L));
+        assertThat(mInterpolator.getDistance(SECOND + SECOND / 4), is(978L));
+        assertThat(mInterpolator.getDistance(SECOND + SECOND / 2), is(975L));
+    }
+
+    @Test
+    public void testLargeDifferenceIsAppliedAtOnce() {
+        mInterpolator.onFix(100, 20, 0);
+        assertThat(mInterpolator.onFix(2000, 20, SECOND), is(2000L));
+    }
+
+    @Test
+    public void testMovingAway() {
+        mInterpolator.onFix(100, 10, 0);
+        assertThat(mInterpolator.onFix(120, 10, SECOND), is(90L));
+        assertThat(mInterpolator.getDistance(SECOND + SECOND / 4), is(105L));
+        assertThat(mInterpolator.getDistance(2 * SECOND), is(120L));
+    }
+
+    @Test
+    public void testReset() {
+        mInterpolator.onFix(100, 10, 0);
+        mInterpolator.reset();
+        assertThat(mInterpolator.hasFix(), is(false));
+        assertThat(mInterpolator.onFix(500, 10, SECOND), is(500L));
+    }
+}
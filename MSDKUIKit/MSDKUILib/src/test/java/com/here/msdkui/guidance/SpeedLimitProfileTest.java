@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance;
+
+import com.here.RobolectricTest;
+import com.here.android.mpa.common.GeoCoordinate;
+import com.here.android.mpa.common.RoadElement;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteElement;
+import com.here.android.mpa.routing.RouteElements;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for class {@link SpeedLimitProfile}.
+ */
+public class SpeedLimitProfileTest extends RobolectricTest {
+
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testEmptyProfile() {
+        assertThat(SpeedLimitProfile.from(null), sameInstance(SpeedLimitProfile.EMPTY));
+        assertThat(SpeedLimitProfile.from(mockRoute(new float[0], new double[0])),
+                sameInstance(SpeedLimitProfile.EMPTY));
+        assertThat(SpeedLimitProfile.EMPTY.getSpeedLimit(10), equalTo(-1f));
+        assertThat(SpeedLimitProfile.EMPTY.getDistanceToNextChange(10), equalTo(-1.0));
+    }
+
+    @Test
+    public void testSectionsWithSameLimitAreMerged() {
+        final SpeedLimitProfile profile = SpeedLimitProfile.from(mockRoute(
+                new float[] {10, 10, 20, 20, 20, 10},
+                new double[] {100, 50, 200, 0, 100, 150}));
+        assertThat(profile.getSectionCount(), is(3));
+        assertThat(profile.getLength(), equalTo(600.0));
+    }
+
+    @Test
+    public void testLookup() {
+        final SpeedLimitProfile profile = SpeedLimitProfile.from(mockRoute(
+                new float[] {10, 20, 0},
+                new double[] {100, 200, 300}));
+
+        assertThat(profile.getSpeedLimit(-5), equalTo(10f));
+        assertThat(profile.getSpeedLimit(0), equalTo(10f));
+        assertThat(profile.getSpeedLimit(99.9), equalTo(10f));
+        assertThat(profile.getNextSpeedLimit(40), equalTo(20f));
+        assertThat(profile.getDistanceToNextChange(40), closeTo(60, DELTA));
+
+        assertThat(profile.getSpeedLimit(100), equalTo(20f));
+        assertThat(profile.getSpeedLimit(250), equalTo(20f));
+        assertThat(profile.getNextSpeedLimit(250), equalTo(0f));
+        assertThat(profile.getDistanceToNextChange(250), closeTo(50, DELTA));
+
+        // The last section has no further change.
+        assertThat(profile.getSpeedLimit(450), equalTo(0f));
+        assertThat(profile.getSpeedLimit(1000), equalTo(0f));
+        assertThat(profile.getNextSpeedLimit(450), equalTo(-1f));
+        assertThat(profile.getDistanceToNextChange(450), equalTo(-1.0));
+    }
+
+    @Test
+    public void testZeroLengthSectionIsReplaced() {
+        final SpeedLimitProfile profile = SpeedLimitProfile.from(mockRoute(
+                new float[] {10, 30, 10},
+                new double[] {100, 0, 100}));
+        assertThat(profile.getSectionCount(), is(1));
+        assertThat(profile.getSpeedLimit(100), equalTo(10f));
+    }
+
+    @Test
+    public void testOnlyCoveredPartOfFirstAndLastElementIsCounted() {
+        final Route route = mockRoute(new float[] {10, 20, 30}, new double[] {100, 200, 300});
+        final List<RouteElement> elements = route.getRouteElements().getElements();
+        final List<GeoCoordinate> firstGeometry = mockGeometry(40);
+        when(elements.get(0).getGeometry()).thenReturn(firstGeometry);
+        final List<GeoCoordinate> lastGeometry = mockGeometry(10, 20);
+        when(elements.get(2).getGeometry()).thenReturn(lastGeometry);
+
+        final SpeedLimitProfile profile = SpeedLimitProfile.from(route);
+        assertThat(profile.getLength(), closeTo(270, DELTA));
+        assertThat(profile.getSpeedLimit(39.9), equalTo(10f));
+        assertThat(profile.getSpeedLimit(40), equalTo(20f));
+        assertThat(profile.getDistanceToNextChange(100), closeTo(140, DELTA));
+    }
+
+    private static List<GeoCoordinate> mockGeometry(final double... segmentLengths) {
+        final List<GeoCoordinate> geometry = new ArrayList<>();
+        geometry.add(mock(GeoCoordinate.class));
+        for (final double segmentLength : segmentLengths) {
+            final GeoCoordinate next = mock(GeoCoordinate.class);
+            when(geometry.get(geometry.size() - 1).distanceTo(next)).thenReturn(segmentLength);
+            geometry.add(next);
+        }
+        return geometry;
+    }
+
+    static Route mockRoute(final float[] limits, final double[] lengths) {
+        final List<RouteElement> elements = new ArrayList<>();
+        for (int i = 0; i < limits.length; i++) {
+            final RoadElement roadElement = mock(RoadElement.class);
+            when(roadElement.getSpeedLimit()).thenReturn(limits[i]);
+            when(roadElement.getGeometryLength()).thenReturn(lengths[i]);
+            final RouteElement element = mock(RouteElement.class);
+            when(element.getRoadElement()).thenReturn(roadElement);
+            elements.add(element);
+        }
+        final RouteElements routeElements = mock(RouteElements.class);
+        when(routeElements.getElements()).thenReturn(elements);
+        final Route route = mock(Route.class);
+        when(route.getRouteElements()).thenReturn(routeElements);
+        return route;
+    }
+}
@@ -16,8 +16,12 @@
 
 package com.here.msdkui.guidance.base;
 
+import androidx.lifecycle.Lifecycle;
+
 import com.here.MockUtils;
 import com.here.RobolectricTest;
+import com.here.TestLifecycleOwner;
+import com.here.android.mpa.common.GeoPosition;
 import com.here.android.mpa.guidance.NavigationManager;
 import com.here.android.mpa.routing.Maneuver;
 import com.here.android.mpa.routing.Route;
@@ -35,7 +39,10 @@ import static junit.framework.Assert.assertNull;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -147,4 +154,83 @@ public class BaseGuidancePresenterTest extends RobolectricTest {
         mBaseGuidancePresenter.getTimeToArrival();
         verify(mockRouteTta).getDuration();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMetrics() {
+        assertThat(mBaseGuidancePresenter.getMetrics(), is(GuidanceMetrics.NO_OP));
+        final InMemoryGuidanceMetrics metrics = new InMemoryGuidanceMetrics();
+        final BaseGuidancePresenter presenter = new BaseGuidancePresenter(mNavigationManager, null) {
+            @Override
+            protected void handlePositionUpdate() {
+                getNextManeuver();
+                getNextManeuverDistance();
+                final long start = beginNotification();
+                endNotification(start, 1);
+            }
+        };
+        presenter.setMetrics(metrics);
+        presenter.resume();
+        verify(mNavigationManager).addPositionListener(mPositionListenerCaptor.capture());
+        mPositionListenerCaptor.getValue().get().onPositionUpdated(mock(GeoPosition.class));
+
+        final InMemoryGuidanceMetrics.PresenterStats stats = metrics.getStats(presenter.getClass().getSimpleName());
+        assertNotNull(stats);
+        assertThat(stats.getEventCount(), is(1L));
+        assertThat(stats.getSdkCallCount(), is(2L));
+        assertThat(stats.getNotificationCount(), is(1L));
+        assertNotNull(stats.getHandlerLatency(GuidanceMetrics.Event.POSITION_UPDATE));
+
+        presenter.setMetrics(null);
+        assertThat(presenter.getMetrics(), is(GuidanceMetrics.NO_OP));
+        mPositionListenerCaptor.getValue().get().onPositionUpdated(mock(GeoPosition.class));
+        assertThat(stats.getEventCount(), is(1L));
+    }
+
+    @Test
+    public void testBindToLifecycle() {
+        final int[] releaseCount = new int[1];
+        final BaseGuidancePresenter presenter = new BaseGuidancePresenter(mNavigationManager, null) {
+            @Override
+            public void releaseResources() {
+                releaseCount[0]++;
+            }
+        };
+        final TestLifecycleOwner owner = new TestLifecycleOwner();
+        presenter.bindToLifecycle(owner);
+        assertThat(presenter.getLifecycleOwner(), is(owner));
+        verify(mNavigationManager, never()).addPositionListener(any());
+
+        owner.moveTo(Lifecycle.State.RESUMED);
+        verify(mNavigationManager).addPositionListener(any());
+        owner.moveTo(Lifecycle.State.STARTED);
+        verify(mNavigationManager, never()).removePositionListener(any());
+        owner.moveTo(Lifecycle.State.CREATED);
+        verify(mNavigationManager).removePositionListener(any());
+        assertThat(releaseCount[0], is(1));
+
+        owner.moveTo(Lifecycle.State.DESTROYED);
+        assertNull(presenter.getLifecycleOwner());
+        assertThat(owner.getLifecycle().getObserverCount(), is(0));
+        verify(mNavigationManager, times(1)).removePositionListener(any());
+    }
+
+    @Test
+    public void testBindToStartedLifecycle() {
+        final TestLifecycleOwner owner = new TestLifecycleOwner();
+        owner.moveTo(Lifecycle.State.RESUMED);
+        mBaseGuidancePresenter.bindToLifecycle(owner);
+        verify(mNavigationManager).addPositionListener(any());
+
+        // Unbinding a started presenter pauses it.
+        mBaseGuidancePresenter.unbindFromLifecycle();
+        verify(mNavigationManager).removePositionListener(any());
+        assertThat(owner.getLifecycle().getObserverCount(), is(0));
+
+        // Binding to another owner unbinds from the previous one.
+        final TestLifecycleOwner otherOwner = new TestLifecycleOwner();
+        mBaseGuidancePresenter.bindToLifecycle(owner);
+        mBaseGuidancePresenter.bindToLifecycle(otherOwner);
+        assertThat(owner.getLifecycle().getObserverCount(), is(0));
+        assertThat(otherOwner.getLifecycle().getObserverCount(), is(1));
+    }
+}
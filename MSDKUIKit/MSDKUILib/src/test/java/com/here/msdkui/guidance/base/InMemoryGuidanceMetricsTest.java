@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.guidance.base;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link InMemoryGuidanceMetrics}.
+ */
+public class InMemoryGuidanceMetricsTest {
+
+    private static final String PRESENTER = "TestPresenter";
+
+    private InMemoryGuidanceMetrics mMetrics;
+
+    @Before
+    public void setUp() {
+        mMetrics = new InMemoryGuidanceMetrics();
+    }
+
+    @Test
+    public void testEventsAreAggregatedPerPresenter() {
+        mMetrics.onEventHandled(PRESENTER, GuidanceMetrics.Event.POSITION_UPDATE, 1500, 2);
+        mMetrics.onEventHandled(PRESENTER, GuidanceMetrics.Event.POSITION_UPDATE, 3500, 3);
+        mMetrics.onEventHandled(PRESENTER, GuidanceMetrics.Event.MANEUVER, 10000, 1);
+
+        final InMemoryGuidanceMetrics.PresenterStats stats = mMetrics.getStats(PRESENTER);
+        assertNotNull(stats);
+        assertThat(stats.getEventCount(), is(3L));
+        assertThat(stats.getSdkCallCount(), is(6L));
+        assertThat(stats.getMaxSdkCallsPerTick(), is(3));
+        assertThat(stats.getHandlerLatency(GuidanceMetrics.Event.POSITION_UPDATE).getCount(), is(2L));
+        assertThat(stats.getHandlerLatency(GuidanceMetrics.Event.POSITION_UPDATE).getMeanNanos(), is(2500L));
+        assertThat(stats.getHandlerLatency(GuidanceMetrics.Event.MANEUVER).getMaxNanos(), is(10000L));
+        assertNull(stats.getHandlerLatency(GuidanceMetrics.Event.GPS_LOST));
+        assertNull(mMetrics.getStats("Unknown"));
+    }
+
+    @Test
+    public void testNotifications() {
+        mMetrics.onNotificationEmitted(PRESENTER, 2, 4000);
+        mMetrics.onNotificationEmitted(PRESENTER, 2, 2000);
+
+        final InMemoryGuidanceMetrics.PresenterStats stats = mMetrics.getStats(PRESENTER);
+        assertNotNull(stats);
+        assertThat(stats.getNotificationCount(), is(2L));
+        assertThat(stats.getEventCount(), is(0L));
+        assertThat(stats.getFanOutLatency().getCount(), is(2L));
+        assertThat(stats.getFanOutLatency().getMaxNanos(), is(4000L));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final InMemoryGuidanceMetrics.LatencyHistogram histogram = new InMemoryGuidanceMetrics.LatencyHistogram();
+        assertThat(histogram.getPercentileNanos(50), is(0L));
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(1000000);
+        assertThat(histogram.getPercentileNanos(50), is(2000L));
+        assertThat(histogram.getPercentileNanos(100), is(1000000L));
+    }
+
+    @Test
+    public void testDumpAndReset() {
+        mMetrics.onEventHandled(PRESENTER, GuidanceMetrics.Event.REROUTE_END, 1000, 0);
+        mMetrics.onNotificationEmitted(PRESENTER, 1, 1000);
+        final String dump = mMetrics.dump();
+        assertThat(dump, containsString(PRESENTER));
+        assertThat(dump, containsString("REROUTE_END"));
+        assertThat(dump, containsString("fan-out"));
+
+        mMetrics.reset();
+        assertNull(mMetrics.getStats(PRESENTER));
+        assertThat(mMetrics.dump(), is(""));
+    }
+}
@@ -26,6 +26,8 @@ import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -86,6 +88,24 @@ public class HazardousMaterialsOptionsPanelTest extends RobolectricTest {
         assertThat(selectedIds.size(), equalTo(1));
     }
 
+    @Test
+    public void testSelectingSeveralGoodsCommitsOnce() {
+        mHazardousMaterialsOptionsPanel.setRouteOptions(new MockUtils.MockRouteOptionsBuilder()
+                .withFewHazardousOptions().build());
+        final List<OptionsPanel.Changes> commits = new ArrayList<>();
+        mHazardousMaterialsOptionsPanel.setChangesListener((panel, changes) -> commits.add(changes));
+
+        final MultipleChoiceOptionItem item =
+                (MultipleChoiceOptionItem) mHazardousMaterialsOptionsPanel.getOptionItems().get(0);
+        mHazardousMaterialsOptionsPanel.beginChanges();
+        item.selectLabels(Arrays.asList(getString(R.string.msdkui_gas), getString(R.string.msdkui_poison),
+                getString(R.string.msdkui_organic)));
+        mHazardousMaterialsOptionsPanel.commitChanges();
+
+        assertThat(commits.size(), equalTo(1));
+        assertThat(commits.get(0).isFieldChanged(HazardousMaterialsOptionsPanel.FIELD_HAZARDOUS_GOODS), is(true));
+    }
+
     @Test
     public void testGettingRouteOptionsWhenSetFewHazardous() {
         final MockUtils.MockRouteOptionsBuilder builder = new MockUtils.MockRouteOptionsBuilder();
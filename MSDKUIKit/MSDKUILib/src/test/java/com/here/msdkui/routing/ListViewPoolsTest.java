@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.here.RobolectricTest;
+import com.here.msdkui.R;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link ListViewPools}.
+ */
+public class ListViewPoolsTest extends RobolectricTest {
+
+    private final List<Runnable> mBackgroundTasks = new ArrayList<>();
+    private Context mContext;
+    private ListViewPools mViewPools;
+
+    @Before
+    public void setUp() {
+        mContext = getContextWithTheme();
+        mViewPools = new ListViewPools(mContext, mBackgroundTasks::add, Runnable::run);
+    }
+
+    @Test
+    public void testPoolsAreSharedPerRowType() {
+        final RecyclerView.RecycledViewPool pool = mViewPools.getRecycledViewPool(ListViewPools.RowType.MANEUVER);
+        assertThat(mViewPools.getRecycledViewPool(ListViewPools.RowType.MANEUVER), sameInstance(pool));
+        assertThat(mViewPools.getRecycledViewPool(ListViewPools.RowType.WAYPOINT), not(sameInstance(pool)));
+
+        final ManeuverList first = new ManeuverList(mContext);
+        final ManeuverList second = new ManeuverList(mContext);
+        first.setViewPools(mViewPools);
+        second.setViewPools(mViewPools);
+        assertThat(first.getRecycledViewPool(), sameInstance(pool));
+        assertThat(second.getRecycledViewPool(), sameInstance(pool));
+
+        first.setViewPools(null);
+        assertThat(first.getRecycledViewPool(), not(sameInstance(pool)));
+    }
+
+    @Test
+    public void testWarmUpInflatesRowsInBackground() {
+        mViewPools.warmUp(ListViewPools.RowType.MANEUVER, 3);
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.MANEUVER), equalTo(0));
+
+        runBackgroundTasks();
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.MANEUVER), equalTo(3));
+
+        final View row = mViewPools.obtain(mContext, ListViewPools.RowType.MANEUVER);
+        assertThat(row, instanceOf(ManeuverItemView.class));
+        // Rows are only handed out to lists using the same context.
+        assertThat(mViewPools.obtain(new ContextThemeWrapper(mContext, R.style.MSDKUIDarkTheme),
+                ListViewPools.RowType.MANEUVER), nullValue());
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.MANEUVER), equalTo(2));
+    }
+
+    @Test
+    public void testWarmUpIsLimited() {
+        mViewPools.warmUp(ListViewPools.RowType.ROUTE_DESCRIPTION, 100);
+        runBackgroundTasks();
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.ROUTE_DESCRIPTION),
+                equalTo(ListViewPools.RowType.ROUTE_DESCRIPTION.getMaxRows()));
+    }
+
+    @Test
+    public void testClearDropsPendingRows() {
+        mViewPools.warmUp(ListViewPools.RowType.WAYPOINT, 2);
+        mViewPools.clear();
+        runBackgroundTasks();
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.WAYPOINT), equalTo(0));
+    }
+
+    @Test
+    public void testAdaptersUsePreInflatedRows() {
+        mViewPools.warmUp(ListViewPools.RowType.WAYPOINT, 1);
+        mViewPools.warmUp(ListViewPools.RowType.ROUTE_DESCRIPTION, 1);
+        runBackgroundTasks();
+
+        final WaypointList waypointList = new WaypointList(mContext);
+        waypointList.setViewPools(mViewPools);
+        final RecyclerView.ViewHolder waypointHolder = waypointList.getAdapter().createViewHolder(waypointList, 0);
+        assertThat(waypointHolder.itemView, instanceOf(WaypointItem.class));
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.WAYPOINT), equalTo(0));
+
+        final RouteDescriptionList routeList = new RouteDescriptionList(mContext);
+        routeList.setViewPools(mViewPools);
+        final RecyclerView.ViewHolder holder = routeList.getAdapter().createViewHolder(routeList, 0);
+        assertThat(holder.itemView, instanceOf(RouteDescriptionItem.class));
+        assertThat(mViewPools.getInflatedRowCount(ListViewPools.RowType.ROUTE_DESCRIPTION), equalTo(0));
+    }
+
+    private void runBackgroundTasks() {
+        for (final Runnable task : new ArrayList<>(mBackgroundTasks)) {
+            task.run();
+        }
+        mBackgroundTasks.clear();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import com.here.RobolectricTest;
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Maneuver.Turn;
+import com.here.msdkui.R;
+
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link ManeuverInstructionTemplates}.
+ */
+public class ManeuverInstructionTemplatesTest extends RobolectricTest {
+
+    @Test
+    public void testTemplatesMatchResources() {
+        final ManeuverInstructionTemplates templates = ManeuverInstructionTemplates.get(getApplicationContext());
+        assertThat(templates.getActionInstruction(Maneuver.Action.UTURN),
+                equalTo(getString(R.string.msdkui_maneuver_uturn)));
+        assertThat(templates.getTurnInstruction(Turn.ROUNDABOUT_3),
+                equalTo(getString(R.string.msdkui_maneuver_turn_roundabout_exit_3)));
+        assertThat(templates.getActionInstruction(Maneuver.Action.JUNCTION), nullValue());
+        assertThat(templates.getHeadToInstruction(90), equalTo(getApplicationContext().getString(
+                R.string.msdkui_maneuver_head_to, getString(R.string.msdkui_maneuver_orientation_east))));
+        assertThat(templates.getHeadToInstruction(-90), equalTo(getApplicationContext().getString(
+                R.string.msdkui_maneuver_head_to, "-90")));
+        assertThat(templates.formatExitDirectionsTowards("A1", "Berlin"), equalTo(getApplicationContext().getString(
+                R.string.msdkui_maneuver_exit_directions_towards, "A1", "Berlin")));
+        assertThat(templates.formatRoadNameDivider("A1", null), equalTo(getApplicationContext().getString(
+                R.string.msdkui_maneuver_road_name_divider, "A1", null)));
+    }
+
+    @Test
+    public void testTemplatesAreReusedUntilLocaleChanges() {
+        final ManeuverInstructionTemplates templates = ManeuverInstructionTemplates.get(getApplicationContext());
+        assertThat(ManeuverInstructionTemplates.get(getApplicationContext()), sameInstance(templates));
+
+        RuntimeEnvironment.setQualifiers("de");
+        final ManeuverInstructionTemplates german = ManeuverInstructionTemplates.get(getApplicationContext());
+        assertThat(german, not(sameInstance(templates)));
+        assertThat(german.getArrivedInstruction(), equalTo(getString(R.string.msdkui_maneuver_end)));
+        assertThat(german.formatExitDirectionsTowards("A1", "Berlin"), equalTo(getApplicationContext().getString(
+                R.string.msdkui_maneuver_exit_directions_towards, "A1", "Berlin")));
+    }
+
+    @Test
+    public void testTemplateSegments() {
+        assertThat(new ManeuverInstructionTemplates.Template("%2$s then %1$s", Locale.US).apply("a", "b"),
+                equalTo("b then a"));
+        assertThat(new ManeuverInstructionTemplates.Template("%s and %s", Locale.US).apply("a", "b"),
+                equalTo("a and b"));
+        assertThat(new ManeuverInstructionTemplates.Template("100%% %1$s", Locale.US).apply("a", null),
+                equalTo("100% a"));
+        assertThat(new ManeuverInstructionTemplates.Template("plain", Locale.US).apply("a", "b"),
+                equalTo("plain"));
+        // Unsupported conversions fall back to String.format.
+        assertThat(new ManeuverInstructionTemplates.Template("%1$S", Locale.US).apply("a", null),
+                equalTo("A"));
+    }
+}
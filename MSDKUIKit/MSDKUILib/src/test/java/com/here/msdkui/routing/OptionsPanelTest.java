@@ -17,18 +17,27 @@
 package com.here.msdkui.routing;
 
 import android.content.Context;
+import android.widget.FrameLayout;
 import android.widget.LinearLayout;
+import androidx.fragment.app.FragmentActivity;
 
 import com.here.RobolectricTest;
 import com.here.msdkui.R;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.robolectric.Robolectric;
+import org.robolectric.shadows.ShadowLooper;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 
@@ -81,6 +90,149 @@ public class OptionsPanelTest extends RobolectricTest {
         assertThat(mCallbackCalled, is(true));
     }
 
+    @Test
+    public void testTransactionCommitsOnce() {
+        final TransactionPanel panel = new TransactionPanel(getApplicationContext());
+        panel.beginChanges();
+        panel.mItem.setChecked(true);
+        panel.mItem.setChecked(false);
+        panel.mItem.setChecked(true);
+        assertThat(panel.hasPendingChanges(), is(true));
+        assertThat(panel.mChangedItems, empty());
+
+        panel.commitChanges();
+        assertThat(panel.hasPendingChanges(), is(false));
+        assertThat(panel.mChangedItems, contains((OptionItem) panel.mItem));
+        assertThat(panel.mCommits.size(), equalTo(1));
+        assertThat(panel.mCommits.get(0).getChangedFields(), contains(TransactionPanel.FIELD_CHECKED));
+        assertThat(panel.mCommits.get(0).getItems(), contains((OptionItem) panel.mItem));
+    }
+
+    @Test
+    public void testUndoneChangesAreNotCommitted() {
+        final TransactionPanel panel = new TransactionPanel(getApplicationContext());
+        panel.beginChanges();
+        panel.beginChanges();
+        panel.mItem.setChecked(true);
+        panel.commitChanges();
+        panel.mItem.setChecked(false);
+        panel.commitChanges();
+        assertThat(panel.mChangedItems, empty());
+        assertThat(panel.mCommits, empty());
+    }
+
+    @Test
+    public void testChangesAreReportedRightAwayByDefault() {
+        final TransactionPanel panel = new TransactionPanel(getApplicationContext());
+        panel.mItem.setChecked(true);
+        panel.mItem.setChecked(false);
+        assertThat(panel.mChangedItems.size(), equalTo(2));
+        assertThat(panel.mCommits.size(), equalTo(2));
+    }
+
+    @Test
+    public void testDelayedCommit() {
+        final TransactionPanel panel = new TransactionPanel(getApplicationContext());
+        panel.setCommitDelay(300);
+        panel.mItem.setChecked(true);
+        ShadowLooper.idleMainLooper(200, TimeUnit.MILLISECONDS);
+        panel.mItem.setChecked(false);
+        ShadowLooper.idleMainLooper(200, TimeUnit.MILLISECONDS);
+        panel.mItem.setChecked(true);
+        assertThat(panel.mCommits, empty());
+
+        ShadowLooper.idleMainLooper(300, TimeUnit.MILLISECONDS);
+        assertThat(panel.mChangedItems.size(), equalTo(1));
+        assertThat(panel.mCommits.size(), equalTo(1));
+    }
+
+    @Test
+    public void testDelayedCommitIsFlushedWhenLeavingTheScreen() {
+        final FragmentActivity activity = Robolectric.buildActivity(FragmentActivity.class).setup().get();
+        final FrameLayout root = new FrameLayout(activity);
+        activity.setContentView(root);
+        final TransactionPanel panel = new TransactionPanel(activity);
+        panel.setCommitDelay(300);
+        root.addView(panel);
+
+        panel.mItem.setChecked(true);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+        assertThat(panel.mCommits, empty());
+
+        root.removeView(panel);
+        assertThat(panel.hasPendingChanges(), is(false));
+        assertThat(panel.mChangedItems.size(), equalTo(1));
+        assertThat(panel.mCommits.size(), equalTo(1));
+
+        // The scheduled commit was cancelled.
+        ShadowLooper.idleMainLooper(300, TimeUnit.MILLISECONDS);
+        assertThat(panel.mCommits.size(), equalTo(1));
+    }
+
+    @Test
+    public void testFlushChanges() {
+        final TransactionPanel panel = new TransactionPanel(getApplicationContext());
+        panel.setCommitDelay(300);
+        panel.mItem.setChecked(true);
+        panel.flushChanges();
+        assertThat(panel.mCommits.size(), equalTo(1));
+
+        // Open transactions are left alone.
+        panel.beginChanges();
+        panel.mItem.setChecked(false);
+        panel.flushChanges();
+        assertThat(panel.hasPendingChanges(), is(true));
+        panel.commitChanges();
+        assertThat(panel.mCommits.size(), equalTo(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCommitWithoutBegin() {
+        mOptionPanel.commitChanges();
+    }
+
+    /**
+     * A panel with a single {@link BooleanOptionItem}, recording its notifications.
+     */
+    public static class TransactionPanel extends OptionsPanel implements OptionItem.OnChangedListener {
+
+        static final String FIELD_CHECKED = "checked";
+
+        final BooleanOptionItem mItem;
+        final List<OptionItem> mChangedItems = new ArrayList<>();
+        final List<OptionsPanel.Changes> mCommits = new ArrayList<>();
+
+        public TransactionPanel(final Context context) {
+            super(context);
+            mItem = (BooleanOptionItem) new OptionItemBuilders.BooleanOptionItemBuilder(context).setLabel("item").build();
+            mItem.setListener(this);
+            setOptionItems(Collections.<OptionItem>singletonList(mItem));
+            setListener(new OptionsPanel.Listener() {
+                @Override
+                public void onOptionCreated(List<OptionItem> item) {
+                }
+
+                @Override
+                public void onOptionChanged(OptionItem item) {
+                    mChangedItems.add(item);
+                }
+            });
+            setChangesListener((panel, changes) -> mCommits.add(changes));
+        }
+
+        @Override
+        protected void captureState(final Map<String, Object> state) {
+            if (mItem != null) {
+                state.put(FIELD_CHECKED, mItem.isChecked());
+            }
+        }
+
+        @Override
+        public void onChanged(final OptionItem item) {
+            notifyOnOptionChanged(item);
+        }
+    }
+
     /**
      * Implementation of abstract class {@link OptionsPanel}.
      */
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.util.TypedValue;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+import com.here.BenchmarkReport;
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.routing.Maneuver;
+import com.here.msdkui.R;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PrecomputedTexts} and the precomputed row texts of {@link ManeuverItemView} and
+ * {@link RouteDescriptionItem}.
+ */
+public class PrecomputedTextsTest extends RobolectricTest {
+
+    private static final int ROWS = 200;
+
+    @Test
+    public void testSetTextWithMatchingParams() {
+        final TextView view = new TextView(getContextWithTheme());
+        final CharSequence text = PrecomputedTexts.create("Turn left", TextViewCompat.getTextMetricsParams(view));
+        assertThat(text, instanceOf(PrecomputedTextCompat.class));
+
+        PrecomputedTexts.setText(view, text);
+        assertThat(view.getText().toString(), equalTo("Turn left"));
+    }
+
+    @Test
+    public void testSetTextFallsBackOnParamsMismatch() {
+        final TextView source = new TextView(getContextWithTheme());
+        source.setTextSize(TypedValue.COMPLEX_UNIT_PX, 10);
+        final CharSequence text = PrecomputedTexts.create("Turn left", TextViewCompat.getTextMetricsParams(source));
+
+        final TextView target = new TextView(getContextWithTheme());
+        target.setTextSize(TypedValue.COMPLEX_UNIT_PX, 30);
+        PrecomputedTexts.setText(target, text);
+        assertThat(target.getText().toString(), equalTo("Turn left"));
+        assertThat(target.getText(), not(instanceOf(PrecomputedTextCompat.class)));
+    }
+
+    @Test
+    public void testCreateWithoutParams() {
+        assertThat(PrecomputedTexts.create("text", null), equalTo((CharSequence) "text"));
+        assertThat(PrecomputedTexts.create(null, null), nullValue());
+    }
+
+    @Test
+    public void testLoaderDropsOutdatedResults() {
+        final List<Runnable> background = new ArrayList<>();
+        final PrecomputedTexts.Loader<String> loader = new PrecomputedTexts.Loader<>(Runnable::run);
+        loader.setExecutor(background::add);
+
+        loader.load(2, position -> "old" + position);
+        loader.load(2, position -> "new" + position);
+        for (final Runnable runnable : background) {
+            runnable.run();
+        }
+        assertThat(loader.get(0), equalTo("new0"));
+        assertThat(loader.get(1), equalTo("new1"));
+        assertThat(loader.get(2), nullValue());
+
+        loader.invalidate();
+        assertThat(loader.get(0), nullValue());
+    }
+
+    @Test
+    public void testManeuverRowText() {
+        final List<Maneuver> maneuvers = createManeuvers(2);
+        final ManeuverItemView view = new ManeuverItemView(getContextWithTheme());
+        view.setManeuver(maneuvers, 0);
+        final String instruction = getInstruction(view);
+
+        final ManeuverItemView.RowText rowText = ManeuverItemView.createRowText(getContextWithTheme(), maneuvers, 0,
+                UnitSystem.METRIC, view.getTextMetricsParams());
+        final ManeuverItemView precomputedView = new ManeuverItemView(getContextWithTheme());
+        precomputedView.setManeuver(maneuvers, 0, rowText);
+        assertThat(getInstruction(precomputedView), equalTo(instruction));
+
+        // A row text of another maneuver is ignored.
+        precomputedView.setManeuver(maneuvers, 1, rowText);
+        assertThat(precomputedView.getManeuver(), equalTo(maneuvers.get(1)));
+    }
+
+    @Test
+    public void testRouteDescriptionRowText() {
+        final RouteDescriptionItem item = new RouteDescriptionItem(getContextWithTheme());
+        item.setTrafficEnabled(true);
+        final RouteDescriptionItem.RowText rowText = RouteDescriptionItem.createRowText(getContextWithTheme(),
+                new MockUtils.MockRouteBuilder().getRoute(), true, UnitSystem.METRIC, item.getTextMetricsParams());
+        assertThat(rowText.getRoute(), notNullValue());
+
+        item.setRoute(rowText.getRoute(), rowText);
+        final TextView trafficWarning = item.findViewById(R.id.desc_traffic_warning);
+        assertThat(item.isSectionVisible(RouteDescriptionItem.Section.TRAFFIC_WARNING), equalTo(true));
+        assertThat(trafficWarning.getText().length() > 0, equalTo(true));
+    }
+
+    @Test
+    public void testAdapterUsesPrecomputedTexts() {
+        final List<Maneuver> maneuvers = createManeuvers(3);
+        final ManeuverListAdapter adapter = new ManeuverListAdapter(maneuvers);
+        adapter.setTextPrecomputeExecutor(Runnable::run);
+        // Creating the first row loads the row texts.
+        adapter.onCreateViewHolder(createParent(), 0);
+
+        final ManeuverItemView view = spy(new ManeuverItemView(getContextWithTheme()));
+        adapter.onBindViewHolder(adapter.new ViewHolder(view), 2);
+        final ArgumentCaptor<ManeuverItemView.RowText> captor = ArgumentCaptor.forClass(ManeuverItemView.RowText.class);
+        verify(view).setManeuver(same(maneuvers), eq(2), captor.capture());
+        // The row was bound from the loader, not measured again.
+        assertThat(captor.getValue().getManeuver(), sameInstance(maneuvers.get(2)));
+        assertThat(captor.getValue().getInstruction(), instanceOf(PrecomputedTextCompat.class));
+        assertThat(view.getManeuver(), equalTo(maneuvers.get(2)));
+
+        adapter.setTextPrecomputeExecutor(null);
+        adapter.onBindViewHolder(adapter.new ViewHolder(view), 1);
+        verify(view).setManeuver(same(maneuvers), eq(1), isNull());
+    }
+
+    @Test
+    public void testBindingFromRowTextsReadsNoManeuvers() {
+        final List<Maneuver> maneuvers = createManeuvers(ROWS);
+        final ManeuverListAdapter adapter = new ManeuverListAdapter(maneuvers);
+        adapter.setTextPrecomputeExecutor(Runnable::run);
+        final ManeuverListAdapter.ViewHolder holder = adapter.onCreateViewHolder(createParent(), 0);
+
+        // Every call on a maneuver is a call into the SDK on the main thread while scrolling.
+        final long precomputedNanos = bindAll(adapter, holder, maneuvers);
+        final int precomputedCalls = countInvocations(maneuvers);
+        adapter.setTextPrecomputeExecutor(null);
+        final long plainNanos = bindAll(adapter, holder, maneuvers);
+        final int plainCalls = countInvocations(maneuvers);
+
+        new BenchmarkReport("maneuver-row-binding")
+                .put("rows", ROWS)
+                .put("precomputed.maneuverCalls", precomputedCalls)
+                .put("precomputed.micros", TimeUnit.NANOSECONDS.toMicros(precomputedNanos))
+                .put("plain.maneuverCalls", plainCalls)
+                .put("plain.micros", TimeUnit.NANOSECONDS.toMicros(plainNanos))
+                .write();
+        assertThat(precomputedCalls, equalTo(0));
+        assertThat(plainCalls, greaterThanOrEqualTo(ROWS));
+    }
+
+    @Test
+    public void testRowTextsCarryPrecomputedText() {
+        final List<Maneuver> maneuvers = createManeuvers(ROWS);
+        final ManeuverItemView view = new ManeuverItemView(getContextWithTheme());
+        final List<ManeuverItemView.RowText> rowTexts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rowTexts.add(ManeuverItemView.createRowText(getContextWithTheme(), maneuvers, i, UnitSystem.METRIC,
+                    view.getTextMetricsParams()));
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            view.setManeuver(maneuvers, i);
+            final String instruction = getInstruction(view);
+            assertThat(rowTexts.get(i).getInstruction(), instanceOf(PrecomputedTextCompat.class));
+            view.setManeuver(maneuvers, i, rowTexts.get(i));
+            assertThat(getInstruction(view), equalTo(instruction));
+        }
+        assertThat(view.getManeuver(), equalTo(maneuvers.get(ROWS - 1)));
+    }
+
+    private ViewGroup createParent() {
+        final ViewGroup parent = mock(ViewGroup.class);
+        when(parent.getContext()).thenReturn(getContextWithTheme());
+        return parent;
+    }
+
+    private static long bindAll(final ManeuverListAdapter adapter, final ManeuverListAdapter.ViewHolder holder,
+            final List<Maneuver> maneuvers) {
+        clearInvocations(maneuvers.toArray());
+        final long start = System.nanoTime();
+        for (int i = 0; i < maneuvers.size(); i++) {
+            adapter.onBindViewHolder(holder, i);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static int countInvocations(final List<Maneuver> maneuvers) {
+        int count = 0;
+        for (final Maneuver maneuver : maneuvers) {
+            count += mockingDetails(maneuver).getInvocations().size();
+        }
+        return count;
+    }
+
+    private static String getInstruction(final ManeuverItemView view) {
+        return ((TextView) view.findViewById(R.id.maneuver_instruction_view)).getText().toString();
+    }
+
+    private static List<Maneuver> createManeuvers(final int count) {
+        final List<Maneuver> maneuvers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            maneuvers.add(MockUtils.mockManeuver());
+        }
+        return maneuvers;
+    }
+}
@@ -17,10 +17,14 @@
 package com.here.msdkui.routing;
 
 import android.util.AttributeSet;
+import android.view.ViewGroup;
 
 import com.here.MockUtils;
 import com.here.RobolectricTest;
+import com.here.android.mpa.common.RoadElement;
 import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteElement;
+import com.here.android.mpa.routing.RouteElements;
 import com.here.android.mpa.routing.RouteResult;
 import com.here.android.mpa.routing.RouteTta;
 import com.here.msdkui.R;
@@ -39,7 +43,10 @@ import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -172,6 +179,48 @@ public class RouteDescriptionsListTest extends RobolectricTest {
         assertTrue(mRoutesDescriptionList.isTrafficEnabled());
     }
 
+    @Test
+    public void testTrafficLevelProviderIsAppliedToItems() {
+        final RoadElement road = mock(RoadElement.class);
+        when(road.getGeometryLength()).thenReturn(100.0);
+        final RoadElement jammed = mock(RoadElement.class);
+        when(jammed.getGeometryLength()).thenReturn(100.0);
+        final Route route = new MockUtils.MockRouteBuilder().getRoute();
+        final RouteElements routeElements = mock(RouteElements.class);
+        when(routeElements.getElements()).thenReturn(Arrays.asList(mockElement(road), mockElement(jammed)));
+        when(route.getRouteElements()).thenReturn(routeElements);
+        final RouteSections.TrafficLevelProvider provider =
+                roadElement -> roadElement == jammed ? RouteSections.TYPE_TRAFFIC_HEAVY : RouteSections.TYPE_DEFAULT;
+
+        mRoutesDescriptionList.setTrafficEnabled(true);
+        mRoutesDescriptionList.setTrafficLevelProvider(provider);
+        mRoutesDescriptionList.setRoutes(new ArrayList<>(Collections.singletonList(route)));
+        assertThat(mRoutesDescriptionList.getTrafficLevelProvider(), sameInstance(provider));
+
+        final RouteDescriptionListAdapter adapter = (RouteDescriptionListAdapter) mRoutesDescriptionList.getAdapter();
+        final ViewGroup parent = mock(ViewGroup.class);
+        when(parent.getContext()).thenReturn(getContextWithTheme());
+        final RouteDescriptionListAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+        adapter.onBindViewHolder(holder, 0);
+
+        final RouteDescriptionItem item = (RouteDescriptionItem) holder.itemView;
+        assertThat(item.getTrafficLevelProvider(), sameInstance(provider));
+        assertThat(item.getRouteSections().size(), equalTo(2));
+        assertThat(item.getRouteSections().getType(1), equalTo(RouteSections.TYPE_TRAFFIC_HEAVY));
+
+        // Disabling traffic updates the bound row.
+        mRoutesDescriptionList.setTrafficEnabled(false);
+        adapter.onBindViewHolder(holder, 0, Collections.singletonList((Object) RowPayload.TRAFFIC));
+        assertThat(item.getRouteSections().size(), equalTo(1));
+
+        // Enabling traffic again and binding the row again reuse the sections calculated before.
+        mRoutesDescriptionList.setTrafficEnabled(true);
+        adapter.onBindViewHolder(holder, 0, Collections.singletonList((Object) RowPayload.TRAFFIC));
+        adapter.onBindViewHolder(holder, 0);
+        assertThat(item.getRouteSections().size(), equalTo(2));
+        verify(road, times(2)).getAttributes();
+    }
+
     @Test
     public void testSetGetUnitSystem() {
         assertEquals(mRoutesDescriptionList.getUnitSystem(), UnitSystem.METRIC);
@@ -179,4 +228,10 @@ public class RouteDescriptionsListTest extends RobolectricTest {
         assertEquals(mRoutesDescriptionList.getUnitSystem(), UnitSystem.IMPERIAL_UK);
 
     }
+
+    private static RouteElement mockElement(final RoadElement road) {
+        final RouteElement element = mock(RouteElement.class);
+        when(element.getRoadElement()).thenReturn(road);
+        return element;
+    }
 }
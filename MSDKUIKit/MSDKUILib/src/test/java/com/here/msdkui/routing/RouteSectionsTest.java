@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.common.RoadElement;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteElement;
+import com.here.android.mpa.routing.RouteElements;
+import com.here.android.mpa.routing.RouteOptions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RouteSections}.
+ */
+public class RouteSectionsTest extends RobolectricTest {
+
+    @Test
+    public void testPublicTransportHasNoSections() {
+        final Route route = new MockUtils.MockRouteBuilder()
+                .setTransportMode(RouteOptions.TransportMode.PUBLIC_TRANSPORT)
+                .getRoute();
+        assertThat(RouteSections.from(route, null), sameInstance(RouteSections.EMPTY));
+    }
+
+    @Test
+    public void testRouteWithoutSpecialRoadsHasOneSection() {
+        final RouteSections sections = RouteUtil.getSections(new MockUtils.MockRouteBuilder().getRoute(), null);
+        assertThat(sections.size(), equalTo(1));
+        assertThat(sections.getStart(0), equalTo(0f));
+        assertThat(sections.getEnd(0), equalTo(1f));
+        assertThat(sections.getType(0), equalTo(RouteSections.TYPE_DEFAULT));
+    }
+
+    @Test
+    public void testSectionsAreMergedByType() {
+        final List<RoadElement> roads = new ArrayList<>();
+        roads.add(mockRoad(100, null));
+        roads.add(mockRoad(100, null));
+        roads.add(mockRoad(200, EnumSet.of(RoadElement.Attribute.TOLLROAD)));
+        roads.add(mockRoad(100, EnumSet.of(RoadElement.Attribute.TUNNEL, RoadElement.Attribute.TOLLROAD)));
+        roads.add(mockRoad(100, EnumSet.of(RoadElement.Attribute.CAR_SHUTTLE_TRAIN)));
+        roads.add(mockRoad(400, EnumSet.of(RoadElement.Attribute.FERRY)));
+
+        final RouteSections sections = RouteSections.from(mockRoute(roads), null);
+        assertThat(sections.size(), equalTo(4));
+        assertThat(sections.getType(0), equalTo(RouteSections.TYPE_DEFAULT));
+        assertThat(sections.getEnd(0), equalTo(0.2f));
+        assertThat(sections.getType(1), equalTo(RouteSections.TYPE_TOLL));
+        assertThat(sections.getStart(1), equalTo(0.2f));
+        assertThat(sections.getEnd(1), equalTo(0.4f));
+        assertThat(sections.getType(2), equalTo(RouteSections.TYPE_TUNNEL));
+        assertThat(sections.getType(3), equalTo(RouteSections.TYPE_FERRY));
+        assertThat(sections.getEnd(3), equalTo(1f));
+    }
+
+    @Test
+    public void testTrafficTakesPrecedence() {
+        final List<RoadElement> roads = new ArrayList<>();
+        roads.add(mockRoad(100, EnumSet.of(RoadElement.Attribute.TUNNEL)));
+        final RoadElement jammed = mockRoad(100, EnumSet.of(RoadElement.Attribute.TUNNEL));
+        roads.add(jammed);
+
+        final RouteSections sections = RouteSections.from(mockRoute(roads), new RouteSections.TrafficLevelProvider() {
+            @Override
+            public int getTrafficType(final RoadElement roadElement) {
+                return roadElement == jammed ? RouteSections.TYPE_TRAFFIC_HEAVY : RouteSections.TYPE_DEFAULT;
+            }
+        });
+        assertThat(sections.size(), equalTo(2));
+        assertThat(sections.getType(0), equalTo(RouteSections.TYPE_TUNNEL));
+        assertThat(sections.getType(1), equalTo(RouteSections.TYPE_TRAFFIC_HEAVY));
+    }
+
+    @Test
+    public void testMergeToPixels() {
+        // A blocked section of 0.1 % of the route must still cover one pixel of a 100 pixel bar.
+        final RouteSections sections = new RouteSections(
+                new float[] {0.5f, 0.501f, 0.75f, 1f},
+                new int[] {RouteSections.TYPE_DEFAULT, RouteSections.TYPE_TRAFFIC_BLOCKED,
+                        RouteSections.TYPE_DEFAULT, RouteSections.TYPE_FERRY},
+                4);
+        final int[] ends = new int[100];
+        final int[] types = new int[100];
+        final int runs = sections.mergeToPixels(100, ends, types);
+
+        assertThat(runs, equalTo(4));
+        assertThat(ends[0], equalTo(50));
+        assertThat(types[0], equalTo(RouteSections.TYPE_DEFAULT));
+        assertThat(ends[1], equalTo(51));
+        assertThat(types[1], equalTo(RouteSections.TYPE_TRAFFIC_BLOCKED));
+        assertThat(ends[2], equalTo(75));
+        assertThat(types[2], equalTo(RouteSections.TYPE_DEFAULT));
+        assertThat(ends[3], equalTo(100));
+        assertThat(types[3], equalTo(RouteSections.TYPE_FERRY));
+    }
+
+    @Test
+    public void testManySectionsAreBoundedByWidth() {
+        final int count = 10000;
+        final float[] sectionEnds = new float[count];
+        final int[] sectionTypes = new int[count];
+        for (int i = 0; i < count; i++) {
+            sectionEnds[i] = (i + 1) / (float) count;
+            sectionTypes[i] = i % RouteSections.TYPE_COUNT;
+        }
+        final RouteSections sections = new RouteSections(sectionEnds, sectionTypes, count);
+        final int[] ends = new int[300];
+        final int[] types = new int[300];
+        final int runs = sections.mergeToPixels(300, ends, types);
+        assertThat(runs <= 300, equalTo(true));
+        assertThat(ends[runs - 1], equalTo(300));
+        assertThat(RouteSections.EMPTY.mergeToPixels(300, ends, types), equalTo(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeToPixelsWithSmallArrays() {
+        RouteUtil.getSections(new MockUtils.MockRouteBuilder().getRoute(), null)
+                .mergeToPixels(10, new int[5], new int[5]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidIndex() {
+        RouteSections.EMPTY.getType(0);
+    }
+
+    @Test
+    public void testSectionBarDrawsSections() {
+        final SectionBar bar = new SectionBar(getApplicationContext());
+        bar.bind(RouteUtil.getSections(new MockUtils.MockRouteBuilder().getRoute(), null), 0.5f);
+        bar.measure(View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(10, View.MeasureSpec.EXACTLY));
+        bar.layout(0, 0, 200, 10);
+        bar.draw(new Canvas(Bitmap.createBitmap(200, 10, Bitmap.Config.ARGB_8888)));
+        assertThat(bar.getChildCount(), equalTo(1));
+    }
+
+    private static RoadElement mockRoad(final double length, final EnumSet<RoadElement.Attribute> attributes) {
+        final RoadElement road = mock(RoadElement.class);
+        when(road.getGeometryLength()).thenReturn(length);
+        when(road.getAttributes()).thenReturn(attributes);
+        return road;
+    }
+
+    private static Route mockRoute(final List<RoadElement> roads) {
+        final Route route = new MockUtils.MockRouteBuilder().getRoute();
+        final List<RouteElement> elements = new ArrayList<>();
+        for (final RoadElement road : roads) {
+            final RouteElement element = mock(RouteElement.class);
+            when(element.getRoadElement()).thenReturn(road);
+            elements.add(element);
+        }
+        final RouteElements routeElements = mock(RouteElements.class);
+        when(routeElements.getElements()).thenReturn(elements);
+        when(route.getRouteElements()).thenReturn(routeElements);
+        return route;
+    }
+}
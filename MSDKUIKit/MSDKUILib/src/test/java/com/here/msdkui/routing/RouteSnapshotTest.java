@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.here.BenchmarkReport;
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Route;
+import com.here.msdkui.R;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RouteSnapshot}.
+ */
+public class RouteSnapshotTest extends RobolectricTest {
+
+    private static final int MANEUVER_COUNT = 500;
+    private static final int MANEUVERS_PER_ROAD = 5;
+
+    @Test
+    public void testManeuverTable() {
+        final Route route = createRoute(MANEUVER_COUNT);
+        final RouteSnapshot snapshot = RouteSnapshot.from(getApplicationContext(), route, null);
+        final ManeuverResources resources = new ManeuverResources(getApplicationContext(), route.getManeuvers());
+
+        assertThat(snapshot.getManeuverCount(), equalTo(MANEUVER_COUNT));
+        for (int i = 0; i < MANEUVER_COUNT; i++) {
+            assertThat(snapshot.getManeuverIconId(i), equalTo(resources.getManeuverIconId(i)));
+            assertThat(snapshot.getManeuverInstruction(i), equalTo(resources.getManeuverInstruction(i)));
+            assertThat(snapshot.getRoadToDisplay(i), equalTo(resources.getRoadToDisplay(i)));
+            assertThat(snapshot.getDistanceFromNext(i), equalTo(resources.getDistanceFromNext(i)));
+        }
+
+        // Maneuvers on the same road share their texts.
+        assertThat(snapshot.getRoadToDisplay(2), sameInstance(snapshot.getRoadToDisplay(3)));
+        assertThat(snapshot.getStringCount(), lessThan(MANEUVER_COUNT));
+    }
+
+    @Test
+    public void testSummary() {
+        final Route route = new MockUtils.MockRouteBuilder().setTrafficPenaltyMinutes(10).getRoute();
+        final RouteSnapshot snapshot = RouteSnapshot.from(getApplicationContext(), route, null);
+
+        assertThat(snapshot.getLength(), equalTo(route.getLength()));
+        assertThat(snapshot.getDuration(true), equalTo(600L));
+        assertThat(snapshot.getDuration(false), equalTo(0L));
+        assertThat(snapshot.getTransportMode(), equalTo(route.getRoutePlan().getRouteOptions().getTransportMode()));
+        assertThat(snapshot.getLongestRoadSegments(), equalTo(RouteUtil.getLongestRoadSegments(route)));
+        assertThat(snapshot.getSections(true), sameInstance(snapshot.getSections(false)));
+        assertThat(RouteUtil.getDetails(getContextWithTheme(), snapshot, UnitSystem.METRIC).toString(),
+                equalTo(RouteUtil.getDetails(getContextWithTheme(), route, UnitSystem.METRIC).toString()));
+        assertThat(RouteUtil.getTrafficDelayed(getContextWithTheme(), snapshot).toString(),
+                equalTo(RouteUtil.getTrafficDelayed(getContextWithTheme(), route).toString()));
+        assertThat(RouteUtil.getTimeToArrive(getContextWithTheme(), snapshot, true).toString(),
+                equalTo(RouteUtil.getTimeToArrive(getContextWithTheme(), route, true).toString()));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final Route route = new MockUtils.MockRouteBuilder().setTrafficPenaltyMinutes(10).getRoute();
+        when(route.getManeuvers()).thenReturn(createRoute(20).getManeuvers());
+        final RouteSnapshot snapshot = RouteSnapshot.from(getApplicationContext(), route,
+                roadElement -> RouteSections.TYPE_TRAFFIC_HEAVY);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.writeTo(new DataOutputStream(bytes));
+        final RouteSnapshot copy = RouteSnapshot.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(copy.getManeuverCount(), equalTo(snapshot.getManeuverCount()));
+        for (int i = 0; i < copy.getManeuverCount(); i++) {
+            assertThat(copy.getManeuverIconId(i), equalTo(snapshot.getManeuverIconId(i)));
+            assertThat(copy.getManeuverInstruction(i), equalTo(snapshot.getManeuverInstruction(i)));
+            assertThat(copy.getRoadToDisplay(i), equalTo(snapshot.getRoadToDisplay(i)));
+            assertThat(copy.getDistanceFromNext(i), equalTo(snapshot.getDistanceFromNext(i)));
+        }
+        assertThat(copy.getStringCount(), equalTo(snapshot.getStringCount()));
+        assertThat(copy.getTransportMode(), equalTo(snapshot.getTransportMode()));
+        assertThat(copy.getLength(), equalTo(snapshot.getLength()));
+        assertThat(copy.getDuration(true), equalTo(snapshot.getDuration(true)));
+        assertThat(copy.getDuration(false), equalTo(snapshot.getDuration(false)));
+        assertThat(copy.getTimeType(), equalTo(snapshot.getTimeType()));
+        assertThat(copy.getTime(), equalTo(snapshot.getTime()));
+        assertThat(copy.getLongestRoadSegments(), equalTo(snapshot.getLongestRoadSegments()));
+        assertThat(copy.getSections(true).getType(0), equalTo(RouteSections.TYPE_TRAFFIC_HEAVY));
+        assertThat(copy.getSections(false).getType(0), equalTo(snapshot.getSections(false).getType(0)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadRejectsOtherVersion() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeInt(RouteSnapshot.FORMAT_VERSION + 1);
+        RouteSnapshot.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testManeuverListShowsSnapshot() {
+        final Route route = createRoute(3);
+        final RouteSnapshot snapshot = RouteSnapshot.from(getApplicationContext(), route, null);
+        final ManeuverList list = new ManeuverList(getContextWithTheme());
+        list.setRoute(route);
+        list.setRouteSnapshot(snapshot);
+        assertThat(list.getRoute(), nullValue());
+        assertThat(list.getRouteSnapshot(), sameInstance(snapshot));
+
+        final ManeuverListAdapter adapter = (ManeuverListAdapter) list.getAdapter();
+        assertThat(adapter.getItemCount(), equalTo(3));
+        final ViewGroup parent = mock(ViewGroup.class);
+        when(parent.getContext()).thenReturn(getContextWithTheme());
+        final ManeuverListAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+        adapter.onBindViewHolder(holder, 2);
+        final ManeuverItemView view = (ManeuverItemView) holder.itemView;
+        assertThat(view.getManeuver(), nullValue());
+        assertThat(view.isShowing(snapshot, 2), equalTo(true));
+        assertThat(((TextView) view.findViewById(R.id.maneuver_instruction_view)).getText().toString(),
+                equalTo(snapshot.getManeuverInstruction(2)));
+    }
+
+    @Test
+    public void testRouteDescriptionItemShowsSnapshot() {
+        final Route route = new MockUtils.MockRouteBuilder().getRoute();
+        final RouteDescriptionItem routeItem = new RouteDescriptionItem(getContextWithTheme());
+        routeItem.setRoute(route);
+        final RouteDescriptionItem snapshotItem = new RouteDescriptionItem(getContextWithTheme());
+        snapshotItem.setRouteSnapshot(RouteSnapshot.from(getApplicationContext(), route, null));
+
+        assertThat(snapshotItem.getRoute(), nullValue());
+        for (final int id : new int[] {R.id.desc_details, R.id.desc_time}) {
+            assertThat(((TextView) snapshotItem.findViewById(id)).getText().toString(),
+                    equalTo(((TextView) routeItem.findViewById(id)).getText().toString()));
+        }
+    }
+
+    /**
+     * Bounds the heap retained by the snapshot of a route with 500 maneuvers: besides the texts, which are
+     * shared between maneuvers, it keeps four ints and at most one text reference per maneuver. The size is
+     * estimated from the fields and arrays the snapshot reaches, so it doesn't depend on the garbage collector.
+     * The estimate and the heap released by dropping the mocked route are written to the benchmark report.
+     */
+    @Test
+    public void testSnapshotRetainsFourIntsPerManeuver() throws IOException {
+        final long initial = getUsedHeap();
+        Route route = createRoute(MANEUVER_COUNT);
+        final long routeHeap = getUsedHeap() - initial;
+        final RouteSnapshot snapshot = RouteSnapshot.from(getApplicationContext(), route, null);
+        route = null;
+        final long snapshotHeap = getUsedHeap() - initial;
+
+        final HeapEstimate estimate = new HeapEstimate();
+        estimate.add(snapshot);
+        final ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        snapshot.writeTo(new DataOutputStream(stored));
+        new BenchmarkReport("route-snapshot")
+                .put("maneuvers", MANEUVER_COUNT)
+                .put("retainedBytes", estimate.mBytes)
+                .put("textBytes", estimate.mStringBytes)
+                .put("storedBytes", stored.size())
+                .put("routeHeapDelta", routeHeap)
+                .put("snapshotHeapDelta", snapshotHeap)
+                .write();
+        assertThat(snapshot.getManeuverCount(), equalTo(MANEUVER_COUNT));
+        assertThat(estimate.mBytes - estimate.mStringBytes,
+                lessThanOrEqualTo((4L * Integer.BYTES + HeapEstimate.REFERENCE_BYTES) * MANEUVER_COUNT + 2048));
+    }
+
+    private static long getUsedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Route createRoute(final int maneuverCount) {
+        final List<Maneuver> maneuvers = new ArrayList<>(maneuverCount);
+        for (int i = 0; i < maneuverCount; i++) {
+            final Maneuver maneuver = MockUtils.mockManeuver();
+            when(maneuver.getRoadName()).thenReturn("Road " + i / MANEUVERS_PER_ROAD);
+            maneuvers.add(maneuver);
+        }
+        final Route route = new MockUtils.MockRouteBuilder().getRoute();
+        when(route.getManeuvers()).thenReturn(maneuvers);
+        return route;
+    }
+
+    /**
+     * Estimates the heap retained by an object graph for a 64-bit JVM with compressed references: 12 byte object
+     * headers, 16 byte array headers and 4 byte references, padded to 8 bytes. Strings are counted with a char
+     * array. Enum constants are shared and not counted.
+     */
+    private static final class HeapEstimate {
+        static final int REFERENCE_BYTES = 4;
+        private static final int OBJECT_HEADER_BYTES = 12;
+        private static final int ARRAY_HEADER_BYTES = 16;
+        private static final int STRING_BYTES = 24;
+
+        private final Set<Object> mVisited = Collections.newSetFromMap(new IdentityHashMap<>());
+        private long mBytes;
+        private long mStringBytes;
+
+        void add(final Object object) {
+            if (object == null || object instanceof Enum || !mVisited.add(object)) {
+                return;
+            }
+            if (object instanceof String) {
+                final long bytes = STRING_BYTES + align(ARRAY_HEADER_BYTES + 2L * ((String) object).length());
+                mBytes += bytes;
+                mStringBytes += bytes;
+                return;
+            }
+            final Class<?> type = object.getClass();
+            if (type.isArray()) {
+                final int length = Array.getLength(object);
+                mBytes += align(ARRAY_HEADER_BYTES + (long) length * getSize(type.getComponentType()));
+                if (!type.getComponentType().isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        add(Array.get(object, i));
+                    }
+                }
+                return;
+            }
+            long size = OBJECT_HEADER_BYTES;
+            final List<Object> references = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    size += getSize(field.getType());
+                    if (!field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        try {
+                            references.add(field.get(object));
+                        } catch (IllegalAccessException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }
+            }
+            mBytes += align(size);
+            for (final Object reference : references) {
+                add(reference);
+            }
+        }
+
+        private static int getSize(final Class<?> type) {
+            if (type == long.class || type == double.class) {
+                return 8;
+            }
+            if (type == int.class || type == float.class) {
+                return 4;
+            }
+            if (type == short.class || type == char.class) {
+                return 2;
+            }
+            if (type == byte.class || type == boolean.class) {
+                return 1;
+            }
+            return REFERENCE_BYTES;
+        }
+
+        private static long align(final long bytes) {
+            return (bytes + 7) / 8 * 8;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.android.material.tabs.TabLayout;
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.routing.Maneuver;
+import com.here.android.mpa.routing.Route;
+import com.here.android.mpa.routing.RouteOptions;
+import com.here.msdkui.R;
+import com.here.msdkui.common.measurements.UnitSystem;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests the partial rebinding of rows with {@link RowPayload}s in {@link ManeuverListAdapter} and
+ * {@link RouteDescriptionListAdapter} and of tabs in {@link TransportModePanelAdapter}.
+ */
+public class RowPayloadTest extends RobolectricTest {
+
+    private static final int ROWS = 5;
+
+    @Test
+    public void testIsPartial() {
+        final List<Object> payloads = new ArrayList<>();
+        assertThat(RowPayload.isPartial(payloads), equalTo(false));
+        payloads.add(RowPayload.TRAFFIC);
+        assertThat(RowPayload.isPartial(payloads), equalTo(true));
+        payloads.add("other");
+        assertThat(RowPayload.isPartial(payloads), equalTo(false));
+    }
+
+    @Test
+    public void testManeuverListUnitSystemRebindsDistanceOnly() {
+        final List<Maneuver> maneuvers = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            maneuvers.add(MockUtils.mockManeuver());
+        }
+        final CountingManeuverListAdapter adapter = new CountingManeuverListAdapter(maneuvers);
+        final RecyclerView list = createList(adapter);
+        final int fullBinds = adapter.mFullBinds;
+        assertThat(fullBinds, greaterThan(0));
+        final TextView distance = list.getChildAt(0).findViewById(R.id.maneuver_distance_view);
+        final String metricDistance = distance.getText().toString();
+
+        adapter.setUnitSystem(UnitSystem.IMPERIAL_US);
+        layout(list);
+        assertThat(adapter.mFullBinds, equalTo(fullBinds));
+        assertThat(adapter.mPartialBinds, equalTo(fullBinds));
+        assertThat(distance.getText().toString(), not(equalTo(metricDistance)));
+
+        // A change of the data still binds all rows.
+        adapter.notifyDataSetChanged();
+        layout(list);
+        assertThat(adapter.mFullBinds, equalTo(2 * fullBinds));
+    }
+
+    @Test
+    public void testRouteDescriptionListTogglesRebindAffectedSectionsOnly() {
+        final List<Route> routes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            routes.add(new MockUtils.MockRouteBuilder().getRoute());
+        }
+        final CountingRouteDescriptionListAdapter adapter = new CountingRouteDescriptionListAdapter(routes);
+        final RecyclerView list = createList(adapter);
+        final int fullBinds = adapter.mFullBinds;
+        assertThat(fullBinds, greaterThan(0));
+        final RouteDescriptionItem item = (RouteDescriptionItem) list.getChildAt(0);
+
+        adapter.setTrafficEnabled(true);
+        layout(list);
+        assertThat(adapter.mFullBinds, equalTo(fullBinds));
+        assertThat(adapter.mPartialBinds, equalTo(fullBinds));
+        assertThat(item.isTrafficEnabled(), equalTo(true));
+        assertThat(item.isSectionVisible(RouteDescriptionItem.Section.TRAFFIC_WARNING), equalTo(true));
+
+        final String metricDetails = ((TextView) item.findViewById(R.id.desc_details)).getText().toString();
+        adapter.setUnitSystem(UnitSystem.IMPERIAL_US);
+        layout(list);
+        assertThat(adapter.mFullBinds, equalTo(fullBinds));
+        assertThat(adapter.mPartialBinds, equalTo(2 * fullBinds));
+        assertThat(item.getUnitSystem(), equalTo(UnitSystem.IMPERIAL_US));
+        assertThat(((TextView) item.findViewById(R.id.desc_details)).getText().toString(),
+                not(equalTo(metricDetails)));
+    }
+
+    @Test
+    public void testTransportModePanelKeepsTabsOnTabViewChange() {
+        final Context context = getContextWithTheme();
+        final CountingTransportModePanelAdapter adapter = new CountingTransportModePanelAdapter(context);
+        final TransportModePanel panel = new TransportModePanel(context);
+        panel.setAdapter(adapter);
+        panel.setBadge(RouteOptions.TransportMode.CAR, "5 min");
+        // Removed tabs are reset, which drops their tags.
+        panel.getTabView().getTabAt(0).setTag(RouteOptions.TransportMode.CAR);
+        final int tabViews = adapter.mTabViews;
+
+        adapter.notifyTabViewsChanged();
+        final TabLayout.Tab tab = panel.getTabView().getTabAt(0);
+        assertThat(tab.getTag(), equalTo((Object) RouteOptions.TransportMode.CAR));
+        assertThat(adapter.mTabViews, equalTo(tabViews + panel.getTabCount()));
+        assertThat(((TabView) tab.getCustomView()).getBadge().toString(), equalTo("5 min"));
+
+        // A change of the data recreates the tabs.
+        adapter.notifyDataSetChanged();
+        assertThat(panel.getTabView().getTabAt(0).getTag(), nullValue());
+    }
+
+    private RecyclerView createList(final RecyclerView.Adapter<?> adapter) {
+        final RecyclerView list = new RecyclerView(getContextWithTheme());
+        list.setLayoutManager(new LinearLayoutManager(getContextWithTheme()));
+        list.setItemAnimator(null);
+        list.setAdapter(adapter);
+        layout(list);
+        return list;
+    }
+
+    private static void layout(final RecyclerView list) {
+        list.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        list.layout(0, 0, 1080, 1920);
+    }
+
+    /**
+     * Counts the full and the partial binds.
+     */
+    private static final class CountingManeuverListAdapter extends ManeuverListAdapter {
+
+        private int mFullBinds;
+        private int mPartialBinds;
+
+        CountingManeuverListAdapter(final List<Maneuver> maneuvers) {
+            super(maneuvers);
+        }
+
+        @Override
+        public void onBindViewHolder(final ViewHolder holder, final int position) {
+            mFullBinds++;
+            super.onBindViewHolder(holder, position);
+        }
+
+        @Override
+        public void onBindViewHolder(final ViewHolder holder, final int position, final List<Object> payloads) {
+            if (!payloads.isEmpty()) {
+                mPartialBinds++;
+            }
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+
+    /**
+     * Counts the full and the partial binds.
+     */
+    private static final class CountingRouteDescriptionListAdapter extends RouteDescriptionListAdapter {
+
+        private int mFullBinds;
+        private int mPartialBinds;
+
+        CountingRouteDescriptionListAdapter(final List<Route> routes) {
+            super(routes);
+        }
+
+        @Override
+        public void onBindViewHolder(final ViewHolder holder, final int position) {
+            mFullBinds++;
+            super.onBindViewHolder(holder, position);
+        }
+
+        @Override
+        public void onBindViewHolder(final ViewHolder holder, final int position, final List<Object> payloads) {
+            if (!payloads.isEmpty()) {
+                mPartialBinds++;
+            }
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+
+    /**
+     * Counts the created tab views.
+     */
+    private static final class CountingTransportModePanelAdapter extends SimpleTransportModePanelAdapter {
+
+        private int mTabViews;
+
+        CountingTransportModePanelAdapter(final Context context) {
+            super(context);
+        }
+
+        @Override
+        public TabView getCustomTabView(final RouteOptions.TransportMode mode) {
+            mTabViews++;
+            return super.getCustomTabView(mode);
+        }
+    }
+}
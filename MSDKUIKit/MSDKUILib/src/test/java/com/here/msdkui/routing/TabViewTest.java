@@ -17,6 +17,7 @@
 package com.here.msdkui.routing;
 
 import android.util.AttributeSet;
+import android.view.View;
 
 import com.here.RobolectricTest;
 import com.here.msdkui.R;
@@ -57,4 +58,15 @@ public class TabViewTest extends RobolectricTest {
         tabView.setLabel(testLabel);
         assertEquals(testLabel, tabView.getLabel());
     }
+
+    @Test
+    public void testSetBadge() {
+        TabView tabView = new TabView(getContextWithTheme());
+        assertEquals(View.GONE, tabView.findViewById(R.id.tab_view_badge).getVisibility());
+        tabView.setBadge("12 min");
+        assertEquals("12 min", tabView.getBadge().toString());
+        assertEquals(View.VISIBLE, tabView.findViewById(R.id.tab_view_badge).getVisibility());
+        tabView.setBadge(null);
+        assertEquals(View.GONE, tabView.findViewById(R.id.tab_view_badge).getVisibility());
+    }
 }
@@ -32,6 +32,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * Test for {@link TransportModePanel}.
@@ -156,6 +157,33 @@ public class TransportModePanelTest extends RobolectricTest implements Transport
         assertThat(mTransportModePanel.getTabCount(), equalTo(0));
     }
 
+    /**
+     * Test badges are shown on the tab of their transport mode and survive data changes.
+     */
+    @Test
+    public void testBadges() {
+        final SimpleTransportModePanelAdapter adapter = new SimpleTransportModePanelAdapter(mContext);
+        mTransportModePanel.setAdapter(adapter);
+        mTransportModePanel.setBadge(RouteOptions.TransportMode.TRUCK, "1 h");
+        final int truckIndex = adapter.getTransportModes().indexOf(RouteOptions.TransportMode.TRUCK);
+        assertThat(getTab(truckIndex).getBadge().toString(), equalTo("1 h"));
+        assertThat(mTransportModePanel.getBadge(RouteOptions.TransportMode.TRUCK).toString(), equalTo("1 h"));
+
+        adapter.getTransportModes().remove(BICYCLE);
+        adapter.notifyDataSetChanged();
+        assertThat(getTab(adapter.getTransportModes().indexOf(RouteOptions.TransportMode.TRUCK)).getBadge()
+                .toString(), equalTo("1 h"));
+
+        mTransportModePanel.clearBadges();
+        assertThat(getTab(adapter.getTransportModes().indexOf(RouteOptions.TransportMode.TRUCK)).getBadge()
+                .length(), equalTo(0));
+        assertThat(mTransportModePanel.getBadge(RouteOptions.TransportMode.TRUCK), is(nullValue()));
+    }
+
+    private TabView getTab(final int index) {
+        return (TabView) mTransportModePanel.getTabView().getTabAt(index).getCustomView();
+    }
+
     @Override
     public void onSelected(int index, TabView button) {
         mSelectedIndex = index;
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2017-2021 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.here.msdkui.routing;
+
+import com.here.BenchmarkReport;
+import com.here.MockUtils;
+import com.here.RobolectricTest;
+import com.here.android.mpa.common.GeoCoordinate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link WaypointSequenceOptimizer}.
+ */
+public class WaypointSequenceOptimizerTest extends RobolectricTest {
+
+    private static final double GRID_SPACING = 100;
+
+    private final List<Runnable> mBackgroundTasks = new ArrayList<>();
+    private WaypointSequenceOptimizer mOptimizer;
+
+    @Before
+    public void setUp() {
+        mOptimizer = new WaypointSequenceOptimizer(WaypointSequenceOptimizer.HAVERSINE_DISTANCE,
+                mBackgroundTasks::add, Runnable::run);
+        mOptimizer.setParallelism(2);
+    }
+
+    @Test
+    public void testHaversineDistance() {
+        final double[][] matrix = WaypointSequenceOptimizer.HAVERSINE_DISTANCE.getMatrix(Arrays.asList(
+                MockUtils.mockGeoCoordinate(52.530555, 13.379257), MockUtils.mockGeoCoordinate(48.137154, 11.576124)));
+        assertThat(matrix[0][1], closeTo(504_000, 1_000));
+        assertThat(matrix[1][0], equalTo(matrix[0][1]));
+        assertThat(matrix[0][0], equalTo(0.0));
+    }
+
+    @Test
+    public void testFirstAndLastEntriesKeepTheirPositions() {
+        final List<WaypointEntry> entries = createEntries(12, new Random(1));
+        final WaypointSequenceOptimizer.Result result = mOptimizer.optimize(entries);
+        assertThat(result.getEntries().size(), equalTo(entries.size()));
+        assertThat(result.getEntries().get(0), sameInstance(entries.get(0)));
+        assertThat(result.getEntries().get(11), sameInstance(entries.get(11)));
+        assertThat(result.getEntries().containsAll(entries), equalTo(true));
+        assertThat(result.getCost(), lessThanOrEqualTo(result.getInitialCost()));
+    }
+
+    @Test
+    public void testFindsBestSequenceOfSmallInstance() {
+        final double[][] matrix = createMatrix(8, new Random(2));
+        final int[] tour = WaypointSequenceOptimizer.solve(matrix, 2, System.nanoTime() + 1_000_000_000L, 0);
+        assertThat(WaypointSequenceOptimizer.getCost(matrix, tour), closeTo(getBestCost(matrix), 1e-6));
+    }
+
+    @Test
+    public void testAsymmetricMatrix() {
+        // Going "down" the indices is expensive, so the best tour visits them in ascending order.
+        final int count = 7;
+        final double[][] matrix = new double[count][count];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                matrix[i][j] = j > i ? j - i : 100 * (i - j);
+            }
+        }
+        final int[] tour = WaypointSequenceOptimizer.solve(matrix, 1, System.nanoTime() + 1_000_000_000L, 3);
+        assertThat(tour, equalTo(new int[] {0, 1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test
+    public void testInvalidEntriesAreNotReordered() {
+        final List<WaypointEntry> entries = createEntries(5, new Random(4));
+        entries.set(2, new WaypointEntry("empty"));
+        final WaypointSequenceOptimizer.Result result = mOptimizer.optimize(entries);
+        assertThat(result.getEntries(), equalTo(entries));
+        assertThat(result.isImproved(), equalTo(false));
+    }
+
+    @Test
+    public void testOptimizeWaypointList() {
+        final WaypointList list = new WaypointList(getApplicationContext());
+        list.setMaxWaypointItems(20);
+        final List<WaypointEntry> entries = createEntries(20, new Random(5));
+        list.setEntries(entries);
+        final List<WaypointSequenceOptimizer.Result> results = new ArrayList<>();
+
+        mOptimizer.optimize(list, (result, applied) -> {
+            assertThat(applied, equalTo(true));
+            results.add(result);
+        });
+        runBackgroundTasks();
+        assertThat(results.size(), equalTo(1));
+        assertThat(list.getEntries(), equalTo(results.get(0).getEntries()));
+        assertThat(results.get(0).getCost(), lessThan(results.get(0).getInitialCost()));
+    }
+
+    @Test
+    public void testChangedListIsNotReordered() {
+        final WaypointList list = new WaypointList(getApplicationContext());
+        list.setMaxWaypointItems(20);
+        final List<WaypointEntry> entries = createEntries(20, new Random(6));
+        list.setEntries(entries);
+        final List<Boolean> applied = new ArrayList<>();
+        mOptimizer.optimize(list, (result, isApplied) -> applied.add(isApplied));
+
+        list.reverse();
+        final List<WaypointEntry> reversed = new ArrayList<>(list.getEntries());
+        runBackgroundTasks();
+        assertThat(applied, equalTo(Collections.singletonList(false)));
+        assertThat(list.getEntries(), equalTo(reversed));
+    }
+
+    @Test
+    public void testCancel() {
+        final WaypointList list = new WaypointList(getApplicationContext());
+        list.setMaxWaypointItems(20);
+        list.setEntries(createEntries(20, new Random(7)));
+        final List<Boolean> applied = new ArrayList<>();
+        mOptimizer.optimize(list, (result, isApplied) -> applied.add(isApplied));
+        mOptimizer.cancel();
+        runBackgroundTasks();
+        assertThat(applied.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testOptimize50Stops() {
+        checkGridTour(10, 5);
+    }
+
+    @Test
+    public void testOptimize100Stops() {
+        checkGridTour(10, 10);
+    }
+
+    @Test
+    public void testOptimize200Stops() {
+        checkGridTour(20, 10);
+    }
+
+    /**
+     * Optimizes the stops at the crossings of a grid of streets 100 m apart, given in random order. No two stops
+     * are closer than 100 m and driving along the rows reaches the last corner in 100 m steps, so the shortest
+     * path is known. The costs and the time taken are reported to the benchmark report.
+     */
+    private void checkGridTour(final int columns, final int rows) {
+        final int count = columns * rows;
+        final double[][] matrix = createGridMatrix(columns, rows, new Random(count));
+        final double optimalCost = GRID_SPACING * (count - 1);
+        final int[] initial = new int[count];
+        for (int i = 0; i < count; i++) {
+            initial[i] = i;
+        }
+        // With an expired deadline, the search returns the nearest neighbor tour unchanged.
+        final double nearestNeighborCost = WaypointSequenceOptimizer.getCost(matrix,
+                WaypointSequenceOptimizer.solve(matrix, 1, System.nanoTime(), 0));
+
+        // The searches end when they stop improving, the deadline is only a safeguard.
+        final long start = System.nanoTime();
+        final int[] tour = WaypointSequenceOptimizer.solve(matrix, 2, start + TimeUnit.MINUTES.toNanos(1), 0);
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final double cost = WaypointSequenceOptimizer.getCost(matrix, tour);
+
+        new BenchmarkReport("waypoint-sequence-optimizer")
+                .put(count + ".initialCost", WaypointSequenceOptimizer.getCost(matrix, initial))
+                .put(count + ".nearestNeighborCost", nearestNeighborCost)
+                .put(count + ".optimizedCost", cost)
+                .put(count + ".optimalCost", optimalCost)
+                .put(count + ".millis", millis)
+                .write();
+        assertThat(tour[0], equalTo(0));
+        assertThat(tour[count - 1], equalTo(count - 1));
+        assertThat(cost, closeTo(optimalCost, 1e-6));
+    }
+
+    private void runBackgroundTasks() {
+        for (final Runnable task : new ArrayList<>(mBackgroundTasks)) {
+            task.run();
+        }
+        mBackgroundTasks.clear();
+    }
+
+    private static List<GeoCoordinate> createCoordinates(final int count, final Random random) {
+        final List<GeoCoordinate> coordinates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            coordinates.add(MockUtils.mockGeoCoordinate(52.35 + random.nextDouble() * 0.3,
+                    13.1 + random.nextDouble() * 0.6));
+        }
+        return coordinates;
+    }
+
+    private static List<WaypointEntry> createEntries(final int count, final Random random) {
+        final List<WaypointEntry> entries = new ArrayList<>(count);
+        for (final GeoCoordinate coordinate : createCoordinates(count, random)) {
+            entries.add(new WaypointEntry(MockUtils.mockRouteWaypoint(coordinate)));
+        }
+        return entries;
+    }
+
+    private static double[][] createMatrix(final int count, final Random random) {
+        return WaypointSequenceOptimizer.HAVERSINE_DISTANCE.getMatrix(createCoordinates(count, random));
+    }
+
+    /**
+     * Creates the distances between the crossings of a grid. The first index is a corner and the last index is
+     * the corner reached by driving along the rows, the crossings in between are shuffled.
+     */
+    private static double[][] createGridMatrix(final int columns, final int rows, final Random random) {
+        final List<int[]> crossings = new ArrayList<>();
+        for (int y = 0; y < rows; y++) {
+            for (int i = 0; i < columns; i++) {
+                crossings.add(new int[] {y % 2 == 0 ? i : columns - 1 - i, y});
+            }
+        }
+        Collections.shuffle(crossings.subList(1, crossings.size() - 1), random);
+        final int count = crossings.size();
+        final double[][] matrix = new double[count][count];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                matrix[i][j] = GRID_SPACING * Math.hypot(crossings.get(i)[0] - crossings.get(j)[0],
+                        crossings.get(i)[1] - crossings.get(j)[1]);
+            }
+        }
+        return matrix;
+    }
+
+    private static double getBestCost(final double[][] matrix) {
+        final int[] tour = new int[matrix.length];
+        for (int i = 0; i < tour.length; i++) {
+            tour[i] = i;
+        }
+        return getBestCost(matrix, tour, 1);
+    }
+
+    private static double getBestCost(final double[][] matrix, final int[] tour, final int position) {
+        if (position == tour.length - 1) {
+            return WaypointSequenceOptimizer.getCost(matrix, tour);
+        }
+        double best = Double.MAX_VALUE;
+        for (int i = position; i < tour.length - 1; i++) {
+            swap(tour, position, i);
+            best = Math.min(best, getBestCost(matrix, tour, position + 1));
+            swap(tour, position, i);
+        }
+        return best;
+    }
+
+    private static void swap(final int[] tour, final int i, final int j) {
+        final int value = tour[i];
+        tour[i] = tour[j];
+        tour[j] = value;
+    }
+}